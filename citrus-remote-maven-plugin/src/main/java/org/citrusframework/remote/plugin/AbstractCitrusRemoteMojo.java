@@ -18,9 +18,16 @@ package org.citrusframework.remote.plugin;
 
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.Timeout;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
@@ -28,10 +35,12 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.citrusframework.remote.plugin.client.UnixDomainSocketFactory;
 import org.citrusframework.remote.plugin.config.ReportConfiguration;
 import org.citrusframework.remote.plugin.config.ServerConfiguration;
 
 import java.io.File;
+import java.util.List;
 
 /**
  * @author Christoph Deppisch
@@ -66,36 +75,29 @@ public abstract class AbstractCitrusRemoteMojo extends AbstractMojo {
     @Parameter
     private ServerConfiguration server;
 
+    /**
+     * Multiple remote servers sharing the test run. When set, the test classes are partitioned across the
+     * servers and the single server configuration is ignored.
+     */
+    @Parameter
+    private List<ServerConfiguration> servers;
+
     /**
      * Report configuration such as output directory and file names.
      */
     @Parameter
     private ReportConfiguration report;
 
-    /** Http client */
-    private final CloseableHttpClient httpClient;
+    /** Http client, created on first use so that injected parameters apply */
+    private CloseableHttpClient httpClient;
+
+    /** HTTP/2 client multiplexing requests over a single connection, created on first use */
+    private CloseableHttpAsyncClient http2Client;
 
     /**
-     * Constructor using default client.
+     * Constructor using default client created on first use.
      */
     protected AbstractCitrusRemoteMojo() {
-        Timeout timoutMillis = Timeout.ofMilliseconds(timeout);
-
-        ConnectionConfig connectionConfig = ConnectionConfig.custom()
-                .setConnectTimeout(timoutMillis)
-                .build();
-
-        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setDefaultConnectionConfig(connectionConfig);
-
-        httpClient = HttpClients.custom()
-                .setConnectionManager(connectionManager)
-                .setDefaultRequestConfig(
-                        RequestConfig.custom()
-                                .setConnectionRequestTimeout(timoutMillis)
-                                .setResponseTimeout(timoutMillis)
-                                .build())
-                .build();
     }
 
     /**
@@ -112,7 +114,11 @@ public abstract class AbstractCitrusRemoteMojo extends AbstractMojo {
             return;
         }
 
-        doExecute();
+        try {
+            doExecute();
+        } finally {
+            closeHttp2Client();
+        }
     }
 
     /**
@@ -143,6 +149,27 @@ public abstract class AbstractCitrusRemoteMojo extends AbstractMojo {
         return server;
     }
 
+    /**
+     * Sets the servers.
+     *
+     * @param servers
+     */
+    public void setServers(List<ServerConfiguration> servers) {
+        this.servers = servers;
+    }
+
+    /**
+     * Gets the servers sharing the test run, the single server configuration if no servers are configured.
+     * @return
+     */
+    public List<ServerConfiguration> getServers() {
+        if (servers == null || servers.isEmpty()) {
+            return List.of(getServer());
+        }
+
+        return servers;
+    }
+
     /**
      * Sets the report.
      *
@@ -179,7 +206,73 @@ public abstract class AbstractCitrusRemoteMojo extends AbstractMojo {
      *
      * @return
      */
-    public CloseableHttpClient getHttpClient() {
+    public synchronized CloseableHttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = createHttpClient();
+        }
+
         return httpClient;
     }
+
+    /**
+     * Creates default client. Server urls addressing a Unix domain socket connect all requests to that socket.
+     * @return
+     */
+    private CloseableHttpClient createHttpClient() {
+        Timeout timoutMillis = Timeout.ofMilliseconds(timeout);
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(timoutMillis)
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager;
+        if (getServer().isUnixSocket()) {
+            connectionManager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register(URIScheme.HTTP.id, new UnixDomainSocketFactory(getServer().getUnixSocketPath()))
+                    .build());
+        } else {
+            connectionManager = new PoolingHttpClientConnectionManager();
+        }
+        connectionManager.setDefaultConnectionConfig(connectionConfig);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(
+                        RequestConfig.custom()
+                                .setConnectionRequestTimeout(timoutMillis)
+                                .setResponseTimeout(timoutMillis)
+                                .build())
+                .build();
+    }
+
+    /**
+     * Gets the HTTP/2 client, starting it on first use. The client speaks HTTP/2 only, so the server must
+     * support h2c prior knowledge or ALPN.
+     *
+     * @return
+     */
+    public synchronized CloseableHttpAsyncClient getHttp2Client() {
+        if (http2Client == null) {
+            Timeout timeoutMillis = Timeout.ofMilliseconds(timeout);
+            http2Client = HttpAsyncClients.customHttp2()
+                    .setIOReactorConfig(IOReactorConfig.custom()
+                            .setSoTimeout(timeoutMillis)
+                            .build())
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(timeoutMillis)
+                            .setResponseTimeout(timeoutMillis)
+                            .build())
+                    .build();
+            http2Client.start();
+        }
+
+        return http2Client;
+    }
+
+    private synchronized void closeHttp2Client() {
+        if (http2Client != null) {
+            http2Client.close(CloseMode.GRACEFUL);
+            http2Client = null;
+        }
+    }
 }
@@ -16,12 +16,23 @@
 
 package org.citrusframework.remote.plugin;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.*;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
 import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.util.Timeout;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -33,18 +44,42 @@ import org.citrusframework.TestResult;
 import org.citrusframework.TestSource;
 import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.model.LoadProfile;
+import org.citrusframework.remote.model.LoadStatistics;
+import org.citrusframework.remote.model.MatrixCellSummary;
 import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.remote.model.TestHistoryEntry;
+import org.citrusframework.remote.plugin.config.LoadConfiguration;
 import org.citrusframework.remote.plugin.config.RunConfiguration;
+import org.citrusframework.remote.plugin.config.ServerConfiguration;
+import org.citrusframework.remote.plugin.distribution.DistributedTestRun;
+import org.citrusframework.remote.plugin.distribution.TestClassScanner;
+import org.citrusframework.remote.plugin.impact.ChangedClasses;
 import org.citrusframework.report.*;
+import org.citrusframework.util.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URLEncoder;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.joining;
@@ -59,6 +94,20 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
     /** Global url encoding */
     private static final String ENCODING = "UTF-8";
 
+    /** Header holding the id of a run */
+    private static final String RUN_ID_HEADER = "X-Citrus-Run-Id";
+    /** Headers holding garbage collection totals of a finished run */
+    private static final String GC_COUNT_HEADER = "X-Citrus-Gc-Count";
+    private static final String GC_PAUSE_HEADER = "X-Citrus-Gc-Pause-Millis";
+    /** Header holding the phase timings of a finished run */
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    /** Timeout in milliseconds of health checks when running tests on multiple servers */
+    private static final long HEALTH_CHECK_TIMEOUT = 5000L;
+
+    /** Maximum number of report downloads in flight on the HTTP/2 connection */
+    private static final int MAX_CONCURRENT_REPORT_STREAMS = 100;
+
     @Parameter(property = "citrus.remote.skip.test", defaultValue = "false")
     protected boolean skipRun;
 
@@ -93,24 +142,34 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
             run = new RunConfiguration();
         }
 
-        if (!run.hasClasses() && !run.hasPackages()) {
-            runAllTests();
+        if (run.hasLoad()) {
+            runLoadTests();
+            return;
         }
 
-        if (run.hasClasses()) {
-            runClasses(run.getClasses());
+        if (getServers().size() > 1) {
+            runDistributed();
+            return;
         }
 
-        if (run.hasPackages()) {
-            runPackages(run.getPackages());
-        }
+        runSelectedTests();
     }
 
-    private void runPackages(List<String> packages) throws MojoExecutionException {
-        TestRunConfiguration runConfiguration = new TestRunConfiguration();
+    /**
+     * Runs the configured classes and packages as a single batch job, so that the results of both selections are
+     * reported in one pass. Runs all tests when neither classes nor packages are configured.
+     * @throws MojoExecutionException
+     * @throws MojoFailureException
+     */
+    private void runSelectedTests() throws MojoExecutionException, MojoFailureException {
+        TestRunConfiguration runConfiguration = createRunConfiguration();
+        if (run.hasClasses()) {
+            runConfiguration.setTestSources(toTestSources(run.getClasses()));
+        }
 
-        runConfiguration.setEngine(run.getEngine());
-        runConfiguration.setPackages(packages);
+        if (run.hasPackages()) {
+            runConfiguration.setPackages(run.getPackages());
+        }
 
         if (run.getIncludes() != null) {
             runConfiguration.setIncludes(run.getIncludes().toArray(new String[0]));
@@ -123,37 +182,329 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
         runTests(runConfiguration);
     }
 
-    private void runClasses(List<String> classes) throws MojoExecutionException {
-        TestRunConfiguration runConfiguration = new TestRunConfiguration();
+    private TestRunConfiguration createClassesConfiguration(List<String> classes) {
+        TestRunConfiguration runConfiguration = createRunConfiguration();
+        runConfiguration.setTestSources(toTestSources(classes));
 
-        runConfiguration.setEngine(run.getEngine());
+        if (run.getSystemProperties() != null) {
+            runConfiguration.addDefaultProperties(run.getSystemProperties());
+        }
+
+        return runConfiguration;
+    }
 
-        List<TestSource> testSources = classes.stream()
+    private static List<TestSource> toTestSources(List<String> classes) {
+        return classes.stream()
                 .map(TestClass::fromString)
                 .map(testClass -> (TestSource) testClass)
                 .toList();
-        runConfiguration.setTestSources(testSources);
+    }
 
-        if (run.getSystemProperties() != null) {
-            runConfiguration.addDefaultProperties(run.getSystemProperties());
+    /**
+     * Creates run configuration with the engine, groups, changes, time budget, failure limit, pre-flight, retry, soak
+     * and matrix settings of the run.
+     * @return
+     */
+    private RemoteRunConfiguration createRunConfiguration() {
+        RemoteRunConfiguration runConfiguration = new RemoteRunConfiguration();
+        runConfiguration.setEngine(run.getEngine());
+        if (run.getGroups() != null) {
+            runConfiguration.setGroups(run.getGroups());
+        }
+        runConfiguration.setChanges(resolveChanges());
+        runConfiguration.setTimeBudget(run.getTimeBudget());
+        runConfiguration.setTestEstimate(run.getTestEstimate());
+        if (run.getPriorityGroups() != null) {
+            runConfiguration.setPriorityGroups(run.getPriorityGroups());
         }
+        runConfiguration.setFailFast(run.isFailFast());
+        runConfiguration.setMaxFailures(run.getMaxFailures());
+        runConfiguration.setPreflight(run.isPreflight());
+        runConfiguration.setRetries(run.getRetries());
+        runConfiguration.setSoakDuration(run.getSoakDuration());
+        runConfiguration.setSoakWindow(run.getSoakWindow());
+        if (run.hasMatrix()) {
+            runConfiguration.setMatrix(run.getMatrix());
+        }
+        return runConfiguration;
+    }
 
-        runTests(runConfiguration);
+    /**
+     * Resolves the changed classes and packages of the run, i.e. the configured changes along with the classes changed
+     * since the configured Git revision. Failing to resolve the changes since the revision or changes other than Java
+     * sources in the source roots of the project run all tests.
+     * @return
+     */
+    private List<String> resolveChanges() {
+        Set<String> changes = new LinkedHashSet<>();
+        if (run.getChanges() != null) {
+            changes.addAll(run.getChanges());
+        }
+
+        if (StringUtils.hasText(run.getChangedSince())) {
+            List<String> sourceRoots = new ArrayList<>(project.getCompileSourceRoots());
+            sourceRoots.addAll(project.getTestCompileSourceRoots());
+            try {
+                Optional<List<String>> changedClasses = ChangedClasses.since(project.getBasedir().toPath(),
+                        run.getChangedSince(), sourceRoots);
+                if (changedClasses.isEmpty()) {
+                    getLog().info("Found changes other than Java sources since " + run.getChangedSince()
+                            + ", running all tests");
+                    return new ArrayList<>();
+                }
+
+                getLog().info(String.format("Found %d classes changed since %s", changedClasses.get().size(),
+                        run.getChangedSince()));
+                changes.addAll(changedClasses.get());
+            } catch (IOException e) {
+                getLog().warn("Failed to resolve changes since " + run.getChangedSince() + ", running all tests", e);
+                return new ArrayList<>();
+            }
+        }
+
+        return new ArrayList<>(changes);
     }
 
-    private void runAllTests() throws MojoExecutionException {
-        TestRunConfiguration runConfiguration = new TestRunConfiguration();
+    /**
+     * Runs each configured test class as load test on the remote server. The statistics are logged while the load runs
+     * and written as load report to the report directory once the load has finished. Fails when the error rate of a
+     * load test exceeds the configured maximum.
+     *
+     * @throws MojoExecutionException
+     * @throws MojoFailureException
+     */
+    private void runLoadTests() throws MojoExecutionException, MojoFailureException {
+        if (!run.hasClasses()) {
+            throw new MojoExecutionException("Missing test classes to run as load tests");
+        }
 
-        runConfiguration.setEngine(run.getEngine());
-        if (run.getIncludes() != null) {
-            runConfiguration.setIncludes(run.getIncludes().toArray(new String[0]));
+        List<String> failedTests = new ArrayList<>();
+        for (String testClass : run.getClasses()) {
+            LoadStatistics statistics = runLoadTest(testClass);
+            if (statistics.getErrorRate() > run.getLoad().getMaxErrorRate()) {
+                failedTests.add(String.format("%s (%.2f%% errors)", testClass, statistics.getErrorRate()));
+            }
+        }
+
+        if (!failedTests.isEmpty()) {
+            throw new MojoFailureException(String.format("Load tests exceeded maximum error rate of %.2f%%: %s",
+                    run.getLoad().getMaxErrorRate(), String.join(", ", failedTests)));
         }
+    }
 
+    /**
+     * Runs given test class as load test on the remote server. The server streams the statistics as JSON array
+     * while the load runs, the last element holds the final statistics.
+     *
+     * @param testClass
+     * @return the final statistics
+     * @throws MojoExecutionException
+     */
+    private LoadStatistics runLoadTest(String testClass) throws MojoExecutionException {
+        LoadConfiguration load = run.getLoad();
+        LoadProfile profile = new LoadProfile();
+        profile.setTest(testClass);
+        profile.setEngine(run.getEngine());
+        profile.setUsers(load.getUsers());
+        profile.setRampUpMillis(load.getRampUp());
+        profile.setDurationMillis(load.getDuration());
+        profile.setIterations(load.getIterations());
+        profile.setTargetRate(load.getTargetRate());
+        profile.setReportIntervalMillis(load.getReportInterval());
         if (run.getSystemProperties() != null) {
-            runConfiguration.addDefaultProperties(run.getSystemProperties());
+            profile.setDefaultProperties(new LinkedHashMap<>(run.getSystemProperties()));
         }
 
-        runTests(runConfiguration);
+        List<LoadStatistics> timeline = new ArrayList<>();
+        try {
+            ClassicHttpRequest httpRequest = ClassicRequestBuilder.post(getServer().getBaseUrl() + "/run/load")
+                    .addHeader(new BasicHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType()))
+                    .setEntity(new StringEntity(objectMapper.writeValueAsString(profile), ContentType.APPLICATION_JSON))
+                    .build();
+
+            try (var response = getHttpClient().executeOpen(null, httpRequest, null)) {
+                if (HttpStatus.SC_OK != response.getCode()) {
+                    throw new MojoExecutionException("Failed to run load test on remote server: " + EntityUtils.toString(response.getEntity()));
+                }
+
+                try (MappingIterator<LoadStatistics> statistics = objectMapper.readerFor(LoadStatistics.class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .readValues(response.getEntity().getContent())) {
+                    while (statistics.hasNext()) {
+                        LoadStatistics next = statistics.next();
+                        timeline.add(next);
+                        getLog().info(formatLoadStatistics(testClass, next));
+                    }
+                }
+            }
+        } catch (IOException | ParseException e) {
+            throw new MojoExecutionException("Failed to run load test on remote server", e);
+        }
+
+        if (timeline.isEmpty() || !timeline.get(timeline.size() - 1).isFinished()) {
+            throw new MojoExecutionException("Load test did not finish on remote server: " + testClass);
+        }
+
+        writeLoadReport(testClass, profile, timeline);
+        return timeline.get(timeline.size() - 1);
+    }
+
+    private static String formatLoadStatistics(String testClass, LoadStatistics statistics) {
+        return String.format("Load %s%s: %d users, %d iterations in %d ms, %.1f/s, %.2f%% errors, " +
+                        "latency p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms",
+                testClass, statistics.isFinished() ? " finished" : "", statistics.getActiveUsers(),
+                statistics.getIterations(), statistics.getElapsedMillis(), statistics.getThroughput(),
+                statistics.getErrorRate(), statistics.getP50Millis(), statistics.getP95Millis(),
+                statistics.getP99Millis(), statistics.getP999Millis(), statistics.getMaxMillis());
+    }
+
+    /**
+     * Writes the load profile, the final statistics and the statistics reported while the load was running as JSON
+     * load report to the report directory.
+     * @param testClass
+     * @param profile
+     * @param timeline
+     * @throws MojoExecutionException
+     */
+    private void writeLoadReport(String testClass, LoadProfile profile, List<LoadStatistics> timeline) throws MojoExecutionException {
+        File citrusReportsDirectory = getCitrusReportsDirectory();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", testClass);
+        report.put("profile", profile);
+        report.put("summary", timeline.get(timeline.size() - 1));
+        report.put("timeline", timeline);
+
+        File reportFile = new File(citrusReportsDirectory, "citrus-load-" + testClass.replace('#', '-') + ".json");
+        try {
+            getLog().info("Writing load report: " + reportFile);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write load report: " + reportFile, e);
+        }
+    }
+
+    /**
+     * Partitions the test classes across all configured servers, runs the partitions concurrently and reports the merged
+     * results. Fails once the results of all other partitions have been reported if a partition has failed. Test classes are the configured classes plus the classes of the configured packages, which are discovered
+     * in the compiled test classes of the project. Partitions are balanced by the test durations known to the servers.
+     *
+     * @throws MojoExecutionException
+     * @throws MojoFailureException
+     */
+    private void runDistributed() throws MojoExecutionException, MojoFailureException {
+        if (getServers().stream().anyMatch(ServerConfiguration::isUnixSocket)) {
+            throw new MojoExecutionException("Unix domain socket urls are not supported when running tests on multiple servers");
+        }
+
+        List<String> testClasses = getDistributedTestClasses();
+        if (testClasses.isEmpty()) {
+            throw new MojoExecutionException("No test classes found to run on multiple remote servers - " +
+                    "configure the test classes or compile the test classes of the project");
+        }
+
+        if (run.isAsync()) {
+            getLog().info("Running tests on multiple remote servers uses synchronous requests, async mode is ignored");
+        }
+
+        DistributedTestRun distributedRun = new DistributedTestRun(getServers(), this::isHealthy,
+                (server, classes) -> runTests(server.getBaseUrl(), createClassesConfiguration(classes), false).results(),
+                getLog());
+        DistributedTestRun.Outcome outcome = distributedRun.execute(testClasses, loadTestDurations());
+        try {
+            handleTestResults(outcome.results(), null, distributedRun.getCompletedServers());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to run tests on remote servers", e);
+        }
+
+        if (run.hasMatrix()) {
+            logMatrixCells(toMatrixCells(outcome.results()));
+        }
+
+        if (!outcome.isSuccess()) {
+            throw outcome.toException();
+        }
+    }
+
+    /**
+     * Gets the configured test classes and the test classes discovered in the configured packages. Discovers all test classes
+     * when neither classes nor packages are configured.
+     * @return
+     * @throws MojoExecutionException
+     */
+    private List<String> getDistributedTestClasses() throws MojoExecutionException {
+        Set<String> testClasses = new LinkedHashSet<>();
+        if (run.hasClasses()) {
+            testClasses.addAll(run.getClasses());
+        }
+
+        if (run.hasPackages() || !run.hasClasses()) {
+            String[] includes = run.getIncludes() != null ?
+                    run.getIncludes().toArray(new String[0]) : new TestRunConfiguration().getIncludes();
+            List<String> packages = run.hasPackages() ? run.getPackages() : List.of();
+            try {
+                testClasses.addAll(TestClassScanner.scan(Path.of(project.getBuild().getTestOutputDirectory()), packages, includes));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed to discover test classes", e);
+            }
+        }
+
+        return new ArrayList<>(testClasses);
+    }
+
+    /**
+     * Loads the test history of all servers and sums up the average test durations per test class. Entries with
+     * more executions win when servers know the same test.
+     * @return
+     */
+    private Map<String, Long> loadTestDurations() {
+        Map<String, TestHistoryEntry> entries = new HashMap<>();
+        for (ServerConfiguration server : getServers()) {
+            ClassicHttpRequest httpRequest = ClassicRequestBuilder.get(server.getBaseUrl() + "/history")
+                    .addHeader(new BasicHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType()))
+                    .build();
+
+            try (var response = getHttpClient().executeOpen(null, httpRequest, null)) {
+                if (HttpStatus.SC_OK != response.getCode()) {
+                    getLog().debug("No test history available on remote server " + server.getUrl());
+                    continue;
+                }
+
+                TestHistoryEntry[] history = objectMapper.readerFor(TestHistoryEntry[].class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .readValue(response.getEntity().getContent());
+                for (TestHistoryEntry entry : history) {
+                    entries.merge(entry.getTestClass() + "#" + entry.getTestName(), entry,
+                            (known, other) -> other.getExecutions() > known.getExecutions() ? other : known);
+                }
+            } catch (IOException e) {
+                getLog().warn("Failed to load test history from remote server " + server.getUrl() + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, Long> durations = new HashMap<>();
+        entries.values().forEach(entry -> durations.merge(entry.getTestClass(), entry.getAverageMillis(), Long::sum));
+        return durations;
+    }
+
+    /**
+     * Checks if given server responds to health requests within a short timeout.
+     * @param server
+     * @return
+     */
+    private boolean isHealthy(ServerConfiguration server) {
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(HEALTH_CHECK_TIMEOUT))
+                .build());
+
+        ClassicHttpRequest httpRequest = ClassicRequestBuilder.get(server.getBaseUrl() + "/health").build();
+        try (var response = getHttpClient().executeOpen(null, httpRequest, context)) {
+            EntityUtils.consume(response.getEntity());
+            return HttpStatus.SC_OK == response.getCode();
+        } catch (IOException e) {
+            getLog().warn("Remote server " + server.getUrl() + " is not healthy: " + e.getMessage());
+            return false;
+        }
     }
 
     /**
@@ -162,15 +513,62 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
      *
      * @param runConfiguration
      * @throws MojoExecutionException
+     * @throws MojoFailureException when a matrix cell has failed to run
+     */
+    private void runTests(TestRunConfiguration runConfiguration) throws MojoExecutionException, MojoFailureException {
+        RunOutcome outcome = runTests(getServer().getBaseUrl(), runConfiguration, run.isAsync());
+        try {
+            handleTestResults(outcome.results(), outcome.statistics(), List.of(getServer()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to run tests on remote server", e);
+        }
+
+        if (run.getSoakDuration() > 0 && outcome.runId() != null) {
+            File soakReport = new File(getCitrusReportsDirectory(), "citrus-soak-report.json");
+            loadAndSaveReportFile(soakReport, getServer().getBaseUrl() + "/jobs/" + outcome.runId() + "/soak",
+                    ContentType.APPLICATION_JSON.getMimeType());
+        }
+
+        if (run.hasMatrix() && outcome.runId() != null) {
+            File matrixReport = new File(getCitrusReportsDirectory(), "citrus-matrix-report.json");
+            if (matrixReport.exists() && !matrixReport.delete()) {
+                getLog().warn("Failed to delete previous matrix report: " + matrixReport.getName());
+            }
+            loadAndSaveReportFile(matrixReport, getServer().getBaseUrl() + "/jobs/" + outcome.runId() + "/matrix",
+                    ContentType.APPLICATION_JSON.getMimeType());
+            logMatrixCells(readMatrixCells(matrixReport, outcome.results()));
+        }
+    }
+
+    /**
+     * Gets the report output directory and creates it if necessary.
+     * @return
+     */
+    private File getCitrusReportsDirectory() {
+        File citrusReportsDirectory = new File(getOutputDirectory() + File.separator + getReport().getDirectory());
+        if (!citrusReportsDirectory.exists() && !citrusReportsDirectory.mkdirs()) {
+            throw new CitrusRuntimeException("Unable to create reports output directory: " + citrusReportsDirectory.getPath());
+        }
+        return citrusReportsDirectory;
+    }
+
+    /**
+     * Runs tests on the server with given url and returns the results without reporting them.
+     *
+     * @param serverUrl
+     * @param runConfiguration
+     * @param async
+     * @return
+     * @throws MojoExecutionException
      */
-    private void runTests(TestRunConfiguration runConfiguration) throws MojoExecutionException {
+    private RunOutcome runTests(String serverUrl, TestRunConfiguration runConfiguration, boolean async) throws MojoExecutionException {
         try {
             ClassicRequestBuilder requestBuilder;
 
-            if (run.isAsync()) {
-                requestBuilder = ClassicRequestBuilder.put(getServer().getUrl() + "/run");
+            if (async) {
+                requestBuilder = ClassicRequestBuilder.put(serverUrl + "/run");
             } else {
-                requestBuilder = ClassicRequestBuilder.post(getServer().getUrl() + "/run");
+                requestBuilder = ClassicRequestBuilder.post(serverUrl + "/run");
             }
 
             requestBuilder.addHeader(new BasicHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType()));
@@ -183,10 +581,14 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
                     throw new MojoExecutionException("Failed to run tests on remote server: " + EntityUtils.toString(response.getEntity()));
                 }
 
-                if (run.isAsync()) {
-                    handleTestResults(pollTestResults());
+                String runId = Optional.ofNullable(response.getFirstHeader(RUN_ID_HEADER))
+                        .map(Header::getValue)
+                        .orElse(null);
+                if (async) {
+                    return pollTestResults(serverUrl, runId);
                 } else {
-                    handleTestResults(objectMapper.readValue(response.getEntity().getContent(), RemoteResult[].class));
+                    return new RunOutcome(objectMapper.readValue(response.getEntity().getContent(), RemoteResult[].class),
+                            readRunStatistics(response), runId);
                 }
             }
         } catch (IOException | ParseException e) {
@@ -198,9 +600,12 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
      * When using async test execution mode the client does not synchronously wait for test results as it might lead to read timeouts. Instead
      * this method polls for test results and waits for the test execution to completely finish.
      *
+     * @param serverUrl
+     * @param runId
+     * @return
      * @throws MojoExecutionException
      */
-    private RemoteResult[] pollTestResults() throws MojoExecutionException, IOException {
+    private RunOutcome pollTestResults(String serverUrl, String runId) throws MojoExecutionException, IOException {
         ClassicHttpResponse response = null;
         try {
             do {
@@ -208,7 +613,7 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
                     response.close();
                 }
 
-                ClassicHttpRequest httpRequest = ClassicRequestBuilder.get(getServer().getUrl() + "/results")
+                ClassicHttpRequest httpRequest = ClassicRequestBuilder.get(serverUrl + "/results")
                         .addHeader(new BasicHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType()))
                         .addParameter("timeout", String.valueOf(run.getPollingInterval()))
                         .build();
@@ -227,7 +632,8 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
                 throw new MojoExecutionException("Failed to get test results from remote server: " + EntityUtils.toString(response.getEntity()));
             }
 
-            return objectMapper.readValue(response.getEntity().getContent(), RemoteResult[].class);
+            return new RunOutcome(objectMapper.readValue(response.getEntity().getContent(), RemoteResult[].class),
+                    readRunStatistics(response), runId);
         } catch (IOException | ParseException e) {
             throw new MojoExecutionException("Failed to get test results from remote server", e);
         } finally {
@@ -237,21 +643,72 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
         }
     }
 
+    /**
+     * Reads garbage collection totals and phase timings of the run from the response headers if present.
+     * @param response
+     * @return
+     */
+    private RunStatistics readRunStatistics(HttpResponse response) {
+        Header gcCount = response.getFirstHeader(GC_COUNT_HEADER);
+        Header gcPause = response.getFirstHeader(GC_PAUSE_HEADER);
+        if (gcCount == null || gcPause == null) {
+            return null;
+        }
+
+        RunStatistics statistics = new RunStatistics();
+        statistics.setGcCount(Long.parseLong(gcCount.getValue()));
+        statistics.setGcPauseMillis(Long.parseLong(gcPause.getValue()));
+
+        Header serverTiming = response.getFirstHeader(SERVER_TIMING_HEADER);
+        if (serverTiming != null) {
+            statistics.setPhases(parseServerTiming(serverTiming.getValue()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Parses phase durations from Server-Timing header value of the form {@code queue;dur=12, bootstrap;dur=80}.
+     * @param serverTiming
+     * @return
+     */
+    private static Map<String, Long> parseServerTiming(String serverTiming) {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        for (String metric : serverTiming.split(",")) {
+            String[] parts = metric.trim().split(";");
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("dur=")) {
+                    phases.put(parts[0].trim(), Math.round(Double.parseDouble(parameter.substring("dur=".length()))));
+                }
+            }
+        }
+        return phases;
+    }
+
     /**
      * Check test results for failures.
      * @param results
+     * @param statistics run statistics, may be null when not provided by the server
+     * @param servers servers holding the report files of the results
      * @throws IOException
      */
-    private void handleTestResults(RemoteResult[] results) throws IOException {
+    private void handleTestResults(RemoteResult[] results, RunStatistics statistics, List<ServerConfiguration> servers) throws IOException {
         StringWriter resultWriter = new StringWriter();
         resultWriter.append(String.format("%n"));
 
+        Arrays.stream(results)
+                .filter(remoteResult -> remoteResult.getLabel() != null)
+                .forEach(remoteResult -> remoteResult.setTestName(
+                        String.format("%s [%s]", remoteResult.getTestName(), remoteResult.getLabel())));
+
         TestResults testResults = new TestResults();
         Arrays.stream(results).forEach(remoteResult -> testResults.addResult(RemoteResult.toTestResult(remoteResult)));
 
         OutputStreamReporter reporter = new OutputStreamReporter(resultWriter);
         reporter.generate(testResults);
         getLog().info(resultWriter.toString());
+        logResourceUsage(results, statistics);
+        writeFlakyReport(results);
 
         if (getReport().isHtmlReport()) {
             HtmlReporter htmlReporter = new HtmlReporter();
@@ -264,15 +721,155 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
         summaryReporter.setReportFileName(getReport().getSummaryFile());
         summaryReporter.generate(testResults);
 
-        getAndSaveReports();
+        getAndSaveReports(servers);
+    }
+
+    /**
+     * Logs the number of passed, failed and skipped tests per matrix cell and fails when a cell has failed to run.
+     * @param cells
+     * @throws MojoFailureException when a cell summary has an error
+     */
+    private void logMatrixCells(List<MatrixCellSummary> cells) throws MojoFailureException {
+        List<String> errors = new ArrayList<>();
+        for (MatrixCellSummary cell : cells) {
+            getLog().info(String.format("Matrix cell [%s]: %d tests, %d passed, %d failed, %d skipped", cell.getLabel(),
+                    cell.getTotal(), cell.getPassed(), cell.getFailed(), cell.getSkipped()));
+            if (cell.getError() != null) {
+                getLog().error(String.format("Matrix cell [%s] failed to run: %s", cell.getLabel(), cell.getError()));
+                errors.add(String.format("[%s] %s", cell.getLabel(), cell.getError()));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new MojoFailureException(String.format("Failed to run %d of %d matrix cells: %s", errors.size(),
+                    cells.size(), String.join(", ", errors)));
+        }
+    }
+
+    /**
+     * Reads the cell summaries from given matrix report. Falls back to summaries of the labeled results when the
+     * report is not available.
+     * @param matrixReport
+     * @param results
+     * @return
+     */
+    private List<MatrixCellSummary> readMatrixCells(File matrixReport, RemoteResult[] results) {
+        if (matrixReport.isFile()) {
+            try {
+                return Arrays.asList(objectMapper.readerFor(MatrixCellSummary[].class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                        .readValue(matrixReport));
+            } catch (IOException e) {
+                getLog().warn("Failed to read matrix report: " + matrixReport.getName(), e);
+            }
+        }
+        return toMatrixCells(results);
+    }
+
+    /**
+     * Creates cell summaries of the labeled results.
+     * @param results
+     * @return
+     */
+    private static List<MatrixCellSummary> toMatrixCells(RemoteResult[] results) {
+        Map<String, List<RemoteResult>> cells = new LinkedHashMap<>();
+        Arrays.stream(results)
+                .filter(remoteResult -> remoteResult.getLabel() != null)
+                .forEach(remoteResult -> cells.computeIfAbsent(remoteResult.getLabel(), label -> new ArrayList<>())
+                        .add(remoteResult));
+
+        return cells.entrySet().stream()
+                .map(cell -> MatrixCellSummary.of(cell.getKey(), Map.of(), cell.getValue(), 0L))
+                .toList();
     }
 
-    private void getAndSaveReports() throws IOException {
+    /**
+     * Warns about tests that have failed and passed on retry and writes them to the flaky test report, so that the
+     * verify goal is able to treat them as warnings or failures.
+     * @param results
+     * @throws IOException
+     */
+    private void writeFlakyReport(RemoteResult[] results) throws IOException {
+        List<RemoteResult> flakyResults = Arrays.stream(results)
+                .filter(RemoteResult::isFlaky)
+                .toList();
+        flakyResults.forEach(result -> getLog().warn(String.format("Flaky test %s passed on retry %d",
+                result.getTestName(), result.getRetries())));
+
+        File reportFile = new File(getCitrusReportsDirectory(), getReport().getFlakyFile());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, flakyResults);
+    }
+
+    /**
+     * Logs CPU time and allocated bytes of all tests, the garbage collections and the phase timings of the run.
+     * @param results
+     * @param statistics
+     */
+    private void logResourceUsage(RemoteResult[] results, RunStatistics statistics) {
+        long cpuTimeMillis = Arrays.stream(results).mapToLong(RemoteResult::getCpuTimeMillis).sum();
+        long allocatedBytes = Arrays.stream(results).mapToLong(RemoteResult::getAllocatedBytes).sum();
+        getLog().info(String.format("Test CPU time: %d ms, allocated: %.1f MB",
+                cpuTimeMillis, allocatedBytes / (1024.0 * 1024.0)));
+
+        if (statistics != null) {
+            getLog().info(String.format("GC during run: %d collections, %d ms paused",
+                    statistics.getGcCount(), statistics.getGcPauseMillis()));
+
+            if (!statistics.getPhases().isEmpty()) {
+                getLog().info("Run phases: " + statistics.getPhases().entrySet().stream()
+                        .map(phase -> String.format("%s %d ms", phase.getKey(), phase.getValue()))
+                        .collect(joining(", ")));
+            }
+        }
+    }
+
+    /**
+     * Downloads the report files of all given servers. The suite report only covers the tests of a single server,
+     * so it is only downloaded when all tests ran on one server.
+     * @param servers
+     * @throws IOException
+     */
+    private void getAndSaveReports(List<ServerConfiguration> servers) throws IOException {
         if (!getReport().isSaveReportFiles()) {
             return;
         }
 
-        ClassicHttpRequest httpRequest = ClassicRequestBuilder.get(getServer().getUrl() + "/results/files")
+        File citrusReportsDirectory = new File(getOutputDirectory() + File.separator + getReport().getDirectory());
+        if (!citrusReportsDirectory.exists()&& !citrusReportsDirectory.mkdirs()) {
+            throw new CitrusRuntimeException("Unable to create reports output directory: " + citrusReportsDirectory.getPath());
+        }
+
+        File junitReportsDirectory = new File(citrusReportsDirectory, "junitreports");
+        if (!junitReportsDirectory.exists() && !junitReportsDirectory.mkdirs()) {
+            throw new CitrusRuntimeException("Unable to create JUnit reports directory: " + junitReportsDirectory.getPath());
+        }
+
+        for (ServerConfiguration server : servers) {
+            Map<File, String> reportUrls = new LinkedHashMap<>();
+            if (servers.size() == 1) {
+                JUnitReporter jUnitReporter = new JUnitReporter();
+                reportUrls.put(new File(citrusReportsDirectory, String.format(jUnitReporter.getReportFileNamePattern(), jUnitReporter.getSuiteName())), server.getBaseUrl() + "/results/suite");
+            }
+
+            for (String reportFile : getReportFiles(server)) {
+                reportUrls.put(new File(junitReportsDirectory, reportFile), server.getBaseUrl() + "/results/file/" + URLEncoder.encode(reportFile, ENCODING));
+            }
+
+            if (server.isHttp2() && !server.isUnixSocket()) {
+                loadAndSaveReportFilesMultiplexed(reportUrls, ContentType.APPLICATION_XML.getMimeType());
+            } else {
+                reportUrls.forEach((reportFile, serverUrl) -> loadAndSaveReportFile(reportFile, serverUrl, ContentType.APPLICATION_XML.getMimeType()));
+            }
+        }
+    }
+
+    /**
+     * Lists the names of the report files available on given server.
+     * @param server
+     * @return
+     */
+    private String[] getReportFiles(ServerConfiguration server) {
+        ClassicHttpRequest httpRequest = ClassicRequestBuilder.get(server.getBaseUrl() + "/results/files")
                 .addHeader(new BasicHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_XML.getMimeType()))
                 .build();
 
@@ -286,29 +883,57 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
         } catch (IOException e) {
             getLog().warn("Failed to get test reports from remote server", e);
         }
+        return reportFiles;
+    }
 
-        File citrusReportsDirectory = new File(getOutputDirectory() + File.separator + getReport().getDirectory());
-        if (!citrusReportsDirectory.exists()&& !citrusReportsDirectory.mkdirs()) {
-            throw new CitrusRuntimeException("Unable to create reports output directory: " + citrusReportsDirectory.getPath());
+    /**
+     * Get report files from server using concurrent HTTP/2 streams over a single connection and save content to given files
+     * on local file system. At most {@link #MAX_CONCURRENT_REPORT_STREAMS} requests are in flight, responses are written
+     * in request order by the calling thread.
+     * @param reportUrls
+     * @param contentType
+     */
+    private void loadAndSaveReportFilesMultiplexed(Map<File, String> reportUrls, String contentType) {
+        CloseableHttpAsyncClient http2Client = getHttp2Client();
+        Deque<Map.Entry<File, Future<SimpleHttpResponse>>> pending = new ArrayDeque<>();
+        for (Map.Entry<File, String> reportUrl : reportUrls.entrySet()) {
+            if (pending.size() >= MAX_CONCURRENT_REPORT_STREAMS) {
+                saveReportFile(pending.poll());
+            }
+
+            SimpleHttpRequest httpRequest = SimpleRequestBuilder.get(reportUrl.getValue())
+                    .addHeader(HttpHeaders.ACCEPT, contentType)
+                    .build();
+            pending.add(Map.entry(reportUrl.getKey(), http2Client.execute(
+                    SimpleRequestProducer.create(httpRequest), SimpleResponseConsumer.create(), null)));
         }
 
-        File junitReportsDirectory = new File(citrusReportsDirectory, "junitreports");
-        if (!junitReportsDirectory.exists() && !junitReportsDirectory.mkdirs()) {
-            throw new CitrusRuntimeException("Unable to create JUnit reports directory: " + junitReportsDirectory.getPath());
+        while (!pending.isEmpty()) {
+            saveReportFile(pending.poll());
         }
+    }
 
-        JUnitReporter jUnitReporter = new JUnitReporter();
-        loadAndSaveReportFile(new File(citrusReportsDirectory, String.format(jUnitReporter.getReportFileNamePattern(), jUnitReporter.getSuiteName())), getServer().getUrl() + "/results/suite", ContentType.APPLICATION_XML.getMimeType());
+    /**
+     * Waits for the pending report file response and saves its content to the local file system.
+     * @param pendingReport
+     */
+    private void saveReportFile(Map.Entry<File, Future<SimpleHttpResponse>> pendingReport) {
+        File reportFile = pendingReport.getKey();
+        try {
+            SimpleHttpResponse fileResponse = pendingReport.getValue().get();
+            if (HttpStatus.SC_OK != fileResponse.getCode()) {
+                getLog().warn("Failed to get report file: " + reportFile.getName());
+                return;
+            }
 
-        Stream.of(reportFiles)
-            .map(reportFile -> new File(junitReportsDirectory, reportFile))
-            .forEach(reportFile -> {
-                try {
-                    loadAndSaveReportFile(reportFile, getServer().getUrl() + "/results/file/" + URLEncoder.encode(reportFile.getName(), ENCODING), ContentType.APPLICATION_XML.getMimeType());
-                } catch (IOException e) {
-                    getLog().warn("Failed to get report file: " + reportFile.getName(), e);
-                }
-            });
+            getLog().info("Writing report file: " + reportFile);
+            Files.write(reportFile.toPath(), fileResponse.getBodyBytes(), StandardOpenOption.CREATE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLog().warn("Interrupted while getting report file: " + reportFile.getName(), e);
+        } catch (ExecutionException | IOException e) {
+            getLog().warn("Failed to get report file: " + reportFile.getName(), e);
+        }
     }
 
     /**
@@ -343,4 +968,13 @@ public class RunTestMojo extends AbstractCitrusRemoteMojo {
     public void setTests(RunConfiguration tests) {
         this.run = tests;
     }
+
+    /**
+     * Results and statistics of a test run on a single server.
+     * @param results
+     * @param statistics
+     * @param runId id of the run on the server, may be null when not provided by the server
+     */
+    private record RunOutcome(RemoteResult[] results, RunStatistics statistics, String runId) {
+    }
 }
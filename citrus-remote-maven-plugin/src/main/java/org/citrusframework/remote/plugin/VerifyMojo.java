@@ -16,11 +16,13 @@
 
 package org.citrusframework.remote.plugin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.citrusframework.remote.model.RemoteResult;
 import org.citrusframework.util.FileUtils;
 
 import java.io.File;
@@ -42,6 +44,17 @@ public class VerifyMojo extends AbstractCitrusRemoteMojo {
     @Parameter(property = "citrus.remote.failIfNoTests", defaultValue = "true")
     private boolean failIfNoTests = true;
 
+    /**
+     * Fail build if tests have failed and passed on retry, otherwise flaky tests are reported as warnings.
+     */
+    @Parameter(property = "citrus.remote.failOnFlaky", defaultValue = "false")
+    private boolean failOnFlaky;
+
+    /**
+     * Object mapper reading the flaky test report.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Override
     public void doExecute() throws MojoExecutionException, MojoFailureException {
         if (skipRun) {
@@ -58,11 +71,38 @@ public class VerifyMojo extends AbstractCitrusRemoteMojo {
             if (!summary.contains("<failures>0</failures>")) {
                 throw new MojoFailureException("There are test failures!");
             }
+
+            verifyFlakyTests();
         } catch (IOException e) {
             throw new MojoExecutionException("Failed to read test report", e);
         }
     }
 
+    /**
+     * Reads the flaky test report if any and reports flaky tests as warnings or fails the build.
+     * @throws IOException
+     * @throws MojoFailureException
+     */
+    private void verifyFlakyTests() throws IOException, MojoFailureException {
+        File flakyReport = new File(getOutputDirectory().getPath() + File.separator + getReport().getDirectory() + File.separator + getReport().getFlakyFile());
+        if (!flakyReport.exists()) {
+            return;
+        }
+
+        RemoteResult[] flakyResults = objectMapper.readValue(flakyReport, RemoteResult[].class);
+        if (flakyResults.length == 0) {
+            return;
+        }
+
+        if (failOnFlaky) {
+            throw new MojoFailureException(String.format("There are %d flaky tests! In case you want to accept tests passing on retry - please set citrus.remote.failOnFlaky property to 'false'.", flakyResults.length));
+        }
+
+        for (RemoteResult flakyResult : flakyResults) {
+            getLog().warn(String.format("Flaky test %s passed on retry %d", flakyResult.getTestName(), flakyResult.getRetries()));
+        }
+    }
+
     /**
      * Gets the failIfNoTests.
      *
@@ -80,4 +120,22 @@ public class VerifyMojo extends AbstractCitrusRemoteMojo {
     public void setFailIfNoTests(boolean failIfNoTests) {
         this.failIfNoTests = failIfNoTests;
     }
+
+    /**
+     * Gets the failOnFlaky.
+     *
+     * @return
+     */
+    public boolean isFailOnFlaky() {
+        return failOnFlaky;
+    }
+
+    /**
+     * Sets the failOnFlaky.
+     *
+     * @param failOnFlaky
+     */
+    public void setFailOnFlaky(boolean failOnFlaky) {
+        this.failOnFlaky = failOnFlaky;
+    }
 }
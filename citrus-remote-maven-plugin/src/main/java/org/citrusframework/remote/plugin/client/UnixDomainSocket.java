@@ -0,0 +1,325 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Socket connected to a Unix domain socket. The JDK only exposes Unix domain sockets as {@link SocketChannel},
+ * whose {@link SocketChannel#socket()} adapter is not supported, so this socket wraps the channel for clients
+ * that operate on plain sockets.
+ * <p>
+ * The channel is used in non-blocking mode with a selector, so reads honor the socket timeout. TCP specific socket
+ * options are ignored. Reads and writes must not be performed concurrently, which fits the request/response
+ * exchanges of a classic HTTP/1.1 client.
+ *
+ * @since 4.4.0
+ */
+class UnixDomainSocket extends Socket {
+
+    /** Path of the Unix domain socket */
+    private final Path socketPath;
+
+    private SocketChannel channel;
+    private Selector selector;
+    private SelectionKey selectionKey;
+
+    private volatile int soTimeout;
+    private volatile boolean closed;
+    private boolean inputShutdown;
+    private boolean outputShutdown;
+
+    /**
+     * Constructor using given socket path.
+     * @param socketPath
+     */
+    UnixDomainSocket(Path socketPath) {
+        this.socketPath = socketPath;
+    }
+
+    @Override
+    public void connect(SocketAddress endpoint) throws IOException {
+        connect(endpoint, 0);
+    }
+
+    /**
+     * Connects to the Unix domain socket. The given endpoint is ignored unless it is a Unix domain socket
+     * address, connecting a local socket never blocks so the timeout is ignored as well.
+     * @param endpoint
+     * @param timeout
+     * @throws IOException
+     */
+    @Override
+    public synchronized void connect(SocketAddress endpoint, int timeout) throws IOException {
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+
+        if (channel != null) {
+            throw new SocketException("Already connected");
+        }
+
+        SocketAddress address = endpoint instanceof UnixDomainSocketAddress ? endpoint : UnixDomainSocketAddress.of(socketPath);
+        SocketChannel socketChannel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            socketChannel.connect(address);
+            socketChannel.configureBlocking(false);
+            selector = Selector.open();
+            selectionKey = socketChannel.register(selector, 0);
+            channel = socketChannel;
+        } catch (IOException e) {
+            socketChannel.close();
+            if (selector != null) {
+                selector.close();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        ensureConnected();
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                int read = read(single, 0, 1);
+                return read < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+
+                if (inputShutdown) {
+                    return -1;
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+                int read = channel.read(buffer);
+                while (read == 0) {
+                    await(SelectionKey.OP_READ, "Read timed out");
+                    read = channel.read(buffer);
+                }
+                return read;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return 0;
+            }
+
+            @Override
+            public void close() throws IOException {
+                UnixDomainSocket.this.close();
+            }
+        };
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        ensureConnected();
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (outputShutdown) {
+                    throw new SocketException("Socket output is shutdown");
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+                while (buffer.hasRemaining()) {
+                    if (channel.write(buffer) == 0) {
+                        await(SelectionKey.OP_WRITE, "Write timed out");
+                    }
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                UnixDomainSocket.this.close();
+            }
+        };
+    }
+
+    /**
+     * Waits until the channel is ready for given operation within the socket timeout.
+     * @param operation
+     * @param timeoutMessage
+     * @throws IOException
+     */
+    private void await(int operation, String timeoutMessage) throws IOException {
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+
+        selectionKey.interestOps(operation);
+        try {
+            int timeout = soTimeout;
+            if (selector.select(timeout) == 0 && timeout > 0) {
+                throw new SocketTimeoutException(timeoutMessage);
+            }
+        } finally {
+            selector.selectedKeys().clear();
+            if (selectionKey.isValid()) {
+                selectionKey.interestOps(0);
+            }
+        }
+    }
+
+    private void ensureConnected() throws SocketException {
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+
+        if (channel == null) {
+            throw new SocketException("Socket is not connected");
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                selector.close();
+            }
+        }
+    }
+
+    @Override
+    public void shutdownInput() throws IOException {
+        ensureConnected();
+        channel.shutdownInput();
+        inputShutdown = true;
+    }
+
+    @Override
+    public void shutdownOutput() throws IOException {
+        ensureConnected();
+        channel.shutdownOutput();
+        outputShutdown = true;
+    }
+
+    @Override
+    public boolean isInputShutdown() {
+        return inputShutdown;
+    }
+
+    @Override
+    public boolean isOutputShutdown() {
+        return outputShutdown;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return channel != null;
+    }
+
+    @Override
+    public boolean isBound() {
+        return channel != null;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public SocketAddress getRemoteSocketAddress() {
+        return UnixDomainSocketAddress.of(socketPath);
+    }
+
+    @Override
+    public SocketAddress getLocalSocketAddress() {
+        return null;
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) throws SocketException {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Socket timeout must not be negative");
+        }
+        this.soTimeout = timeout;
+    }
+
+    @Override
+    public int getSoTimeout() {
+        return soTimeout;
+    }
+
+    @Override
+    public void setTcpNoDelay(boolean on) {
+        // not applicable to Unix domain sockets
+    }
+
+    @Override
+    public void setKeepAlive(boolean on) {
+        // not applicable to Unix domain sockets
+    }
+
+    @Override
+    public void setReuseAddress(boolean on) {
+        // not applicable to Unix domain sockets
+    }
+
+    @Override
+    public void setSoLinger(boolean on, int linger) {
+        // not applicable to Unix domain sockets
+    }
+
+    @Override
+    public void setSendBufferSize(int size) {
+        // keep system default
+    }
+
+    @Override
+    public void setReceiveBufferSize(int size) {
+        // keep system default
+    }
+
+    @Override
+    public String toString() {
+        return "UnixDomainSocket[" + socketPath + "]";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.client;
+
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+
+/**
+ * Connection socket factory connecting all requests to a Unix domain socket regardless of the target host.
+ * Registered for the http scheme when the remote server url uses the unix: prefix.
+ *
+ * @since 4.4.0
+ */
+public class UnixDomainSocketFactory implements ConnectionSocketFactory {
+
+    /** Path of the Unix domain socket */
+    private final Path socketPath;
+
+    /**
+     * Constructor using given socket path.
+     * @param socketPath
+     */
+    public UnixDomainSocketFactory(Path socketPath) {
+        this.socketPath = socketPath;
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) {
+        return new UnixDomainSocket(socketPath);
+    }
+
+    @Override
+    public Socket connectSocket(TimeValue connectTimeout,
+                                Socket socket,
+                                HttpHost host,
+                                InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress,
+                                HttpContext context) throws IOException {
+        Socket unixSocket = socket != null ? socket : createSocket(context);
+        try {
+            unixSocket.connect(UnixDomainSocketAddress.of(socketPath));
+        } catch (IOException e) {
+            unixSocket.close();
+            throw e;
+        }
+        return unixSocket;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.config;
+
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Load test configuration running each configured test class as a number of concurrent virtual users.
+ *
+ * @since 4.4.0
+ */
+public class LoadConfiguration {
+
+    @Parameter(property = "citrus.remote.load.users", defaultValue = "1")
+    private int users = 1;
+
+    @Parameter(property = "citrus.remote.load.ramp.up", defaultValue = "0")
+    private long rampUp;
+
+    @Parameter(property = "citrus.remote.load.duration", defaultValue = "0")
+    private long duration;
+
+    @Parameter(property = "citrus.remote.load.iterations", defaultValue = "0")
+    private long iterations;
+
+    /** Target number of iterations per second of all users, zero to run the iterations back to back */
+    @Parameter(property = "citrus.remote.load.target.rate", defaultValue = "0")
+    private double targetRate;
+
+    @Parameter(property = "citrus.remote.load.report.interval", defaultValue = "5000")
+    private long reportInterval = 5000L;
+
+    /** Maximum percentage of failed iterations before the build fails */
+    @Parameter(property = "citrus.remote.load.max.error.rate", defaultValue = "0")
+    private double maxErrorRate;
+
+    /**
+     * Gets the users.
+     *
+     * @return
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Sets the users.
+     *
+     * @param users
+     */
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    /**
+     * Gets the ramp-up time in milliseconds.
+     *
+     * @return
+     */
+    public long getRampUp() {
+        return rampUp;
+    }
+
+    /**
+     * Sets the ramp-up time in milliseconds.
+     *
+     * @param rampUp
+     */
+    public void setRampUp(long rampUp) {
+        this.rampUp = rampUp;
+    }
+
+    /**
+     * Gets the duration in milliseconds.
+     *
+     * @return
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Sets the duration in milliseconds.
+     *
+     * @param duration
+     */
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * Gets the iterations.
+     *
+     * @return
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the iterations.
+     *
+     * @param iterations
+     */
+    public void setIterations(long iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Gets the targetRate.
+     *
+     * @return
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Sets the targetRate.
+     *
+     * @param targetRate
+     */
+    public void setTargetRate(double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    /**
+     * Gets the report interval in milliseconds.
+     *
+     * @return
+     */
+    public long getReportInterval() {
+        return reportInterval;
+    }
+
+    /**
+     * Sets the report interval in milliseconds.
+     *
+     * @param reportInterval
+     */
+    public void setReportInterval(long reportInterval) {
+        this.reportInterval = reportInterval;
+    }
+
+    /**
+     * Gets the maxErrorRate.
+     *
+     * @return
+     */
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    /**
+     * Sets the maxErrorRate.
+     *
+     * @param maxErrorRate
+     */
+    public void setMaxErrorRate(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+}
@@ -38,6 +38,12 @@ public class ReportConfiguration implements Serializable {
     @Parameter(property = "citrus.report.summary.file", defaultValue = "citrus-summary.xml", required = true)
     private String summaryFile = "citrus-summary.xml";
 
+    /**
+     * The file name of the report listing tests that have passed on retry.
+     */
+    @Parameter(property = "citrus.report.flaky.file", defaultValue = "citrus-flaky.json", required = true)
+    private String flakyFile = "citrus-flaky.json";
+
     /**
      * Enable/disable HTML report generation.
      */
@@ -68,6 +74,24 @@ public class ReportConfiguration implements Serializable {
         this.summaryFile = summaryFile;
     }
 
+    /**
+     * Gets the flakyFile.
+     *
+     * @return
+     */
+    public String getFlakyFile() {
+        return flakyFile;
+    }
+
+    /**
+     * Sets the flakyFile.
+     *
+     * @param flakyFile
+     */
+    public void setFlakyFile(String flakyFile) {
+        this.flakyFile = flakyFile;
+    }
+
     /**
      * Gets the htmlReport.
      *
@@ -48,6 +48,65 @@ public class RunConfiguration {
     @Parameter(property = "citrus.remote.run.engine", defaultValue = "junit4")
     private String engine;
 
+    /** Runs only the tests in any of these TestNG groups, JUnit 5 tags or JUnit 4 categories */
+    @Parameter(property = "citrus.remote.run.groups")
+    private List<String> groups;
+
+    /** Changed classes or packages, runs only the tests depending on them */
+    @Parameter(property = "citrus.remote.run.changes")
+    private List<String> changes;
+
+    /** Git revision to resolve the changed classes of the project from, e.g. the target branch of a pull request */
+    @Parameter(property = "citrus.remote.run.changedSince")
+    private String changedSince;
+
+    /** Wall clock time in milliseconds the selected tests are estimated to fit in, zero runs all tests */
+    @Parameter(property = "citrus.remote.run.timeBudget", defaultValue = "0")
+    private long timeBudget;
+
+    /**
+     * Estimated duration in milliseconds of tests without test history when selecting tests within the time budget,
+     * zero estimates them with the average duration of the other tests
+     */
+    @Parameter(property = "citrus.remote.run.testEstimate", defaultValue = "0")
+    private long testEstimate;
+
+    /** Groups whose tests are preferred when selecting tests within the time budget */
+    @Parameter(property = "citrus.remote.run.priorityGroups")
+    private List<String> priorityGroups;
+
+    /** Number of times a failed test is re-executed within the run, tests passing on retry are flaky */
+    @Parameter(property = "citrus.remote.run.retries", defaultValue = "0")
+    private int retries;
+
+    /** Skips the remaining tests of the run after the first failed test */
+    @Parameter(property = "citrus.remote.run.failFast", defaultValue = "false")
+    private boolean failFast;
+
+    /** Number of failed tests after which the remaining tests of the run are skipped, zero disables the limit */
+    @Parameter(property = "citrus.remote.run.maxFailures", defaultValue = "0")
+    private int maxFailures;
+
+    /** Probes the client endpoints of the server before the tests run and fails the run when one is unreachable */
+    @Parameter(property = "citrus.remote.run.preflight", defaultValue = "false")
+    private boolean preflight;
+
+    /** Time in milliseconds to repeat the tests in soak mode, zero runs the tests once */
+    @Parameter(property = "citrus.remote.run.soak.duration", defaultValue = "0")
+    private long soakDuration;
+
+    /** Length in milliseconds of the windows the soak statistics are collected in */
+    @Parameter(property = "citrus.remote.run.soak.window", defaultValue = "60000")
+    private long soakWindow = 60000L;
+
+    /** Sets of system properties, runs the tests once per set concurrently and labels the results with the set */
+    @Parameter
+    private List<Map<String, String>> matrix;
+
+    /** Optional load test configuration, runs the classes as load tests when set */
+    @Parameter
+    private LoadConfiguration load;
+
     /**
      * Gets the classes.
      *
@@ -187,4 +246,270 @@ public class RunConfiguration {
     public void setEngine(String engine) {
         this.engine = engine;
     }
+
+    /**
+     * Gets the groups.
+     *
+     * @return
+     */
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Sets the groups.
+     *
+     * @param groups
+     */
+    public void setGroups(List<String> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Gets the changes.
+     *
+     * @return
+     */
+    public List<String> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Sets the changes.
+     *
+     * @param changes
+     */
+    public void setChanges(List<String> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Gets the changedSince.
+     *
+     * @return
+     */
+    public String getChangedSince() {
+        return changedSince;
+    }
+
+    /**
+     * Sets the changedSince.
+     *
+     * @param changedSince
+     */
+    public void setChangedSince(String changedSince) {
+        this.changedSince = changedSince;
+    }
+
+    /**
+     * Gets the timeBudget.
+     *
+     * @return
+     */
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    /**
+     * Sets the timeBudget.
+     *
+     * @param timeBudget
+     */
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Gets the testEstimate.
+     *
+     * @return
+     */
+    public long getTestEstimate() {
+        return testEstimate;
+    }
+
+    /**
+     * Sets the testEstimate.
+     *
+     * @param testEstimate
+     */
+    public void setTestEstimate(long testEstimate) {
+        this.testEstimate = testEstimate;
+    }
+
+    /**
+     * Gets the priorityGroups.
+     *
+     * @return
+     */
+    public List<String> getPriorityGroups() {
+        return priorityGroups;
+    }
+
+    /**
+     * Sets the priorityGroups.
+     *
+     * @param priorityGroups
+     */
+    public void setPriorityGroups(List<String> priorityGroups) {
+        this.priorityGroups = priorityGroups;
+    }
+
+    /**
+     * Gets the retries.
+     *
+     * @return
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Sets the retries.
+     *
+     * @param retries
+     */
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    /**
+     * Gets the failFast.
+     *
+     * @return
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Sets the failFast.
+     *
+     * @param failFast
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Gets the maxFailures.
+     *
+     * @return
+     */
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    /**
+     * Sets the maxFailures.
+     *
+     * @param maxFailures
+     */
+    public void setMaxFailures(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Gets the preflight.
+     *
+     * @return
+     */
+    public boolean isPreflight() {
+        return preflight;
+    }
+
+    /**
+     * Sets the preflight.
+     *
+     * @param preflight
+     */
+    public void setPreflight(boolean preflight) {
+        this.preflight = preflight;
+    }
+
+    /**
+     * Gets the soakDuration.
+     *
+     * @return
+     */
+    public long getSoakDuration() {
+        return soakDuration;
+    }
+
+    /**
+     * Sets the soakDuration.
+     *
+     * @param soakDuration
+     */
+    public void setSoakDuration(long soakDuration) {
+        this.soakDuration = soakDuration;
+    }
+
+    /**
+     * Gets the soakWindow.
+     *
+     * @return
+     */
+    public long getSoakWindow() {
+        return soakWindow;
+    }
+
+    /**
+     * Sets the soakWindow.
+     *
+     * @param soakWindow
+     */
+    public void setSoakWindow(long soakWindow) {
+        this.soakWindow = soakWindow;
+    }
+
+    /**
+     * Gets the matrix.
+     *
+     * @return
+     */
+    public List<Map<String, String>> getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Sets the matrix.
+     *
+     * @param matrix
+     */
+    public void setMatrix(List<Map<String, String>> matrix) {
+        this.matrix = matrix;
+    }
+
+    /**
+     * Checks existence of a parameter matrix.
+     * @return
+     */
+    public boolean hasMatrix() {
+        return matrix != null && !matrix.isEmpty();
+    }
+
+    /**
+     * Gets the load test configuration.
+     * @return
+     */
+    public LoadConfiguration getLoad() {
+        return load;
+    }
+
+    /**
+     * Sets the load test configuration.
+     * @param load
+     */
+    public void setLoad(LoadConfiguration load) {
+        this.load = load;
+    }
+
+    /**
+     * Checks existence of a load test configuration.
+     * @return
+     */
+    public boolean hasLoad() {
+        return load != null;
+    }
 }
@@ -19,6 +19,7 @@ package org.citrusframework.remote.plugin.config;
 import org.apache.maven.plugins.annotations.Parameter;
 
 import java.io.Serializable;
+import java.nio.file.Path;
 
 /**
  * @author Christoph Deppisch
@@ -26,9 +27,19 @@ import java.io.Serializable;
  */
 public class ServerConfiguration implements Serializable {
 
+    /** Prefix of server urls addressing a Unix domain socket, e.g. unix:/var/run/citrus-remote.sock */
+    public static final String UNIX_SOCKET_PREFIX = "unix:";
+
     @Parameter(property = "citrus.remote.server.url", required = true, defaultValue = "http://localhost:8686")
     private String url = "http://localhost:8686";
 
+    /**
+     * Use HTTP/2 to multiplex report downloads over a single connection. Cleartext server urls use
+     * prior knowledge (h2c), https urls negotiate HTTP/2 via ALPN. Ignored for Unix domain socket urls.
+     */
+    @Parameter(property = "citrus.remote.server.http2", defaultValue = "false")
+    private boolean http2;
+
     /**
      * Gets the url.
      *
@@ -38,6 +49,31 @@ public class ServerConfiguration implements Serializable {
         return url;
     }
 
+    /**
+     * Checks if the url addresses a Unix domain socket.
+     * @return
+     */
+    public boolean isUnixSocket() {
+        return url.startsWith(UNIX_SOCKET_PREFIX);
+    }
+
+    /**
+     * Gets the path of the Unix domain socket addressed by the url.
+     * @return
+     */
+    public Path getUnixSocketPath() {
+        return Path.of(url.substring(UNIX_SOCKET_PREFIX.length()));
+    }
+
+    /**
+     * Gets the base url of HTTP requests to the server. Requests to a Unix domain socket use a
+     * placeholder host as the socket path is resolved by the connection socket factory.
+     * @return
+     */
+    public String getBaseUrl() {
+        return isUnixSocket() ? "http://localhost" : url;
+    }
+
     /**
      * Sets the url.
      *
@@ -46,4 +82,22 @@ public class ServerConfiguration implements Serializable {
     public void setUrl(String url) {
         this.url = url;
     }
+
+    /**
+     * Gets the http2.
+     *
+     * @return
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Sets the http2.
+     *
+     * @param http2
+     */
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
 }
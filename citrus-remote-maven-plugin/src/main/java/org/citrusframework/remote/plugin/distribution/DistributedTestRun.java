@@ -0,0 +1,236 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.distribution;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.plugin.config.ServerConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Test run distributed across multiple remote servers. Test classes are partitioned by estimated duration across
+ * all healthy servers and the partitions run concurrently, one per server. A partition whose server fails and no
+ * longer passes the health check moves to the next healthy server. Failures of servers that are still healthy are
+ * test run failures and are not retried, so tests never run twice. A failed partition does not stop the other
+ * partitions, the run waits for all partitions and returns the merged results along with all partition failures.
+ *
+ * @since 4.4.0
+ */
+public class DistributedTestRun {
+
+    /** Configured servers */
+    private final List<ServerConfiguration> servers;
+
+    /** Checks if a server is able to accept test runs */
+    private final Predicate<ServerConfiguration> healthCheck;
+
+    /** Runs test classes on a server */
+    private final ServerRun serverRun;
+
+    private final Log log;
+
+    /** Servers that failed during this run */
+    private final Set<ServerConfiguration> unhealthy = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    /** Servers that completed a partition and hold its reports */
+    private final Set<ServerConfiguration> completed = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    /** Round robin position for choosing failover servers */
+    private int nextServer;
+
+    /**
+     * Constructor using given servers, health check and run callback.
+     * @param servers
+     * @param healthCheck
+     * @param serverRun
+     * @param log
+     */
+    public DistributedTestRun(List<ServerConfiguration> servers,
+                              Predicate<ServerConfiguration> healthCheck,
+                              ServerRun serverRun,
+                              Log log) {
+        this.servers = servers;
+        this.healthCheck = healthCheck;
+        this.serverRun = serverRun;
+        this.log = log;
+    }
+
+    /**
+     * Runs given test classes across all healthy servers and merges the results of all partitions that have completed.
+     * @param testClasses
+     * @param durations known durations in milliseconds by test class name
+     * @return merged results and the failures of partitions that have not completed
+     * @throws MojoExecutionException if no server is healthy or the run has been interrupted
+     */
+    public Outcome execute(List<String> testClasses, Map<String, Long> durations) throws MojoExecutionException {
+        List<ServerConfiguration> healthy = servers.stream()
+                .filter(this::isHealthy)
+                .toList();
+        if (healthy.isEmpty()) {
+            throw new MojoExecutionException("None of the remote servers is healthy");
+        }
+
+        List<TestPartitioner.Partition> partitions = TestPartitioner.partition(testClasses, durations, healthy.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(partitions.size());
+        try {
+            List<Future<RemoteResult[]>> partitionResults = new ArrayList<>();
+            for (TestPartitioner.Partition partition : partitions) {
+                ServerConfiguration server = healthy.get(partition.getIndex());
+                log.info(String.format("Running %d test classes (estimated %d ms) on remote server %s",
+                        partition.getTestClasses().size(), partition.getEstimatedMillis(), server.getUrl()));
+                partitionResults.add(executorService.submit(() -> runPartition(partition, server)));
+            }
+
+            List<RemoteResult> results = new ArrayList<>();
+            List<MojoExecutionException> failures = new ArrayList<>();
+            for (int i = 0; i < partitions.size(); i++) {
+                try {
+                    results.addAll(Arrays.asList(partitionResults.get(i).get()));
+                } catch (ExecutionException e) {
+                    TestPartitioner.Partition partition = partitions.get(i);
+                    log.error(String.format("Failed to run %d test classes of partition %d",
+                            partition.getTestClasses().size(), partition.getIndex()), e.getCause());
+                    failures.add(e.getCause() instanceof MojoExecutionException mojoExecutionException ?
+                            mojoExecutionException :
+                            new MojoExecutionException("Failed to run tests on remote servers", e.getCause()));
+                }
+            }
+            return new Outcome(results.toArray(new RemoteResult[0]), failures);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for remote test results", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs partition on given server and moves it to other healthy servers as long as the current server fails
+     * and does not pass the health check anymore.
+     * @param partition
+     * @param server
+     * @return
+     * @throws MojoExecutionException
+     */
+    private RemoteResult[] runPartition(TestPartitioner.Partition partition, ServerConfiguration server) throws MojoExecutionException {
+        ServerConfiguration current = server;
+        while (true) {
+            try {
+                RemoteResult[] results = serverRun.run(current, partition.getTestClasses());
+                completed.add(current);
+                return results;
+            } catch (MojoExecutionException e) {
+                if (isHealthy(current)) {
+                    throw new MojoExecutionException(String.format("Failed to run %d test classes on remote server %s",
+                            partition.getTestClasses().size(), current.getUrl()), e);
+                }
+
+                unhealthy.add(current);
+                Optional<ServerConfiguration> failover = nextHealthyServer();
+                if (failover.isEmpty()) {
+                    throw new MojoExecutionException("No healthy remote server left to run tests of failed server " + current.getUrl(), e);
+                }
+
+                log.warn(String.format("Remote server %s failed, moving %d test classes to remote server %s",
+                        current.getUrl(), partition.getTestClasses().size(), failover.get().getUrl()), e);
+                current = failover.get();
+            }
+        }
+    }
+
+    private synchronized Optional<ServerConfiguration> nextHealthyServer() {
+        for (int i = 0; i < servers.size(); i++) {
+            ServerConfiguration candidate = servers.get((nextServer + i) % servers.size());
+            if (isHealthy(candidate)) {
+                nextServer = (nextServer + i + 1) % servers.size();
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isHealthy(ServerConfiguration server) {
+        return !unhealthy.contains(server) && healthCheck.test(server);
+    }
+
+    /**
+     * Gets the servers that completed a partition of this run.
+     * @return
+     */
+    public List<ServerConfiguration> getCompletedServers() {
+        synchronized (completed) {
+            return new ArrayList<>(completed);
+        }
+    }
+
+    /**
+     * Merged results of all completed partitions and the failures of all other partitions.
+     * @param results
+     * @param failures
+     */
+    public record Outcome(RemoteResult[] results, List<MojoExecutionException> failures) {
+
+        /**
+         * Checks if all partitions have completed.
+         * @return
+         */
+        public boolean isSuccess() {
+            return failures.isEmpty();
+        }
+
+        /**
+         * Creates exception failing the run with the first partition failure as cause and all other failures
+         * suppressed.
+         * @return
+         */
+        public MojoExecutionException toException() {
+            MojoExecutionException exception = new MojoExecutionException(String.format(
+                    "%d of the partitions failed to run on remote servers", failures.size()), failures.get(0));
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            return exception;
+        }
+    }
+
+    /**
+     * Callback running test classes on a single server.
+     */
+    @FunctionalInterface
+    public interface ServerRun {
+        /**
+         * Runs given test classes on the server and returns the results.
+         * @param server
+         * @param testClasses
+         * @return
+         * @throws MojoExecutionException
+         */
+        RemoteResult[] run(ServerConfiguration server, List<String> testClasses) throws MojoExecutionException;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.distribution;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Discovers test classes in the compiled test classes directory of the project. Mirrors the package scanning
+ * of the Citrus test engines: top level classes in the given packages whose simple name matches one of the
+ * include patterns.
+ *
+ * @since 4.4.0
+ */
+public final class TestClassScanner {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private TestClassScanner() {
+        // utility class
+    }
+
+    /**
+     * Scans given directory for test classes.
+     * @param testClassesDirectory compiled test classes
+     * @param packages packages to scan, all packages when empty
+     * @param includes regular expressions matching the simple class name
+     * @return fully qualified test class names in alphabetical order
+     * @throws IOException
+     */
+    public static List<String> scan(Path testClassesDirectory, List<String> packages, String[] includes) throws IOException {
+        if (!Files.isDirectory(testClassesDirectory)) {
+            return List.of();
+        }
+
+        List<Pattern> includePatterns = Arrays.stream(includes)
+                .map(Pattern::compile)
+                .toList();
+
+        try (Stream<Path> files = Files.walk(testClassesDirectory)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> testClassesDirectory.relativize(file).toString())
+                    .filter(file -> file.endsWith(CLASS_FILE_SUFFIX) && !file.contains("$"))
+                    .map(file -> file.substring(0, file.length() - CLASS_FILE_SUFFIX.length())
+                            .replace(File.separatorChar, '.'))
+                    .filter(className -> packages.isEmpty() || packages.stream()
+                            .anyMatch(packageName -> className.startsWith(packageName + ".")))
+                    .filter(className -> includePatterns.stream()
+                            .anyMatch(pattern -> pattern.matcher(simpleName(className)).matches()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
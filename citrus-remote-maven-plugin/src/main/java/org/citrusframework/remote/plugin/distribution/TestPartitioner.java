@@ -0,0 +1,127 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.distribution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Partitions test classes into a given number of partitions with balanced estimated duration. Uses the longest
+ * processing time first heuristic: classes are assigned in order of descending duration to the partition with the
+ * least estimated duration so far. Classes without known duration are estimated with the average of the known
+ * durations, so that a run without any history is partitioned by class count.
+ *
+ * @since 4.4.0
+ */
+public final class TestPartitioner {
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private TestPartitioner() {
+        // utility class
+    }
+
+    /**
+     * Partitions given test classes.
+     * @param testClasses fully qualified names of the test classes
+     * @param durations known durations in milliseconds by test class name
+     * @param partitions maximum number of partitions
+     * @return non-empty partitions, at most the given number
+     */
+    public static List<Partition> partition(Collection<String> testClasses, Map<String, Long> durations, int partitions) {
+        long estimate = Math.max(1L, Math.round(testClasses.stream()
+                .filter(durations::containsKey)
+                .mapToLong(durations::get)
+                .average()
+                .orElse(1.0)));
+
+        List<String> ordered = testClasses.stream()
+                .distinct()
+                .sorted(Comparator.<String>comparingLong(testClass -> durations.getOrDefault(testClass, estimate))
+                        .reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+
+        PriorityQueue<Partition> queue = new PriorityQueue<>(Comparator.comparingLong(Partition::getEstimatedMillis)
+                .thenComparingInt(Partition::getIndex));
+        for (int i = 0; i < Math.max(1, Math.min(partitions, ordered.size())); i++) {
+            queue.add(new Partition(i));
+        }
+
+        for (String testClass : ordered) {
+            Partition partition = queue.poll();
+            partition.add(testClass, durations.getOrDefault(testClass, estimate));
+            queue.add(partition);
+        }
+
+        return queue.stream()
+                .filter(partition -> !partition.getTestClasses().isEmpty())
+                .sorted(Comparator.comparingInt(Partition::getIndex))
+                .toList();
+    }
+
+    /**
+     * Test classes assigned to one server and their estimated duration.
+     */
+    public static final class Partition {
+
+        private final int index;
+        private final List<String> testClasses = new ArrayList<>();
+        private long estimatedMillis;
+
+        Partition(int index) {
+            this.index = index;
+        }
+
+        void add(String testClass, long durationMillis) {
+            testClasses.add(testClass);
+            estimatedMillis += durationMillis;
+        }
+
+        /**
+         * Gets the index.
+         *
+         * @return
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the testClasses.
+         *
+         * @return
+         */
+        public List<String> getTestClasses() {
+            return testClasses;
+        }
+
+        /**
+         * Gets the estimatedMillis.
+         *
+         * @return
+         */
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.plugin.impact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves the classes changed in the project since a Git revision, so that the remote server is able to select the
+ * tests affected by these changes. Changed files of the whole Git work tree are listed with {@code git diff} including
+ * uncommitted changes and mapped to class names by their location in the source roots of the project. Untracked files
+ * are not listed. Any other changed file, e.g. a resource, an XML or YAML test, a Spring configuration or a source of a
+ * sibling module the project depends on, may affect any test, so the changes are unknown then and all tests should
+ * run.
+ *
+ * @since 4.4.0
+ */
+public final class ChangedClasses {
+
+    /** Java source file extension */
+    private static final String JAVA_SOURCE_SUFFIX = ".java";
+
+    /** Time to wait for Git to complete */
+    private static final long GIT_TIMEOUT_SECONDS = 60L;
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private ChangedClasses() {
+        // utility class
+    }
+
+    /**
+     * Lists the classes changed since given revision in given project directory.
+     * @param baseDirectory project directory within a Git work tree
+     * @param revision Git revision to compare with, e.g. the target branch of a pull request
+     * @param sourceRoots source roots of the project
+     * @return fully qualified names of the changed classes, empty when a changed file is not a Java source in one of
+     * the source roots, so that the changes are unknown
+     * @throws IOException when Git fails to list the changes
+     */
+    public static Optional<List<String>> since(Path baseDirectory, String revision, Collection<String> sourceRoots)
+            throws IOException {
+        // path of the work tree relative to the project, empty when the project is the work tree itself
+        Path workTree = git(baseDirectory, "find Git work tree of " + baseDirectory, "rev-parse", "--show-cdup")
+                .stream()
+                .findFirst()
+                .map(baseDirectory::resolve)
+                .orElse(baseDirectory);
+        Set<String> changedClasses = new LinkedHashSet<>();
+        for (String file : git(baseDirectory, "list changes since " + revision,
+                "diff", "--name-only", revision, "--")) {
+            Optional<String> className = toClassName(workTree.resolve(file).toAbsolutePath().normalize(),
+                    sourceRoots);
+            if (className.isEmpty()) {
+                return Optional.empty();
+            }
+            changedClasses.add(className.get());
+        }
+        return Optional.of(new ArrayList<>(changedClasses));
+    }
+
+    /**
+     * Runs Git with given arguments in given directory.
+     * @param directory
+     * @param task description of the Git command used in error messages
+     * @param arguments
+     * @return the non-empty lines of the output
+     * @throws IOException when Git fails
+     */
+    private static List<String> git(Path directory, String task, String... arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(arguments));
+        Process git = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .start();
+        CompletableFuture<String> stdout = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        try {
+            if (!git.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                git.destroyForcibly();
+                throw new IOException("Timed out trying to " + task);
+            }
+
+            String output = stdout.get(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (git.exitValue() != 0) {
+                throw new IOException("Failed to " + task + ": " + output.trim());
+            }
+            return output.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .toList();
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to read output of Git trying to " + task, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out reading output of Git trying to " + task, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            git.destroyForcibly();
+            throw new IOException("Interrupted while trying to " + task, e);
+        }
+    }
+
+    private static Optional<String> toClassName(Path file, Collection<String> sourceRoots) {
+        if (!file.getFileName().toString().endsWith(JAVA_SOURCE_SUFFIX)) {
+            return Optional.empty();
+        }
+
+        return sourceRoots.stream()
+                .map(sourceRoot -> Path.of(sourceRoot).toAbsolutePath().normalize())
+                .filter(file::startsWith)
+                .findFirst()
+                .map(sourceRoot -> {
+                    String relative = sourceRoot.relativize(file).toString();
+                    return relative.substring(0, relative.length() - JAVA_SOURCE_SUFFIX.length())
+                            .replace(file.getFileSystem().getSeparator(), ".");
+                });
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.client;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.citrusframework.remote.CitrusRemoteApplication;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.CitrusRemoteState;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests through the Unix domain socket factory to a remote server listening on a temporary Unix domain socket.
+ *
+ * @since 4.4.0
+ */
+public class UnixDomainSocketFactoryTest {
+
+    private Vertx vertx;
+    private Path socketDirectory;
+    private Path socketPath;
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        socketDirectory = Files.createTempDirectory("citrus-remote");
+        socketPath = socketDirectory.resolve("server.sock");
+
+        CitrusRemoteConfiguration configuration = new CitrusRemoteConfiguration();
+        configuration.setPort(findFreePort());
+        configuration.setUnixSocket(socketPath.toString());
+
+        vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(true));
+        if (!vertx.isNativeTransportEnabled()) {
+            throw new SkipException("Unix domain sockets require the Vert.x native transport",
+                    vertx.unavailableNativeTransportCause());
+        }
+
+        CitrusRemoteState state = new CitrusRemoteState(configuration);
+        vertx.deployVerticle(() -> new CitrusRemoteApplication(state, Collections.emptyList()),
+                        new DeploymentOptions().setInstances(1))
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws Exception {
+        if (vertx != null) {
+            vertx.close().toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+        }
+
+        if (socketDirectory != null) {
+            Files.deleteIfExists(socketPath);
+            Files.deleteIfExists(socketDirectory);
+        }
+    }
+
+    @Test
+    public void shouldExchangeRequestsOverUnixDomainSocket() throws Exception {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register(URIScheme.HTTP.id, new UnixDomainSocketFactory(socketPath))
+                        .build());
+
+        try (CloseableHttpClient client = HttpClients.custom().setConnectionManager(connectionManager).build()) {
+            for (int i = 0; i < 3; i++) {
+                String health = client.execute(new HttpGet("http://localhost/health"), response -> {
+                    Assert.assertEquals(response.getCode(), 200);
+                    return EntityUtils.toString(response.getEntity());
+                });
+                Assert.assertTrue(health.contains("UP"), health);
+            }
+
+            String metrics = client.execute(new HttpGet("http://localhost/metrics"), response -> {
+                Assert.assertEquals(response.getCode(), 200);
+                return EntityUtils.toString(response.getEntity());
+            });
+            Assert.assertTrue(metrics.contains("route=\"/health\""), "Health requests missing in metrics");
+            Assert.assertTrue(metrics.endsWith("# EOF\n"), "Incomplete metrics response");
+        }
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.plugin.distribution;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.plugin.config.ServerConfiguration;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs distributed test runs against fake servers.
+ *
+ * @since 4.4.0
+ */
+public class DistributedTestRunTest {
+
+    private final ServerConfiguration first = server("http://first:4567");
+    private final ServerConfiguration second = server("http://second:4567");
+    private final ServerConfiguration third = server("http://third:4567");
+
+    @Test
+    public void shouldMergeResultsOfAllPartitions() throws Exception {
+        FakeServers servers = new FakeServers();
+
+        DistributedTestRun.Outcome outcome = createRun(servers, first, second)
+                .execute(List.of("A", "B", "C", "D"), Map.of());
+
+        Assert.assertTrue(outcome.isSuccess());
+        Assert.assertEquals(testClasses(outcome), Set.of("A", "B", "C", "D"));
+        Assert.assertEquals(servers.runs.keySet(), Set.of(first, second));
+    }
+
+    @Test
+    public void shouldMovePartitionOfUnhealthyServerToHealthyServer() throws Exception {
+        FakeServers servers = new FakeServers();
+        servers.crashing.add(second);
+
+        DistributedTestRun run = createRun(servers, first, second, third);
+        DistributedTestRun.Outcome outcome = run.execute(List.of("A", "B", "C"), Map.of());
+
+        Assert.assertTrue(outcome.isSuccess());
+        Assert.assertEquals(outcome.results().length, 3);
+        Assert.assertEquals(testClasses(outcome), Set.of("A", "B", "C"));
+        Assert.assertFalse(run.getCompletedServers().contains(second));
+        Assert.assertEquals(servers.runs.values().stream().mapToInt(List::size).sum(), 3,
+                "Tests of the crashed server must run exactly once");
+    }
+
+    @Test
+    public void shouldReportResultsOfOtherPartitionsWhenHealthyServerFails() throws Exception {
+        FakeServers servers = new FakeServers();
+        servers.failing.add(first);
+
+        DistributedTestRun run = createRun(servers, first, second);
+        DistributedTestRun.Outcome outcome = run.execute(List.of("A", "B"), Map.of("A", 20L, "B", 10L));
+
+        Assert.assertFalse(outcome.isSuccess());
+        Assert.assertEquals(outcome.failures().size(), 1);
+        Assert.assertEquals(testClasses(outcome), Set.of("B"));
+        Assert.assertEquals(run.getCompletedServers(), List.of(second));
+        Assert.assertEquals(servers.calls.get(first).intValue(), 1,
+                "Partition of a healthy failing server must not be retried");
+
+        MojoExecutionException exception = outcome.toException();
+        Assert.assertSame(exception.getCause(), outcome.failures().get(0));
+        Assert.assertTrue(exception.getCause().getMessage().contains(first.getUrl()));
+    }
+
+    @Test
+    public void shouldCollectFailuresOfAllPartitions() throws Exception {
+        FakeServers servers = new FakeServers();
+        servers.failing.add(first);
+        servers.failing.add(second);
+
+        DistributedTestRun.Outcome outcome = createRun(servers, first, second, third)
+                .execute(List.of("A", "B", "C"), Map.of());
+
+        Assert.assertEquals(outcome.failures().size(), 2);
+        Assert.assertEquals(outcome.results().length, 1);
+        Assert.assertEquals(outcome.toException().getSuppressed().length, 1);
+    }
+
+    @Test
+    public void shouldFailPartitionWhenNoHealthyServerIsLeft() throws Exception {
+        FakeServers servers = new FakeServers();
+        servers.crashing.add(first);
+        servers.crashing.add(second);
+
+        DistributedTestRun.Outcome outcome = createRun(servers, first, second)
+                .execute(List.of("A", "B"), Map.of());
+
+        Assert.assertEquals(outcome.failures().size(), 2);
+        Assert.assertEquals(outcome.results().length, 0);
+    }
+
+    @Test(expectedExceptions = MojoExecutionException.class)
+    public void shouldFailWithoutHealthyServer() throws Exception {
+        FakeServers servers = new FakeServers();
+        servers.crashing.add(first);
+        servers.crashed.add(first);
+
+        createRun(servers, first).execute(List.of("A"), Map.of());
+    }
+
+    private DistributedTestRun createRun(FakeServers servers, ServerConfiguration... configurations) {
+        return new DistributedTestRun(Arrays.asList(configurations), servers::isHealthy, servers::run,
+                new SystemStreamLog());
+    }
+
+    private static Set<String> testClasses(DistributedTestRun.Outcome outcome) {
+        Set<String> testClasses = new HashSet<>();
+        Arrays.stream(outcome.results()).forEach(result -> testClasses.add(result.getTestClass()));
+        return testClasses;
+    }
+
+    private static ServerConfiguration server(String url) {
+        ServerConfiguration server = new ServerConfiguration();
+        server.setUrl(url);
+        return server;
+    }
+
+    /**
+     * Fake servers passing one result per test class. Crashing servers fail and no longer pass the health check,
+     * failing servers fail and stay healthy.
+     */
+    private static final class FakeServers {
+        private final Set<ServerConfiguration> crashing = ConcurrentHashMap.newKeySet();
+        private final Set<ServerConfiguration> failing = ConcurrentHashMap.newKeySet();
+        private final Set<ServerConfiguration> crashed = ConcurrentHashMap.newKeySet();
+        private final Map<ServerConfiguration, List<String>> runs = new ConcurrentHashMap<>();
+        private final Map<ServerConfiguration, Integer> calls = new ConcurrentHashMap<>();
+
+        private boolean isHealthy(ServerConfiguration server) {
+            return !crashed.contains(server);
+        }
+
+        private RemoteResult[] run(ServerConfiguration server, List<String> testClasses) throws MojoExecutionException {
+            calls.merge(server, 1, Integer::sum);
+            if (crashing.contains(server)) {
+                crashed.add(server);
+                throw new MojoExecutionException("Connection refused: " + server.getUrl());
+            }
+
+            if (failing.contains(server)) {
+                throw new MojoExecutionException("Internal server error: " + server.getUrl());
+            }
+
+            runs.computeIfAbsent(server, key -> Collections.synchronizedList(new ArrayList<>())).addAll(testClasses);
+            return testClasses.stream()
+                    .map(testClass -> {
+                        RemoteResult result = new RemoteResult();
+                        result.setTestClass(testClass);
+                        result.setTestName(testClass + ".test");
+                        result.setSuccess(true);
+                        return result;
+                    })
+                    .toArray(RemoteResult[]::new);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.plugin.distribution;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @since 4.4.0
+ */
+public class TestPartitionerTest {
+
+    @Test
+    public void shouldBalanceByKnownDurations() {
+        List<TestPartitioner.Partition> partitions = TestPartitioner.partition(
+                List.of("A", "B", "C", "D", "E"),
+                Map.of("A", 100L, "B", 60L, "C", 50L, "D", 30L, "E", 20L), 2);
+
+        Assert.assertEquals(partitions.size(), 2);
+        Assert.assertEquals(partitions.get(0).getTestClasses(), List.of("A", "D"));
+        Assert.assertEquals(partitions.get(0).getEstimatedMillis(), 130L);
+        Assert.assertEquals(partitions.get(1).getTestClasses(), List.of("B", "C", "E"));
+        Assert.assertEquals(partitions.get(1).getEstimatedMillis(), 130L);
+    }
+
+    @Test
+    public void shouldEstimateUnknownDurationsWithAverage() {
+        List<TestPartitioner.Partition> partitions = TestPartitioner.partition(
+                List.of("A", "B", "C", "D"), Map.of("A", 300L, "B", 100L), 2);
+
+        Assert.assertEquals(partitions.get(0).getTestClasses(), List.of("A", "B"));
+        Assert.assertEquals(partitions.get(0).getEstimatedMillis(), 400L);
+        Assert.assertEquals(partitions.get(1).getTestClasses(), List.of("C", "D"));
+        Assert.assertEquals(partitions.get(1).getEstimatedMillis(), 400L);
+    }
+
+    @Test
+    public void shouldPartitionByClassCountWithoutHistory() {
+        List<TestPartitioner.Partition> partitions = TestPartitioner.partition(
+                List.of("A", "B", "C", "D", "E", "F", "G"), Map.of(), 3);
+
+        Assert.assertEquals(partitions.size(), 3);
+        Assert.assertEquals(partitions.stream().mapToInt(partition -> partition.getTestClasses().size()).sum(), 7);
+        for (TestPartitioner.Partition partition : partitions) {
+            Assert.assertTrue(partition.getTestClasses().size() >= 2 && partition.getTestClasses().size() <= 3);
+        }
+    }
+
+    @Test
+    public void shouldNotCreateEmptyPartitions() {
+        List<TestPartitioner.Partition> partitions = TestPartitioner.partition(List.of("A", "B", "A"), Map.of(), 5);
+
+        Assert.assertEquals(partitions.size(), 2);
+        Assert.assertEquals(partitions.get(0).getIndex(), 0);
+        Assert.assertEquals(partitions.get(1).getIndex(), 1);
+        Assert.assertEquals(partitions.get(0).getTestClasses(), List.of("A"));
+        Assert.assertEquals(partitions.get(1).getTestClasses(), List.of("B"));
+    }
+
+    @Test
+    public void shouldHandleNoTestsAndNoPartitions() {
+        Assert.assertTrue(TestPartitioner.partition(List.of(), Map.of(), 3).isEmpty());
+        Assert.assertEquals(TestPartitioner.partition(List.of("A"), Map.of(), 0).size(), 1);
+    }
+}
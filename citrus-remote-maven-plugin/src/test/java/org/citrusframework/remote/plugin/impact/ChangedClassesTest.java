@@ -0,0 +1,119 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.plugin.impact;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * @since 4.4.0
+ */
+public class ChangedClassesTest {
+
+    private Path workTree;
+    private Path module;
+    private List<String> sourceRoots;
+
+    @BeforeMethod
+    public void createWorkTree() throws Exception {
+        workTree = Files.createTempDirectory("changed-classes");
+        module = workTree.resolve("module");
+        sourceRoots = List.of(module.resolve("src/main/java").toString(), module.resolve("src/test/java").toString());
+
+        write(module.resolve("src/main/java/org/sample/Service.java"), "package org.sample; class Service {}");
+        write(module.resolve("src/test/java/org/sample/ServiceIT.java"), "package org.sample; class ServiceIT {}");
+        write(workTree.resolve("sibling/src/main/java/org/sibling/Api.java"), "package org.sibling; class Api {}");
+
+        try {
+            git("init", "-q");
+            git("add", ".");
+            git("-c", "user.name=test", "-c", "user.email=test@citrusframework.org", "commit", "-q", "-m", "init");
+        } catch (IOException e) {
+            throw new SkipException("Git is not available", e);
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteWorkTree() throws IOException {
+        try (Stream<Path> files = Files.walk(workTree)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldListChangedClassesOfProject() throws IOException {
+        write(module.resolve("src/main/java/org/sample/Service.java"), "package org.sample; class Service { int x; }");
+        write(module.resolve("src/test/java/org/sample/ServiceIT.java"), "package org.sample; class ServiceIT { int x; }");
+
+        Assert.assertEquals(ChangedClasses.since(module, "HEAD", sourceRoots),
+                Optional.of(List.of("org.sample.Service", "org.sample.ServiceIT")));
+    }
+
+    @Test
+    public void shouldTreatChangesOfSiblingModulesAsUnknown() throws IOException {
+        write(module.resolve("src/main/java/org/sample/Service.java"), "package org.sample; class Service { int x; }");
+        write(workTree.resolve("sibling/src/main/java/org/sibling/Api.java"), "package org.sibling; class Api { int x; }");
+
+        Assert.assertEquals(ChangedClasses.since(module, "HEAD", sourceRoots), Optional.empty());
+    }
+
+    @Test
+    public void shouldTreatChangedResourcesAsUnknown() throws IOException {
+        write(module.resolve("src/test/resources/citrus-application.properties"), "citrus.sample=value");
+        git("add", ".");
+
+        Assert.assertEquals(ChangedClasses.since(module, "HEAD", sourceRoots), Optional.empty());
+    }
+
+    @Test
+    public void shouldListNoChanges() throws IOException {
+        Assert.assertEquals(ChangedClasses.since(module, "HEAD", sourceRoots), Optional.of(List.of()));
+    }
+
+    private void git(String... arguments) throws IOException {
+        List<String> command = Stream.concat(Stream.of("git"), Stream.of(arguments)).toList();
+        try {
+            Process git = new ProcessBuilder(command)
+                    .directory(workTree.toFile())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(git.getInputStream().readAllBytes());
+            if (git.waitFor() != 0) {
+                throw new IOException("Failed to run " + command + ": " + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + command, e);
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
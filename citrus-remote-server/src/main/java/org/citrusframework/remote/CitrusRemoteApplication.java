@@ -21,42 +21,61 @@ import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.net.KeyStoreOptions;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
-import org.citrusframework.Citrus;
-import org.citrusframework.CitrusInstanceManager;
-import org.citrusframework.CitrusInstanceStrategy;
 import org.citrusframework.TestClass;
+import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.main.CitrusAppConfiguration;
 import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.cluster.ClusterWorker;
+import org.citrusframework.remote.cluster.Coordinator;
+import org.citrusframework.remote.history.TestHistory;
+import org.citrusframework.remote.index.IndexedTest;
+import org.citrusframework.remote.job.MatrixRunExecutor;
 import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.job.SoakRunExecutor;
+import org.citrusframework.remote.journal.RunJournal;
+import org.citrusframework.remote.load.LoadRunner;
+import org.citrusframework.remote.model.JobStatus;
+import org.citrusframework.remote.model.LoadProfile;
 import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.remote.model.RunSummary;
+import org.citrusframework.remote.model.TestInventoryEntry;
+import org.citrusframework.remote.model.WorkAssignment;
+import org.citrusframework.remote.model.WorkerStatus;
 import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.metrics.RemoteMetrics;
+import org.citrusframework.remote.transformer.ChunkedResponseWriter;
 import org.citrusframework.remote.transformer.JsonRequestTransformer;
 import org.citrusframework.remote.transformer.JsonResponseTransformer;
-import org.citrusframework.report.JUnitReporter;
-import org.citrusframework.report.LoggingReporter;
+import org.citrusframework.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.file.Files;
+import java.security.KeyStore;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 /**
  * Remote application creates routes for this web application.
@@ -71,66 +90,143 @@ public class CitrusRemoteApplication extends AbstractVerticle {
 
     /** Global url encoding */
     private static final String ENCODING = "UTF-8";
+    /** Header holding the id of a newly started run */
+    private static final String RUN_ID_HEADER = "X-Citrus-Run-Id";
+    /** Header holding the configuration version of a run or configuration response */
+    private static final String CONFIG_VERSION_HEADER = "X-Citrus-Config-Version";
+    /** Headers holding garbage collection totals of a finished run */
+    private static final String GC_COUNT_HEADER = "X-Citrus-Gc-Count";
+    private static final String GC_PAUSE_HEADER = "X-Citrus-Gc-Pause-Millis";
+    /** Header holding the phase timings of a finished run */
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    /** Header holding the number of tests listed by the test inventory */
+    private static final String TEST_COUNT_HEADER = "X-Citrus-Test-Count";
+    /** Number of test inventory entries written per chunk */
+    private static final int TESTS_CHUNK_SIZE = 100;
     /** Content types */
     private static final String APPLICATION_JSON = "application/json";
     private static final String APPLICATION_XML = "application/xml";
     private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
 
+    /** Default number of slowest actions reported */
+    private static final int DEFAULT_SLOW_ACTIONS_LIMIT = 10;
+
+    /** Interval in milliseconds to probe event loop delay */
+    private static final long EVENT_LOOP_MONITOR_INTERVAL = 100L;
+
+    /** Server state shared by all verticle instances */
+    private final CitrusRemoteState state;
+
     /** Application configuration */
     private final CitrusRemoteConfiguration configuration;
 
-    /** Single thread job scheduler */
-    private Future<List<RemoteResult>> remoteResultFuture;
-
     /** Latest test reports */
-    private final RemoteTestListener remoteTestListener =
-            new RemoteTestListener();
+    private final RemoteTestListener remoteTestListener;
 
     /** Router customizations */
     private final List<Consumer<Router>> routerCustomizations;
 
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    /** Optional run journal persisting test results across restarts */
+    private final Optional<RunJournal> runJournal;
+
+    /** Server metrics */
+    private final RemoteMetrics metrics;
 
     private final JsonRequestTransformer requestTransformer = new JsonRequestTransformer();
     private final JsonResponseTransformer responseTransformer = new JsonResponseTransformer();
 
     /**
-     * Constructor with given application configuration and route customizations.
-     * @param configuration
+     * Constructor with given shared server state and route customizations. Multiple instances may be deployed
+     * on different event loops, each creating its own router with the given customizations.
+     * @param state
      * @param routerCustomizations
      */
     public CitrusRemoteApplication(
-            CitrusRemoteConfiguration configuration,
+            CitrusRemoteState state,
             List<Consumer<Router>> routerCustomizations) {
-        this.configuration = configuration;
+        this.state = state;
+        this.configuration = state.getConfiguration();
+        this.remoteTestListener = state.getRemoteTestListener();
+        this.runJournal = state.getRunJournal();
+        this.metrics = state.getMetrics();
         this.routerCustomizations = Optional.ofNullable(routerCustomizations)
                 .orElse(Collections.emptyList());
     }
 
     @Override
-    public void start() {
-        CitrusInstanceManager.mode(CitrusInstanceStrategy.SINGLETON);
-        CitrusInstanceManager
-                .addInstanceProcessor(citrus -> citrus.addTestListener(remoteTestListener));
+    public void start(Promise<Void> startPromise) {
+        metrics.monitorEventLoop(getVertx(), EVENT_LOOP_MONITOR_INTERVAL);
 
         Router router = Router.router(getVertx());
+        router.route().handler(metrics::handleRoute);
         router.route().handler(BodyHandler.create());
         router.route().handler(ctx -> {
             logger.info("{} {}", ctx.request().method(), ctx.request().uri());
             ctx.next();
         });
         addHealthEndpoint(router);
+        addMetricsEndpoint(router);
         addFilesEndpoint(router);
         addResultsEndpoints(router);
         addRunEndpoints(router);
+        addRunsEndpoints(router);
+        addJobsEndpoints(router);
+        addHistoryEndpoints(router);
+        addTestsEndpoints(router);
+        state.getCoordinator().ifPresent(coordinator -> addClusterEndpoints(router, coordinator));
         addConfigEndpoints(router);
         routerCustomizations.forEach(customization -> customization.accept(router));
 
-        getVertx().createHttpServer()
+        Future<Void> tcpListener = getVertx().createHttpServer(createHttpServerOptions())
                 .requestHandler(router)
-                .listen(configuration.getPort())
-                .onSuccess(unused ->
-                        logger.info("Server started on port {}", configuration.getPort()));
+                .listen()
+                .onSuccess(server ->
+                        logger.info("Server started on port {}", server.actualPort()))
+                .mapEmpty();
+
+        Future<Void> unixSocketListener = Future.succeededFuture();
+        if (StringUtils.hasText(configuration.getUnixSocket())) {
+            unixSocketListener = getVertx().createHttpServer(createHttpServerOptions())
+                    .requestHandler(router)
+                    .listen(SocketAddress.domainSocketAddress(configuration.getUnixSocket()))
+                    .onSuccess(server ->
+                            logger.info("Server started on Unix domain socket {}", configuration.getUnixSocket()))
+                    .mapEmpty();
+        }
+
+        Future.all(tcpListener, unixSocketListener)
+                .<Void>mapEmpty()
+                .onComplete(startPromise);
+    }
+
+    /**
+     * Creates HTTP server options from the server configuration. HTTP/2 is served in cleartext via upgrade or prior
+     * knowledge and negotiated via ALPN when SSL is enabled, so clients may multiplex requests over a single connection.
+     * @return
+     */
+    private HttpServerOptions createHttpServerOptions() {
+        HttpServerOptions serverOptions = new HttpServerOptions()
+                .setPort(configuration.getPort())
+                .setTcpKeepAlive(configuration.isTcpKeepAlive())
+                .setTcpNoDelay(configuration.isTcpNoDelay())
+                .setIdleTimeout(configuration.getIdleTimeout())
+                .setIdleTimeoutUnit(TimeUnit.SECONDS)
+                .setHttp2ClearTextEnabled(configuration.isHttp2());
+
+        if (configuration.isSsl()) {
+            if (configuration.getKeyStorePath() == null) {
+                throw new CitrusRuntimeException("Missing key store path for SSL enabled server");
+            }
+
+            serverOptions.setSsl(true)
+                    .setUseAlpn(configuration.isHttp2())
+                    .setKeyCertOptions(new KeyStoreOptions()
+                            .setType(KeyStore.getDefaultType())
+                            .setPath(configuration.getKeyStorePath())
+                            .setPassword(configuration.getKeyStorePassword()));
+        }
+
+        return serverOptions;
     }
 
     private static void addHealthEndpoint(Router router) {
@@ -141,21 +237,34 @@ public class CitrusRemoteApplication extends AbstractVerticle {
                                 .end("{ \"status\": \"UP\" }")));
     }
 
-    private static void addFilesEndpoint(Router router) {
+    private void addMetricsEndpoint(Router router) {
+        router.get("/metrics")
+                .handler(wrapThrowingHandler(ctx ->
+                        ctx.response()
+                                .putHeader(HttpHeaders.CONTENT_TYPE, RemoteMetrics.CONTENT_TYPE)
+                                .end(metrics.scrape())));
+    }
+
+    private void addFilesEndpoint(Router router) {
         router.get("/files/:name")
                 .handler(wrapThrowingHandler(ctx -> {
                     HttpServerResponse response = ctx.response();
                     String fileName = ctx.pathParam("name");
                     Path file = Path.of(fileName);
-                    if (Files.isRegularFile(file)) {
-                        response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_OCTET_STREAM)
-                                .putHeader(
-                                        HttpHeaders.CONTENT_DISPOSITION,
-                                        "attachment; filename=\"" + file.getFileName() + "\"")
-                                .sendFile(fileName);
-                    } else {
-                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code()).end();
-                    }
+                    getVertx().fileSystem().props(fileName)
+                            .map(FileProps::isRegularFile)
+                            .otherwise(false)
+                            .onSuccess(regularFile -> {
+                                if (regularFile) {
+                                    response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_OCTET_STREAM)
+                                            .putHeader(
+                                                    HttpHeaders.CONTENT_DISPOSITION,
+                                                    "attachment; filename=\"" + file.getFileName() + "\"")
+                                            .sendFile(fileName);
+                                } else {
+                                    response.setStatusCode(HttpResponseStatus.NOT_FOUND.code()).end();
+                                }
+                            });
                 }));
     }
 
@@ -168,11 +277,14 @@ public class CitrusRemoteApplication extends AbstractVerticle {
                             .orElse(10000L);
 
                     HttpServerResponse response = ctx.response();
-                    if (remoteResultFuture != null) {
+                    Optional<CitrusRemoteState.AsyncRun> asyncRun = state.getAsyncRun();
+                    if (asyncRun.isPresent()) {
                         response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON);
-                        remoteResultFuture.timeout(timeout, TimeUnit.MILLISECONDS)
-                                .onSuccess(results ->
-                                        response.end(responseTransformer.render(results)))
+                        asyncRun.get().results().timeout(timeout, TimeUnit.MILLISECONDS)
+                                .onSuccess(results -> {
+                                    putStatisticsHeaders(response, asyncRun.get().job().statistics());
+                                    response.end(responseTransformer.render(results));
+                                })
                                 .onFailure(throwable -> response
                                         .setStatusCode(HttpResponseStatus.PARTIAL_CONTENT.code())
                                         .end(responseTransformer
@@ -188,49 +300,51 @@ public class CitrusRemoteApplication extends AbstractVerticle {
                         .end(responseTransformer.render(remoteTestListener.generateTestReport())));
         router.get("/results/files")
                 .handler(wrapThrowingHandler(ctx -> {
-                    File junitReportsFolder = new File(getJUnitReportsFolder());
-
-                    List<String> result = Collections.emptyList();
-                    if (junitReportsFolder.exists()) {
-                        result = Optional.ofNullable(junitReportsFolder.list())
-                                .stream()
-                                .flatMap(Stream::of)
-                                .toList();
-                    }
-                    ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
-                            .end(responseTransformer.render(result));
+                    FileSystem fileSystem = getVertx().fileSystem();
+                    String junitReportsFolder = state.getReportLocations().junitReportsFolder().toString();
+                    fileSystem.exists(junitReportsFolder)
+                            .compose(exists -> exists ?
+                                    fileSystem.readDir(junitReportsFolder) :
+                                    Future.succeededFuture(Collections.<String>emptyList()))
+                            // large report folders take a while to map and render, so keep that off the event loop
+                            .compose(files -> getVertx().executeBlocking(() -> responseTransformer.render(
+                                    files.stream()
+                                            .map(file -> Path.of(file).getFileName().toString())
+                                            .toList()), false))
+                            .onSuccess(result -> ctx.response()
+                                    .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                                    .end(result))
+                            .onFailure(error -> ctx.response()
+                                    .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
+                                    .end(error.getMessage()));
                 }));
         router.get("/results/file/:name")
                 .handler(wrapThrowingHandler(ctx -> {
                     HttpServerResponse response = ctx.response();
                     response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_XML);
                     String fileName = ctx.pathParam("name");
-                    String reportsFolder = getJUnitReportsFolder();
-                    Path testResultFile = Path.of(reportsFolder).resolve(fileName);
-
-                    if (Files.exists(testResultFile)) {
-                        response.sendFile(testResultFile.toString());
-                    } else {
-                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
-                                .end("Failed to find test result file: %s".formatted(fileName));
-                    }
+                    Path testResultFile = state.getReportLocations().junitReportsFolder().resolve(fileName);
+                    sendFileIfExists(response, testResultFile,
+                            "Failed to find test result file: %s".formatted(fileName));
                 }));
         router.get("/results/suite")
                 .handler(wrapThrowingHandler(ctx -> {
                     HttpServerResponse response = ctx.response();
                     response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON);
-                    JUnitReporter jUnitReporter = new JUnitReporter();
-                    Path suiteResultFile = Path.of(jUnitReporter.getReportDirectory())
-                            .resolve(String.format(
-                                    jUnitReporter.getReportFileNamePattern(),
-                                    jUnitReporter.getSuiteName()));
-                    if (Files.exists(suiteResultFile)) {
-                        response.sendFile(suiteResultFile.toString());
-                    } else {
-                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
-                                .end("Failed to find suite result file: %s"
-                                        .formatted(suiteResultFile));
-                    }
+                    Path suiteResultFile = state.getReportLocations().suiteResultFile();
+                    sendFileIfExists(response, suiteResultFile,
+                            "Failed to find suite result file: %s".formatted(suiteResultFile));
+                }));
+        router.get("/results/actions")
+                .handler(wrapThrowingHandler(ctx -> {
+                    int limit = Optional.ofNullable(ctx.request().params().get("limit"))
+                            .map(Integer::valueOf)
+                            .orElse(DEFAULT_SLOW_ACTIONS_LIMIT);
+                    ctx.response()
+                            .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                            .end(responseTransformer.render(remoteTestListener
+                                    .getActionTimingListener()
+                                    .getSlowestActions(limit)));
                 }));
     }
 
@@ -243,9 +357,101 @@ public class CitrusRemoteApplication extends AbstractVerticle {
                         runTestsAsync(constructRunConfig(ctx.body()), ctx.response())));
         router.put("/run")
                 .handler(wrapThrowingHandler(ctx -> {
-                    remoteTestListener.reset();
-                    remoteResultFuture = startTestsAsync(constructRunConfig(ctx.body()));
-                    ctx.response().end("");
+                    RunJob runJob = state.createRunJob(constructRunConfig(ctx.body()));
+                    state.startAsync(runJob);
+                    ctx.response()
+                            .putHeader(RUN_ID_HEADER, runJob.runId())
+                            .putHeader(CONFIG_VERSION_HEADER, String.valueOf(runJob.configuration().getVersion()))
+                            .end("");
+                }));
+        router.post("/run/load")
+                .handler(wrapThrowingHandler(ctx ->
+                        runLoad(requestTransformer.read(ctx.body().asString(), LoadProfile.class), ctx.response())));
+    }
+
+    private void addRunsEndpoints(Router router) {
+        router.get("/runs")
+                .handler(wrapThrowingHandler(ctx -> {
+                    HttpServerResponse response = ctx.response();
+                    if (runJournal.isEmpty()) {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end("Run journal is disabled");
+                        return;
+                    }
+
+                    response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                            .end(responseTransformer.render(runJournal.get().getRuns()));
+                }));
+        router.get("/runs/:id")
+                .handler(wrapThrowingHandler(ctx -> {
+                    HttpServerResponse response = ctx.response();
+                    String runId = ctx.pathParam("id");
+                    Optional<RunSummary> run = runJournal.flatMap(journal -> journal.getRun(runId));
+                    if (run.isEmpty()) {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end("Failed to find run: %s".formatted(runId));
+                        return;
+                    }
+
+                    response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON);
+                    ChunkedResponseWriter writer = new ChunkedResponseWriter(response);
+                    getVertx().executeBlocking(() -> {
+                        writer.write("{\"results\":[");
+                        AtomicBoolean first = new AtomicBoolean(true);
+                        runJournal.get().readResults(runId, result -> writer.write(
+                                (first.getAndSet(false) ? "" : ",") + responseTransformer.render(result)));
+                        // summary follows the results so that it reports results lost while reading as truncated
+                        RunSummary summary = runJournal.get().getRun(runId).orElse(run.get());
+                        writer.end("],\"run\":" + responseTransformer.render(summary) + "}");
+                        return null;
+                    }, false).onFailure(writer::fail);
+                }));
+    }
+
+    private void addJobsEndpoints(Router router) {
+        router.get("/jobs/:id")
+                .handler(wrapThrowingHandler(ctx -> {
+                    HttpServerResponse response = ctx.response();
+                    String runId = ctx.pathParam("id");
+                    Optional<RunJob> runJob = state.getRecentJob(runId);
+                    if (runJob.isEmpty()) {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end("Failed to find job: %s".formatted(runId));
+                        return;
+                    }
+
+                    response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                            .end(responseTransformer.render(JobStatus.of(runId, runJob.get().statistics())));
+                }));
+        router.get("/jobs/:id/soak")
+                .handler(wrapThrowingHandler(ctx -> {
+                    HttpServerResponse response = ctx.response();
+                    String runId = ctx.pathParam("id");
+                    Optional<SoakRunExecutor> soakRun = state.getRecentJob(runId)
+                            .flatMap(runJob -> runJob.executor().find(SoakRunExecutor.class));
+                    if (soakRun.isEmpty()) {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end("Failed to find soak run: %s".formatted(runId));
+                        return;
+                    }
+
+                    response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                            .end(responseTransformer.render(soakRun.get().getStatistics().toReport(runId)));
+                }));
+        router.get("/jobs/:id/matrix")
+                .handler(wrapThrowingHandler(ctx -> {
+                    HttpServerResponse response = ctx.response();
+                    String runId = ctx.pathParam("id");
+                    Optional<MatrixRunExecutor> matrixRun = state.getRecentJob(runId)
+                            .flatMap(runJob -> runJob.executor().find(MatrixRunExecutor.class));
+                    if (matrixRun.isEmpty()) {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end("Failed to find matrix run: %s".formatted(runId));
+                        return;
+                    }
+
+                    response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                            .end(responseTransformer.render(matrixRun.get().getSummaries()));
                 }));
     }
 
@@ -266,12 +472,12 @@ public class CitrusRemoteApplication extends AbstractVerticle {
 
     private TestRunConfiguration constructRunConfig(MultiMap queryParams)
             throws UnsupportedEncodingException {
-        TestRunConfiguration runConfiguration = new TestRunConfiguration();
+        RemoteRunConfiguration runConfiguration = new RemoteRunConfiguration();
         if (queryParams.contains("engine")) {
             String engine = queryParams.get("engine");
             runConfiguration.setEngine(URLDecoder.decode(engine, ENCODING));
         } else {
-            runConfiguration.setEngine(configuration.getEngine());
+            runConfiguration.setEngine(state.getConfiguration().getEngine());
         }
 
         if (queryParams.contains("includes")) {
@@ -291,81 +497,255 @@ public class CitrusRemoteApplication extends AbstractVerticle {
             runConfiguration.setTestSources(Collections.singletonList(
                     TestClass.fromString(URLDecoder.decode(value, ENCODING))));
         }
+
+        if (queryParams.contains("groups")) {
+            runConfiguration.setGroups(Arrays.asList(URLDecoder.decode(queryParams.get("groups"), ENCODING)
+                    .split(",")));
+        }
+
+        if (queryParams.contains("tags")) {
+            runConfiguration.setTags(Arrays.asList(URLDecoder.decode(queryParams.get("tags"), ENCODING)
+                    .split(",")));
+        }
+
+        if (queryParams.contains("changes")) {
+            runConfiguration.setChanges(Arrays.asList(URLDecoder.decode(queryParams.get("changes"), ENCODING)
+                    .split(",")));
+        }
+
+        if (queryParams.contains("timeBudget")) {
+            runConfiguration.setTimeBudget(Long.parseLong(queryParams.get("timeBudget")));
+        }
+
+        if (queryParams.contains("testEstimate")) {
+            runConfiguration.setTestEstimate(Long.parseLong(queryParams.get("testEstimate")));
+        }
+
+        if (queryParams.contains("priorityGroups")) {
+            runConfiguration.setPriorityGroups(Arrays.asList(URLDecoder.decode(queryParams.get("priorityGroups"),
+                    ENCODING).split(",")));
+        }
+
+        if (queryParams.contains("retries")) {
+            runConfiguration.setRetries(Integer.parseInt(queryParams.get("retries")));
+        }
+
+        if (queryParams.contains("failFast")) {
+            runConfiguration.setFailFast(Boolean.parseBoolean(queryParams.get("failFast")));
+        }
+
+        if (queryParams.contains("maxFailures")) {
+            runConfiguration.setMaxFailures(Integer.parseInt(queryParams.get("maxFailures")));
+        }
+
+        if (queryParams.contains("preflight")) {
+            runConfiguration.setPreflight(Boolean.parseBoolean(queryParams.get("preflight")));
+        }
+
+        if (queryParams.contains("soakDuration")) {
+            runConfiguration.setSoakDuration(Long.parseLong(queryParams.get("soakDuration")));
+        }
+
+        if (queryParams.contains("soakWindow")) {
+            runConfiguration.setSoakWindow(Long.parseLong(queryParams.get("soakWindow")));
+        }
         return runConfiguration;
     }
 
     private TestRunConfiguration constructRunConfig(RequestBody body) {
-        return requestTransformer.read(body.asString(), TestRunConfiguration.class);
+        return requestTransformer.read(body.asString(), RemoteRunConfiguration.class);
+    }
+
+    private static void putStatisticsHeaders(HttpServerResponse response, RunStatistics statistics) {
+        response.putHeader(GC_COUNT_HEADER, String.valueOf(statistics.getGcCount()))
+                .putHeader(GC_PAUSE_HEADER, String.valueOf(statistics.getGcPauseMillis()))
+                .putHeader(SERVER_TIMING_HEADER, statistics.toServerTiming());
     }
 
     private void runTestsAsync(
             TestRunConfiguration runConfiguration,
             HttpServerResponse response) {
-        Future
-                .fromCompletionStage(CompletableFuture.supplyAsync(
-                        new RunJob(configuration, runConfiguration, remoteTestListener),
-                        executorService))
-                .onSuccess(results ->
-                        response.end(responseTransformer.render(results)))
+        RunJob runJob = state.createRunJob(runConfiguration);
+        response.putHeader(RUN_ID_HEADER, runJob.runId())
+                .putHeader(CONFIG_VERSION_HEADER, String.valueOf(runJob.configuration().getVersion()));
+        state.submit(runJob)
+                .onSuccess(results -> {
+                    putStatisticsHeaders(response, runJob.statistics());
+                    response.end(responseTransformer.render(results));
+                })
                 .onFailure(error -> response
                         .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
                         .end(error.getMessage()));
     }
 
-    private Future<List<RemoteResult>> startTestsAsync(TestRunConfiguration testRunConfiguration) {
-        return Future.fromCompletionStage(CompletableFuture.supplyAsync(
-                new RunJob(configuration, testRunConfiguration, remoteTestListener),
-                executorService));
+    /**
+     * Runs a load test and streams its statistics as JSON array while the load runs. The array holds a statistics
+     * element per report interval followed by the final statistics. The load stops when the client disconnects.
+     * @param profile
+     * @param response
+     */
+    private void runLoad(LoadProfile profile, HttpServerResponse response) {
+        LoadRunner loadRunner = state.createLoadRunner(profile);
+        response.setChunked(true)
+                .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                .putHeader(CONFIG_VERSION_HEADER, String.valueOf(loadRunner.getConfiguration().getVersion()))
+                .closeHandler(closed -> loadRunner.stop());
+
+        AtomicBoolean first = new AtomicBoolean(true);
+        response.write("[");
+        state.runLoad(loadRunner, statistics -> response.write(
+                        (first.getAndSet(false) ? "" : ",") + responseTransformer.render(statistics)))
+                .onComplete(result -> {
+                    if (result.failed()) {
+                        logger.warn("Failed to run load test {}", profile.getTest(), result.cause());
+                    }
+                    response.end("]");
+                });
     }
 
-    private void addConfigEndpoints(Router router) {
-        router.get("/configuration")
+    private void addHistoryEndpoints(Router router) {
+        router.get("/history")
                 .handler(wrapThrowingHandler(ctx ->
                         ctx.response()
                                 .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
-                                .end(responseTransformer.render(configuration))));
-        router.put("/configuration")
-                .handler(wrapThrowingHandler(ctx ->
-                        configuration.apply(requestTransformer.read(
-                                ctx.body().asString(),
-                                CitrusAppConfiguration.class))));
+                                .end(responseTransformer.render(state.getTestHistory().getEntries()))));
+    }
+
+    private void addTestsEndpoints(Router router) {
+        router.get("/tests")
+                .handler(wrapThrowingHandler(ctx -> {
+                    RemoteRunConfiguration runConfiguration =
+                            RemoteRunConfiguration.of(constructRunConfig(ctx.request().params()));
+                    streamTests(runConfiguration, ctx.response());
+                }));
     }
 
     /**
-     * Find reports folder based in unit testing framework present on classpath.
-     * @return
+     * Streams the inventory of the tests selected by the engine, packages and groups of given run configuration as
+     * JSON array. The tests are looked up in the cached test index and complemented with their test history. Entries
+     * are rendered on a worker thread and written in chunks as fast as the client reads them, so that large test
+     * suites are neither rendered as a whole nor block the event loop.
+     * @param runConfiguration
+     * @param response
      */
-    private String getJUnitReportsFolder() {
-        if (isPresent("org.testng.annotations.Test")) {
-            return "test-output" + File.separator + "junitreports";
-        } else if (isPresent("org.junit.Test")) {
-            JUnitReporter jUnitReporter = new JUnitReporter();
-            return jUnitReporter.getReportDirectory() +
-                    File.separator +
-                    jUnitReporter.getOutputDirectory();
-        } else {
-            return new LoggingReporter().getReportDirectory();
-        }
+    private void streamTests(RemoteRunConfiguration runConfiguration, HttpServerResponse response) {
+        state.getTestIndex(runConfiguration.getEngine())
+                .onSuccess(testIndex -> {
+                    ChunkedResponseWriter writer = new ChunkedResponseWriter(response);
+                    getVertx().executeBlocking(() -> {
+                        List<IndexedTest> tests = testIndex.filter(runConfiguration.getGroups(),
+                                runConfiguration.getPackages());
+                        response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                                .putHeader(TEST_COUNT_HEADER, String.valueOf(tests.size()));
+
+                        TestHistory testHistory = state.getTestHistory();
+                        StringJoiner chunk = new StringJoiner(",");
+                        writer.write("[");
+                        for (int i = 0; i < tests.size(); i++) {
+                            IndexedTest test = tests.get(i);
+                            chunk.add(responseTransformer.render(TestInventoryEntry.of(test,
+                                    testHistory.find(test.className(), test.methodName()))));
+                            if ((i + 1) % TESTS_CHUNK_SIZE == 0 || i == tests.size() - 1) {
+                                writer.write((i < TESTS_CHUNK_SIZE ? "" : ",") + chunk);
+                                chunk = new StringJoiner(",");
+                            }
+                        }
+                        writer.end("]");
+                        return null;
+                    }, false).onFailure(writer::fail);
+                })
+                .onFailure(error -> response
+                        .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
+                        .end(error.getMessage()));
     }
 
-    @Override
-    public void stop() {
-        Optional<Citrus> citrus = CitrusInstanceManager.get();
-        if (citrus.isPresent()) {
-            logger.info("Closing Citrus and its application context");
-            citrus.get().close();
-        }
-        getVertx().close();
+    private void addClusterEndpoints(Router router, Coordinator coordinator) {
+        String clusterPath = ClusterWorker.CLUSTER_PATH;
+        router.get(clusterPath + "/workers")
+                .handler(wrapThrowingHandler(ctx ->
+                        ctx.response()
+                                .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                                .end(responseTransformer.render(coordinator.getWorkers()))));
+        router.post(clusterPath + "/workers")
+                .handler(wrapThrowingHandler(ctx -> {
+                    WorkerStatus worker = requestTransformer.read(ctx.body().asString(), WorkerStatus.class);
+                    ctx.response()
+                            .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                            .end(responseTransformer.render(coordinator.register(worker.getName())));
+                }));
+        router.delete(clusterPath + "/workers/:id")
+                .handler(wrapThrowingHandler(ctx ->
+                        endWithStatus(ctx.response(), coordinator.deregister(ctx.pathParam("id")),
+                                HttpResponseStatus.NOT_FOUND)));
+        router.put(clusterPath + "/workers/:id/heartbeat")
+                .handler(wrapThrowingHandler(ctx ->
+                        endWithStatus(ctx.response(), coordinator.heartbeat(ctx.pathParam("id")),
+                                HttpResponseStatus.NOT_FOUND)));
+        router.post(clusterPath + "/workers/:id/next")
+                .handler(wrapThrowingHandler(ctx -> {
+                    HttpServerResponse response = ctx.response();
+                    String workerId = ctx.pathParam("id");
+                    if (!coordinator.heartbeat(workerId)) {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end("Unknown worker: %s".formatted(workerId));
+                        return;
+                    }
+
+                    Optional<WorkAssignment> assignment = coordinator.next(workerId);
+                    if (assignment.isPresent()) {
+                        response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                                .end(responseTransformer.render(assignment.get()));
+                    } else {
+                        response.setStatusCode(HttpResponseStatus.NO_CONTENT.code()).end();
+                    }
+                }));
+        router.post(clusterPath + "/assignments/:id/results")
+                .handler(wrapThrowingHandler(ctx -> {
+                    List<RemoteResult> results = Arrays.asList(
+                            requestTransformer.read(ctx.body().asString(), RemoteResult[].class));
+                    endWithStatus(ctx.response(), coordinator.complete(ctx.pathParam("id"),
+                            ctx.request().getParam("worker"), results), HttpResponseStatus.CONFLICT);
+                }));
     }
 
-    // TODO: Check if this is equivalent to
-    // https://github.com/spring-projects/spring-framework/blob/main/spring-core/src/main/java/org/springframework/util/ClassUtils.java
-    private boolean isPresent(String className) {
-        try {
-            Class.forName(className);
-            return true;
-        } catch (ClassNotFoundException e) {
-            return false;
-        }
+    private static void endWithStatus(HttpServerResponse response, boolean success, HttpResponseStatus failureStatus) {
+        response.setStatusCode(success ? HttpResponseStatus.NO_CONTENT.code() : failureStatus.code()).end();
+    }
+
+    private void addConfigEndpoints(Router router) {
+        router.get("/configuration")
+                .handler(wrapThrowingHandler(ctx ->
+                        renderConfiguration(ctx.response(), state.getConfiguration())));
+        router.put("/configuration")
+                .handler(wrapThrowingHandler(ctx ->
+                        renderConfiguration(ctx.response(), state.updateConfiguration(requestTransformer.read(
+                                ctx.body().asString(),
+                                CitrusAppConfiguration.class)))));
+    }
+
+    private void renderConfiguration(HttpServerResponse response, CitrusRemoteConfiguration configuration) {
+        response.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+                .putHeader(CONFIG_VERSION_HEADER, String.valueOf(configuration.getVersion()))
+                .end(responseTransformer.render(configuration));
+    }
+
+    /**
+     * Sends given file when it exists. The existence check uses the asynchronous file system so that a slow disk
+     * never blocks the event loop.
+     * @param response
+     * @param file
+     * @param notFoundMessage
+     */
+    private void sendFileIfExists(HttpServerResponse response, Path file, String notFoundMessage) {
+        getVertx().fileSystem().exists(file.toString())
+                .otherwise(false)
+                .onSuccess(exists -> {
+                    if (exists) {
+                        response.sendFile(file.toString());
+                    } else {
+                        response.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+                                .end(notFoundMessage);
+                    }
+                });
     }
 }
@@ -16,8 +16,17 @@
 
 package org.citrusframework.remote;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.citrusframework.TestSource;
 import org.citrusframework.main.CitrusAppConfiguration;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Christoph Deppisch
  * @since 2.7.4
@@ -27,6 +36,159 @@ public class CitrusRemoteConfiguration extends CitrusAppConfiguration {
     /** Server port */
     private int port = 4567;
 
+    /** Run journal directory, journal is disabled when not set */
+    private String journalDirectory;
+
+    /** Size of a single journal segment file in bytes */
+    private int journalSegmentSize = 16 * 1024 * 1024;
+
+    /** Number of journal records written before forcing them to disk */
+    private int journalFlushBatchSize = 64;
+
+    /** Interval in milliseconds to force pending journal records to disk */
+    private long journalFlushInterval = 1000L;
+
+    /** Maximum number of journal segments to keep, oldest segments are removed first */
+    private int journalMaxSegments = 32;
+
+    /** File persisting the impact map of the test classes, dependencies are not recorded when not set */
+    private String impactMapFile;
+
+    /** Number of HTTP verticle instances sharing the server port */
+    private int instances = 1;
+
+    /** Number of event loop threads, Vert.x default when zero or less */
+    private int eventLoopPoolSize;
+
+    /** Number of worker threads for blocking handlers, Vert.x default when zero or less */
+    private int workerPoolSize;
+
+    /** Enables TCP keep alive on client connections */
+    private boolean tcpKeepAlive;
+
+    /** Disables Nagle's algorithm on client connections */
+    private boolean tcpNoDelay = true;
+
+    /** Idle timeout in seconds after which client connections are closed, no timeout when zero */
+    private int idleTimeout;
+
+    /** Prefer native transport (epoll/kqueue) when available on the classpath and platform */
+    private boolean nativeTransport;
+
+    /** Path of an additional Unix domain socket the server listens on, requires native transport */
+    private String unixSocket;
+
+    /** Enables HTTP/2 via cleartext upgrade or prior knowledge (h2c) and via ALPN when SSL is enabled */
+    private boolean http2 = true;
+
+    /** Enables SSL/TLS on the server port */
+    private boolean ssl;
+
+    /** Path to the key store holding the server certificate when SSL is enabled */
+    private String keyStorePath;
+
+    /** Password of the key store */
+    private String keyStorePassword;
+
+    /** Interval in milliseconds of the Vert.x blocked thread checker, Vert.x default when zero or less */
+    private long blockedThreadCheckInterval;
+
+    /** Time in milliseconds an event loop may be blocked before a warning is logged, Vert.x default when zero or less */
+    private long maxEventLoopExecuteTime;
+
+    /** Run as coordinator distributing the test classes of each run to registered workers */
+    private boolean coordinator;
+
+    /** Url of the coordinator this server registers with as worker */
+    private String coordinatorUrl;
+
+    /** Interval in milliseconds of worker heartbeats */
+    private long heartbeatInterval = 5000L;
+
+    /** Time in milliseconds without heartbeat after which the coordinator drops a worker and requeues its tests */
+    private long workerTimeout = 15000L;
+
+    /** Number of warm forked JVMs running the jobs, jobs run in the server JVM when zero or less */
+    private int forkCount;
+
+    /** Number of jobs after which a forked JVM is replaced, unlimited when zero or less */
+    private int forkMaxJobs;
+
+    /** Heap in megabytes a forked JVM may retain after garbage collection before it is replaced, unlimited when zero or less */
+    private long forkMaxHeap;
+
+    /** Additional JVM arguments of forked JVMs separated by whitespace */
+    private String forkJvmArgs;
+
+    /** Number of independently initialized Citrus instances leased by concurrent jobs, one shared instance when zero or less */
+    private int citrusPoolSize;
+
+    /** Number of pooled Citrus instances created on startup, remaining instances are created on first lease */
+    private int citrusPoolWarmUp;
+
+    /** Version of this configuration, incremented with each update applied at runtime */
+    private long version;
+
+    /** Snapshots handed to run jobs are read only */
+    private boolean readOnly;
+
+    /**
+     * Default constructor.
+     */
+    public CitrusRemoteConfiguration() {
+        // default configuration
+    }
+
+    /**
+     * Copy constructor.
+     * @param other
+     */
+    private CitrusRemoteConfiguration(CitrusRemoteConfiguration other) {
+        setEngine(other.getEngine());
+        setPackages(copyOf(other.getPackages()));
+        setTestSources(copyOf(other.getTestSources()));
+        setIncludes(copyOf(other.getIncludes()));
+        setTestJar(other.getTestJar());
+        addDefaultProperties(new LinkedHashMap<>(other.getDefaultProperties()));
+        setTimeToLive(other.getTimeToLive());
+        setConfigClass(other.getConfigClass());
+        setSkipTests(other.isSkipTests());
+        setSystemExit(other.isSystemExit());
+
+        this.port = other.port;
+        this.journalDirectory = other.journalDirectory;
+        this.journalSegmentSize = other.journalSegmentSize;
+        this.journalFlushBatchSize = other.journalFlushBatchSize;
+        this.journalFlushInterval = other.journalFlushInterval;
+        this.journalMaxSegments = other.journalMaxSegments;
+        this.impactMapFile = other.impactMapFile;
+        this.instances = other.instances;
+        this.eventLoopPoolSize = other.eventLoopPoolSize;
+        this.workerPoolSize = other.workerPoolSize;
+        this.tcpKeepAlive = other.tcpKeepAlive;
+        this.tcpNoDelay = other.tcpNoDelay;
+        this.idleTimeout = other.idleTimeout;
+        this.nativeTransport = other.nativeTransport;
+        this.unixSocket = other.unixSocket;
+        this.http2 = other.http2;
+        this.ssl = other.ssl;
+        this.keyStorePath = other.keyStorePath;
+        this.keyStorePassword = other.keyStorePassword;
+        this.blockedThreadCheckInterval = other.blockedThreadCheckInterval;
+        this.maxEventLoopExecuteTime = other.maxEventLoopExecuteTime;
+        this.coordinator = other.coordinator;
+        this.coordinatorUrl = other.coordinatorUrl;
+        this.heartbeatInterval = other.heartbeatInterval;
+        this.workerTimeout = other.workerTimeout;
+        this.forkCount = other.forkCount;
+        this.forkMaxJobs = other.forkMaxJobs;
+        this.forkMaxHeap = other.forkMaxHeap;
+        this.forkJvmArgs = other.forkJvmArgs;
+        this.citrusPoolSize = other.citrusPoolSize;
+        this.citrusPoolWarmUp = other.citrusPoolWarmUp;
+        this.version = other.version;
+    }
+
     /**
      * Gets the port.
      *
@@ -42,18 +204,720 @@ public class CitrusRemoteConfiguration extends CitrusAppConfiguration {
      * @param port
      */
     public void setPort(int port) {
+        checkWritable();
         this.port = port;
     }
 
     /**
-     * Applies configuration with settable properties at runtime.
+     * Gets the journalDirectory.
+     *
+     * @return
+     */
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    /**
+     * Sets the journalDirectory.
+     *
+     * @param journalDirectory
+     */
+    public void setJournalDirectory(String journalDirectory) {
+        checkWritable();
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Gets the journalSegmentSize.
+     *
+     * @return
+     */
+    public int getJournalSegmentSize() {
+        return journalSegmentSize;
+    }
+
+    /**
+     * Sets the journalSegmentSize.
+     *
+     * @param journalSegmentSize
+     */
+    public void setJournalSegmentSize(int journalSegmentSize) {
+        checkWritable();
+        this.journalSegmentSize = journalSegmentSize;
+    }
+
+    /**
+     * Gets the journalFlushBatchSize.
+     *
+     * @return
+     */
+    public int getJournalFlushBatchSize() {
+        return journalFlushBatchSize;
+    }
+
+    /**
+     * Sets the journalFlushBatchSize.
+     *
+     * @param journalFlushBatchSize
+     */
+    public void setJournalFlushBatchSize(int journalFlushBatchSize) {
+        checkWritable();
+        this.journalFlushBatchSize = journalFlushBatchSize;
+    }
+
+    /**
+     * Gets the journalFlushInterval.
+     *
+     * @return
+     */
+    public long getJournalFlushInterval() {
+        return journalFlushInterval;
+    }
+
+    /**
+     * Sets the journalFlushInterval.
+     *
+     * @param journalFlushInterval
+     */
+    public void setJournalFlushInterval(long journalFlushInterval) {
+        checkWritable();
+        this.journalFlushInterval = journalFlushInterval;
+    }
+
+    /**
+     * Gets the journalMaxSegments.
+     *
+     * @return
+     */
+    public int getJournalMaxSegments() {
+        return journalMaxSegments;
+    }
+
+    /**
+     * Sets the journalMaxSegments.
+     *
+     * @param journalMaxSegments
+     */
+    public void setJournalMaxSegments(int journalMaxSegments) {
+        checkWritable();
+        this.journalMaxSegments = journalMaxSegments;
+    }
+
+    /**
+     * Gets the impactMapFile.
+     *
+     * @return
+     */
+    public String getImpactMapFile() {
+        return impactMapFile;
+    }
+
+    /**
+     * Sets the impactMapFile.
+     *
+     * @param impactMapFile
+     */
+    public void setImpactMapFile(String impactMapFile) {
+        checkWritable();
+        this.impactMapFile = impactMapFile;
+    }
+
+    /**
+     * Gets the instances.
+     *
+     * @return
+     */
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * Sets the instances.
+     *
+     * @param instances
+     */
+    public void setInstances(int instances) {
+        checkWritable();
+        this.instances = instances;
+    }
+
+    /**
+     * Gets the eventLoopPoolSize.
+     *
+     * @return
+     */
+    public int getEventLoopPoolSize() {
+        return eventLoopPoolSize;
+    }
+
+    /**
+     * Sets the eventLoopPoolSize.
+     *
+     * @param eventLoopPoolSize
+     */
+    public void setEventLoopPoolSize(int eventLoopPoolSize) {
+        checkWritable();
+        this.eventLoopPoolSize = eventLoopPoolSize;
+    }
+
+    /**
+     * Gets the workerPoolSize.
+     *
+     * @return
+     */
+    public int getWorkerPoolSize() {
+        return workerPoolSize;
+    }
+
+    /**
+     * Sets the workerPoolSize.
+     *
+     * @param workerPoolSize
+     */
+    public void setWorkerPoolSize(int workerPoolSize) {
+        checkWritable();
+        this.workerPoolSize = workerPoolSize;
+    }
+
+    /**
+     * Gets the tcpKeepAlive.
+     *
+     * @return
+     */
+    public boolean isTcpKeepAlive() {
+        return tcpKeepAlive;
+    }
+
+    /**
+     * Sets the tcpKeepAlive.
+     *
+     * @param tcpKeepAlive
+     */
+    public void setTcpKeepAlive(boolean tcpKeepAlive) {
+        checkWritable();
+        this.tcpKeepAlive = tcpKeepAlive;
+    }
+
+    /**
+     * Gets the tcpNoDelay.
+     *
+     * @return
+     */
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Sets the tcpNoDelay.
+     *
+     * @param tcpNoDelay
+     */
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        checkWritable();
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Gets the idleTimeout.
+     *
+     * @return
+     */
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the idleTimeout.
+     *
+     * @param idleTimeout
+     */
+    public void setIdleTimeout(int idleTimeout) {
+        checkWritable();
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the nativeTransport.
+     *
+     * @return
+     */
+    public boolean isNativeTransport() {
+        return nativeTransport;
+    }
+
+    /**
+     * Sets the nativeTransport.
+     *
+     * @param nativeTransport
+     */
+    public void setNativeTransport(boolean nativeTransport) {
+        checkWritable();
+        this.nativeTransport = nativeTransport;
+    }
+
+    /**
+     * Gets the unixSocket.
+     *
+     * @return
+     */
+    public String getUnixSocket() {
+        return unixSocket;
+    }
+
+    /**
+     * Sets the unixSocket.
+     *
+     * @param unixSocket
+     */
+    public void setUnixSocket(String unixSocket) {
+        checkWritable();
+        this.unixSocket = unixSocket;
+    }
+
+    /**
+     * Gets the http2.
+     *
+     * @return
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Sets the http2.
+     *
+     * @param http2
+     */
+    public void setHttp2(boolean http2) {
+        checkWritable();
+        this.http2 = http2;
+    }
+
+    /**
+     * Gets the ssl.
+     *
+     * @return
+     */
+    public boolean isSsl() {
+        return ssl;
+    }
+
+    /**
+     * Sets the ssl.
+     *
+     * @param ssl
+     */
+    public void setSsl(boolean ssl) {
+        checkWritable();
+        this.ssl = ssl;
+    }
+
+    /**
+     * Gets the keyStorePath.
+     *
+     * @return
+     */
+    public String getKeyStorePath() {
+        return keyStorePath;
+    }
+
+    /**
+     * Sets the keyStorePath.
+     *
+     * @param keyStorePath
+     */
+    public void setKeyStorePath(String keyStorePath) {
+        checkWritable();
+        this.keyStorePath = keyStorePath;
+    }
+
+    /**
+     * Gets the keyStorePassword. Never rendered by the configuration endpoint.
+     *
+     * @return
+     */
+    @JsonIgnore
+    public String getKeyStorePassword() {
+        return keyStorePassword;
+    }
+
+    /**
+     * Sets the keyStorePassword.
+     *
+     * @param keyStorePassword
+     */
+    public void setKeyStorePassword(String keyStorePassword) {
+        checkWritable();
+        this.keyStorePassword = keyStorePassword;
+    }
+
+    /**
+     * Gets the blockedThreadCheckInterval.
+     *
+     * @return
+     */
+    public long getBlockedThreadCheckInterval() {
+        return blockedThreadCheckInterval;
+    }
+
+    /**
+     * Sets the blockedThreadCheckInterval.
+     *
+     * @param blockedThreadCheckInterval
+     */
+    public void setBlockedThreadCheckInterval(long blockedThreadCheckInterval) {
+        checkWritable();
+        this.blockedThreadCheckInterval = blockedThreadCheckInterval;
+    }
+
+    /**
+     * Gets the maxEventLoopExecuteTime.
+     *
+     * @return
+     */
+    public long getMaxEventLoopExecuteTime() {
+        return maxEventLoopExecuteTime;
+    }
+
+    /**
+     * Sets the maxEventLoopExecuteTime.
+     *
+     * @param maxEventLoopExecuteTime
+     */
+    public void setMaxEventLoopExecuteTime(long maxEventLoopExecuteTime) {
+        checkWritable();
+        this.maxEventLoopExecuteTime = maxEventLoopExecuteTime;
+    }
+
+    /**
+     * Gets the coordinator.
+     *
+     * @return
+     */
+    public boolean isCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * Sets the coordinator.
+     *
+     * @param coordinator
+     */
+    public void setCoordinator(boolean coordinator) {
+        checkWritable();
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * Gets the coordinatorUrl.
+     *
+     * @return
+     */
+    public String getCoordinatorUrl() {
+        return coordinatorUrl;
+    }
+
+    /**
+     * Sets the coordinatorUrl.
+     *
+     * @param coordinatorUrl
+     */
+    public void setCoordinatorUrl(String coordinatorUrl) {
+        checkWritable();
+        this.coordinatorUrl = coordinatorUrl;
+    }
+
+    /**
+     * Gets the heartbeatInterval.
+     *
+     * @return
+     */
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    /**
+     * Sets the heartbeatInterval.
+     *
+     * @param heartbeatInterval
+     */
+    public void setHeartbeatInterval(long heartbeatInterval) {
+        checkWritable();
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Gets the workerTimeout.
+     *
+     * @return
+     */
+    public long getWorkerTimeout() {
+        return workerTimeout;
+    }
+
+    /**
+     * Sets the workerTimeout.
+     *
+     * @param workerTimeout
+     */
+    public void setWorkerTimeout(long workerTimeout) {
+        checkWritable();
+        this.workerTimeout = workerTimeout;
+    }
+
+    /**
+     * Gets the forkCount.
+     *
+     * @return
+     */
+    public int getForkCount() {
+        return forkCount;
+    }
+
+    /**
+     * Sets the forkCount.
+     *
+     * @param forkCount
+     */
+    public void setForkCount(int forkCount) {
+        checkWritable();
+        this.forkCount = forkCount;
+    }
+
+    /**
+     * Gets the forkMaxJobs.
+     *
+     * @return
+     */
+    public int getForkMaxJobs() {
+        return forkMaxJobs;
+    }
+
+    /**
+     * Sets the forkMaxJobs.
+     *
+     * @param forkMaxJobs
+     */
+    public void setForkMaxJobs(int forkMaxJobs) {
+        checkWritable();
+        this.forkMaxJobs = forkMaxJobs;
+    }
+
+    /**
+     * Gets the forkMaxHeap.
+     *
+     * @return
+     */
+    public long getForkMaxHeap() {
+        return forkMaxHeap;
+    }
+
+    /**
+     * Sets the forkMaxHeap.
+     *
+     * @param forkMaxHeap
+     */
+    public void setForkMaxHeap(long forkMaxHeap) {
+        checkWritable();
+        this.forkMaxHeap = forkMaxHeap;
+    }
+
+    /**
+     * Gets the forkJvmArgs.
+     *
+     * @return
+     */
+    public String getForkJvmArgs() {
+        return forkJvmArgs;
+    }
+
+    /**
+     * Sets the forkJvmArgs.
+     *
+     * @param forkJvmArgs
+     */
+    public void setForkJvmArgs(String forkJvmArgs) {
+        checkWritable();
+        this.forkJvmArgs = forkJvmArgs;
+    }
+
+    /**
+     * Gets the citrusPoolSize.
+     *
+     * @return
+     */
+    public int getCitrusPoolSize() {
+        return citrusPoolSize;
+    }
+
+    /**
+     * Sets the citrusPoolSize.
+     *
+     * @param citrusPoolSize
+     */
+    public void setCitrusPoolSize(int citrusPoolSize) {
+        checkWritable();
+        this.citrusPoolSize = citrusPoolSize;
+    }
+
+    /**
+     * Gets the citrusPoolWarmUp.
+     *
+     * @return
+     */
+    public int getCitrusPoolWarmUp() {
+        return citrusPoolWarmUp;
+    }
+
+    /**
+     * Sets the citrusPoolWarmUp.
+     *
+     * @param citrusPoolWarmUp
+     */
+    public void setCitrusPoolWarmUp(int citrusPoolWarmUp) {
+        checkWritable();
+        this.citrusPoolWarmUp = citrusPoolWarmUp;
+    }
+
+    /**
+     * Gets the version.
+     *
+     * @return
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates new version of this configuration with the settable properties of given configuration applied.
+     * This configuration remains unchanged, so that run jobs holding it are not affected by the update. The new
+     * version is read only.
      * @param configuration
+     * @return
+     */
+    public CitrusRemoteConfiguration apply(CitrusAppConfiguration configuration) {
+        CitrusRemoteConfiguration updated = new CitrusRemoteConfiguration(this);
+        updated.setEngine(configuration.getEngine());
+        updated.setPackages(copyOf(configuration.getPackages()));
+        updated.setTestSources(copyOf(configuration.getTestSources()));
+        updated.setIncludes(copyOf(configuration.getIncludes()));
+        updated.addDefaultProperties(new LinkedHashMap<>(configuration.getDefaultProperties()));
+        updated.version = version + 1;
+        updated.readOnly = true;
+        return updated;
+    }
+
+    /**
+     * Creates read only copy of this configuration with the same version.
+     * @return
      */
-    public void apply(CitrusAppConfiguration configuration) {
-        setEngine(configuration.getEngine());
-        setPackages(configuration.getPackages());
-        setTestSources(configuration.getTestSources());
-        setIncludes(configuration.getIncludes());
-        addDefaultProperties(configuration.getDefaultProperties());
+    public CitrusRemoteConfiguration snapshot() {
+        if (readOnly) {
+            return this;
+        }
+
+        CitrusRemoteConfiguration snapshot = new CitrusRemoteConfiguration(this);
+        snapshot.readOnly = true;
+        return snapshot;
+    }
+
+    private static <T> List<T> copyOf(List<T> list) {
+        return list != null ? new ArrayList<>(list) : null;
+    }
+
+    private static String[] copyOf(String[] array) {
+        return array != null ? array.clone() : null;
+    }
+
+    /**
+     * Fails when this configuration is read only.
+     */
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException(
+                    "Configuration version %d is read only, apply an update instead".formatted(version));
+        }
+    }
+
+    @Override
+    public void setEngine(String engine) {
+        checkWritable();
+        super.setEngine(engine);
+    }
+
+    @Override
+    public List<TestSource> getTestSources() {
+        return readOnly && super.getTestSources() != null ?
+                Collections.unmodifiableList(super.getTestSources()) : super.getTestSources();
+    }
+
+    @Override
+    public void setTestSources(List<TestSource> testSources) {
+        checkWritable();
+        super.setTestSources(testSources);
+    }
+
+    @Override
+    public List<String> getPackages() {
+        return readOnly && super.getPackages() != null ?
+                Collections.unmodifiableList(super.getPackages()) : super.getPackages();
+    }
+
+    @Override
+    public void setPackages(List<String> packages) {
+        checkWritable();
+        super.setPackages(packages);
+    }
+
+    @Override
+    public String[] getIncludes() {
+        return readOnly ? copyOf(super.getIncludes()) : super.getIncludes();
+    }
+
+    @Override
+    public void setIncludes(String[] includes) {
+        checkWritable();
+        super.setIncludes(includes);
+    }
+
+    @Override
+    public void setTestJar(File testJar) {
+        checkWritable();
+        super.setTestJar(testJar);
+    }
+
+    @Override
+    public Map<String, String> getDefaultProperties() {
+        return readOnly ? Collections.unmodifiableMap(super.getDefaultProperties()) : super.getDefaultProperties();
+    }
+
+    @Override
+    public void addDefaultProperties(Map<String, String> defaultProperties) {
+        checkWritable();
+        super.addDefaultProperties(defaultProperties);
+    }
+
+    @Override
+    public void setTimeToLive(long timeToLive) {
+        checkWritable();
+        super.setTimeToLive(timeToLive);
+    }
+
+    @Override
+    public void setConfigClass(String configClass) {
+        checkWritable();
+        super.setConfigClass(configClass);
+    }
+
+    @Override
+    public void setSkipTests(boolean skipTests) {
+        checkWritable();
+        super.setSkipTests(skipTests);
+    }
+
+    @Override
+    public void setSystemExit(boolean systemExit) {
+        checkWritable();
+        super.setSystemExit(systemExit);
     }
 }
@@ -20,6 +20,7 @@ import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.main.CitrusAppOptions;
 import org.citrusframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -41,5 +42,368 @@ public class CitrusRemoteOptions extends CitrusAppOptions<CitrusRemoteConfigurat
                 }
             }
         });
+
+        options.add(new CliOption<>("", "journal", "Directory of the run journal persisting test results across restarts") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setJournalDirectory(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --journal option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "journalSegmentSize", "Size in bytes of a single run journal segment file") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setJournalSegmentSize(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --journalSegmentSize option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "journalFlushBatchSize", "Number of run journal records written before forcing them to disk") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setJournalFlushBatchSize(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --journalFlushBatchSize option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "journalFlushInterval", "Interval in milliseconds to force pending run journal records to disk") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setJournalFlushInterval(Long.parseLong(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --journalFlushInterval option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "journalMaxSegments", "Maximum number of run journal segments to keep") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setJournalMaxSegments(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --journalMaxSegments option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "impactMap", "File persisting the classes each test class depends on for test impact selection") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setImpactMapFile(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --impactMap option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "instances", "Number of HTTP server verticle instances sharing the server port") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setInstances(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --instances option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "eventLoopPoolSize", "Number of Vert.x event loop threads") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setEventLoopPoolSize(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --eventLoopPoolSize option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "workerPoolSize", "Number of Vert.x worker threads") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setWorkerPoolSize(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --workerPoolSize option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "tcpKeepAlive", "Enable TCP keep alive on client connections") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setTcpKeepAlive(Boolean.parseBoolean(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --tcpKeepAlive option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "tcpNoDelay", "Disable Nagle's algorithm on client connections") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setTcpNoDelay(Boolean.parseBoolean(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --tcpNoDelay option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "idleTimeout", "Idle timeout in seconds after which client connections are closed") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setIdleTimeout(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --idleTimeout option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "nativeTransport", "Prefer native transport (epoll/kqueue) when available") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setNativeTransport(Boolean.parseBoolean(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --nativeTransport option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "unixSocket", "Path of an additional Unix domain socket to listen on using native transport") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setUnixSocket(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --unixSocket option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "http2", "Enable HTTP/2 via h2c and ALPN") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setHttp2(Boolean.parseBoolean(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --http2 option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "ssl", "Enable SSL/TLS using the configured key store") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setSsl(Boolean.parseBoolean(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --ssl option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "keyStorePath", "Path to the key store holding the server certificate") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setKeyStorePath(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --keyStorePath option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "keyStorePassword", "Password of the key store") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setKeyStorePassword(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --keyStorePassword option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "blockedThreadCheckInterval", "Interval in milliseconds of the blocked thread checker") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setBlockedThreadCheckInterval(Long.parseLong(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --blockedThreadCheckInterval option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "maxEventLoopExecuteTime", "Time in milliseconds an event loop may be blocked before a warning is logged") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setMaxEventLoopExecuteTime(Long.parseLong(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --maxEventLoopExecuteTime option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "coordinator", "Run as coordinator distributing tests to registered workers") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setCoordinator(Boolean.parseBoolean(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --coordinator option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "coordinatorUrl", "Url of the coordinator to register with as worker") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setCoordinatorUrl(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --coordinatorUrl option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "heartbeatInterval", "Interval in milliseconds of worker heartbeats") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setHeartbeatInterval(Long.parseLong(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --heartbeatInterval option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "workerTimeout", "Time in milliseconds without heartbeat after which a worker is dropped") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setWorkerTimeout(Long.parseLong(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --workerTimeout option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "forkCount", "Number of warm forked JVMs running the jobs") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setForkCount(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --forkCount option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "forkMaxJobs", "Number of jobs after which a forked JVM is replaced") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setForkMaxJobs(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --forkMaxJobs option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "forkMaxHeap", "Retained heap in megabytes after which a forked JVM is replaced") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setForkMaxHeap(Long.parseLong(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --forkMaxHeap option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "forkJvmArgs", "Additional JVM arguments of forked JVMs") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setForkJvmArgs(value);
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --forkJvmArgs option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "citrusPoolSize", "Number of pooled Citrus instances leased by concurrent jobs") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setCitrusPoolSize(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --citrusPoolSize option");
+                }
+            }
+        });
+
+        options.add(new CliOption<>("", "citrusPoolWarmUp", "Number of pooled Citrus instances created on startup") {
+            @Override
+            protected void doProcess(CitrusRemoteConfiguration configuration, String arg, String value, LinkedList<String> remainingArgs) {
+                if (StringUtils.hasText(value)) {
+                    configuration.setCitrusPoolWarmUp(Integer.parseInt(value));
+                } else {
+                    throw new CitrusRuntimeException("Missing parameter value for --citrusPoolWarmUp option");
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates new configuration from given command line arguments.
+     * @param arguments
+     * @return
+     */
+    public static CitrusRemoteConfiguration parse(String[] arguments) {
+        return new CitrusRemoteOptions().apply(new CitrusRemoteConfiguration(), arguments);
+    }
+
+    /**
+     * Processes given arguments with the options of this instance. The default implementation
+     * only evaluates the basic Citrus application options and ignores the remote server options.
+     * @param configuration
+     * @param arguments
+     * @return
+     */
+    @Override
+    public CitrusRemoteConfiguration apply(CitrusRemoteConfiguration configuration, String[] arguments) {
+        LinkedList<String> args = new LinkedList<>(Arrays.asList(arguments));
+
+        while (!args.isEmpty()) {
+            String arg = args.removeFirst();
+
+            for (CliOption<CitrusRemoteConfiguration> option : options) {
+                if (option.processOption(configuration, arg, args)) {
+                    break;
+                }
+            }
+        }
+
+        return configuration;
     }
 }
@@ -16,12 +16,22 @@
 
 package org.citrusframework.remote;
 
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.ext.web.Router;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.cluster.ClusterWorker;
 import org.citrusframework.remote.controller.RunController;
+import org.citrusframework.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -46,7 +56,13 @@ public class CitrusRemoteServer {
     /** Router customizations */
     private final List<Consumer<Router>> routerCustomizations;
 
-    private CitrusRemoteApplication application;
+    /** Server state shared by all application verticle instances */
+    private CitrusRemoteState state;
+
+    private Vertx vertx;
+
+    /** Worker pulling tests from the coordinator when a coordinator url is configured */
+    private ClusterWorker clusterWorker;
 
     /** Completed future marking completed state */
     protected final CompletableFuture<Boolean> completed = new CompletableFuture<>();
@@ -61,7 +77,7 @@ public class CitrusRemoteServer {
     }
 
     public CitrusRemoteServer(String[] args, List<Consumer<Router>> routerCustomizations) {
-        this(new CitrusRemoteOptions().apply(new CitrusRemoteConfiguration(), args), routerCustomizations);
+        this(CitrusRemoteOptions.parse(args), routerCustomizations);
     }
 
     /**
@@ -108,8 +124,27 @@ public class CitrusRemoteServer {
      * Start server instance and listen for incoming requests.
      */
     public void start() {
-        application = new CitrusRemoteApplication(configuration, routerCustomizations);
-        Vertx.vertx().deployVerticle(application);
+        if (configuration.isCoordinator() && StringUtils.hasText(configuration.getCoordinatorUrl())) {
+            throw new CitrusRuntimeException("Server is not able to run as coordinator and worker at the same time");
+        }
+
+        VertxOptions vertxOptions = createVertxOptions();
+        state = new CitrusRemoteState(configuration);
+        state.getMetrics().setMaxEventLoopExecuteTime(
+                vertxOptions.getMaxEventLoopExecuteTimeUnit().toNanos(vertxOptions.getMaxEventLoopExecuteTime()));
+        vertx = Vertx.vertx(vertxOptions);
+        if (isNativeTransportRequired() && !vertx.isNativeTransportEnabled()) {
+            logger.warn("Native transport is not available, using NIO transport", vertx.unavailableNativeTransportCause());
+        }
+        deleteStaleUnixSocket();
+
+        int instances = Math.max(1, configuration.getInstances());
+        vertx.deployVerticle(() -> new CitrusRemoteApplication(state, routerCustomizations),
+                        new DeploymentOptions().setInstances(instances))
+                .onSuccess(deploymentId -> logger.info("Deployed {} server instance(s) using {} transport",
+                        instances, vertx.isNativeTransportEnabled() ? "native" : "NIO"))
+                .onFailure(cause -> logger.error("Failed to deploy server", cause));
+        startCluster();
 
         if (!configuration.isSkipTests()) {
             new RunController(configuration).run();
@@ -120,11 +155,100 @@ public class CitrusRemoteServer {
         }
     }
 
+    /**
+     * Starts sweeping expired workers when running as coordinator and starts pulling tests from the coordinator
+     * when a coordinator url is configured.
+     */
+    private void startCluster() {
+        state.getCoordinator().ifPresent(coordinator ->
+                vertx.setPeriodic(configuration.getHeartbeatInterval(), timer -> coordinator.expireWorkers()));
+
+        if (StringUtils.hasText(configuration.getCoordinatorUrl())) {
+            clusterWorker = new ClusterWorker(vertx, state, getWorkerName());
+            clusterWorker.start();
+        }
+    }
+
+    private String getWorkerName() {
+        try {
+            return InetAddress.getLocalHost().getHostName() + ":" + configuration.getPort();
+        } catch (UnknownHostException e) {
+            return "localhost:" + configuration.getPort();
+        }
+    }
+
+    /**
+     * Creates Vert.x options from the server configuration. Pool sizes not set explicitly keep the Vert.x defaults.
+     * @return
+     */
+    private VertxOptions createVertxOptions() {
+        VertxOptions options = new VertxOptions()
+                .setPreferNativeTransport(isNativeTransportRequired());
+
+        if (configuration.getEventLoopPoolSize() > 0) {
+            options.setEventLoopPoolSize(configuration.getEventLoopPoolSize());
+        }
+
+        if (configuration.getWorkerPoolSize() > 0) {
+            options.setWorkerPoolSize(configuration.getWorkerPoolSize());
+        }
+
+        if (configuration.getBlockedThreadCheckInterval() > 0) {
+            options.setBlockedThreadCheckInterval(configuration.getBlockedThreadCheckInterval());
+            options.setBlockedThreadCheckIntervalUnit(TimeUnit.MILLISECONDS);
+        }
+
+        if (configuration.getMaxEventLoopExecuteTime() > 0) {
+            options.setMaxEventLoopExecuteTime(configuration.getMaxEventLoopExecuteTime());
+            options.setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS);
+        }
+
+        return options;
+    }
+
+    /**
+     * Native transport is preferred when configured explicitly and required for the Unix domain socket listener.
+     * @return
+     */
+    private boolean isNativeTransportRequired() {
+        return configuration.isNativeTransport() || StringUtils.hasText(configuration.getUnixSocket());
+    }
+
+    /**
+     * Removes socket file left behind by a previous server instance, as binding fails on existing files.
+     */
+    private void deleteStaleUnixSocket() {
+        if (StringUtils.hasText(configuration.getUnixSocket())) {
+            try {
+                Files.deleteIfExists(Path.of(configuration.getUnixSocket()));
+            } catch (IOException e) {
+                logger.warn("Failed to delete stale Unix domain socket {}", configuration.getUnixSocket(), e);
+            }
+        }
+    }
+
     /**
      * Stops the server instance.
      */
     public void stop() {
-        application.stop();
+        if (clusterWorker != null) {
+            try {
+                clusterWorker.stop().toCompletionStage().toCompletableFuture()
+                        .get(configuration.getHeartbeatInterval(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("Failed to deregister from coordinator", e);
+            } catch (InterruptedException e) {
+                currentThread().interrupt();
+            }
+        }
+
+        if (vertx != null) {
+            vertx.close();
+        }
+
+        if (state != null) {
+            state.close();
+        }
         complete();
     }
 
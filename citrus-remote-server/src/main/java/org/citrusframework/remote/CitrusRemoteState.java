@@ -0,0 +1,523 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote;
+
+import io.vertx.core.Future;
+import org.citrusframework.Citrus;
+import org.citrusframework.CitrusInstanceManager;
+import org.citrusframework.CitrusInstanceStrategy;
+import org.citrusframework.endpoint.Endpoint;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.main.CitrusAppConfiguration;
+import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.cluster.Coordinator;
+import org.citrusframework.remote.fork.ForkedRunExecutor;
+import org.citrusframework.remote.history.TestHistory;
+import org.citrusframework.remote.history.TimeBudgetRunExecutor;
+import org.citrusframework.remote.impact.ImpactMap;
+import org.citrusframework.remote.impact.ImpactSelectionRunExecutor;
+import org.citrusframework.remote.index.GroupSelectionRunExecutor;
+import org.citrusframework.remote.index.TestIndex;
+import org.citrusframework.remote.index.TestIndexCache;
+import org.citrusframework.remote.job.JobScopedProperties;
+import org.citrusframework.remote.job.LocalRunExecutor;
+import org.citrusframework.remote.job.MatrixRunExecutor;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.FailFastRunExecutor;
+import org.citrusframework.remote.job.PreflightRunExecutor;
+import org.citrusframework.remote.job.RetryRunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.job.SoakRunExecutor;
+import org.citrusframework.remote.job.SoakStatistics;
+import org.citrusframework.remote.journal.RunJournal;
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.listener.RunPhaseListener;
+import org.citrusframework.remote.load.LoadCitrusContext;
+import org.citrusframework.remote.load.LoadRunner;
+import org.citrusframework.remote.metrics.RemoteMetrics;
+import org.citrusframework.remote.model.LoadProfile;
+import org.citrusframework.remote.model.LoadStatistics;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.remote.pool.CitrusContextPool;
+import org.citrusframework.remote.pool.LeasedCitrusContext;
+import org.citrusframework.remote.pool.PooledRunExecutor;
+import org.citrusframework.report.JUnitReporter;
+import org.citrusframework.report.LoggingReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * State of the remote server shared by all HTTP verticle instances. Instances run on different event loops,
+ * so all state held here is safe for concurrent access. The Citrus instance processor registering the server
+ * listeners is added exactly once when the state is created. With a Citrus context pool the single Citrus instance
+ * routes each test to the context leased by its job instead, and the pooled contexts register their own listeners.
+ * <p>
+ * Report locations are resolved once on creation and after each run, as runs may change the report settings through
+ * default properties. Request handlers use the resolved locations so that they never load classes or read reporter
+ * settings on the event loop.
+ *
+ * @since 4.4.0
+ */
+public class CitrusRemoteState implements Closeable {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(CitrusRemoteState.class);
+
+    /** Maximum number of recent run jobs kept for status requests */
+    private static final int MAX_RECENT_JOBS = 100;
+
+    /** Latest version of the application configuration, each version is an immutable snapshot */
+    private final AtomicReference<CitrusRemoteConfiguration> configuration;
+
+    /** Latest test reports */
+    private final RemoteTestListener remoteTestListener = new RemoteTestListener();
+
+    /** Optional run journal persisting test results across restarts */
+    private final Optional<RunJournal> runJournal;
+
+    /** Server metrics */
+    private final RemoteMetrics metrics = new RemoteMetrics();
+
+    /** Durations and outcomes of all tests executed by this server */
+    private final TestHistory testHistory = new TestHistory();
+
+    /** Index of the tests and their groups per test engine */
+    private final TestIndexCache testIndexCache = new TestIndexCache();
+
+    /** Optional impact map recording the classes each test class depends on */
+    private final Optional<ImpactMap> impactMap;
+
+    /** Coordinator distributing the tests of each run to workers when running as coordinator */
+    private final Optional<Coordinator> coordinator;
+
+    /** Pool of warm forked JVMs running the jobs when forking is enabled */
+    private final Optional<ForkedRunExecutor> forkedRunExecutor;
+
+    /** Pool of Citrus contexts leased by concurrent jobs when pooling is enabled */
+    private final Optional<CitrusContextPool> citrusContextPool;
+
+    /** Executes the tests of each run job, either locally, in a forked JVM or distributed by the coordinator */
+    private final RunExecutor runExecutor;
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    /** Report locations resolved from the reporter settings of the latest run */
+    private volatile ReportLocations reportLocations = ReportLocations.resolve();
+
+    /** Latest asynchronously started run */
+    private volatile AsyncRun asyncRun;
+
+    /** Recently submitted run jobs by run id */
+    private final Map<String, RunJob> recentJobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RunJob> eldest) {
+            return size() > MAX_RECENT_JOBS;
+        }
+    });
+
+    /**
+     * Constructor with given application configuration.
+     * @param configuration
+     */
+    public CitrusRemoteState(CitrusRemoteConfiguration configuration) {
+        this.configuration = new AtomicReference<>(configuration.snapshot());
+        this.runJournal = RunJournal.fromConfiguration(configuration);
+        this.impactMap = ImpactMap.fromConfiguration(configuration);
+        this.coordinator = configuration.isCoordinator() ?
+                Optional.of(new Coordinator(configuration.getWorkerTimeout())) : Optional.empty();
+        this.forkedRunExecutor = !configuration.isCoordinator() && configuration.getForkCount() > 0 ?
+                Optional.of(new ForkedRunExecutor(configuration)) : Optional.empty();
+        this.citrusContextPool = !configuration.isCoordinator() && forkedRunExecutor.isEmpty() &&
+                configuration.getCitrusPoolSize() > 0 ?
+                Optional.of(new CitrusContextPool(configuration.getCitrusPoolSize())) : Optional.empty();
+        this.runExecutor = coordinator.<RunExecutor>map(executor -> executor)
+                .or(() -> forkedRunExecutor)
+                .or(() -> citrusContextPool.map(pool -> new PooledRunExecutor(pool,
+                        metrics.histogram("citrus_pool_lease_wait_seconds", "Time test runs wait for a pooled Citrus context."))))
+                .orElseGet(LocalRunExecutor::new);
+        runJournal.ifPresent(testHistory::load);
+        remoteTestListener.addResultConsumer(testHistory::record);
+        remoteTestListener.addFlakyResultConsumer(testHistory::record);
+        impactMap.ifPresent(map -> remoteTestListener.addResultConsumer(
+                result -> map.record(result.getClassName(), this.configuration.get())));
+
+        JobScopedProperties.install();
+        CitrusInstanceManager.mode(CitrusInstanceStrategy.SINGLETON);
+        if (citrusContextPool.isPresent()) {
+            initializePool(citrusContextPool.get(), configuration.getCitrusPoolWarmUp());
+        } else {
+            CitrusInstanceManager
+                    .addInstanceProcessor(citrus -> {
+                        citrus.addTestListener(remoteTestListener);
+                        citrus.getCitrusContext()
+                                .addTestActionListener(remoteTestListener.getActionTimingListener());
+                        citrus.addTestSuiteListener(new RunPhaseListener());
+                    });
+        }
+
+        registerMetrics();
+    }
+
+    /**
+     * Installs the single Citrus instance routing each test to the context leased by its job and warms up
+     * the pool in background. Pooled contexts register their own listeners, so no instance processor is added.
+     * @param pool
+     * @param warmUp
+     */
+    private void initializePool(CitrusContextPool pool, int warmUp) {
+        CitrusInstanceManager.newInstance(() -> new LoadCitrusContext(new LeasedCitrusContext(pool)));
+        executorService.execute(() -> {
+            try {
+                pool.warmUp(warmUp);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to warm up pooled Citrus contexts", e);
+            }
+        });
+    }
+
+    private void registerMetrics() {
+        remoteTestListener.addResultConsumer(metrics::recordTestResult);
+        metrics.gauge("results", "Number of latest test results held in memory.",
+                remoteTestListener::getResultCount);
+        metrics.gauge("history_tests", "Number of tests in the test history.", testHistory::size);
+        runJournal.ifPresent(journal -> metrics.gauge("journal_runs", "Number of runs held in the run journal.",
+                journal::getRunCount));
+        coordinator.ifPresent(executor -> {
+            metrics.gauge("cluster_workers", "Number of workers registered with the coordinator.",
+                    executor::getWorkerCount);
+            metrics.gauge("cluster_queued_tests", "Number of tests waiting for a worker.",
+                    executor::getQueuedCount);
+            metrics.gauge("cluster_in_flight_tests", "Number of tests assigned to workers.",
+                    executor::getInFlightCount);
+        });
+        forkedRunExecutor.ifPresent(executor -> {
+            metrics.gauge("forked_jvms", "Number of running forked JVMs.", executor::getForkCount);
+            metrics.gauge("forked_jvms_idle", "Number of forked JVMs waiting for a job.", executor::getIdleCount);
+            metrics.gauge("forked_jvms_recycled", "Number of forked JVMs replaced because of job count or heap.",
+                    executor::getRecycledCount);
+        });
+        citrusContextPool.ifPresent(pool -> {
+            metrics.gauge("citrus_pool_contexts", "Number of created pooled Citrus contexts.", pool::getCreatedCount);
+            metrics.gauge("citrus_pool_contexts_idle", "Number of pooled Citrus contexts waiting for a job.",
+                    pool::getIdleCount);
+        });
+    }
+
+    /**
+     * Creates new run job with a unique run id for given run configuration. The job keeps the configuration version
+     * current at creation, so that later configuration updates do not affect it. Jobs of a coordinator distribute
+     * their tests to the registered workers, which skip the queued tests once the failure limit is reached. Other jobs
+     * with a failure limit run their tests one test source after another. Jobs with retries re-execute their failed
+     * tests and jobs in soak mode repeat their tests, both with the same executor. Pre-flight probes run once before
+     * the tests of the job. Jobs with a time budget select the most valuable tests estimated to fit in the budget,
+     * before that jobs naming changes select the affected test classes and jobs selecting groups resolve them to test
+     * methods.
+     * @param runConfiguration
+     * @return
+     */
+    public RunJob createRunJob(TestRunConfiguration runConfiguration) {
+        RemoteRunConfiguration remoteRunConfiguration = RemoteRunConfiguration.of(runConfiguration);
+        RunExecutor executor = runExecutor;
+        if (remoteRunConfiguration.getFailureLimit() > 0 && coordinator.isEmpty()) {
+            executor = new FailFastRunExecutor(executor);
+        }
+
+        if (remoteRunConfiguration.getRetries() > 0) {
+            executor = new RetryRunExecutor(executor);
+        }
+
+        if (remoteRunConfiguration.isSoak()) {
+            executor = new SoakRunExecutor(executor, new SoakStatistics(remoteRunConfiguration.getSoakWindow(),
+                    remoteRunConfiguration.getSoakMaxWindows()));
+        }
+
+        if (remoteRunConfiguration.isPreflight()) {
+            executor = new PreflightRunExecutor(executor, () -> LoadCitrusContext.getOrCreateInstance()
+                    .getCitrusContext().getReferenceResolver().resolveAll(Endpoint.class).values());
+        }
+
+        if (remoteRunConfiguration.getTimeBudget() > 0) {
+            executor = new TimeBudgetRunExecutor(executor, testHistory, testIndexCache);
+        }
+
+        if (!remoteRunConfiguration.getChanges().isEmpty()) {
+            if (impactMap.isPresent()) {
+                executor = new ImpactSelectionRunExecutor(executor, impactMap.get(), testIndexCache);
+            } else {
+                logger.warn("Ignoring changes of run as no impact map is recorded, running all tests");
+            }
+        }
+
+        if (!remoteRunConfiguration.getGroups().isEmpty()) {
+            executor = new GroupSelectionRunExecutor(executor, testIndexCache);
+        }
+
+        if (!remoteRunConfiguration.getMatrix().isEmpty()) {
+            executor = new MatrixRunExecutor(executor);
+        }
+        RunJob runJob = new RunJob(UUID.randomUUID().toString(), configuration.get(), remoteRunConfiguration,
+                remoteTestListener, runJournal, new RunStatistics(), executor);
+        recentJobs.put(runJob.runId(), runJob);
+        return runJob;
+    }
+
+    /**
+     * Submits given run job for execution. System properties set during the run are scoped to the job. The report
+     * locations are resolved within that scope, so that they follow the report settings of the latest run. The impact
+     * map is saved once the job has finished.
+     * @param runJob
+     * @return
+     */
+    public Future<List<RemoteResult>> submit(RunJob runJob) {
+        Supplier<List<RemoteResult>> scopedJob = () -> JobScopedProperties.runWith(() -> {
+            try {
+                return runJob.get();
+            } finally {
+                reportLocations = ReportLocations.resolve();
+                impactMap.ifPresent(ImpactMap::save);
+            }
+        });
+        return Future.fromCompletionStage(CompletableFuture.supplyAsync(metrics.timeRun(scopedJob), executorService));
+    }
+
+    /**
+     * Creates load runner for given load profile with the current configuration version. Load tests run in the
+     * server JVM, either with the Citrus instance of this server or with contexts leased from the pool. A coordinator
+     * does not run tests itself, so it does not support load tests.
+     * @param profile
+     * @return
+     */
+    public LoadRunner createLoadRunner(LoadProfile profile) {
+        if (coordinator.isPresent()) {
+            throw new CitrusRuntimeException("Load tests are not supported when running as coordinator");
+        }
+        return new LoadRunner(profile, configuration.get(), remoteTestListener, citrusContextPool);
+    }
+
+    /**
+     * Runs given load runner reporting its statistics to given consumer. System properties set during the load are
+     * scoped to the load, the same way as for run jobs.
+     * @param loadRunner
+     * @param reporter
+     * @return
+     */
+    public Future<LoadStatistics> runLoad(LoadRunner loadRunner, Consumer<LoadStatistics> reporter) {
+        return Future.fromCompletionStage(CompletableFuture.supplyAsync(
+                () -> JobScopedProperties.runWith(() -> loadRunner.run(reporter)), executorService));
+    }
+
+    /**
+     * Gets the test index of given test engine for the current configuration. Building the index scans the test
+     * classes, so the index is looked up asynchronously.
+     * @param engine
+     * @return
+     */
+    public Future<TestIndex> getTestIndex(String engine) {
+        CitrusRemoteConfiguration current = configuration.get();
+        return Future.fromCompletionStage(CompletableFuture.supplyAsync(
+                () -> testIndexCache.get(current, engine), executorService));
+    }
+
+    /**
+     * Resets the latest results and submits given run job as the latest asynchronous run.
+     * @param runJob
+     */
+    public void startAsync(RunJob runJob) {
+        remoteTestListener.reset();
+        asyncRun = new AsyncRun(runJob, submit(runJob));
+    }
+
+    /**
+     * Gets the latest asynchronously started run if any.
+     * @return
+     */
+    public Optional<AsyncRun> getAsyncRun() {
+        return Optional.ofNullable(asyncRun);
+    }
+
+    /**
+     * Gets recently submitted run job by its id.
+     * @param runId
+     * @return
+     */
+    public Optional<RunJob> getRecentJob(String runId) {
+        return Optional.ofNullable(recentJobs.get(runId));
+    }
+
+    /**
+     * Gets the report locations resolved after the latest run.
+     * @return
+     */
+    public ReportLocations getReportLocations() {
+        return reportLocations;
+    }
+
+    /**
+     * Gets the latest configuration version.
+     *
+     * @return
+     */
+    public CitrusRemoteConfiguration getConfiguration() {
+        return configuration.get();
+    }
+
+    /**
+     * Publishes a new configuration version with the settable properties of given configuration applied.
+     * Run jobs created before keep the previous version.
+     * @param update
+     * @return the new configuration version
+     */
+    public CitrusRemoteConfiguration updateConfiguration(CitrusAppConfiguration update) {
+        return configuration.updateAndGet(current -> current.apply(update));
+    }
+
+    /**
+     * Gets the remoteTestListener.
+     *
+     * @return
+     */
+    public RemoteTestListener getRemoteTestListener() {
+        return remoteTestListener;
+    }
+
+    /**
+     * Gets the runJournal.
+     *
+     * @return
+     */
+    public Optional<RunJournal> getRunJournal() {
+        return runJournal;
+    }
+
+    /**
+     * Gets the testIndexCache.
+     *
+     * @return
+     */
+    public TestIndexCache getTestIndexCache() {
+        return testIndexCache;
+    }
+
+    /**
+     * Gets the testHistory.
+     *
+     * @return
+     */
+    public TestHistory getTestHistory() {
+        return testHistory;
+    }
+
+    /**
+     * Gets the coordinator if this server runs as coordinator.
+     *
+     * @return
+     */
+    public Optional<Coordinator> getCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * Gets the metrics.
+     *
+     * @return
+     */
+    public RemoteMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        Optional<Citrus> citrus = CitrusInstanceManager.get();
+        if (citrus.isPresent()) {
+            logger.info("Closing Citrus and its application context");
+            citrus.get().close();
+        }
+        forkedRunExecutor.ifPresent(ForkedRunExecutor::close);
+        runJournal.ifPresent(RunJournal::close);
+        impactMap.ifPresent(ImpactMap::save);
+        executorService.shutdown();
+    }
+
+    /**
+     * Asynchronously started run job and its future results.
+     * @param job
+     * @param results
+     */
+    public record AsyncRun(RunJob job, Future<List<RemoteResult>> results) {
+    }
+
+    /**
+     * Locations of the reports written by the test runs.
+     * @param junitReportsFolder folder holding the JUnit reports of single tests
+     * @param suiteResultFile JUnit report of the whole test suite
+     */
+    public record ReportLocations(Path junitReportsFolder, Path suiteResultFile) {
+
+        /**
+         * Resolves the report locations from the current reporter settings and the unit testing framework
+         * present on classpath.
+         * @return
+         */
+        static ReportLocations resolve() {
+            JUnitReporter jUnitReporter = new JUnitReporter();
+            Path suiteResultFile = Path.of(jUnitReporter.getReportDirectory())
+                    .resolve(String.format(
+                            jUnitReporter.getReportFileNamePattern(),
+                            jUnitReporter.getSuiteName()));
+
+            Path junitReportsFolder;
+            if (isPresent("org.testng.annotations.Test")) {
+                junitReportsFolder = Path.of("test-output" + File.separator + "junitreports");
+            } else if (isPresent("org.junit.Test")) {
+                junitReportsFolder = Path.of(jUnitReporter.getReportDirectory(), jUnitReporter.getOutputDirectory());
+            } else {
+                junitReportsFolder = Path.of(new LoggingReporter().getReportDirectory());
+            }
+
+            return new ReportLocations(junitReportsFolder, suiteResultFile);
+        }
+
+        // TODO: Check if this is equivalent to
+        // https://github.com/spring-projects/spring-framework/blob/main/spring-core/src/main/java/org/springframework/util/ClassUtils.java
+        private static boolean isPresent(String className) {
+            try {
+                Class.forName(className);
+                return true;
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+    }
+}
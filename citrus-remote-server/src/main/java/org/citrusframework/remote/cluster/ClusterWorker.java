@@ -0,0 +1,251 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.cluster;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import org.citrusframework.remote.CitrusRemoteState;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.TestSourceSpec;
+import org.citrusframework.remote.model.WorkAssignment;
+import org.citrusframework.remote.model.WorkerStatus;
+import org.citrusframework.remote.transformer.JsonRequestTransformer;
+import org.citrusframework.remote.transformer.JsonResponseTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Worker registering with a coordinator and pulling tests to execute on this server whenever it is idle. The worker
+ * runs one test at a time and posts its results back to the coordinator before pulling the next test. Heartbeats keep
+ * the registration alive while long running tests execute. A worker dropped by the coordinator registers again with
+ * a new id on its next pull.
+ *
+ * @since 4.4.0
+ */
+public class ClusterWorker {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(ClusterWorker.class);
+
+    /** Base path of the coordinator endpoints */
+    public static final String CLUSTER_PATH = "/cluster";
+
+    /** Delay in milliseconds before pulling again from an empty queue */
+    private static final long IDLE_PULL_DELAY = 500L;
+
+    private static final String APPLICATION_JSON = "application/json";
+
+    private final Vertx vertx;
+
+    /** Server state running the assigned tests */
+    private final CitrusRemoteState state;
+
+    /** Name sent to the coordinator on registration */
+    private final String name;
+
+    private final String coordinatorUrl;
+    private final long heartbeatInterval;
+
+    private final HttpClient client;
+
+    private final JsonRequestTransformer requestTransformer = new JsonRequestTransformer();
+    private final JsonResponseTransformer responseTransformer = new JsonResponseTransformer();
+
+    /** Id assigned by the coordinator, null while not registered */
+    private volatile String workerId;
+
+    private volatile boolean stopped;
+
+    private long heartbeatTimer = -1L;
+
+    /**
+     * Constructor using given Vert.x instance, server state and worker name.
+     * @param vertx
+     * @param state
+     * @param name
+     */
+    public ClusterWorker(Vertx vertx, CitrusRemoteState state, String name) {
+        this.vertx = vertx;
+        this.state = state;
+        this.name = name;
+        this.coordinatorUrl = state.getConfiguration().getCoordinatorUrl().replaceAll("/+$", "");
+        this.heartbeatInterval = state.getConfiguration().getHeartbeatInterval();
+        this.client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true));
+    }
+
+    /**
+     * Registers with the coordinator and starts pulling tests.
+     */
+    public void start() {
+        heartbeatTimer = vertx.setPeriodic(heartbeatInterval, id -> heartbeat());
+        register();
+    }
+
+    /**
+     * Stops pulling tests and deregisters from the coordinator. Tests in flight are requeued by the coordinator.
+     * @return
+     */
+    public Future<Void> stop() {
+        stopped = true;
+        vertx.cancelTimer(heartbeatTimer);
+
+        String id = workerId;
+        workerId = null;
+        Future<Void> deregistered = id != null ?
+                send(HttpMethod.DELETE, CLUSTER_PATH + "/workers/" + id, null).mapEmpty() :
+                Future.succeededFuture();
+        return deregistered.eventually(() -> client.close());
+    }
+
+    private void register() {
+        if (stopped) {
+            return;
+        }
+
+        send(HttpMethod.POST, CLUSTER_PATH + "/workers", responseTransformer.render(new WorkerStatus(name)))
+                .onSuccess(reply -> {
+                    if (reply.statusCode() == HttpResponseStatus.OK.code()) {
+                        workerId = requestTransformer.read(reply.body(), WorkerStatus.class).getId();
+                        logger.info("Registered as worker {} with coordinator {}", workerId, coordinatorUrl);
+                        pull();
+                    } else {
+                        logger.warn("Coordinator {} rejected registration: {}", coordinatorUrl, reply.statusCode());
+                        vertx.setTimer(heartbeatInterval, timer -> register());
+                    }
+                })
+                .onFailure(error -> {
+                    logger.warn("Failed to register with coordinator {}", coordinatorUrl, error);
+                    vertx.setTimer(heartbeatInterval, timer -> register());
+                });
+    }
+
+    private void heartbeat() {
+        String id = workerId;
+        if (id == null) {
+            return;
+        }
+
+        send(HttpMethod.PUT, CLUSTER_PATH + "/workers/" + id + "/heartbeat", null)
+                .onSuccess(reply -> {
+                    if (reply.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
+                        logger.warn("Worker {} is unknown to coordinator {}", id, coordinatorUrl);
+                    }
+                })
+                .onFailure(error -> logger.warn("Failed to send heartbeat to coordinator {}", coordinatorUrl, error));
+    }
+
+    private void pull() {
+        String id = workerId;
+        if (stopped || id == null) {
+            return;
+        }
+
+        send(HttpMethod.POST, CLUSTER_PATH + "/workers/" + id + "/next", null)
+                .onSuccess(reply -> {
+                    if (reply.statusCode() == HttpResponseStatus.OK.code()) {
+                        WorkAssignment assignment = requestTransformer.read(reply.body(), WorkAssignment.class);
+                        execute(assignment).onComplete(done -> pull());
+                    } else if (reply.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
+                        logger.warn("Worker {} has been dropped by coordinator {}, registering again", id, coordinatorUrl);
+                        workerId = null;
+                        register();
+                    } else {
+                        vertx.setTimer(IDLE_PULL_DELAY, timer -> pull());
+                    }
+                })
+                .onFailure(error -> {
+                    logger.warn("Failed to pull next test from coordinator {}", coordinatorUrl, error);
+                    vertx.setTimer(heartbeatInterval, timer -> pull());
+                });
+    }
+
+    /**
+     * Runs the assigned test on this server and posts the results to the coordinator. Latest results of the server
+     * are reset before each test, so the job results hold the results of the assigned test only.
+     * @param assignment
+     * @return
+     */
+    private Future<Void> execute(WorkAssignment assignment) {
+        logger.info("Running test {} of run {}", assignment.getTestSource().getName(), assignment.getRunId());
+        state.getRemoteTestListener().reset();
+        RunJob runJob = state.createRunJob(assignment.toRunConfiguration());
+        return state.submit(runJob)
+                .otherwise(error -> List.of(failedResult(assignment, error)))
+                .compose(results -> postResults(assignment, workerId, responseTransformer.render(results)));
+    }
+
+    private Future<Void> postResults(WorkAssignment assignment, String id, String results) {
+        if (stopped || id == null) {
+            return Future.succeededFuture();
+        }
+
+        return send(HttpMethod.POST, CLUSTER_PATH + "/assignments/" + assignment.getAssignmentId()
+                + "/results?worker=" + id, results)
+                .<Void>map(reply -> {
+                    if (reply.statusCode() == HttpResponseStatus.CONFLICT.code()) {
+                        logger.warn("Coordinator {} rejected results of test {} as it has been requeued",
+                                coordinatorUrl, assignment.getTestSource().getName());
+                    }
+                    return null;
+                })
+                .recover(error -> {
+                    logger.warn("Failed to post results to coordinator {}, retrying", coordinatorUrl, error);
+                    return Future.<Void>future(promise -> vertx.setTimer(heartbeatInterval, timer -> promise.complete()))
+                            .compose(retry -> postResults(assignment, id, results));
+                });
+    }
+
+    private static RemoteResult failedResult(WorkAssignment assignment, Throwable error) {
+        RemoteResult result = new RemoteResult();
+        TestSourceSpec testSource = assignment.getTestSource();
+        result.setTestClass(testSource.getName());
+        result.setTestName(testSource.getMethod() != null ? testSource.getMethod() : testSource.getName());
+        result.setFailed(true);
+        result.setCause(error.getClass().getName());
+        result.setErrorMessage(error.getMessage());
+        return result;
+    }
+
+    private Future<Reply> send(HttpMethod method, String path, String body) {
+        return client.request(new RequestOptions()
+                        .setMethod(method)
+                        .setAbsoluteURI(coordinatorUrl + path))
+                .compose(request -> {
+                    request.putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON);
+                    return body != null ? request.send(body) : request.send();
+                })
+                .compose(response -> response.body()
+                        .map(buffer -> new Reply(response.statusCode(), buffer.toString())));
+    }
+
+    /**
+     * Status code and body of a coordinator response.
+     * @param statusCode
+     * @param body
+     */
+    private record Reply(int statusCode, String body) {
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.cluster;
+
+import org.citrusframework.TestSource;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.remote.model.WorkAssignment;
+import org.citrusframework.remote.model.WorkerStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Run executor distributing the tests of each run to registered workers. The coordinator discovers the test sources
+ * of a run and queues them, idle workers pull the next test from the queue and post its results back, so fast
+ * workers simply pull more tests than slow ones. Results are added to the remote test listener of the run as they
+ * arrive, which keeps results, run journal, metrics and test history of the coordinator up to date.
+ * <p>
+ * Workers send heartbeats. Workers missing heartbeats for longer than the worker timeout are dropped and their
+ * in-flight tests are requeued at the front of the queue. Results posted later for requeued tests are rejected,
+ * so each test contributes exactly one result to the run. Runs submitted while no worker is registered fail right
+ * away. When all workers are gone for longer than the worker timeout, the tests of a run not completed yet are
+ * reported as failed, so that the run never waits for workers forever.
+ * <p>
+ * Once the failed tests of a run reach the failure limit of its run configuration, the queued tests of the run are
+ * skipped, while tests in flight still complete.
+ *
+ * @since 4.4.0
+ */
+public class Coordinator implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(Coordinator.class);
+
+    /** Time in nanoseconds without heartbeat after which a worker is dropped */
+    private final long workerTimeoutNanos;
+
+    /** Registered workers by id */
+    private final Map<String, Worker> workers = new LinkedHashMap<>();
+
+    /** Tests waiting for a worker */
+    private final Deque<Assignment> queue = new ArrayDeque<>();
+
+    /** Tests assigned to a worker by assignment id */
+    private final Map<String, Assignment> inFlight = new HashMap<>();
+
+    /**
+     * Constructor using given worker timeout.
+     * @param workerTimeout in milliseconds
+     */
+    public Coordinator(long workerTimeout) {
+        this.workerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(workerTimeout);
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        job.statistics().enter(RunStatistics.Phase.DISCOVERY);
+        List<TestSource> testSources = TestDiscovery.discover(job.configuration(), job.runConfiguration());
+
+        job.statistics().enter(RunStatistics.Phase.EXECUTION);
+        CoordinatedRun run = new CoordinatedRun(job, testSources.size(),
+                RemoteRunConfiguration.of(job.runConfiguration()).getFailureLimit());
+        synchronized (this) {
+            if (workers.isEmpty()) {
+                throw new CitrusRuntimeException("No workers registered to run the tests of run " + job.runId());
+            }
+            testSources.forEach(testSource -> queue.addLast(new Assignment(run, testSource)));
+        }
+        logger.info("Queued {} tests of run {}", testSources.size(), job.runId());
+
+        try {
+            long withoutWorkersSince = 0L;
+            while (!run.remaining.await(workerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                if (getWorkerCount() > 0) {
+                    withoutWorkersSince = 0L;
+                } else if (withoutWorkersSince == 0L) {
+                    withoutWorkersSince = System.nanoTime();
+                } else if (System.nanoTime() - withoutWorkersSince >= workerTimeoutNanos) {
+                    failUnassigned(run);
+                }
+            }
+        } catch (InterruptedException e) {
+            removeAssignments(run);
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for workers to complete run " + job.runId(), e);
+        }
+
+        synchronized (run.results) {
+            return new ArrayList<>(run.results);
+        }
+    }
+
+    /**
+     * Removes all queued and in-flight tests of given run and completes them with failed results.
+     * @param run
+     */
+    private void failUnassigned(CoordinatedRun run) {
+        List<Assignment> unassigned = removeAssignments(run);
+        logger.warn("No workers left to run {} tests of run {}, reporting them as failed", unassigned.size(),
+                run.job.runId());
+        unassigned.forEach(assignment -> run.add(List.of(RemoteResult.failed(assignment.testSource,
+                "No worker left to run the test within the worker timeout"))));
+    }
+
+    /**
+     * Removes all queued and in-flight tests of given run.
+     * @param run
+     * @return the removed tests
+     */
+    private synchronized List<Assignment> removeAssignments(CoordinatedRun run) {
+        List<Assignment> removed = new ArrayList<>();
+        queue.removeIf(assignment -> assignment.run == run && removed.add(assignment));
+        inFlight.values().removeIf(assignment -> assignment.run == run && removed.add(assignment));
+        workers.values().forEach(worker -> worker.inFlight.removeIf(id -> !inFlight.containsKey(id)));
+        return removed;
+    }
+
+    /**
+     * Registers new worker with given name.
+     * @param name
+     * @return status holding the assigned worker id
+     */
+    public synchronized WorkerStatus register(String name) {
+        Worker worker = new Worker(UUID.randomUUID().toString(), name);
+        workers.put(worker.id, worker);
+        logger.info("Registered worker {} ({})", worker.id, name);
+        return worker.toStatus();
+    }
+
+    /**
+     * Removes given worker and requeues its in-flight tests.
+     * @param workerId
+     * @return false if the worker is unknown
+     */
+    public synchronized boolean deregister(String workerId) {
+        Worker worker = workers.remove(workerId);
+        if (worker == null) {
+            return false;
+        }
+
+        logger.info("Deregistered worker {} ({})", worker.id, worker.name);
+        requeue(worker);
+        return true;
+    }
+
+    /**
+     * Records heartbeat of given worker.
+     * @param workerId
+     * @return false if the worker is unknown, e.g. because it has been dropped
+     */
+    public synchronized boolean heartbeat(String workerId) {
+        Worker worker = workers.get(workerId);
+        if (worker == null) {
+            return false;
+        }
+
+        worker.lastHeartbeat = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Assigns the next queued test to given worker. Pulling counts as heartbeat.
+     * @param workerId
+     * @return empty if the queue is empty or the worker is unknown
+     */
+    public synchronized Optional<WorkAssignment> next(String workerId) {
+        Worker worker = workers.get(workerId);
+        if (worker == null || queue.isEmpty()) {
+            return Optional.empty();
+        }
+
+        worker.lastHeartbeat = System.nanoTime();
+        Assignment assignment = queue.pollFirst();
+        assignment.workerId = workerId;
+        inFlight.put(assignment.id, assignment);
+        worker.inFlight.add(assignment.id);
+
+        RunJob job = assignment.run.job;
+        return Optional.of(WorkAssignment.of(assignment.id, job.runId(), job.runConfiguration(), assignment.testSource));
+    }
+
+    /**
+     * Completes assignment with the results posted by given worker.
+     * @param assignmentId
+     * @param workerId
+     * @param results
+     * @return false if the assignment is not in flight on the worker, e.g. because it has been requeued
+     */
+    public boolean complete(String assignmentId, String workerId, List<RemoteResult> results) {
+        Assignment assignment;
+        synchronized (this) {
+            assignment = inFlight.get(assignmentId);
+            if (assignment == null || !assignment.workerId.equals(workerId)) {
+                return false;
+            }
+
+            inFlight.remove(assignmentId);
+            Optional.ofNullable(workers.get(workerId)).ifPresent(worker -> {
+                worker.inFlight.remove(assignmentId);
+                worker.completed++;
+            });
+        }
+
+        assignment.run.add(results);
+        if (assignment.run.isFailureLimitReached()) {
+            skipQueued(assignment.run);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the queued tests of given run and completes them with skipped results.
+     * @param run
+     */
+    private void skipQueued(CoordinatedRun run) {
+        List<Assignment> skipped = new ArrayList<>();
+        synchronized (this) {
+            queue.removeIf(assignment -> assignment.run == run && skipped.add(assignment));
+        }
+
+        if (!skipped.isEmpty()) {
+            logger.warn("Skipping {} queued tests of run {} after {} failed tests", skipped.size(),
+                    run.job.runId(), run.failures.get());
+            String reason = String.format("Skipped after %d failed tests reached the failure limit of the run",
+                    run.failures.get());
+            skipped.forEach(assignment -> run.add(List.of(RemoteResult.skipped(assignment.testSource, reason))));
+        }
+    }
+
+    /**
+     * Drops all workers without heartbeat within the worker timeout and requeues their in-flight tests.
+     */
+    public synchronized void expireWorkers() {
+        long now = System.nanoTime();
+        List<Worker> expired = workers.values().stream()
+                .filter(worker -> now - worker.lastHeartbeat > workerTimeoutNanos)
+                .toList();
+
+        for (Worker worker : expired) {
+            workers.remove(worker.id);
+            logger.warn("Dropped worker {} ({}) after missing heartbeats, requeueing {} tests",
+                    worker.id, worker.name, worker.inFlight.size());
+            requeue(worker);
+        }
+    }
+
+    /**
+     * Moves in-flight tests of given worker back to the front of the queue with new assignment ids.
+     * @param worker
+     */
+    private void requeue(Worker worker) {
+        List<String> assignmentIds = new ArrayList<>(worker.inFlight);
+        for (int i = assignmentIds.size() - 1; i >= 0; i--) {
+            Assignment assignment = inFlight.remove(assignmentIds.get(i));
+            if (assignment != null) {
+                queue.addFirst(new Assignment(assignment.run, assignment.testSource));
+            }
+        }
+        worker.inFlight.clear();
+    }
+
+    /**
+     * Gets the status of all registered workers.
+     * @return
+     */
+    public synchronized List<WorkerStatus> getWorkers() {
+        return workers.values().stream()
+                .map(Worker::toStatus)
+                .toList();
+    }
+
+    /**
+     * Gets the number of registered workers.
+     * @return
+     */
+    public synchronized int getWorkerCount() {
+        return workers.size();
+    }
+
+    /**
+     * Gets the number of tests waiting for a worker.
+     * @return
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of tests assigned to workers.
+     * @return
+     */
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Run waiting for its tests to be completed by the workers.
+     */
+    private static final class CoordinatedRun {
+
+        private final RunJob job;
+        private final CountDownLatch remaining;
+        private final List<RemoteResult> results = new ArrayList<>();
+        private final Consumer<RemoteResult> reporter;
+        private final int failureLimit;
+        private final AtomicInteger failures = new AtomicInteger();
+
+        CoordinatedRun(RunJob job, int tests, int failureLimit) {
+            this.job = job;
+            this.remaining = new CountDownLatch(tests);
+            this.reporter = job.remoteTestListener().remoteResultReporter();
+            this.failureLimit = failureLimit;
+        }
+
+        /**
+         * Adds the results of a completed test.
+         * @param testResults
+         */
+        void add(List<RemoteResult> testResults) {
+            synchronized (results) {
+                results.addAll(testResults);
+            }
+            failures.addAndGet((int) testResults.stream().filter(RemoteResult::isFailed).count());
+            testResults.forEach(reporter);
+            remaining.countDown();
+        }
+
+        /**
+         * Checks whether the failed tests of this run have reached its failure limit.
+         * @return
+         */
+        boolean isFailureLimitReached() {
+            return failureLimit > 0 && failures.get() >= failureLimit;
+        }
+    }
+
+    /**
+     * Test of a run queued or assigned to a worker.
+     */
+    private static final class Assignment {
+
+        private final String id = UUID.randomUUID().toString();
+        private final CoordinatedRun run;
+        private final TestSource testSource;
+        private String workerId;
+
+        Assignment(CoordinatedRun run, TestSource testSource) {
+            this.run = run;
+            this.testSource = testSource;
+        }
+    }
+
+    /**
+     * Registered worker and its in-flight assignments.
+     */
+    private static final class Worker {
+
+        private final String id;
+        private final String name;
+        private final List<String> inFlight = new ArrayList<>();
+        private long lastHeartbeat = System.nanoTime();
+        private long completed;
+
+        Worker(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        WorkerStatus toStatus() {
+            WorkerStatus status = new WorkerStatus(name);
+            status.setId(id);
+            status.setInFlight(inFlight.size());
+            status.setCompleted(completed);
+            status.setHeartbeatAgeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastHeartbeat));
+            return status;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.cluster;
+
+import org.citrusframework.TestSource;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.main.scan.ClassPathTestScanner;
+import org.citrusframework.main.scan.JarFileTestScanner;
+import org.citrusframework.main.scan.TestScanner;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Resolves the test sources of a run configuration, so that a coordinator is able to hand out the tests of a run
+ * one by one. Packages are scanned the same way as the Citrus test engines do: in the configured test jar or on
+ * classpath for classes carrying the test annotation of the engine.
+ *
+ * @since 4.4.0
+ */
+public final class TestDiscovery {
+
+    /** Test annotations of the test engines */
+    private static final Map<String, String> TEST_ANNOTATIONS = Map.of(
+            "junit4", "org.junit.Test",
+            "junit5", "org.junit.jupiter.api.Test",
+            "testng", "org.testng.annotations.Test");
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private TestDiscovery() {
+        // utility class
+    }
+
+    /**
+     * Discovers the test sources selected by given run configuration. Explicit test sources are used as given,
+     * packages are scanned and a run configuration without test sources and packages scans all packages. On
+     * classpath all packages are the top level packages of the classpath directories, as the classpath scanner is
+     * not able to scan the root package.
+     * @param configuration
+     * @param runConfiguration
+     * @return
+     */
+    public static List<TestSource> discover(CitrusRemoteConfiguration configuration,
+                                            TestRunConfiguration runConfiguration) {
+        List<TestSource> testSources = new ArrayList<>(runConfiguration.getTestSources());
+
+        List<String> packages = runConfiguration.getPackages();
+        boolean scanJar = configuration.getTestJar() != null && configuration.getTestJar().isFile();
+        if (packages.isEmpty() && testSources.isEmpty()) {
+            packages = scanJar ? Collections.singletonList("") : getClasspathPackages();
+        }
+
+        if (!packages.isEmpty()) {
+            String[] includes = Optional.ofNullable(runConfiguration.getIncludes())
+                    .orElse(configuration.getIncludes());
+            TestScanner scanner = createScanner(scanJar ? configuration.getTestJar() : null,
+                    runConfiguration.getEngine(), includes);
+            for (String packageName : packages) {
+                testSources.addAll(scanner.findTestsInPackage(packageName));
+            }
+        }
+
+        return testSources;
+    }
+
+    /**
+     * Gets the top level packages of all directories on classpath.
+     * @return
+     */
+    private static List<String> getClasspathPackages() {
+        Set<String> packages = new TreeSet<>();
+        try {
+            Enumeration<URL> roots = Thread.currentThread().getContextClassLoader().getResources("");
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if (!"file".equals(root.getProtocol())) {
+                    continue;
+                }
+
+                File[] directories = new File(root.toURI()).listFiles(File::isDirectory);
+                if (directories != null) {
+                    Arrays.stream(directories)
+                            .map(File::getName)
+                            .filter(name -> !name.equals("META-INF"))
+                            .forEach(packages::add);
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new CitrusRuntimeException("Failed to resolve classpath directories", e);
+        }
+        return new ArrayList<>(packages);
+    }
+
+    private static TestScanner createScanner(File testJar, String engine, String[] includes) {
+        if (testJar != null) {
+            return new JarFileTestScanner(testJar, includes);
+        }
+
+        return new ClassPathTestScanner(getTestAnnotation(engine), includes);
+    }
+
+    /**
+     * Gets the annotation marking test methods of given test engine.
+     * @param engine
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends Annotation> getTestAnnotation(String engine) {
+        String annotation = TEST_ANNOTATIONS.get(engine);
+        if (annotation == null) {
+            throw new CitrusRuntimeException("Unable to discover tests for unsupported test engine: " + engine);
+        }
+
+        try {
+            return (Class<? extends Annotation>) Class.forName(annotation);
+        } catch (ClassNotFoundException e) {
+            throw new CitrusRuntimeException("Missing test annotation of test engine " + engine + " on classpath", e);
+        }
+    }
+}
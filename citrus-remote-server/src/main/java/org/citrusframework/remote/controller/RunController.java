@@ -16,10 +16,15 @@
 
 package org.citrusframework.remote.controller;
 
+import org.citrusframework.Citrus;
+import org.citrusframework.CitrusInstanceManager;
 import org.citrusframework.TestSource;
-import org.citrusframework.main.CitrusApp;
 import org.citrusframework.main.CitrusAppConfiguration;
+import org.citrusframework.main.TestEngine;
 import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.listener.RunPhaseListener;
+import org.citrusframework.remote.load.LoadCitrusContext;
+import org.citrusframework.remote.model.RunStatistics;
 import org.citrusframework.spi.ResourcePathTypeResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,18 +46,31 @@ public class RunController {
     /** Include tests based on these test names patterns */
     private String[] includes;
 
-    /** Default properties set as system properties */
+    /** Default properties set as system properties scoped to the run job */
     private final Map<String, String> defaultProperties = new LinkedHashMap<>();
 
     private final CitrusRemoteConfiguration configuration;
 
+    /** Statistics receiving the phase timings of the run */
+    private final RunStatistics statistics;
+
     /**
      * Constructor with given configuration.
      * @param configuration
      */
     public RunController(CitrusRemoteConfiguration configuration) {
+        this(configuration, new RunStatistics());
+    }
+
+    /**
+     * Constructor with given configuration and run statistics.
+     * @param configuration
+     * @param statistics
+     */
+    public RunController(CitrusRemoteConfiguration configuration, RunStatistics statistics) {
         this.configuration = configuration;
         this.engine = configuration.getEngine();
+        this.statistics = statistics;
     }
 
     /**
@@ -67,14 +85,14 @@ public class RunController {
      * @param packages
      */
     public void runPackages(List<String> packages) {
+        statistics.enter(RunStatistics.Phase.BOOTSTRAP);
         CitrusAppConfiguration citrusAppConfiguration = new CitrusAppConfiguration();
         citrusAppConfiguration.setEngine(engine);
         citrusAppConfiguration.setIncludes(Optional.ofNullable(includes).orElse(configuration.getIncludes()));
         citrusAppConfiguration.setPackages(packages);
         citrusAppConfiguration.setConfigClass(configuration.getConfigClass());
         citrusAppConfiguration.setTestJar(configuration.getTestJar());
-        citrusAppConfiguration.addDefaultProperties(configuration.getDefaultProperties());
-        citrusAppConfiguration.addDefaultProperties(defaultProperties);
+        citrusAppConfiguration.addDefaultProperties(getDefaultProperties());
         try {
             citrusAppConfiguration.setTestJar(Path.of(ResourcePathTypeResolver.ROOT.toURI()).toFile());
             run(citrusAppConfiguration);
@@ -88,14 +106,14 @@ public class RunController {
      * @param testSources
      */
     public void runClasses(List<TestSource> testSources) {
+        statistics.enter(RunStatistics.Phase.BOOTSTRAP);
         CitrusAppConfiguration citrusAppConfiguration = new CitrusAppConfiguration();
 
         citrusAppConfiguration.setEngine(engine);
         citrusAppConfiguration.setTestSources(testSources);
         citrusAppConfiguration.setTestJar(configuration.getTestJar());
         citrusAppConfiguration.setConfigClass(configuration.getConfigClass());
-        citrusAppConfiguration.addDefaultProperties(configuration.getDefaultProperties());
-        citrusAppConfiguration.addDefaultProperties(defaultProperties);
+        citrusAppConfiguration.addDefaultProperties(getDefaultProperties());
         try {
             citrusAppConfiguration.setTestJar(Path.of(ResourcePathTypeResolver.ROOT.toURI()).toFile());
             run(citrusAppConfiguration);
@@ -108,16 +126,41 @@ public class RunController {
      * Run tests with default configuration.
      */
     public void run() {
+        statistics.enter(RunStatistics.Phase.BOOTSTRAP);
         this.run(configuration);
     }
 
     /**
-     * Run Citrus application with given configuration and cached Citrus instance.
+     * Run Citrus application with given configuration and cached Citrus instance. Performs the same steps
+     * as the Citrus application itself but initializes the Citrus instance upfront so that each step
+     * can be timed as separate phase of the run.
      * @param citrusAppConfiguration
      */
     private void run(CitrusAppConfiguration citrusAppConfiguration) {
-        CitrusApp citrusApp = new CitrusApp(citrusAppConfiguration);
-        citrusApp.run();
+        logger.info("Running Citrus {}", Citrus.getVersion());
+        citrusAppConfiguration.setDefaultProperties();
+
+        if (!CitrusInstanceManager.hasInstance()) {
+            statistics.enter(RunStatistics.Phase.CONTEXT_INIT);
+            LoadCitrusContext.getOrCreateInstance();
+            statistics.enter(RunStatistics.Phase.BOOTSTRAP);
+        }
+
+        TestEngine testEngine = TestEngine.lookup(citrusAppConfiguration);
+        statistics.enter(RunStatistics.Phase.DISCOVERY);
+        RunPhaseListener.runWith(statistics, testEngine::run);
+    }
+
+    /**
+     * Merges the default properties of the configuration with the default properties of this run, the latter take
+     * precedence. The application configuration replaces its default properties on each add, so they are passed
+     * as one map.
+     * @return
+     */
+    private Map<String, String> getDefaultProperties() {
+        Map<String, String> properties = new LinkedHashMap<>(configuration.getDefaultProperties());
+        properties.putAll(defaultProperties);
+        return properties;
     }
 
     /**
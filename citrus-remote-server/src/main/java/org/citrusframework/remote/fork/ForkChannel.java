@@ -0,0 +1,82 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.fork;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local channel between the server and a forked JVM exchanging {@link ForkMessage} as JSON lines over a Unix domain
+ * socket. Sending is safe for concurrent use, e.g. by test engines reporting results from parallel threads.
+ *
+ * @since 4.4.0
+ */
+final class ForkChannel implements Closeable {
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final SocketChannel channel;
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    ForkChannel(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends given message.
+     * @param message
+     * @throws IOException
+     */
+    synchronized void send(ForkMessage message) throws IOException {
+        writer.write(mapper.writeValueAsString(message));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Receives the next message, blocking until it arrives.
+     * @return
+     * @throws IOException when the channel fails or has been closed by the other side
+     */
+    ForkMessage receive() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new EOFException("Fork channel closed");
+        }
+        return mapper.readValue(line, ForkMessage.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
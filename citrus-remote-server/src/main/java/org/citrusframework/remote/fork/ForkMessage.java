@@ -0,0 +1,217 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.fork;
+
+import org.citrusframework.TestSource;
+import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.citrusframework.remote.model.TestSourceSpec;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message exchanged between the server and its forked JVMs. Messages are written as single JSON lines. The server
+ * sends run and shutdown messages, forked JVMs answer with ready, result and finished messages.
+ *
+ * @since 4.4.0
+ */
+public class ForkMessage {
+
+    public enum Type {
+        /** Forked JVM is warmed up and accepts runs */
+        READY,
+        /** Server requests a run */
+        RUN,
+        /** Result of a single test of the current run */
+        RESULT,
+        /** Current run has finished */
+        FINISHED,
+        /** Server requests the forked JVM to exit */
+        SHUTDOWN
+    }
+
+    private Type type;
+
+    /** Run settings of run messages */
+    private String runId;
+    private String engine;
+    private String[] includes;
+    private List<String> packages = new ArrayList<>();
+    private List<TestSourceSpec> testSources = new ArrayList<>();
+    private Map<String, String> defaultProperties = new LinkedHashMap<>();
+    private int maxFailures;
+
+    /** Test result of result messages */
+    private RemoteResult result;
+
+    /** Heap retained after the latest garbage collection, sent with ready and finished messages */
+    private long retainedHeapBytes;
+
+    /** Error message of finished messages when the run failed */
+    private String error;
+
+    public ForkMessage() {
+        super();
+    }
+
+    public ForkMessage(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Creates run message for given run configuration.
+     * @param runId
+     * @param runConfiguration
+     * @return
+     */
+    public static ForkMessage run(String runId, TestRunConfiguration runConfiguration) {
+        ForkMessage message = new ForkMessage(Type.RUN);
+        message.setRunId(runId);
+        message.setEngine(runConfiguration.getEngine());
+        message.setIncludes(runConfiguration.getIncludes());
+        message.setPackages(runConfiguration.getPackages());
+        message.setTestSources(runConfiguration.getTestSources().stream()
+                .map(TestSourceSpec::of)
+                .toList());
+        message.setDefaultProperties(runConfiguration.getDefaultProperties());
+        message.setMaxFailures(RemoteRunConfiguration.of(runConfiguration).getFailureLimit());
+        return message;
+    }
+
+    /**
+     * Creates result message.
+     * @param result
+     * @return
+     */
+    public static ForkMessage result(RemoteResult result) {
+        ForkMessage message = new ForkMessage(Type.RESULT);
+        message.setResult(result);
+        return message;
+    }
+
+    /**
+     * Creates run configuration from the settings of this run message.
+     * @return
+     */
+    public TestRunConfiguration toRunConfiguration() {
+        RemoteRunConfiguration runConfiguration = new RemoteRunConfiguration();
+        runConfiguration.setEngine(engine);
+        if (includes != null) {
+            runConfiguration.setIncludes(includes);
+        }
+        runConfiguration.setPackages(packages);
+        List<TestSource> sources = testSources.stream()
+                .map(TestSourceSpec::toTestSource)
+                .toList();
+        runConfiguration.setTestSources(sources);
+        runConfiguration.addDefaultProperties(defaultProperties);
+        runConfiguration.setMaxFailures(maxFailures);
+        return runConfiguration;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public String[] getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(String[] includes) {
+        this.includes = includes;
+    }
+
+    public List<String> getPackages() {
+        return packages;
+    }
+
+    public void setPackages(List<String> packages) {
+        this.packages = packages;
+    }
+
+    public List<TestSourceSpec> getTestSources() {
+        return testSources;
+    }
+
+    public void setTestSources(List<TestSourceSpec> testSources) {
+        this.testSources = testSources;
+    }
+
+    public Map<String, String> getDefaultProperties() {
+        return defaultProperties;
+    }
+
+    public void setDefaultProperties(Map<String, String> defaultProperties) {
+        this.defaultProperties = defaultProperties;
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    public void setMaxFailures(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    public RemoteResult getResult() {
+        return result;
+    }
+
+    public void setResult(RemoteResult result) {
+        this.result = result;
+    }
+
+    public long getRetainedHeapBytes() {
+        return retainedHeapBytes;
+    }
+
+    public void setRetainedHeapBytes(long retainedHeapBytes) {
+        this.retainedHeapBytes = retainedHeapBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
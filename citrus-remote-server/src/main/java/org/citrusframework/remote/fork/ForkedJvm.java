@@ -0,0 +1,206 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.fork;
+
+import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.model.RemoteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Forked JVM as seen by the server. The JVM is started with the command of the pool and connects back to a Unix
+ * domain socket created for it. It is ready for runs once it has sent its ready message after warm-up.
+ *
+ * @since 4.4.0
+ */
+final class ForkedJvm implements Closeable {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(ForkedJvm.class);
+
+    /** Time in seconds to wait for the JVM to exit on shutdown before destroying it */
+    private static final long SHUTDOWN_TIMEOUT = 5L;
+
+    /** Time in seconds to wait for a started JVM to connect before destroying it */
+    private static final long CONNECT_TIMEOUT = 60L;
+
+    private final int id;
+    private final Process process;
+    private final ForkChannel channel;
+
+    /** Number of runs executed */
+    private int jobs;
+
+    /** Heap retained after the latest garbage collection as reported by the JVM */
+    private long retainedHeapBytes;
+
+    private ForkedJvm(int id, Process process, ForkChannel channel) {
+        this.id = id;
+        this.process = process;
+        this.channel = channel;
+    }
+
+    /**
+     * Starts JVM with given command and waits until it has connected and warmed up. The socket path is passed as
+     * first argument of the main class, followed by given arguments.
+     * @param id
+     * @param command java command up to the main class
+     * @param arguments server arguments of the forked JVM
+     * @param socketDirectory
+     * @return
+     * @throws IOException when the JVM fails to start, e.g. because it exits or does not connect in time
+     */
+    static ForkedJvm start(int id, List<String> command, List<String> arguments, Path socketDirectory) throws IOException {
+        Path socket = socketDirectory.resolve("fork-" + id + ".sock");
+        Files.deleteIfExists(socket);
+
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+
+            List<String> forkCommand = new ArrayList<>(command);
+            forkCommand.add(socket.toString());
+            forkCommand.addAll(arguments);
+            Process process = new ProcessBuilder(forkCommand)
+                    .inheritIO()
+                    .start();
+            process.onExit().thenRun(() -> closeQuietly(server));
+            CompletableFuture<Void> connectTimeout = CompletableFuture.runAsync(() -> closeQuietly(server),
+                    CompletableFuture.delayedExecutor(CONNECT_TIMEOUT, TimeUnit.SECONDS));
+
+            SocketChannel socketChannel;
+            try {
+                socketChannel = server.accept();
+            } catch (AsynchronousCloseException e) {
+                if (process.isAlive()) {
+                    process.destroyForcibly();
+                    throw new IOException("Forked JVM did not connect within " + CONNECT_TIMEOUT + " seconds", e);
+                }
+                throw new IOException("Forked JVM exited with code " + process.exitValue() + " before connecting", e);
+            } finally {
+                connectTimeout.cancel(false);
+            }
+
+            ForkChannel channel = new ForkChannel(socketChannel);
+            ForkedJvm fork = new ForkedJvm(id, process, channel);
+            ForkMessage ready = receive(fork);
+            if (ready.getType() != ForkMessage.Type.READY) {
+                fork.close();
+                throw new IOException("Unexpected message from forked JVM: " + ready.getType());
+            }
+
+            fork.retainedHeapBytes = ready.getRetainedHeapBytes();
+            logger.info("Started forked JVM {} (pid {})", id, process.pid());
+            return fork;
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    private static ForkMessage receive(ForkedJvm fork) throws IOException {
+        try {
+            return fork.channel.receive();
+        } catch (IOException e) {
+            fork.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs given run configuration in this JVM and passes each test result to given consumer as soon as it arrives.
+     * @param runId
+     * @param runConfiguration
+     * @param resultConsumer
+     * @return the finished message
+     * @throws IOException when the JVM fails during the run
+     */
+    ForkMessage run(String runId, TestRunConfiguration runConfiguration,
+                    Consumer<RemoteResult> resultConsumer) throws IOException {
+        jobs++;
+        channel.send(ForkMessage.run(runId, runConfiguration));
+        while (true) {
+            ForkMessage message = channel.receive();
+            switch (message.getType()) {
+                case RESULT -> resultConsumer.accept(message.getResult());
+                case FINISHED -> {
+                    retainedHeapBytes = message.getRetainedHeapBytes();
+                    return message;
+                }
+                default -> throw new IOException("Unexpected message from forked JVM: " + message.getType());
+            }
+        }
+    }
+
+    /**
+     * Requests the JVM to exit and destroys it if it does not exit in time.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.send(new ForkMessage(ForkMessage.Type.SHUTDOWN));
+        } catch (IOException e) {
+            logger.debug("Failed to send shutdown to forked JVM {}", id, e);
+        }
+        closeQuietly(channel);
+
+        try {
+            if (!process.waitFor(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close fork resource", e);
+        }
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int getJobs() {
+        return jobs;
+    }
+
+    long getRetainedHeapBytes() {
+        return retainedHeapBytes;
+    }
+}
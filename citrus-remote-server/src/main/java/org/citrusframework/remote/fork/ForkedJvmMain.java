@@ -0,0 +1,153 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.fork;
+
+import org.citrusframework.CitrusInstanceManager;
+import org.citrusframework.TestResult;
+import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.CitrusRemoteOptions;
+import org.citrusframework.remote.CitrusRemoteState;
+import org.citrusframework.remote.cluster.TestDiscovery;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Main class of forked JVMs. Connects to the Unix domain socket given as first argument, configures itself with the
+ * remaining server arguments and warms up by creating the Citrus instance and loading the test classes. Afterwards
+ * it runs one job at a time as requested by the server and streams each test result back as soon as it is reported.
+ * The JVM exits on shutdown request or when the server closes the channel.
+ *
+ * @since 4.4.0
+ */
+public final class ForkedJvmMain {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(ForkedJvmMain.class);
+
+    /**
+     * Prevent instantiation of main class.
+     */
+    private ForkedJvmMain() {
+        // main class
+    }
+
+    /**
+     * Main method
+     * @param args socket path followed by server arguments
+     */
+    public static void main(String[] args) {
+        CitrusRemoteConfiguration configuration =
+                CitrusRemoteOptions.parse(Arrays.copyOfRange(args, 1, args.length));
+
+        try (ForkChannel channel = new ForkChannel(SocketChannel.open(UnixDomainSocketAddress.of(args[0])));
+             CitrusRemoteState state = new CitrusRemoteState(configuration)) {
+            warmUp(configuration);
+            channel.send(status(ForkMessage.Type.READY, null));
+            serve(channel, state);
+        } catch (IOException e) {
+            logger.warn("Lost channel to server, exiting", e);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Creates the Citrus instance and loads the test classes, so that the first run does not pay for it.
+     * @param configuration
+     */
+    private static void warmUp(CitrusRemoteConfiguration configuration) {
+        CitrusInstanceManager.getOrDefault();
+
+        TestRunConfiguration runConfiguration = new TestRunConfiguration();
+        runConfiguration.setEngine(configuration.getEngine());
+        runConfiguration.setPackages(configuration.getPackages());
+        try {
+            logger.info("Loaded {} test classes", TestDiscovery.discover(configuration, runConfiguration).size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load test classes on warm-up", e);
+        }
+    }
+
+    private static void serve(ForkChannel channel, CitrusRemoteState state) throws IOException {
+        RemoteTestListener remoteTestListener = state.getRemoteTestListener();
+        while (true) {
+            ForkMessage message = channel.receive();
+            if (message.getType() == ForkMessage.Type.SHUTDOWN) {
+                return;
+            }
+
+            remoteTestListener.reset();
+            RunJob runJob = state.createRunJob(message.toRunConfiguration());
+            Consumer<TestResult> resultSender = result -> send(channel,
+                    ForkMessage.result(remoteTestListener.toRemoteResult(result)));
+            remoteTestListener.addResultConsumer(resultSender);
+            String error = null;
+            try {
+                runJob.get();
+            } catch (RuntimeException e) {
+                logger.error("Failed to run job {}", message.getRunId(), e);
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            } finally {
+                remoteTestListener.removeResultConsumer(resultSender);
+            }
+            channel.send(status(ForkMessage.Type.FINISHED, error));
+        }
+    }
+
+    private static void send(ForkChannel channel, ForkMessage message) {
+        try {
+            channel.send(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to send message to server", e);
+        }
+    }
+
+    private static ForkMessage status(ForkMessage.Type type, String error) {
+        ForkMessage message = new ForkMessage(type);
+        message.setRetainedHeapBytes(retainedHeapBytes());
+        message.setError(error);
+        return message;
+    }
+
+    /**
+     * Heap retained after the latest garbage collection of each heap pool. Falls back to the current heap usage
+     * when the garbage collector does not report collection usage.
+     * @return
+     */
+    private static long retainedHeapBytes() {
+        long retained = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getCollectionUsage)
+                .filter(Objects::nonNull)
+                .mapToLong(MemoryUsage::getUsed)
+                .sum();
+        return retained > 0 ? retained : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
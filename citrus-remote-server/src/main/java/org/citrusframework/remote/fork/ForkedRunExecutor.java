@@ -0,0 +1,308 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.fork;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Run executor running each job in one of a pool of warm forked JVMs. Forked JVMs use the classpath of the server,
+ * create their Citrus instance and load the test classes on startup, so jobs neither share a Citrus instance nor
+ * system properties and are able to use all cores in parallel. Test results are streamed back over a Unix domain
+ * socket and added to the remote test listener of the job as they arrive.
+ * <p>
+ * A forked JVM is replaced after the configured number of jobs or when its heap retained after garbage collection
+ * exceeds the configured maximum, so that leaking tests never degrade the server for good. Replacements start in the
+ * background right away. Jobs wait for an idle forked JVM.
+ *
+ * @since 4.4.0
+ */
+public class ForkedRunExecutor implements RunExecutor, Closeable {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(ForkedRunExecutor.class);
+
+    /** Interval in milliseconds to check for available forked JVMs while waiting */
+    private static final long LEASE_CHECK_INTERVAL = 1000L;
+
+    private final CitrusRemoteConfiguration configuration;
+
+    /** Java command starting a forked JVM up to its main class */
+    private final List<String> command;
+
+    /** Server arguments of forked JVMs */
+    private final List<String> arguments;
+
+    /** Directory holding the sockets of starting forked JVMs */
+    private final Path socketDirectory;
+
+    /** All running forked JVMs */
+    private final Set<ForkedJvm> forks = ConcurrentHashMap.newKeySet();
+
+    /** Forked JVMs waiting for a job */
+    private final BlockingQueue<ForkedJvm> idle = new LinkedBlockingQueue<>();
+
+    /** Number of forked JVMs currently starting */
+    private final AtomicInteger starting = new AtomicInteger();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /** Number of forked JVMs replaced because of job count or retained heap */
+    private final AtomicLong recycled = new AtomicLong();
+
+    /** Starts and stops forked JVMs in the background */
+    private final ExecutorService launcher = Executors.newCachedThreadPool();
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor using given configuration. Starts the configured number of forked JVMs in the background.
+     * @param configuration
+     */
+    public ForkedRunExecutor(CitrusRemoteConfiguration configuration) {
+        this.configuration = configuration;
+        this.command = createCommand(configuration);
+        this.arguments = createArguments(configuration);
+        try {
+            this.socketDirectory = Files.createTempDirectory("citrus-remote-fork");
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to create socket directory of forked JVMs", e);
+        }
+
+        for (int i = 0; i < configuration.getForkCount(); i++) {
+            fork();
+        }
+    }
+
+    private static List<String> createCommand(CitrusRemoteConfiguration configuration) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (StringUtils.hasText(configuration.getForkJvmArgs())) {
+            command.addAll(Arrays.asList(configuration.getForkJvmArgs().trim().split("\\s+")));
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ForkedJvmMain.class.getName());
+        return command;
+    }
+
+    private static List<String> createArguments(CitrusRemoteConfiguration configuration) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--engine");
+        arguments.add(configuration.getEngine());
+
+        if (StringUtils.hasText(configuration.getConfigClass())) {
+            arguments.add("--config");
+            arguments.add(configuration.getConfigClass());
+        }
+
+        File testJar = configuration.getTestJar();
+        if (testJar != null) {
+            arguments.add("--jar");
+            arguments.add(testJar.getAbsolutePath());
+        }
+
+        for (String packageName : configuration.getPackages()) {
+            arguments.add("--package");
+            arguments.add(packageName);
+        }
+
+        if (!configuration.getDefaultProperties().isEmpty()) {
+            arguments.add("--properties");
+            arguments.add(configuration.getDefaultProperties().entrySet().stream()
+                    .map(property -> property.getKey() + "=" + property.getValue())
+                    .collect(Collectors.joining(",")));
+        }
+        return arguments;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        job.statistics().enter(RunStatistics.Phase.QUEUE);
+        ForkedJvm fork = lease();
+
+        job.statistics().enter(RunStatistics.Phase.EXECUTION);
+        List<RemoteResult> results = new ArrayList<>();
+        ForkMessage finished = null;
+        try {
+            finished = fork.run(job.runId(), job.runConfiguration(), result -> {
+                results.add(result);
+                job.remoteTestListener().addRemoteResult(result);
+            });
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Forked JVM " + fork.getId() + " failed during run " + job.runId(), e);
+        } finally {
+            if (finished != null) {
+                release(fork);
+            } else {
+                replace(fork);
+            }
+        }
+
+        if (finished.getError() != null) {
+            throw new CitrusRuntimeException(finished.getError());
+        }
+        return results;
+    }
+
+    /**
+     * Waits for an idle forked JVM. Fails when no forked JVM is running or starting anymore, e.g. because all of
+     * them failed to start.
+     * @return
+     */
+    private ForkedJvm lease() {
+        try {
+            while (!closed) {
+                ForkedJvm fork = idle.poll(LEASE_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+                if (fork != null) {
+                    return fork;
+                }
+
+                if (forks.isEmpty() && starting.get() == 0) {
+                    throw new CitrusRuntimeException("No forked JVM available, all forked JVMs failed to start");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for an idle forked JVM", e);
+        }
+
+        throw new CitrusRuntimeException("Forked JVMs have been closed");
+    }
+
+    /**
+     * Returns given forked JVM to the pool or replaces it when it has reached the maximum number of jobs or retains
+     * more heap than allowed.
+     * @param fork
+     */
+    private void release(ForkedJvm fork) {
+        long maxHeapBytes = configuration.getForkMaxHeap() * 1024L * 1024L;
+        if (configuration.getForkMaxJobs() > 0 && fork.getJobs() >= configuration.getForkMaxJobs()) {
+            logger.info("Recycling forked JVM {} after {} jobs", fork.getId(), fork.getJobs());
+            recycled.incrementAndGet();
+            replace(fork);
+        } else if (maxHeapBytes > 0 && fork.getRetainedHeapBytes() > maxHeapBytes) {
+            logger.info("Recycling forked JVM {} retaining {} MB heap", fork.getId(),
+                    fork.getRetainedHeapBytes() / (1024L * 1024L));
+            recycled.incrementAndGet();
+            replace(fork);
+        } else if (!fork.isAlive() || closed) {
+            replace(fork);
+        } else {
+            idle.add(fork);
+        }
+    }
+
+    /**
+     * Stops given forked JVM and starts a new one in the background.
+     * @param fork
+     */
+    private void replace(ForkedJvm fork) {
+        forks.remove(fork);
+        launcher.execute(fork::close);
+        fork();
+    }
+
+    /**
+     * Starts a new forked JVM in the background unless this executor has been closed.
+     */
+    private void fork() {
+        if (closed) {
+            return;
+        }
+
+        starting.incrementAndGet();
+        launcher.execute(() -> {
+            try {
+                ForkedJvm fork = ForkedJvm.start(nextId.incrementAndGet(), command, arguments, socketDirectory);
+                if (closed) {
+                    fork.close();
+                } else {
+                    forks.add(fork);
+                    idle.add(fork);
+                }
+            } catch (IOException e) {
+                logger.error("Failed to start forked JVM", e);
+            } finally {
+                starting.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Gets the number of running forked JVMs.
+     * @return
+     */
+    public int getForkCount() {
+        return forks.size();
+    }
+
+    /**
+     * Gets the number of forked JVMs waiting for a job.
+     * @return
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the number of forked JVMs replaced because of job count or retained heap.
+     * @return
+     */
+    public long getRecycledCount() {
+        return recycled.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        forks.forEach(ForkedJvm::close);
+        forks.clear();
+        idle.clear();
+        launcher.shutdown();
+        try {
+            Files.deleteIfExists(socketDirectory);
+        } catch (IOException e) {
+            logger.debug("Failed to delete socket directory {}", socketDirectory, e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.history;
+
+import org.citrusframework.TestResult;
+import org.citrusframework.remote.journal.RunJournal;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RunSummary;
+import org.citrusframework.remote.model.TestHistoryEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durations and outcomes of all tests executed by this server. Clients use the history to estimate test durations,
+ * e.g. when partitioning a run across multiple servers. The history lives in memory and is restored from the run
+ * journal on startup when the journal is enabled. Skipped tests are not recorded. Retries of failed tests are not
+ * recorded as executions, a pass on retry is recorded as flake of the failed execution instead.
+ *
+ * @since 4.4.0
+ */
+public class TestHistory {
+
+    /** History entries by test class and name */
+    private final Map<String, TestHistoryEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Records all test results held in given run journal, oldest run first.
+     * @param journal
+     */
+    public void load(RunJournal journal) {
+        List<RunSummary> runs = new ArrayList<>(journal.getRuns());
+        Collections.reverse(runs);
+        for (RunSummary run : runs) {
+            journal.readResults(run.getRunId(), this::record);
+        }
+    }
+
+    /**
+     * Records given test result.
+     * @param result
+     */
+    public void record(TestResult result) {
+        if (result.isSkipped()) {
+            return;
+        }
+
+        long durationMillis = result.getDuration() != null ? result.getDuration().toMillis() : 0L;
+        record(result.getClassName(), result.getTestName(), durationMillis, result.isFailed());
+    }
+
+    /**
+     * Records given remote test result. Flaky results mark a flake of the preceding failed execution.
+     * @param result
+     */
+    public void record(RemoteResult result) {
+        if (result.isSkipped()) {
+            return;
+        }
+
+        if (result.isFlaky()) {
+            recordFlake(result.getTestClass(), result.getTestName());
+            return;
+        }
+
+        record(result.getTestClass(), result.getTestName(), result.getDurationMillis(), result.isFailed());
+    }
+
+    private void record(String testClass, String testName, long durationMillis, boolean failed) {
+        getEntry(testClass, testName).add(durationMillis, failed);
+    }
+
+    /**
+     * Records that given test has failed and passed on retry.
+     * @param testClass
+     * @param testName
+     */
+    private void recordFlake(String testClass, String testName) {
+        getEntry(testClass, testName).addFlake();
+    }
+
+    private TestHistoryEntry getEntry(String testClass, String testName) {
+        return entries.computeIfAbsent(testClass + "#" + testName, key -> new TestHistoryEntry(testClass, testName));
+    }
+
+    /**
+     * Gets a snapshot of the history entry of given test method. Test engines name tests either by method or by
+     * simple class name and method, so both names are looked up.
+     * @param testClass
+     * @param methodName
+     * @return
+     */
+    public Optional<TestHistoryEntry> find(String testClass, String methodName) {
+        String simpleName = testClass.substring(testClass.lastIndexOf('.') + 1);
+        return Optional.ofNullable(entries.get(testClass + "#" + simpleName + "." + methodName))
+                .or(() -> Optional.ofNullable(entries.get(testClass + "#" + methodName)))
+                .map(TestHistoryEntry::copy);
+    }
+
+    /**
+     * Gets a snapshot of the history entries of all tests of given test class.
+     * @param testClass
+     * @return
+     */
+    public List<TestHistoryEntry> getEntries(String testClass) {
+        return entries.values().stream()
+                .filter(entry -> entry.getTestClass().equals(testClass))
+                .map(TestHistoryEntry::copy)
+                .toList();
+    }
+
+    /**
+     * Gets a snapshot of all history entries ordered by test class and name.
+     * @return
+     */
+    public List<TestHistoryEntry> getEntries() {
+        return entries.values().stream()
+                .map(TestHistoryEntry::copy)
+                .sorted(Comparator.comparing(TestHistoryEntry::getTestClass)
+                        .thenComparing(TestHistoryEntry::getTestName))
+                .toList();
+    }
+
+    /**
+     * Gets the number of tests in the history.
+     * @return
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.history;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestSource;
+import org.citrusframework.remote.cluster.TestDiscovery;
+import org.citrusframework.remote.index.IndexedTest;
+import org.citrusframework.remote.index.TestIndexCache;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.citrusframework.remote.model.TestHistoryEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+/**
+ * Selects and orders the tests of a run job so that they are estimated to fit in the time budget of its run
+ * configuration before executing them with the given executor. Durations are estimated from the average durations
+ * in the test history. Tests never executed are estimated with the test estimate of the run configuration or, without
+ * test estimate, with the average of the other tests. When no test has a known duration and no test estimate is
+ * given, the budget cannot be applied and all tests run. Each test is valued by its history and groups:
+ * <ul>
+ *     <li>tests never executed and tests whose latest execution failed are valued most</li>
+ *     <li>the failure rate and flakiness rate add to the value</li>
+ *     <li>tests in any of the priority groups of the run configuration add to the value</li>
+ * </ul>
+ * Tests are chosen by value per estimated duration until the budget is used and run by descending value, so that
+ * the tests most likely to fail run first. The deferred tests are reported as skipped results. Retries and soak
+ * iterations of the selected tests are not part of the estimate.
+ *
+ * @since 4.4.0
+ */
+public class TimeBudgetRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(TimeBudgetRunExecutor.class);
+
+    /** Value of every test */
+    private static final double BASE_VALUE = 1.0;
+
+    /** Value added for tests never executed */
+    private static final double NEW_TEST_VALUE = 3.0;
+
+    /** Value added for tests whose latest execution failed */
+    private static final double LAST_FAILED_VALUE = 4.0;
+
+    /** Value added for tests always failing, scaled by the failure rate */
+    private static final double FAILURE_RATE_VALUE = 2.0;
+
+    /** Value added for tests always flaky, scaled by the flakiness rate */
+    private static final double FLAKINESS_VALUE = 1.0;
+
+    /** Value added for tests in a priority group */
+    private static final double PRIORITY_GROUP_VALUE = 2.0;
+
+    /** Executes the selected tests */
+    private final RunExecutor delegate;
+
+    /** Durations and outcomes of the tests */
+    private final TestHistory testHistory;
+
+    /** Test indexes resolving the groups of the tests */
+    private final TestIndexCache testIndexCache;
+
+    /**
+     * Constructor using given delegate executor, test history and test index cache.
+     * @param delegate
+     * @param testHistory
+     * @param testIndexCache
+     */
+    public TimeBudgetRunExecutor(RunExecutor delegate, TestHistory testHistory, TestIndexCache testIndexCache) {
+        this.delegate = delegate;
+        this.testHistory = testHistory;
+        this.testIndexCache = testIndexCache;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        RemoteRunConfiguration runConfiguration = RemoteRunConfiguration.of(job.runConfiguration());
+        long timeBudget = runConfiguration.getTimeBudget();
+        if (timeBudget <= 0) {
+            return delegate.execute(job);
+        }
+
+        Set<String> priorityTests = getPriorityTests(job, runConfiguration);
+        List<Candidate> candidates = TestDiscovery.discover(job.configuration(), runConfiguration).stream()
+                .map(testSource -> toCandidate(testSource, priorityTests))
+                .toList();
+        Optional<Long> defaultEstimate = getDefaultEstimate(candidates, runConfiguration);
+        if (defaultEstimate.isEmpty()) {
+            logger.warn("Time budget of {} ms not applied to run {}, no test has a known duration and no test " +
+                    "estimate is given, running all {} tests", timeBudget, job.runId(), candidates.size());
+            return delegate.execute(job);
+        }
+        long defaultMillis = defaultEstimate.get();
+
+        List<Candidate> selected = new ArrayList<>();
+        long estimatedMillis = 0L;
+        for (Candidate candidate : candidates.stream()
+                .sorted(Comparator.comparingDouble((Candidate candidate) ->
+                        candidate.value() / Math.max(1L, candidate.estimateOr(defaultMillis))).reversed())
+                .toList()) {
+            if (estimatedMillis + candidate.estimateOr(defaultMillis) <= timeBudget) {
+                selected.add(candidate);
+                estimatedMillis += candidate.estimateOr(defaultMillis);
+            }
+        }
+
+        Set<Candidate> chosen = new HashSet<>(selected);
+        List<Candidate> deferred = candidates.stream()
+                .filter(candidate -> !chosen.contains(candidate))
+                .toList();
+        logger.info("Selected {} of {} tests of run {} estimated to run {} ms within time budget of {} ms",
+                selected.size(), candidates.size(), job.runId(), estimatedMillis, timeBudget);
+
+        List<RemoteResult> results = new ArrayList<>();
+        if (!selected.isEmpty()) {
+            runConfiguration.selectTestSources(selected.stream()
+                    .sorted(Comparator.comparingDouble(Candidate::value).reversed())
+                    .map(Candidate::testSource)
+                    .toList());
+            results.addAll(delegate.execute(job));
+        }
+
+        for (Candidate candidate : deferred) {
+            RemoteResult result = RemoteResult.skipped(candidate.testSource(),
+                    String.format("Deferred by the time budget of %d ms, estimated duration %d ms", timeBudget,
+                            candidate.estimateOr(defaultMillis)));
+            job.remoteTestListener().addRemoteResult(result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+
+    /**
+     * Gets the estimated duration of tests without test history, i.e. the test estimate of given run configuration or
+     * the average duration of the candidates with test history.
+     * @param candidates
+     * @param runConfiguration
+     * @return the estimated duration, empty when neither a test estimate nor the duration of any test is known
+     */
+    private static Optional<Long> getDefaultEstimate(List<Candidate> candidates,
+                                                     RemoteRunConfiguration runConfiguration) {
+        if (runConfiguration.getTestEstimate() > 0) {
+            return Optional.of(runConfiguration.getTestEstimate());
+        }
+
+        OptionalDouble average = candidates.stream()
+                .filter(candidate -> candidate.estimatedMillis().isPresent())
+                .mapToLong(candidate -> candidate.estimatedMillis().get())
+                .average();
+        return average.isPresent() ? Optional.of(Math.round(average.getAsDouble())) : Optional.empty();
+    }
+
+    /**
+     * Gets the class and method names of the tests in any of the priority groups of given run configuration.
+     * @param job
+     * @param runConfiguration
+     * @return
+     */
+    private Set<String> getPriorityTests(RunJob job, RemoteRunConfiguration runConfiguration) {
+        Set<String> priorityTests = new HashSet<>();
+        if (runConfiguration.getPriorityGroups().isEmpty()) {
+            return priorityTests;
+        }
+
+        Set<String> priorityGroups = new HashSet<>(runConfiguration.getPriorityGroups());
+        for (IndexedTest test : testIndexCache.get(job.configuration(), runConfiguration.getEngine()).getTests()) {
+            if (test.isInAnyGroup(priorityGroups)) {
+                priorityTests.add(test.className());
+                priorityTests.add(test.className() + "#" + test.methodName());
+            }
+        }
+        return priorityTests;
+    }
+
+    private Candidate toCandidate(TestSource testSource, Set<String> priorityTests) {
+        List<TestHistoryEntry> entries;
+        String testName = testSource.getName();
+        if (testSource instanceof TestClass testClass && testClass.getMethod() != null) {
+            entries = testHistory.find(testClass.getName(), testClass.getMethod()).stream().toList();
+            testName += "#" + testClass.getMethod();
+        } else {
+            entries = testHistory.getEntries(testSource.getName());
+        }
+
+        double value = BASE_VALUE;
+        if (priorityTests.contains(testName)) {
+            value += PRIORITY_GROUP_VALUE;
+        }
+
+        if (entries.isEmpty()) {
+            return new Candidate(testSource, Optional.empty(), value + NEW_TEST_VALUE);
+        }
+
+        long executions = entries.stream().mapToLong(TestHistoryEntry::getExecutions).sum();
+        long failures = entries.stream().mapToLong(TestHistoryEntry::getFailures).sum();
+        long flakes = entries.stream().mapToLong(TestHistoryEntry::getFlakes).sum();
+        if (entries.stream().anyMatch(TestHistoryEntry::isLastFailed)) {
+            value += LAST_FAILED_VALUE;
+        }
+        if (executions > 0) {
+            value += FAILURE_RATE_VALUE * failures / executions + FLAKINESS_VALUE * flakes / executions;
+        }
+
+        long estimatedMillis = entries.stream().mapToLong(TestHistoryEntry::getAverageMillis).sum();
+        return new Candidate(testSource, Optional.of(estimatedMillis), value);
+    }
+
+    /**
+     * Test source along with its estimated duration, if known from the test history, and its value.
+     * @param testSource
+     * @param estimatedMillis
+     * @param value
+     */
+    private record Candidate(TestSource testSource, Optional<Long> estimatedMillis, double value) {
+
+        long estimateOr(long defaultMillis) {
+            return estimatedMillis.orElse(defaultMillis);
+        }
+    }
+}
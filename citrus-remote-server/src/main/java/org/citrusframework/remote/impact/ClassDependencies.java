@@ -0,0 +1,157 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.impact;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the classes a test class depends on by reading the constant pools of the class files, i.e. all classes
+ * referenced as type, in field and method descriptors, generic signatures and annotations. References are followed
+ * transitively within the project classes, that are classes loaded from classpath directories or from the test jar.
+ * Library classes end the traversal, so that the dependencies list the code a change of the project may affect.
+ * <p>
+ * Classes reached by reflection only, e.g. beans of a Spring configuration wired by name, are not found.
+ *
+ * @since 4.4.0
+ */
+public final class ClassDependencies {
+
+    /** Class file magic number */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /** Class types in descriptors and signatures */
+    private static final Pattern TYPE_DESCRIPTOR = Pattern.compile("L([\\w/$]+)[;<]");
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private ClassDependencies() {
+        // utility class
+    }
+
+    /**
+     * Resolves the project classes given class depends on including the class itself.
+     * @param className
+     * @param classLoader
+     * @param testJar
+     * @return
+     */
+    public static Set<String> resolve(String className, ClassLoader classLoader, File testJar) {
+        Set<String> dependencies = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(className);
+        while (!pending.isEmpty()) {
+            String current = pending.poll();
+            if (dependencies.contains(current)) {
+                continue;
+            }
+
+            URL classFile = classLoader.getResource(current.replace('.', '/') + ".class");
+            if (classFile == null || !isProjectClass(classFile, testJar)) {
+                continue;
+            }
+
+            dependencies.add(current);
+            try (InputStream in = classFile.openStream()) {
+                for (String reference : readReferences(in.readAllBytes())) {
+                    if (!dependencies.contains(reference)) {
+                        pending.add(reference);
+                    }
+                }
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read class file of " + current, e);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Reads the names of all classes referenced in the constant pool of given class file.
+     * @param classFile
+     * @return
+     * @throws IOException
+     */
+    private static Set<String> readReferences(byte[] classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid class file");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        Set<String> references = new LinkedHashSet<>();
+        int count = in.readUnsignedShort();
+        for (int index = 1; index < count; index++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> addUtf8References(in.readUTF(), references);
+                case 7, 8, 16, 19, 20 -> in.readUnsignedShort();
+                case 15 -> in.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> {
+                    in.skipBytes(8);
+                    index++;
+                }
+                default -> throw new IOException("Unsupported constant pool tag " + tag);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Adds the classes named by given constant pool string. Class constants name internal class names directly,
+     * descriptors and signatures hold class types. Any string that looks like an internal class name is added, the
+     * traversal leaves out the names not resolving to project classes.
+     * @param value
+     * @param references
+     */
+    private static void addUtf8References(String value, Set<String> references) {
+        if (value.indexOf('/') > 0 && value.chars().allMatch(c -> Character.isJavaIdentifierPart(c) || c == '/')) {
+            references.add(value.replace('/', '.'));
+            return;
+        }
+
+        Matcher matcher = TYPE_DESCRIPTOR.matcher(value);
+        while (matcher.find()) {
+            references.add(matcher.group(1).replace('/', '.'));
+        }
+    }
+
+    private static boolean isProjectClass(URL classFile, File testJar) {
+        if ("file".equals(classFile.getProtocol())) {
+            return true;
+        }
+
+        return testJar != null && "jar".equals(classFile.getProtocol()) &&
+                classFile.getPath().startsWith(testJar.toURI() + "!");
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.impact;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.index.JarVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classes each test class depends on, recorded when the test class runs on this server and persisted to a file, so
+ * that the map survives restarts. A run naming changed classes or packages selects the test classes depending on any
+ * of them. Test classes are recorded once per server start and test jar, the recorded dependencies are kept until the
+ * test class runs again.
+ * <p>
+ * Each entry keeps the version of the test jar it has been recorded with. Entries of another test jar version are
+ * stale and count as not recorded, so that a replaced test jar never selects tests by outdated dependencies. Tests
+ * loaded from classpath have no test jar version, so their entries are used until the test class runs again.
+ *
+ * @since 4.4.0
+ */
+public class ImpactMap {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(ImpactMap.class);
+
+    /** Json mapper reading and writing the map file */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /** File persisting the map */
+    private final Path file;
+
+    /** Recorded dependencies by test class name */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Test jar version each test class has been recorded with since server start */
+    private final Map<String, JarVersion> recorded = new ConcurrentHashMap<>();
+
+    /** Whether the map holds changes not yet persisted */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * Constructor loading the map from given file if present.
+     * @param file
+     */
+    public ImpactMap(Path file) {
+        this.file = file;
+        if (Files.isRegularFile(file)) {
+            try {
+                entries.putAll(mapper.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() {}));
+                logger.info("Loaded impact map of {} test classes from {}", entries.size(), file);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable impact map {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Creates impact map if configured.
+     * @param configuration
+     * @return
+     */
+    public static Optional<ImpactMap> fromConfiguration(CitrusRemoteConfiguration configuration) {
+        return Optional.ofNullable(configuration.getImpactMapFile())
+                .map(file -> new ImpactMap(Path.of(file)));
+    }
+
+    /**
+     * Records the dependencies of given test class unless already recorded since server start for the test jar of
+     * given configuration. Test classes not found on classpath or failing to read are left out.
+     * @param testClass
+     * @param configuration
+     */
+    public void record(String testClass, CitrusRemoteConfiguration configuration) {
+        JarVersion jarVersion = JarVersion.of(configuration.getTestJar());
+        if (testClass == null || jarVersion.equals(recorded.put(testClass, jarVersion))) {
+            return;
+        }
+
+        Set<String> classes;
+        try {
+            classes = ClassDependencies.resolve(testClass, Thread.currentThread().getContextClassLoader(),
+                    configuration.getTestJar());
+        } catch (CitrusRuntimeException e) {
+            logger.warn("Failed to record dependencies of test class {}", testClass, e);
+            return;
+        }
+
+        if (classes.isEmpty()) {
+            return;
+        }
+
+        Entry entry = new Entry(jarVersion, classes);
+        if (!entry.equals(entries.put(testClass, entry))) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Checks whether given test class has been recorded with given test jar version.
+     * @param testClass
+     * @param jarVersion
+     * @return
+     */
+    public boolean contains(String testClass, JarVersion jarVersion) {
+        Entry entry = entries.get(testClass);
+        return entry != null && jarVersion.equals(entry.testJar());
+    }
+
+    /**
+     * Checks whether given test class depends on any of given changed classes or packages. Packages include their sub
+     * packages and classes include their nested classes.
+     * @param testClass
+     * @param changes
+     * @return
+     */
+    public boolean isAffected(String testClass, Collection<String> changes) {
+        return Optional.ofNullable(entries.get(testClass))
+                .map(Entry::dependencies)
+                .orElse(Set.of())
+                .stream()
+                .anyMatch(dependency -> changes.stream().anyMatch(change -> dependency.equals(change) ||
+                        dependency.startsWith(change + ".") || dependency.startsWith(change + "$")));
+    }
+
+    /**
+     * Writes the map to its file if it holds changes. Failures to write are logged and the changes are written
+     * again on next save.
+     */
+    public synchronized void save() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            mapper.writeValue(temp.toFile(), entries);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("Failed to write impact map {}", file, e);
+        }
+    }
+
+    /**
+     * Gets the number of recorded test classes.
+     * @return
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Dependencies of a test class along with the test jar version they have been recorded with.
+     * @param testJar
+     * @param dependencies
+     */
+    record Entry(JarVersion testJar, Set<String> dependencies) {
+    }
+}
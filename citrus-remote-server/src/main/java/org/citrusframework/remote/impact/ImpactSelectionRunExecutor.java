@@ -0,0 +1,120 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.impact;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestSource;
+import org.citrusframework.remote.index.IndexedTest;
+import org.citrusframework.remote.index.JarVersion;
+import org.citrusframework.remote.index.TestIndexCache;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Selects the test classes of a run job affected by the changed classes and packages of its run configuration
+ * before executing them with the given executor. The candidates are the test sources of the run configuration along
+ * with all indexed test classes of its packages, or all indexed test classes without test sources and packages.
+ * Candidates depending on a change according to the impact map are selected. When the impact map misses any
+ * candidate or has recorded it with another version of the test jar, the map is considered stale and all candidates
+ * run. Jobs without affected tests run no tests at all.
+ *
+ * @since 4.4.0
+ */
+public class ImpactSelectionRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(ImpactSelectionRunExecutor.class);
+
+    /** Executes the selected tests */
+    private final RunExecutor delegate;
+
+    /** Dependencies of the test classes */
+    private final ImpactMap impactMap;
+
+    /** Test indexes listing the test classes of packages */
+    private final TestIndexCache testIndexCache;
+
+    /**
+     * Constructor using given delegate executor, impact map and test index cache.
+     * @param delegate
+     * @param impactMap
+     * @param testIndexCache
+     */
+    public ImpactSelectionRunExecutor(RunExecutor delegate, ImpactMap impactMap, TestIndexCache testIndexCache) {
+        this.delegate = delegate;
+        this.impactMap = impactMap;
+        this.testIndexCache = testIndexCache;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        RemoteRunConfiguration runConfiguration = RemoteRunConfiguration.of(job.runConfiguration());
+        if (runConfiguration.getChanges().isEmpty()) {
+            return delegate.execute(job);
+        }
+
+        List<TestSource> candidates = new ArrayList<>(runConfiguration.getTestSources());
+        if (candidates.isEmpty() || !runConfiguration.getPackages().isEmpty()) {
+            testIndexCache.get(job.configuration(), runConfiguration.getEngine())
+                    .filter(Collections.emptyList(), runConfiguration.getPackages()).stream()
+                    .map(IndexedTest::className)
+                    .distinct()
+                    .map(className -> (TestSource) TestClass.fromString(className))
+                    .forEach(candidates::add);
+        }
+
+        JarVersion jarVersion = JarVersion.of(job.configuration().getTestJar());
+        List<String> unrecorded = candidates.stream()
+                .map(TestSource::getName)
+                .filter(className -> !impactMap.contains(className, jarVersion))
+                .distinct()
+                .toList();
+        if (!unrecorded.isEmpty()) {
+            logger.warn("Impact map misses {} test classes of run {} or has recorded them with another test jar, " +
+                    "running all tests", unrecorded.size(), job.runId());
+            return delegate.execute(job);
+        }
+
+        List<TestSource> affected = candidates.stream()
+                .filter(testSource -> impactMap.isAffected(testSource.getName(), runConfiguration.getChanges()))
+                .toList();
+        if (affected.isEmpty()) {
+            logger.info("No tests of run {} affected by changes {}", job.runId(), runConfiguration.getChanges());
+            return Collections.emptyList();
+        }
+
+        logger.info("Selected {} of {} tests of run {} affected by changes {}", affected.size(), candidates.size(),
+                job.runId(), runConfiguration.getChanges());
+        runConfiguration.selectTestSources(affected);
+        return delegate.execute(job);
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.index;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestSource;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Selects the tests of a run job by the groups of its run configuration before executing them with the given
+ * executor. The groups are looked up in the cached test index. Test sources and packages of the run configuration
+ * restrict the selection to the given test classes along with the tests of the given packages. The run configuration
+ * is updated with the selected test methods, so that the job and all executors see the selected tests only. Jobs
+ * without matching tests run no tests at all.
+ * <p>
+ * Test engines running whole test classes, such as the JUnit 4 engine, also run the methods of a selected class
+ * outside the groups. Results of those methods are not returned.
+ *
+ * @since 4.4.0
+ */
+public class GroupSelectionRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(GroupSelectionRunExecutor.class);
+
+    /** Executes the selected tests */
+    private final RunExecutor delegate;
+
+    /** Test indexes looked up for the groups */
+    private final TestIndexCache testIndexCache;
+
+    /**
+     * Constructor using given delegate executor and test index cache.
+     * @param delegate
+     * @param testIndexCache
+     */
+    public GroupSelectionRunExecutor(RunExecutor delegate, TestIndexCache testIndexCache) {
+        this.delegate = delegate;
+        this.testIndexCache = testIndexCache;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        RemoteRunConfiguration runConfiguration = RemoteRunConfiguration.of(job.runConfiguration());
+        if (runConfiguration.getGroups().isEmpty()) {
+            return delegate.execute(job);
+        }
+
+        List<TestSource> testSources = testIndexCache.get(job.configuration(), runConfiguration.getEngine())
+                .select(runConfiguration.getGroups(), runConfiguration.getPackages(), runConfiguration.getTestSources());
+        if (testSources.isEmpty()) {
+            logger.warn("No tests of run {} found in groups {}", job.runId(), runConfiguration.getGroups());
+            return Collections.emptyList();
+        }
+
+        logger.info("Selected {} tests of run {} in groups {}", testSources.size(), job.runId(),
+                runConfiguration.getGroups());
+        runConfiguration.selectTestSources(testSources);
+        return delegate.execute(job).stream()
+                .filter(result -> isSelected(result, testSources))
+                .toList();
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+
+    private static boolean isSelected(RemoteResult result, List<TestSource> testSources) {
+        return testSources.stream()
+                .filter(testSource -> testSource.getName().equals(result.getTestClass()))
+                .anyMatch(testSource -> !(testSource instanceof TestClass testClass) ||
+                        result.getTestName().equals(testClass.getMethod()) ||
+                        result.getTestName().endsWith("." + testClass.getMethod()));
+    }
+}
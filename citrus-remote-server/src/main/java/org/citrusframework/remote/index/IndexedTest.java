@@ -0,0 +1,62 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.index;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestSource;
+
+import java.util.Set;
+
+/**
+ * Test method held by the test index along with its groups, i.e. the TestNG groups, JUnit 5 tags or JUnit 4
+ * categories of the method and its class.
+ * @param className
+ * @param methodName
+ * @param groups
+ *
+ * @since 4.4.0
+ */
+public record IndexedTest(String className, String methodName, Set<String> groups) {
+
+    /**
+     * Gets the package of the test class.
+     * @return
+     */
+    public String packageName() {
+        int index = className.lastIndexOf('.');
+        return index > 0 ? className.substring(0, index) : "";
+    }
+
+    /**
+     * Checks whether this test belongs to any of given groups. Groups given by simple name match groups named
+     * by fully qualified name, such as JUnit 4 categories.
+     * @param selectedGroups
+     * @return
+     */
+    public boolean isInAnyGroup(Set<String> selectedGroups) {
+        return groups.stream().anyMatch(group -> selectedGroups.stream()
+                .anyMatch(selected -> group.equals(selected) || group.endsWith("." + selected)));
+    }
+
+    /**
+     * Creates test source running this test method only.
+     * @return
+     */
+    public TestSource toTestSource() {
+        return TestClass.fromString(className + "#" + methodName);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.index;
+
+import java.io.File;
+
+/**
+ * Identity of a test jar given by its path, size and last modification time, so that replacing the test jar is
+ * detected without reading it. The identity is empty when tests are loaded from classpath.
+ * @param path
+ * @param size
+ * @param lastModified
+ *
+ * @since 4.4.0
+ */
+public record JarVersion(String path, long size, long lastModified) {
+
+    /**
+     * Creates identity of given test jar.
+     * @param testJar
+     * @return
+     */
+    public static JarVersion of(File testJar) {
+        if (testJar == null || !testJar.isFile()) {
+            return new JarVersion("", 0L, 0L);
+        }
+        return new JarVersion(testJar.getAbsolutePath(), testJar.length(), testJar.lastModified());
+    }
+}
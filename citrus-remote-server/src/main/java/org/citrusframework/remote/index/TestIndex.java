@@ -0,0 +1,264 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.index;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestSource;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.cluster.TestDiscovery;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Index of the test methods of a test engine along with their groups. The index is built once by discovering the
+ * test classes the same way as the test engines do and reading the group annotations of their test methods, so that
+ * selecting tests by group is a lookup instead of a scan per run. Group annotations are read by name, so that no
+ * test framework is required on the classpath of the server:
+ * <ul>
+ *     <li>TestNG groups of the test annotation on methods and classes</li>
+ *     <li>JUnit 5 tags on methods and classes</li>
+ *     <li>JUnit 4 categories on methods and classes, named by the fully qualified category class name</li>
+ * </ul>
+ *
+ * @since 4.4.0
+ */
+public class TestIndex {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(TestIndex.class);
+
+    /** Group annotations and the functions reading their groups */
+    private static final Map<String, Function<Annotation, List<String>>> GROUP_ANNOTATIONS = Map.of(
+            "org.testng.annotations.Test", annotation -> toStrings(getAttribute(annotation, "groups")),
+            "org.junit.jupiter.api.Tag", annotation -> toStrings(getAttribute(annotation, "value")),
+            "org.junit.jupiter.api.Tags", annotation -> toStrings(getAttribute(annotation, "value")),
+            "org.junit.experimental.categories.Category", annotation -> toStrings(getAttribute(annotation, "value")));
+
+    /** TestNG annotations marking methods other than tests */
+    private static final String TESTNG_ANNOTATIONS = "org.testng.annotations.";
+
+    /** Indexed tests by class name */
+    private final Map<String, List<IndexedTest>> tests;
+
+    /**
+     * Constructor using given indexed tests by class name.
+     * @param tests
+     */
+    private TestIndex(Map<String, List<IndexedTest>> tests) {
+        this.tests = tests;
+    }
+
+    /**
+     * Builds the index of all tests of given engine found in the test jar of given configuration or on classpath.
+     * Classes failing to load are left out.
+     * @param configuration
+     * @param engine
+     * @return
+     */
+    public static TestIndex build(CitrusRemoteConfiguration configuration, String engine) {
+        long start = System.nanoTime();
+        RemoteRunConfiguration runConfiguration = new RemoteRunConfiguration();
+        runConfiguration.setEngine(engine);
+
+        Class<? extends Annotation> testAnnotation = TestDiscovery.getTestAnnotation(engine);
+        Map<String, List<IndexedTest>> tests = new TreeMap<>();
+        for (TestSource testSource : TestDiscovery.discover(configuration, runConfiguration)) {
+            if (!(testSource instanceof TestClass) || tests.containsKey(testSource.getName())) {
+                continue;
+            }
+
+            try {
+                Class<?> testClass = Class.forName(testSource.getName(), false,
+                        Thread.currentThread().getContextClassLoader());
+                List<IndexedTest> classTests = indexClass(testClass, testAnnotation);
+                if (!classTests.isEmpty()) {
+                    tests.put(testClass.getName(), classTests);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                logger.warn("Failed to index test class {}", testSource.getName(), e);
+            }
+        }
+
+        logger.info("Indexed {} tests in {} classes for engine {} in {} ms",
+                tests.values().stream().mapToInt(List::size).sum(), tests.size(), engine,
+                (System.nanoTime() - start) / 1_000_000L);
+        return new TestIndex(Collections.unmodifiableMap(tests));
+    }
+
+    /**
+     * Selects the test methods belonging to any of given groups. Non empty test sources and packages restrict the
+     * selection to the given test classes along with the classes of the given packages including their sub packages.
+     * @param groups
+     * @param packages
+     * @param testSources
+     * @return
+     */
+    public List<TestSource> select(Collection<String> groups, Collection<String> packages,
+                                   Collection<TestSource> testSources) {
+        Set<String> classNames = new LinkedHashSet<>();
+        testSources.forEach(testSource -> classNames.add(testSource.getName()));
+
+        boolean unrestricted = classNames.isEmpty() && packages.isEmpty();
+        return filter(groups, Collections.emptyList()).stream()
+                .filter(test -> unrestricted || classNames.contains(test.className()) ||
+                        isInAnyPackage(test, packages))
+                .map(IndexedTest::toTestSource)
+                .toList();
+    }
+
+    /**
+     * Gets the indexed tests ordered by class belonging to any of given groups and packages including their sub
+     * packages. Empty groups and packages do not restrict the tests.
+     * @param groups
+     * @param packages
+     * @return
+     */
+    public List<IndexedTest> filter(Collection<String> groups, Collection<String> packages) {
+        Set<String> selectedGroups = new LinkedHashSet<>(groups);
+        return tests.values().stream()
+                .flatMap(List::stream)
+                .filter(test -> packages.isEmpty() || isInAnyPackage(test, packages))
+                .filter(test -> selectedGroups.isEmpty() || test.isInAnyGroup(selectedGroups))
+                .toList();
+    }
+
+    private static boolean isInAnyPackage(IndexedTest test, Collection<String> packages) {
+        return packages.stream().anyMatch(packageName -> packageName.isEmpty() ||
+                test.packageName().equals(packageName) || test.packageName().startsWith(packageName + "."));
+    }
+
+    /**
+     * Gets all indexed tests ordered by class.
+     * @return
+     */
+    public List<IndexedTest> getTests() {
+        return tests.values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Gets the number of indexed tests.
+     * @return
+     */
+    public int size() {
+        return tests.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static List<IndexedTest> indexClass(Class<?> testClass, Class<? extends Annotation> testAnnotation) {
+        Set<String> classGroups = getGroups(testClass);
+
+        List<IndexedTest> classTests = new ArrayList<>();
+        Set<String> methodNames = new LinkedHashSet<>();
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isSynthetic() || !methodNames.add(method.getName()) ||
+                        !isTestMethod(method, testAnnotation)) {
+                    continue;
+                }
+
+                Set<String> groups = new LinkedHashSet<>(classGroups);
+                groups.addAll(getGroups(method));
+                classTests.add(new IndexedTest(testClass.getName(), method.getName(),
+                        Collections.unmodifiableSet(groups)));
+            }
+        }
+        return classTests;
+    }
+
+    /**
+     * Checks whether given method is a test method. Test methods carry the test annotation of the engine directly or
+     * as meta annotation, e.g. parameterized JUnit 5 tests. Classes carrying the test annotation, as supported by
+     * TestNG, make all public methods they declare tests except for configuration methods.
+     * @param method
+     * @param testAnnotation
+     * @return
+     */
+    private static boolean isTestMethod(Method method, Class<? extends Annotation> testAnnotation) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+
+        if (method.isAnnotationPresent(testAnnotation) || Arrays.stream(method.getAnnotations())
+                .anyMatch(annotation -> annotation.annotationType().isAnnotationPresent(testAnnotation))) {
+            return true;
+        }
+
+        return method.getDeclaringClass().isAnnotationPresent(testAnnotation) &&
+                Modifier.isPublic(method.getModifiers()) &&
+                Arrays.stream(method.getAnnotations())
+                        .noneMatch(annotation -> annotation.annotationType().getName().startsWith(TESTNG_ANNOTATIONS));
+    }
+
+    private static Set<String> getGroups(AnnotatedElement element) {
+        Set<String> groups = new LinkedHashSet<>();
+        for (Annotation annotation : element.getAnnotations()) {
+            Function<Annotation, List<String>> reader = GROUP_ANNOTATIONS.get(annotation.annotationType().getName());
+            if (reader != null) {
+                groups.addAll(reader.apply(annotation));
+            }
+        }
+        return groups;
+    }
+
+    private static Object getAttribute(Annotation annotation, String attribute) {
+        try {
+            return annotation.annotationType().getMethod(attribute).invoke(annotation);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            logger.debug("Failed to read attribute {} of annotation {}", attribute, annotation, e);
+            return null;
+        }
+    }
+
+    /**
+     * Converts given annotation attribute value to group names. Nested tag annotations are read by their value and
+     * classes, such as JUnit 4 categories, by their name.
+     * @param value
+     * @return
+     */
+    private static List<String> toStrings(Object value) {
+        if (value instanceof String group) {
+            return List.of(group);
+        } else if (value instanceof Class<?> type) {
+            return List.of(type.getName());
+        } else if (value instanceof Annotation annotation) {
+            return toStrings(getAttribute(annotation, "value"));
+        } else if (value instanceof Object[] values) {
+            return Arrays.stream(values)
+                    .flatMap(element -> toStrings(element).stream())
+                    .toList();
+        }
+        return List.of();
+    }
+}
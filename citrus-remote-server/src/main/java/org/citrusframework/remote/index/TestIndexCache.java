@@ -0,0 +1,60 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.index;
+
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the test index per test engine for the loaded test jar. Indexes are identified by the path, size and last
+ * modification time of the test jar, so that replacing the test jar builds a new index on next access. Tests found
+ * on classpath are indexed once.
+ *
+ * @since 4.4.0
+ */
+public class TestIndexCache {
+
+    /** Cached index by test engine */
+    private final Map<String, CachedIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the index of given test engine for the test jar of given configuration. Builds the index unless a
+     * current index is cached.
+     * @param configuration
+     * @param engine
+     * @return
+     */
+    public TestIndex get(CitrusRemoteConfiguration configuration, String engine) {
+        JarVersion jarVersion = JarVersion.of(configuration.getTestJar());
+        return indexes.compute(engine, (key, cached) -> {
+            if (cached != null && cached.jarVersion().equals(jarVersion)) {
+                return cached;
+            }
+            return new CachedIndex(jarVersion, TestIndex.build(configuration, engine));
+        }).index();
+    }
+
+    /**
+     * Index along with the test jar version it has been built from.
+     * @param jarVersion
+     * @param index
+     */
+    private record CachedIndex(JarVersion jarVersion, TestIndex index) {
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.endpoint.Endpoint;
+import org.citrusframework.endpoint.EndpointConfiguration;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Probes the reachability of client endpoints by opening a TCP connection to the address they send to. The address is
+ * read from the endpoint configuration, which Citrus modules expose as URL property, e.g. the request URL of HTTP
+ * clients, or as host and port properties. Endpoints without such properties, e.g. server endpoints, are not probed.
+ *
+ * @since 4.4.0
+ */
+public final class EndpointProbe {
+
+    /** Endpoint configuration properties holding the URL a client sends to */
+    private static final List<String> URL_PROPERTIES = List.of("getRequestUrl", "getServerUrl", "getBrokerUrl", "getUrl");
+
+    /** Default ports of URL schemes */
+    private static final Map<String, Integer> DEFAULT_PORTS = Map.of("http", 80, "https", 443, "ws", 80, "wss", 443);
+
+    /** Maximum time in milliseconds to wait for a connection */
+    private static final int MAX_TIMEOUT = 5000;
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private EndpointProbe() {
+        // utility class
+    }
+
+    /**
+     * Probes given endpoints and describes each unreachable endpoint.
+     * @param endpoints
+     * @return descriptions of the unreachable endpoints, empty when all endpoints are reachable
+     */
+    public static List<String> probe(Collection<Endpoint> endpoints) {
+        List<String> unreachable = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            Optional<InetSocketAddress> address = getAddress(endpoint.getEndpointConfiguration());
+            if (address.isEmpty()) {
+                continue;
+            }
+
+            int timeout = (int) Math.min(endpoint.getEndpointConfiguration().getTimeout(), MAX_TIMEOUT);
+            try (Socket socket = new Socket()) {
+                socket.connect(address.get(), Math.max(timeout, 1));
+            } catch (IOException e) {
+                unreachable.add(String.format("%s (%s:%d): %s", endpoint.getName(),
+                        address.get().getHostString(), address.get().getPort(), e.getMessage()));
+            }
+        }
+        return unreachable;
+    }
+
+    /**
+     * Gets the address given endpoint configuration sends to.
+     * @param configuration
+     * @return
+     */
+    static Optional<InetSocketAddress> getAddress(EndpointConfiguration configuration) {
+        if (configuration == null) {
+            return Optional.empty();
+        }
+
+        for (String property : URL_PROPERTIES) {
+            Optional<InetSocketAddress> address = getProperty(configuration, property)
+                    .map(Object::toString)
+                    .flatMap(EndpointProbe::parseUrl);
+            if (address.isPresent()) {
+                return address;
+            }
+        }
+
+        Optional<String> host = getProperty(configuration, "getHost").map(Object::toString);
+        Optional<Integer> port = getProperty(configuration, "getPort")
+                .filter(Integer.class::isInstance)
+                .map(Integer.class::cast);
+        if (host.isPresent() && port.isPresent() && port.get() > 0) {
+            return Optional.of(new InetSocketAddress(host.get(), port.get()));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<InetSocketAddress> parseUrl(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                return Optional.empty();
+            }
+
+            int port = uri.getPort() > 0 ? uri.getPort() :
+                    DEFAULT_PORTS.getOrDefault(Optional.ofNullable(uri.getScheme()).orElse(""), -1);
+            if (port <= 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new InetSocketAddress(uri.getHost(), port));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Object> getProperty(EndpointConfiguration configuration, String getter) {
+        try {
+            Method method = configuration.getClass().getMethod(getter);
+            return Optional.ofNullable(method.invoke(configuration));
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the tests of a run job with the given executor and skips the remaining tests once the number of failed
+ * tests reaches the failure limit of the run configuration, so that a run against a broken system under test is
+ * aborted early. The tests run as a single run of the test engine, so that suite hooks run once and the engine reports
+ * cover all tests of the job. Tests already running when the limit is reached run to completion.
+ * <p>
+ * Remaining tests are skipped by the test listener of the job as they start, before any of their actions run. They are
+ * part of the results of the job as skipped results. The test engine is not aware of the skip and reports these tests
+ * as failed with the reason as message.
+ *
+ * @since 4.4.0
+ */
+public class FailFastRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(FailFastRunExecutor.class);
+
+    /** Executes the tests */
+    private final RunExecutor delegate;
+
+    /**
+     * Constructor using given delegate executor.
+     * @param delegate
+     */
+    public FailFastRunExecutor(RunExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        int failureLimit = RemoteRunConfiguration.of(job.runConfiguration()).getFailureLimit();
+        if (failureLimit <= 0) {
+            return delegate.execute(job);
+        }
+
+        AtomicLong failures = new AtomicLong();
+        AtomicBoolean limitReached = new AtomicBoolean();
+        List<RemoteResult> results = new ArrayList<>();
+        RemoteTestListener remoteTestListener = job.remoteTestListener();
+        remoteTestListener.runObserved(result -> {
+            if (result.isFailed()) {
+                failures.incrementAndGet();
+            }
+        }, () -> remoteTestListener.runSkipping(() -> {
+            if (failures.get() < failureLimit) {
+                return Optional.empty();
+            }
+
+            if (limitReached.compareAndSet(false, true)) {
+                logger.warn("Skipping remaining tests of run {} after {} failed tests", job.runId(), failures.get());
+            }
+            return Optional.of(String.format("Skipped after %d failed tests reached the failure limit of the run",
+                    failures.get()));
+        }, () -> results.addAll(delegate.execute(job))));
+        return results;
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+}
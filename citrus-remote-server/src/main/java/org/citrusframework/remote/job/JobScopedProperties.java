@@ -0,0 +1,161 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * System properties isolating the properties set by concurrent run jobs. Citrus sets the default properties of a
+ * run as system properties, so once installed as system properties, this class keeps all properties set while a job
+ * runs in a scope of that job. Lookups within the scope see the properties of the job first and the global system
+ * properties otherwise. Properties removed within the scope read as cleared for that job, even though the global
+ * properties still hold them. The scope is inherited by threads the test engine starts during the run.
+ * <p>
+ * Threads started during a run may outlive the run, e.g. threads of lazily started endpoints and client pools. The
+ * scope is therefore closed once the run has finished, and threads still referencing a closed scope see the global
+ * properties only, so they never see the properties of a finished job in later jobs.
+ * <p>
+ * Only property lookups and updates are scoped. Enumerating the system properties lists the global properties,
+ * and settings Citrus reads once into static fields keep the value of the first job reading them.
+ *
+ * @since 4.4.0
+ */
+public class JobScopedProperties extends Properties {
+
+    /** Scope of the run job of the current thread */
+    private static final InheritableThreadLocal<Scope> SCOPE = new InheritableThreadLocal<>();
+
+    /**
+     * Constructor holding given global properties.
+     * @param global
+     */
+    private JobScopedProperties(Properties global) {
+        putAll(global);
+    }
+
+    /**
+     * Replaces the system properties with job scoped properties unless already installed.
+     */
+    public static synchronized void install() {
+        if (!(System.getProperties() instanceof JobScopedProperties)) {
+            System.setProperties(new JobScopedProperties(System.getProperties()));
+        }
+    }
+
+    /**
+     * Runs given action in a new scope, so that all properties set by the action are visible to the action only.
+     * @param action
+     * @return
+     * @param <T>
+     */
+    public static <T> T runWith(Supplier<T> action) {
+        Scope previous = SCOPE.get();
+        Scope scope = new Scope();
+        SCOPE.set(scope);
+        try {
+            return action.get();
+        } finally {
+            scope.close();
+            if (previous != null) {
+                SCOPE.set(previous);
+            } else {
+                SCOPE.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the properties of the open scope of the current thread.
+     * @return the properties or null when the current thread has no open scope
+     */
+    private static Map<String, Optional<String>> currentScope() {
+        Scope scope = SCOPE.get();
+        return scope != null && !scope.closed ? scope.properties : null;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        Map<String, Optional<String>> scope = currentScope();
+        if (scope != null && scope.containsKey(key)) {
+            return scope.get(key).orElse(null);
+        }
+        return super.getProperty(key);
+    }
+
+    @Override
+    public String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Map<String, Optional<String>> scope = currentScope();
+        if (scope != null && scope.containsKey(key)) {
+            return scope.get(key).orElse(null);
+        }
+        return super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Map<String, Optional<String>> scope = currentScope();
+        if (scope != null && scope.containsKey(key)) {
+            return scope.get(key).isPresent();
+        }
+        return super.containsKey(key);
+    }
+
+    @Override
+    public synchronized Object setProperty(String key, String value) {
+        Map<String, Optional<String>> scope = currentScope();
+        if (scope != null) {
+            Object previous = get(key);
+            scope.put(key, Optional.of(value));
+            return previous;
+        }
+        return super.setProperty(key, value);
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        Map<String, Optional<String>> scope = currentScope();
+        if (scope != null && key instanceof String name) {
+            Object previous = get(name);
+            scope.put(name, Optional.empty());
+            return previous;
+        }
+        return super.remove(key);
+    }
+
+    /**
+     * Properties of a run job, an empty value marking a property removed by the job.
+     */
+    private static final class Scope {
+        private final Map<String, Optional<String>> properties = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private void close() {
+            closed = true;
+            properties.clear();
+        }
+    }
+}
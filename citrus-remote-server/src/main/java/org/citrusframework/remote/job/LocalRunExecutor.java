@@ -0,0 +1,73 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.TestResult;
+import org.citrusframework.main.TestRunConfiguration;
+import org.citrusframework.remote.controller.RunController;
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.model.RemoteResult;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Executes the tests of a run job with the Citrus instance of this server. All jobs share the Citrus instance and
+ * its remote test listener. The job observes the results reported by the threads running its tests, so that only
+ * its own results are returned, regardless of results the listener still holds from earlier or concurrent jobs.
+ *
+ * @since 4.4.0
+ */
+public class LocalRunExecutor implements RunExecutor {
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        RemoteTestListener remoteTestListener = job.remoteTestListener();
+        Queue<TestResult> observed = new ConcurrentLinkedQueue<>();
+        remoteTestListener.runObserved(observed::add, () -> run(job));
+
+        return observed.stream()
+                .map(remoteTestListener::toRemoteResult)
+                .toList();
+    }
+
+    private void run(RunJob job) {
+        TestRunConfiguration runConfiguration = job.runConfiguration();
+        RunController runController = new RunController(job.configuration(), job.statistics());
+
+        runController.setEngine(runConfiguration.getEngine());
+        runController.setIncludes(runConfiguration.getIncludes());
+
+        if (!runConfiguration.getDefaultProperties().isEmpty()) {
+            runController.addDefaultProperties(runConfiguration.getDefaultProperties());
+        }
+
+        if (runConfiguration.getPackages().isEmpty() &&
+                runConfiguration.getTestSources().isEmpty()) {
+            runController.runAll();
+        }
+
+        if (!runConfiguration.getPackages().isEmpty()) {
+            runController.runPackages(runConfiguration.getPackages());
+        }
+
+        if (!runConfiguration.getTestSources().isEmpty()) {
+            runController.runClasses(runConfiguration.getTestSources());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.cluster.TestDiscovery;
+import org.citrusframework.remote.model.MatrixCellSummary;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the tests of a run job once per cell of the parameter matrix of the run configuration. Each cell adds
+ * its properties to the default properties of the run and runs concurrently to the other cells with the given
+ * executor, isolated from the job and with its own job scoped properties. The results of each cell are labeled
+ * with the cell properties, so that the same test run in several cells stays distinguishable, and all labeled
+ * results are reported as results of the job along with a summary per cell.
+ * <p>
+ * A cell failing to run reports each of its test sources as failed with the error of the cell, so that the job fails.
+ * When the test sources of a failed cell are not able to be discovered either, the job fails once all cells have
+ * finished and their summaries are available.
+ *
+ * @since 4.4.0
+ */
+public class MatrixRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(MatrixRunExecutor.class);
+
+    /** Executes the tests of each cell */
+    private final RunExecutor delegate;
+
+    /** Summaries of the cells in matrix order */
+    private volatile List<MatrixCellSummary> summaries = Collections.emptyList();
+
+    /**
+     * Constructor using given delegate executor.
+     * @param delegate
+     */
+    public MatrixRunExecutor(RunExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        RemoteRunConfiguration runConfiguration = RemoteRunConfiguration.of(job.runConfiguration());
+        List<Map<String, String>> matrix = runConfiguration.getMatrix();
+        logger.info("Running {} matrix cells of run {}", matrix.size(), job.runId());
+
+        ExecutorService cellExecutor = Executors.newFixedThreadPool(matrix.size());
+        try {
+            List<Future<CellOutcome>> cells = new ArrayList<>();
+            for (int i = 0; i < matrix.size(); i++) {
+                Map<String, String> properties = matrix.get(i);
+                String label = label(properties, i);
+                cells.add(cellExecutor.submit(() -> runCell(job, runConfiguration.withMatrixCell(properties),
+                        label, properties)));
+            }
+
+            List<MatrixCellSummary> cellSummaries = new ArrayList<>();
+            List<RemoteResult> results = new ArrayList<>();
+            List<String> unreported = new ArrayList<>();
+            for (Future<CellOutcome> cell : cells) {
+                CellOutcome outcome = cell.get();
+                cellSummaries.add(outcome.summary());
+                results.addAll(outcome.results());
+                if (outcome.summary().getError() != null && outcome.results().isEmpty()) {
+                    unreported.add(outcome.summary().getLabel());
+                }
+            }
+            summaries = Collections.unmodifiableList(cellSummaries);
+
+            results.forEach(job.remoteTestListener()::addRemoteResult);
+            if (!unreported.isEmpty()) {
+                throw new CitrusRuntimeException(String.format("Failed to run matrix cells [%s] of run %s",
+                        String.join("], [", unreported), job.runId()));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while running matrix cells", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to run matrix cell", e.getCause());
+        } finally {
+            cellExecutor.shutdownNow();
+        }
+    }
+
+    private CellOutcome runCell(RunJob job, RemoteRunConfiguration cellConfiguration, String label,
+                                Map<String, String> properties) {
+        long start = System.nanoTime();
+        try {
+            List<RemoteResult> results = JobScopedProperties.runWith(
+                    () -> job.executeIsolated(cellConfiguration, delegate, result -> {}));
+            results.forEach(result -> result.setLabel(label));
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.info("Finished matrix cell [{}] of run {} with {} results", label, job.runId(), results.size());
+            return new CellOutcome(MatrixCellSummary.of(label, properties, results, durationMillis), results);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to run matrix cell [{}] of run {}", label, job.runId(), e);
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String error = Optional.ofNullable(e.getMessage()).orElse(e.getClass().getName());
+            List<RemoteResult> results = getFailedResults(job, cellConfiguration, label, error);
+            MatrixCellSummary summary = MatrixCellSummary.of(label, properties, results, durationMillis);
+            summary.setError(error);
+            return new CellOutcome(summary, results);
+        }
+    }
+
+    /**
+     * Creates failed results labeled with given label for the test sources of given cell configuration.
+     * @param job
+     * @param cellConfiguration
+     * @param label
+     * @param error
+     * @return the failed results, empty when the test sources are not able to be discovered
+     */
+    private static List<RemoteResult> getFailedResults(RunJob job, RemoteRunConfiguration cellConfiguration,
+                                                       String label, String error) {
+        try {
+            return TestDiscovery.discover(job.configuration(), cellConfiguration).stream()
+                    .map(testSource -> {
+                        RemoteResult result = RemoteResult.failed(testSource,
+                                String.format("Failed to run matrix cell [%s]: %s", label, error));
+                        result.setLabel(label);
+                        return result;
+                    })
+                    .toList();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to discover tests of matrix cell [{}] of run {}", label, job.runId(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Builds the label of a cell from its properties, e.g. "browser=chrome, locale=de". Cells without properties are
+     * labeled with their position in the matrix.
+     * @param properties
+     * @param index
+     * @return
+     */
+    static String label(Map<String, String> properties, int index) {
+        if (properties.isEmpty()) {
+            return "cell-" + index;
+        }
+
+        return properties.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+
+    /**
+     * Gets the summaries of the matrix cells, empty until all cells have finished.
+     *
+     * @return
+     */
+    public List<MatrixCellSummary> getSummaries() {
+        return summaries;
+    }
+
+    /**
+     * Summary and labeled results of a single matrix cell.
+     * @param summary
+     * @param results
+     */
+    private record CellOutcome(MatrixCellSummary summary, List<RemoteResult> results) {
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.endpoint.Endpoint;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.cluster.TestDiscovery;
+import org.citrusframework.remote.model.RemoteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Probes the client endpoints of the Citrus context before the tests of a run job start. When all endpoints are
+ * reachable the tests run with the given executor, otherwise all tests of the job are reported as skipped and the job
+ * fails, so that a run against a system under test that is not deployed fails within seconds instead of timing out
+ * test by test.
+ *
+ * @since 4.4.0
+ */
+public class PreflightRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(PreflightRunExecutor.class);
+
+    /** Executes the tests once the probe has passed */
+    private final RunExecutor delegate;
+
+    /** Supplies the endpoints to probe */
+    private final Supplier<Collection<Endpoint>> endpoints;
+
+    /**
+     * Constructor using given delegate executor and endpoints.
+     * @param delegate
+     * @param endpoints
+     */
+    public PreflightRunExecutor(RunExecutor delegate, Supplier<Collection<Endpoint>> endpoints) {
+        this.delegate = delegate;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        List<String> unreachable = EndpointProbe.probe(endpoints.get());
+        if (unreachable.isEmpty()) {
+            return delegate.execute(job);
+        }
+
+        String reason = "Pre-flight probe failed, unreachable endpoints: " + String.join(", ", unreachable);
+        logger.warn("Skipping all tests of run {}. {}", job.runId(), reason);
+        TestDiscovery.discover(job.configuration(), job.runConfiguration()).stream()
+                .map(testSource -> RemoteResult.skipped(testSource, reason))
+                .forEach(job.remoteTestListener()::addRemoteResult);
+        throw new CitrusRuntimeException(reason);
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestResult;
+import org.citrusframework.TestSource;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes the tests of a run job with the given executor and re-executes failed tests within the same job up to the
+ * number of retries of the run configuration. Retries start once all tests of the job have finished and only run the
+ * failed test methods. A test passing on retry replaces its failed result as flaky result, which is added to the
+ * job, so that the test history and the run journal of the job record the flake.
+ * <p>
+ * Failed tests are the failed results the executor reports to the test listener of the job on behalf of the current
+ * thread, so that failures of concurrent jobs and earlier runs kept in the latest results are never retried.
+ *
+ * @since 4.4.0
+ */
+public class RetryRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(RetryRunExecutor.class);
+
+    /** Executes the tests and the retries */
+    private final RunExecutor delegate;
+
+    /**
+     * Constructor using given delegate executor.
+     * @param delegate
+     */
+    public RetryRunExecutor(RunExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        List<TestResult> observed = new CopyOnWriteArrayList<>();
+        AtomicReference<List<RemoteResult>> returned = new AtomicReference<>(List.of());
+        job.remoteTestListener().runObserved(observed::add, () -> returned.set(delegate.execute(job)));
+
+        List<RemoteResult> results = new ArrayList<>(returned.get());
+        Map<String, RemoteResult> failed = new LinkedHashMap<>();
+        observed.stream()
+                .filter(TestResult::isFailed)
+                .map(RemoteResult::fromTestResult)
+                .forEach(result -> failed.put(getKey(result), result));
+
+        RemoteRunConfiguration runConfiguration = RemoteRunConfiguration.of(job.runConfiguration());
+        int retry;
+        for (retry = 1; retry <= runConfiguration.getRetries() && !failed.isEmpty(); retry++) {
+            logger.info("Retrying {} failed tests of run {}, retry {} of {}", failed.size(), job.runId(), retry,
+                    runConfiguration.getRetries());
+            List<TestResult> retryResults = new ArrayList<>();
+            job.executeIsolated(createRetryConfiguration(runConfiguration, failed.values()), delegate,
+                    retryResults::add);
+
+            for (TestResult retryResult : retryResults) {
+                String key = retryResult.getClassName() + "#" + retryResult.getTestName();
+                if (retryResult.isSuccess() && failed.containsKey(key)) {
+                    RemoteResult flaky = RemoteResult.fromTestResult(retryResult);
+                    flaky.setRetries(retry);
+                    flaky.setFlaky(true);
+                    replace(results, failed.remove(key), flaky);
+
+                    logger.info("Test {} passed on retry {} and is flaky", flaky.getTestName(), retry);
+                    job.addFlakyResult(flaky);
+                }
+            }
+        }
+
+        int retries = retry - 1;
+        results.stream()
+                .filter(result -> result.isFailed() && failed.containsKey(getKey(result)))
+                .forEach(result -> result.setRetries(retries));
+        return results;
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+
+    /**
+     * Creates run configuration executing given failed tests only.
+     * @param runConfiguration
+     * @param failed
+     * @return
+     */
+    private static RemoteRunConfiguration createRetryConfiguration(RemoteRunConfiguration runConfiguration,
+                                                                   Iterable<RemoteResult> failed) {
+        Map<String, TestSource> testSources = new LinkedHashMap<>();
+        failed.forEach(result -> {
+            String testSource = toTestSource(result);
+            testSources.putIfAbsent(testSource, TestClass.fromString(testSource));
+        });
+        return runConfiguration.withTestSources(new ArrayList<>(testSources.values()));
+    }
+
+    /**
+     * Gets the test class and method of given result. Test names of Java tests are made of the simple class name and
+     * the method name, other tests retry the whole test class.
+     * @param result
+     * @return
+     */
+    private static String toTestSource(RemoteResult result) {
+        String testClass = result.getTestClass();
+        String prefix = testClass.substring(testClass.lastIndexOf('.') + 1) + ".";
+        if (result.getTestName() != null && result.getTestName().startsWith(prefix)) {
+            return testClass + "#" + result.getTestName().substring(prefix.length());
+        }
+        return testClass;
+    }
+
+    /**
+     * Replaces the failed result with the flaky result. Adds the flaky result when the failed result has not been
+     * returned by the executor.
+     * @param results
+     * @param failed
+     * @param flaky
+     */
+    private static void replace(List<RemoteResult> results, RemoteResult failed, RemoteResult flaky) {
+        for (int i = 0; i < results.size(); i++) {
+            RemoteResult result = results.get(i);
+            if (result.isFailed() && getKey(result).equals(getKey(failed))) {
+                results.set(i, flaky);
+                return;
+            }
+        }
+        results.add(flaky);
+    }
+
+    private static String getKey(RemoteResult result) {
+        return result.getTestClass() + "#" + result.getTestName();
+    }
+}
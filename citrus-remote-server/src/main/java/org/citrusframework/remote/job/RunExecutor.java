@@ -0,0 +1,50 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.remote.model.RemoteResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Executes the tests of a run job. Implementations report each test result to the remote test listener of the job,
+ * so that consumers such as the run journal and the metrics see the results as they arrive.
+ *
+ * @since 4.4.0
+ */
+@FunctionalInterface
+public interface RunExecutor {
+
+    /**
+     * Executes the tests selected by the run configuration of given job.
+     * @param job
+     * @return results of the job
+     */
+    List<RemoteResult> execute(RunJob job);
+
+    /**
+     * Finds the executor of given type among this executor and the executors it delegates to, e.g. to look up the
+     * statistics of a soak run wrapped by other executors.
+     * @param type
+     * @return
+     * @param <T>
+     */
+    default <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return type.isInstance(this) ? Optional.of(type.cast(this)) : Optional.empty();
+    }
+}
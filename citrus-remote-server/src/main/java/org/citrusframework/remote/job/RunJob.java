@@ -16,14 +16,18 @@
 
 package org.citrusframework.remote.job;
 
+import org.citrusframework.TestResult;
 import org.citrusframework.main.TestRunConfiguration;
 import org.citrusframework.remote.CitrusRemoteConfiguration;
-import org.citrusframework.remote.controller.RunController;
+import org.citrusframework.remote.journal.RunJournal;
 import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RunStatistics;
 import org.citrusframework.remote.listener.RemoteTestListener;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -31,38 +35,71 @@ import java.util.function.Supplier;
  * @since 2.7.4
  */
 public record RunJob (
+        String runId,
         CitrusRemoteConfiguration configuration,
         TestRunConfiguration runConfiguration,
-        RemoteTestListener remoteTestListener)
+        RemoteTestListener remoteTestListener,
+        Optional<RunJournal> journal,
+        RunStatistics statistics,
+        RunExecutor executor)
         implements Supplier<List<RemoteResult>> {
 
     @Override
     public List<RemoteResult> get() {
-        RunController runController = new RunController(configuration);
-
-        runController.setEngine(runConfiguration.getEngine());
-        runController.setIncludes(runConfiguration.getIncludes());
-
-        if (!runConfiguration.getDefaultProperties().isEmpty()) {
-            runController.addDefaultProperties(runConfiguration.getDefaultProperties());
+        statistics.start();
+        if (journal.isEmpty()) {
+            try {
+                return run();
+            } finally {
+                statistics.finish();
+            }
         }
 
-        if (runConfiguration.getPackages().isEmpty() &&
-                runConfiguration.getTestSources().isEmpty()) {
-            runController.runAll();
+        RunJournal runJournal = journal.get();
+        Consumer<TestResult> journalAppender =
+                result -> runJournal.append(runId, remoteTestListener.toRemoteResult(result));
+        List<RemoteResult> results = new ArrayList<>();
+        runJournal.runStarted(runId);
+        try {
+            remoteTestListener.runObserved(journalAppender, () -> results.addAll(run()));
+            return results;
+        } finally {
+            statistics.finish();
+            runJournal.runFinished(runId, statistics);
         }
+    }
 
-        if (!runConfiguration.getPackages().isEmpty()) {
-            runController.runPackages(runConfiguration.getPackages());
-        }
+    /**
+     * Adds given flaky result to the test listener of this job and writes it to the run journal of this job, if any.
+     * @param flaky
+     */
+    public void addFlakyResult(RemoteResult flaky) {
+        remoteTestListener.addFlakyResult(flaky);
+        journal.ifPresent(runJournal -> runJournal.append(runId, flaky));
+    }
 
-        if (!runConfiguration.getTestSources().isEmpty()) {
-            runController.runClasses(runConfiguration.getTestSources());
-        }
+    private List<RemoteResult> run() {
+        return executor.execute(this);
+    }
 
+    /**
+     * Executes given run configuration with given executor as part of this job, e.g. to repeat or retry tests. The
+     * tests run as job with its own test listener, and results of tests run by the Citrus instance of this server
+     * are redirected to that listener, so that the results are neither kept as latest results of this job nor
+     * written to the run journal.
+     * @param runConfiguration
+     * @param runExecutor
+     * @param consumer notified on each result as it arrives
+     * @return results of the execution as returned by given executor
+     */
+    public List<RemoteResult> executeIsolated(TestRunConfiguration runConfiguration, RunExecutor runExecutor,
+                                              Consumer<TestResult> consumer) {
+        RemoteTestListener isolatedListener = new RemoteTestListener();
+        isolatedListener.addResultConsumer(consumer);
+        RunJob isolatedJob = new RunJob(runId, configuration, runConfiguration, isolatedListener, Optional.empty(),
+                statistics, runExecutor);
         List<RemoteResult> results = new ArrayList<>();
-        remoteTestListener.getResults()
-                .doWithResults(result -> results.add(RemoteResult.fromTestResult(result)));
+        remoteTestListener.runRedirected(isolatedListener, () -> results.addAll(runExecutor.execute(isolatedJob)));
         return results;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RemoteRunConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the tests of a run job repeatedly with the given executor until the soak duration of the run
+ * configuration has elapsed. The results of each iteration are recorded in the rolling window soak statistics and
+ * dropped afterwards. Iterations run isolated from the job, so that they never pile up in the latest results or the
+ * run journal. The results of the last iteration are reported as results of the job.
+ *
+ * @since 4.4.0
+ */
+public class SoakRunExecutor implements RunExecutor {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(SoakRunExecutor.class);
+
+    /** Executes each iteration */
+    private final RunExecutor delegate;
+
+    /** Rolling window statistics of the soak run */
+    private final SoakStatistics statistics;
+
+    /**
+     * Constructor using given delegate executor and soak statistics.
+     * @param delegate
+     * @param statistics
+     */
+    public SoakRunExecutor(RunExecutor delegate, SoakStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        RemoteRunConfiguration runConfiguration = RemoteRunConfiguration.of(job.runConfiguration());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(runConfiguration.getSoakDuration());
+        logger.info("Running soak run {} for {} ms", job.runId(), runConfiguration.getSoakDuration());
+
+        List<RemoteResult> iterationResults = new ArrayList<>();
+        statistics.start();
+        try {
+            do {
+                iterationResults = job.executeIsolated(job.runConfiguration(), delegate, statistics::record);
+                statistics.iterationFinished();
+            } while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+        } finally {
+            statistics.finish();
+        }
+
+        iterationResults.forEach(job.remoteTestListener()::addRemoteResult);
+        return iterationResults;
+    }
+
+    @Override
+    public <T extends RunExecutor> Optional<T> find(Class<T> type) {
+        return RunExecutor.super.find(type).or(() -> delegate.find(type));
+    }
+
+    /**
+     * Gets the soak statistics.
+     *
+     * @return
+     */
+    public SoakStatistics getStatistics() {
+        return statistics;
+    }
+}
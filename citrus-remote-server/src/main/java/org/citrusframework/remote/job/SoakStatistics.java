@@ -0,0 +1,234 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.job;
+
+import org.citrusframework.TestResult;
+import org.citrusframework.remote.model.SoakReport;
+import org.citrusframework.remote.model.SoakTestStatistics;
+import org.citrusframework.remote.model.SoakWindow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling window statistics of a soak run. Test results are collected per test in the current window only, closed
+ * windows keep a summary per test and at most the given number of windows is kept, so that memory stays bounded
+ * however long the soak run takes. Duration percentiles of a window are computed from a uniform sample of at most
+ * {@link #MAX_SAMPLES} durations per test.
+ *
+ * @since 4.4.0
+ */
+public class SoakStatistics {
+
+    /** Maximum number of durations sampled per test and window */
+    private static final int MAX_SAMPLES = 1024;
+
+    private final long windowNanos;
+    private final int maxWindows;
+
+    /** Closed windows, oldest first */
+    private final Deque<SoakWindow> windows = new ArrayDeque<>();
+
+    /** Statistics per test of the current window */
+    private Map<String, TestWindow> current = new LinkedHashMap<>();
+
+    private long startNanos;
+    private long windowStartNanos;
+    private long iterations;
+    private long droppedWindows;
+    private boolean finished;
+
+    /**
+     * Constructor using given window length in milliseconds and maximum number of windows.
+     * @param windowMillis
+     * @param maxWindows
+     */
+    public SoakStatistics(long windowMillis, int maxWindows) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, windowMillis));
+        this.maxWindows = Math.max(1, maxWindows);
+    }
+
+    /**
+     * Starts the first window.
+     */
+    public synchronized void start() {
+        startNanos = System.nanoTime();
+        windowStartNanos = startNanos;
+    }
+
+    /**
+     * Records given test result in the current window.
+     * @param result
+     */
+    public synchronized void record(TestResult result) {
+        roll(System.nanoTime());
+        current.computeIfAbsent(result.getClassName() + "#" + result.getTestName(),
+                        key -> new TestWindow(result.getClassName(), result.getTestName()))
+                .add(result.getDuration() != null ? result.getDuration().toMillis() : 0L, result.isFailed());
+    }
+
+    /**
+     * Marks an iteration of all selected tests as finished.
+     */
+    public synchronized void iterationFinished() {
+        iterations++;
+    }
+
+    /**
+     * Closes the current window and marks the soak run as finished.
+     */
+    public synchronized void finish() {
+        long now = System.nanoTime();
+        roll(now);
+        if (!current.isEmpty()) {
+            close(now);
+        }
+        finished = true;
+    }
+
+    /**
+     * Closes all windows that have ended by given time. Windows without results are kept as empty windows, so that
+     * the time series shows gaps, e.g. while a single test runs longer than a window.
+     * @param now
+     */
+    private void roll(long now) {
+        while (!finished && now - windowStartNanos >= windowNanos) {
+            close(windowStartNanos + windowNanos);
+        }
+    }
+
+    private void close(long endNanos) {
+        windows.add(toWindow(current, endNanos));
+        if (windows.size() > maxWindows) {
+            windows.removeFirst();
+            droppedWindows++;
+        }
+        current = new LinkedHashMap<>();
+        windowStartNanos = endNanos;
+    }
+
+    private SoakWindow toWindow(Map<String, TestWindow> tests, long endNanos) {
+        SoakWindow window = new SoakWindow();
+        window.setStartMillis(TimeUnit.NANOSECONDS.toMillis(windowStartNanos - startNanos));
+        window.setEndMillis(TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos));
+        List<SoakTestStatistics> statistics = new ArrayList<>(tests.size());
+        tests.values().forEach(test -> statistics.add(test.toStatistics()));
+        window.setTests(statistics);
+        window.setExecutions(statistics.stream().mapToLong(SoakTestStatistics::getExecutions).sum());
+        window.setFailures(statistics.stream().mapToLong(SoakTestStatistics::getFailures).sum());
+        return window;
+    }
+
+    /**
+     * Creates report of all kept windows including the current window if the soak run has not finished yet.
+     * @param runId
+     * @return
+     */
+    public synchronized SoakReport toReport(String runId) {
+        long now = System.nanoTime();
+        roll(now);
+
+        SoakReport report = new SoakReport();
+        report.setRunId(runId);
+        report.setElapsedMillis(startNanos > 0 ? TimeUnit.NANOSECONDS.toMillis(now - startNanos) : 0L);
+        report.setIterations(iterations);
+        report.setWindowMillis(TimeUnit.NANOSECONDS.toMillis(windowNanos));
+        report.setDroppedWindows(droppedWindows);
+        report.setFinished(finished);
+
+        List<SoakWindow> series = new ArrayList<>(windows);
+        if (!finished && startNanos > 0) {
+            series.add(toWindow(current, now));
+        }
+        report.setWindows(series);
+        return report;
+    }
+
+    /**
+     * Statistics of a single test within the current window.
+     */
+    private static class TestWindow {
+
+        private final String testClass;
+        private final String testName;
+
+        private long[] samples = new long[16];
+        private long executions;
+        private long failures;
+        private long totalMillis;
+        private long maxMillis;
+
+        TestWindow(String testClass, String testName) {
+            this.testClass = testClass;
+            this.testName = testName;
+        }
+
+        void add(long durationMillis, boolean failed) {
+            if (executions < MAX_SAMPLES) {
+                if (executions == samples.length) {
+                    samples = Arrays.copyOf(samples, Math.min(samples.length * 2, MAX_SAMPLES));
+                }
+                samples[(int) executions] = durationMillis;
+            } else {
+                long index = ThreadLocalRandom.current().nextLong(executions + 1);
+                if (index < MAX_SAMPLES) {
+                    samples[(int) index] = durationMillis;
+                }
+            }
+
+            executions++;
+            totalMillis += durationMillis;
+            maxMillis = Math.max(maxMillis, durationMillis);
+            if (failed) {
+                failures++;
+            }
+        }
+
+        SoakTestStatistics toStatistics() {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(executions, MAX_SAMPLES));
+            Arrays.sort(sorted);
+
+            SoakTestStatistics statistics = new SoakTestStatistics();
+            statistics.setTestClass(testClass);
+            statistics.setTestName(testName);
+            statistics.setExecutions(executions);
+            statistics.setFailures(failures);
+            statistics.setFailureRate(executions > 0 ? failures * 100.0 / executions : 0.0);
+            statistics.setMeanMillis(executions > 0 ? (double) totalMillis / executions : 0.0);
+            statistics.setP50Millis(percentile(sorted, 50.0));
+            statistics.setP95Millis(percentile(sorted, 95.0));
+            statistics.setP99Millis(percentile(sorted, 99.0));
+            statistics.setMaxMillis(maxMillis);
+            return statistics;
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0L;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
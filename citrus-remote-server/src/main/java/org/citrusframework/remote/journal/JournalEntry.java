@@ -0,0 +1,96 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.journal;
+
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RunStatistics;
+
+/**
+ * Single journal record as written to the segment files.
+ *
+ * @since 4.4.0
+ */
+class JournalEntry {
+
+    enum Type {
+        RUN_STARTED,
+        RESULT,
+        RUN_FINISHED
+    }
+
+    private Type type;
+
+    private String runId;
+
+    /** Epoch millis when the entry has been written */
+    private long timestamp;
+
+    /** Test result, only set on {@link Type#RESULT} entries */
+    private RemoteResult result;
+
+    /** Run statistics, only set on {@link Type#RUN_FINISHED} entries */
+    private RunStatistics statistics;
+
+    static JournalEntry of(Type type, String runId, RemoteResult result) {
+        JournalEntry entry = new JournalEntry();
+        entry.setType(type);
+        entry.setRunId(runId);
+        entry.setTimestamp(System.currentTimeMillis());
+        entry.setResult(result);
+        return entry;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public RemoteResult getResult() {
+        return result;
+    }
+
+    public void setResult(RemoteResult result) {
+        this.result = result;
+    }
+
+    public RunStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(RunStatistics statistics) {
+        this.statistics = statistics;
+    }
+}
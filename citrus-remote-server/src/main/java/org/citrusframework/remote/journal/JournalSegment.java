@@ -0,0 +1,211 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Single memory mapped journal file. Records are laid out as length prefixed and checksummed byte arrays:
+ * <pre>[int length][int crc32][payload]</pre>
+ * A zero length marks the end of the written data.
+ *
+ * @since 4.4.0
+ */
+final class JournalSegment implements Closeable {
+
+    /** Size of the record header holding length and checksum */
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final String FILE_PREFIX = "journal-";
+    private static final String FILE_SUFFIX = ".seg";
+
+    private final long id;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    /** Next free write offset */
+    private int writePosition;
+
+    private JournalSegment(long id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates and maps a new preallocated segment file.
+     * @param directory
+     * @param id
+     * @param size
+     * @return
+     * @throws IOException
+     */
+    static JournalSegment create(Path directory, long id, int size) throws IOException {
+        Path file = directory.resolve(fileName(id));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size);
+        }
+        return map(id, file);
+    }
+
+    /**
+     * Maps an existing segment file. Call {@link #recover(BiConsumer)} to restore the write position.
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    static JournalSegment open(Path file) throws IOException {
+        return map(idOf(file), file);
+    }
+
+    private static JournalSegment map(long id, Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        return new JournalSegment(id, file, channel, buffer);
+    }
+
+    /**
+     * Checks if given path is a journal segment file.
+     * @param file
+     * @return
+     */
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    static long idOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static String fileName(long id) {
+        return String.format("%s%020d%s", FILE_PREFIX, id, FILE_SUFFIX);
+    }
+
+    /**
+     * Scans all valid records from the beginning of the segment and restores the write position
+     * right after the last valid record. Torn or corrupted records stop the scan.
+     * @param recordConsumer receives offset and payload of each valid record
+     */
+    void recover(BiConsumer<Integer, byte[]> recordConsumer) {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            if (checksum(payload) != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+
+            recordConsumer.accept(position, payload);
+            position += HEADER_SIZE + length;
+        }
+
+        writePosition = position;
+        terminate();
+    }
+
+    /**
+     * Appends given payload.
+     * @param payload
+     * @return offset of the written record or -1 when the segment has not enough space left
+     */
+    int append(byte[] payload) {
+        if (remaining() < HEADER_SIZE + payload.length) {
+            return -1;
+        }
+
+        int offset = writePosition;
+        buffer.put(offset + HEADER_SIZE, payload);
+        buffer.putInt(offset + Integer.BYTES, checksum(payload));
+        buffer.putInt(offset, payload.length);
+        writePosition += HEADER_SIZE + payload.length;
+        terminate();
+        return offset;
+    }
+
+    /**
+     * Reads the record payload at given offset.
+     * @param offset
+     * @return
+     */
+    byte[] read(int offset) {
+        byte[] payload = new byte[buffer.getInt(offset)];
+        buffer.get(offset + HEADER_SIZE, payload);
+        return payload;
+    }
+
+    /**
+     * Writes end marker after the last record so stale bytes are never replayed.
+     */
+    private void terminate() {
+        if (remaining() >= Integer.BYTES) {
+            buffer.putInt(writePosition, 0);
+        }
+    }
+
+    private int remaining() {
+        return buffer.capacity() - writePosition;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Flushes the mapped content to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Closes and removes the segment file.
+     * @throws IOException
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    long getId() {
+        return id;
+    }
+}
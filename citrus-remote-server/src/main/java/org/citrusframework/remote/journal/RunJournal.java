@@ -0,0 +1,478 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.remote.model.RunSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append only journal persisting run events and test results in memory mapped segment files on local disk.
+ * Segments are rotated once full and the oldest segments are removed when the configured maximum is exceeded.
+ * Mapped content is forced to disk in batches, either after a number of appended records or periodically.
+ * <p>
+ * On startup the journal is replayed to rebuild a lightweight in memory index holding only run summaries
+ * and record positions. Test results are read from the mapped segments on demand.
+ * <p>
+ * Runs with records in a removed segment are kept as truncated runs holding the positions of their remaining
+ * results. A run is removed from the index only once all of its records have been removed. Counters of a truncated
+ * run cover all of its results until the journal is replayed, and only the remaining results after that.
+ *
+ * @since 4.4.0
+ */
+public class RunJournal implements Closeable {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(RunJournal.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int flushBatchSize;
+    private final int maxSegments;
+
+    /** All mapped segments ordered by id, the last one is the active segment */
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+
+    /** Run index in order of appearance */
+    private final Map<String, RunIndex> runs = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService flushScheduler;
+
+    private JournalSegment activeSegment;
+
+    /** Number of records appended since last flush */
+    private int unflushed;
+
+    /**
+     * Opens the journal in given directory and replays all existing segments.
+     * @param directory
+     * @param segmentSize
+     * @param flushBatchSize
+     * @param flushInterval
+     * @param maxSegments
+     */
+    public RunJournal(Path directory, int segmentSize, int flushBatchSize, long flushInterval, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.maxSegments = maxSegments;
+
+        try {
+            Files.createDirectories(directory);
+            replay();
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to open run journal in directory: " + directory, e);
+        }
+
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "citrus-remote-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (flushInterval > 0) {
+            flushScheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Opens journal as specified in given configuration.
+     * @param configuration
+     * @return
+     */
+    public static Optional<RunJournal> fromConfiguration(CitrusRemoteConfiguration configuration) {
+        return Optional.ofNullable(configuration.getJournalDirectory())
+                .map(directory -> new RunJournal(Path.of(directory),
+                        configuration.getJournalSegmentSize(),
+                        configuration.getJournalFlushBatchSize(),
+                        configuration.getJournalFlushInterval(),
+                        configuration.getJournalMaxSegments()));
+    }
+
+    /**
+     * Marks start of a new run.
+     * @param runId
+     */
+    public void runStarted(String runId) {
+        append(JournalEntry.of(JournalEntry.Type.RUN_STARTED, runId, null));
+    }
+
+    /**
+     * Appends test result of given run.
+     * @param runId
+     * @param result
+     */
+    public void append(String runId, RemoteResult result) {
+        append(JournalEntry.of(JournalEntry.Type.RESULT, runId, result));
+    }
+
+    /**
+     * Marks end of given run and forces all pending records to disk.
+     * @param runId
+     */
+    public void runFinished(String runId) {
+        runFinished(runId, null);
+    }
+
+    /**
+     * Marks end of given run with its statistics and forces all pending records to disk.
+     * @param runId
+     * @param statistics
+     */
+    public void runFinished(String runId, RunStatistics statistics) {
+        JournalEntry entry = JournalEntry.of(JournalEntry.Type.RUN_FINISHED, runId, null);
+        entry.setStatistics(statistics);
+        append(entry);
+        flush();
+    }
+
+    /**
+     * Gets summaries of all known runs, latest run first.
+     * @return
+     */
+    public synchronized List<RunSummary> getRuns() {
+        List<RunSummary> summaries = new ArrayList<>(runs.size());
+        runs.values().forEach(run -> summaries.add(snapshot(run.summary)));
+        Collections.reverse(summaries);
+        return summaries;
+    }
+
+    /**
+     * Gets the number of runs held in the journal.
+     * @return
+     */
+    public synchronized int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Gets summary of given run.
+     * @param runId
+     * @return
+     */
+    public synchronized Optional<RunSummary> getRun(String runId) {
+        return Optional.ofNullable(runs.get(runId))
+                .map(run -> snapshot(run.summary));
+    }
+
+    /**
+     * Reads all test results of given run from the journal segments one by one. Results that cannot be read, because
+     * their segment has been removed meanwhile or their record is unreadable, mark the run as truncated.
+     * @param runId
+     * @param consumer
+     * @return true if all results of the run have been read, false if the run is unknown or truncated
+     */
+    public boolean readResults(String runId, Consumer<RemoteResult> consumer) {
+        long[] positions;
+        boolean truncated;
+        synchronized (this) {
+            RunIndex run = runs.get(runId);
+            if (run == null) {
+                return false;
+            }
+            positions = Arrays.copyOf(run.positions, run.size);
+            truncated = run.summary.isTruncated();
+        }
+
+        int missing = 0;
+        for (long position : positions) {
+            Optional<JournalEntry> entry = readEntry(position);
+            if (entry.isPresent()) {
+                consumer.accept(entry.get().getResult());
+            } else {
+                missing++;
+            }
+        }
+
+        if (missing > 0) {
+            logger.warn("Failed to read {} of {} results of run {} from journal", missing, positions.length, runId);
+            synchronized (this) {
+                Optional.ofNullable(runs.get(runId)).ifPresent(run -> run.summary.setTruncated(true));
+            }
+        }
+
+        return !truncated && missing == 0;
+    }
+
+    /**
+     * Forces all pending records to disk.
+     */
+    public synchronized void flush() {
+        if (unflushed > 0 && activeSegment != null) {
+            activeSegment.force();
+            unflushed = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flushScheduler.shutdownNow();
+        flush();
+        for (JournalSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close journal segment {}", segment.getId(), e);
+            }
+        }
+        segments.clear();
+        activeSegment = null;
+    }
+
+    private synchronized void append(JournalEntry entry) {
+        if (activeSegment == null) {
+            logger.warn("Ignoring entry for run {} as journal has already been closed", entry.getRunId());
+            return;
+        }
+
+        try {
+            byte[] payload = mapper.writeValueAsBytes(entry);
+            int offset = activeSegment.append(payload);
+            if (offset < 0) {
+                rotate(payload.length);
+                offset = activeSegment.append(payload);
+            }
+
+            index(entry, position(activeSegment.getId(), offset));
+
+            if (++unflushed >= flushBatchSize) {
+                flush();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to append entry for run {} to journal", entry.getRunId(), e);
+        }
+    }
+
+    private void rotate(int payloadSize) throws IOException {
+        activeSegment.force();
+        unflushed = 0;
+
+        long nextId = activeSegment.getId() + 1;
+        activeSegment = JournalSegment.create(directory, nextId,
+                Math.max(segmentSize, payloadSize + JournalSegment.HEADER_SIZE + Integer.BYTES));
+        segments.put(nextId, activeSegment);
+
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            JournalSegment oldest = segments.pollFirstEntry().getValue();
+            logger.info("Removing journal segment {}", oldest.getId());
+            oldest.delete();
+            runs.values().removeIf(run -> run.trim(oldest.getId()));
+        }
+    }
+
+    private void replay() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(JournalSegment::isSegmentFile)
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            JournalSegment segment = JournalSegment.open(file);
+            segments.put(segment.getId(), segment);
+            segment.recover((offset, payload) -> {
+                try {
+                    index(mapper.readValue(payload, JournalEntry.class), position(segment.getId(), offset));
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable journal entry in segment {} at offset {}", segment.getId(), offset, e);
+                }
+            });
+        }
+
+        for (RunIndex run : runs.values()) {
+            if (run.summary.getState() == RunSummary.State.RUNNING) {
+                run.summary.setState(RunSummary.State.INTERRUPTED);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            activeSegment = JournalSegment.create(directory, 0L, segmentSize);
+            segments.put(activeSegment.getId(), activeSegment);
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+        }
+
+        logger.info("Replayed {} runs from {} journal segments in {}", runs.size(), segments.size(), directory);
+    }
+
+    private void index(JournalEntry entry, long position) {
+        switch (entry.getType()) {
+            case RUN_STARTED -> {
+                RunIndex run = new RunIndex(entry, position);
+                runs.put(entry.getRunId(), run);
+            }
+            case RESULT -> {
+                RunIndex run = runOf(entry, position);
+                run.add(position);
+                run.summary.addResult(entry.getResult());
+            }
+            case RUN_FINISHED -> {
+                RunIndex run = runOf(entry, position);
+                run.lastSegment = segmentOf(position);
+                run.summary.setEndTime(entry.getTimestamp());
+                run.summary.setState(RunSummary.State.FINISHED);
+                Optional.ofNullable(entry.getStatistics()).ifPresent(statistics -> {
+                    run.summary.setGcCount(statistics.getGcCount());
+                    run.summary.setGcPauseMillis(statistics.getGcPauseMillis());
+                    run.summary.setPhases(statistics.getPhases());
+                });
+            }
+        }
+    }
+
+    /**
+     * Gets the index of the run of given entry. Runs whose start has been removed with its segment are indexed as
+     * truncated runs starting with given entry.
+     * @param entry
+     * @param position
+     * @return
+     */
+    private RunIndex runOf(JournalEntry entry, long position) {
+        return runs.computeIfAbsent(entry.getRunId(), runId -> {
+            RunIndex run = new RunIndex(entry, position);
+            run.summary.setTruncated(true);
+            return run;
+        });
+    }
+
+    private Optional<JournalEntry> readEntry(long position) {
+        JournalSegment segment;
+        synchronized (this) {
+            segment = segments.get(segmentOf(position));
+        }
+
+        if (segment == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(mapper.readValue(segment.read(offsetOf(position)), JournalEntry.class));
+        } catch (IOException e) {
+            logger.warn("Failed to read journal entry from segment {}", segment.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static long position(long segmentId, int offset) {
+        return (segmentId << 32) | offset;
+    }
+
+    private static long segmentOf(long position) {
+        return position >>> 32;
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    private static RunSummary snapshot(RunSummary summary) {
+        RunSummary copy = new RunSummary();
+        copy.setRunId(summary.getRunId());
+        copy.setStartTime(summary.getStartTime());
+        copy.setEndTime(summary.getEndTime());
+        copy.setState(summary.getState());
+        copy.setTotal(summary.getTotal());
+        copy.setSuccess(summary.getSuccess());
+        copy.setFailed(summary.getFailed());
+        copy.setSkipped(summary.getSkipped());
+        copy.setDurationMillis(summary.getDurationMillis());
+        copy.setCpuTimeMillis(summary.getCpuTimeMillis());
+        copy.setAllocatedBytes(summary.getAllocatedBytes());
+        copy.setGcCount(summary.getGcCount());
+        copy.setGcPauseMillis(summary.getGcPauseMillis());
+        copy.setPhases(new LinkedHashMap<>(summary.getPhases()));
+        copy.setTruncated(summary.isTruncated());
+        return copy;
+    }
+
+    /**
+     * Index of a single run holding its summary and the journal positions of all its test results.
+     */
+    private static final class RunIndex {
+        private final RunSummary summary = new RunSummary();
+        private long[] positions = new long[16];
+        private int size;
+
+        /** Segments holding the first and the latest record of the run */
+        private long firstSegment;
+        private long lastSegment;
+
+        private RunIndex(JournalEntry entry, long position) {
+            this.firstSegment = segmentOf(position);
+            this.lastSegment = firstSegment;
+            summary.setRunId(entry.getRunId());
+            summary.setStartTime(entry.getTimestamp());
+        }
+
+        private void add(long position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+            lastSegment = segmentOf(position);
+        }
+
+        /**
+         * Removes the positions held in given removed segment and all segments before and marks the run as
+         * truncated if it had records in these segments.
+         * @param segmentId
+         * @return true if no record of the run remains and the run is no longer running
+         */
+        private boolean trim(long segmentId) {
+            if (firstSegment > segmentId) {
+                return false;
+            }
+
+            int removed = 0;
+            while (removed < size && segmentOf(positions[removed]) <= segmentId) {
+                removed++;
+            }
+            positions = Arrays.copyOfRange(positions, removed, Math.max(removed + 16, positions.length));
+            size -= removed;
+            firstSegment = segmentId + 1;
+            summary.setTruncated(true);
+
+            return lastSegment <= segmentId && summary.getState() != RunSummary.State.RUNNING;
+        }
+    }
+}
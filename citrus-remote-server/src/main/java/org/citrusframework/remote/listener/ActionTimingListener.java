@@ -0,0 +1,167 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.listener;
+
+import org.citrusframework.TestAction;
+import org.citrusframework.TestCase;
+import org.citrusframework.remote.model.ActionStatistics;
+import org.citrusframework.remote.model.ActionTiming;
+import org.citrusframework.report.TestActionListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test action listener recording the wall clock time of each test action per test invocation.
+ * <p>
+ * Timings are taken from the action start and finish notifications only, the actions of a test are never modified.
+ * Each thread keeps a stack of the actions it has started, so that actions notified within other actions are recorded
+ * with their depth. Citrus notifies listeners about the top level actions of a test, so nested actions of containers
+ * are accounted to their container. Actions that fail are not finished and are discarded with their test invocation.
+ * <p>
+ * Durations are aggregated by action name so the slowest actions of a run can be reported.
+ *
+ * @since 4.4.0
+ */
+public class ActionTimingListener implements TestActionListener {
+
+    /** Action timings per running test invocation */
+    private final Map<TestInvocation, Recording> recordings = new ConcurrentHashMap<>();
+
+    /** Actions started and not yet finished by the current thread, latest action first */
+    private static final ThreadLocal<Deque<ActionStart>> STARTED = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** Aggregated timings by action name */
+    private volatile Map<String, ActionStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestActionStart(TestCase testCase, TestAction testAction) {
+        Recording recording = recordings.computeIfAbsent(new TestInvocation(testCase), key -> new Recording(testCase));
+        Deque<ActionStart> started = STARTED.get();
+        started.removeIf(start -> start.recording().consumed);
+        int depth = (int) started.stream().filter(start -> start.recording() == recording).count();
+        started.push(new ActionStart(recording, testAction, depth, System.nanoTime()));
+    }
+
+    @Override
+    public void onTestActionFinish(TestCase testCase, TestAction testAction) {
+        long end = System.nanoTime();
+        Recording recording = recordings.get(new TestInvocation(testCase));
+        if (recording == null) {
+            return;
+        }
+
+        Iterator<ActionStart> started = STARTED.get().iterator();
+        while (started.hasNext()) {
+            ActionStart start = started.next();
+            if (start.recording() == recording && start.action() == testAction) {
+                started.remove();
+                record(recording, testAction.getName(), start.depth(), start.nanos(), end);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onTestActionSkipped(TestCase testCase, TestAction testAction) {
+        // NOOP
+    }
+
+    /**
+     * Removes and returns all action timings recorded for given test invocation ordered by start time.
+     * Actions of the invocation started and not finished are discarded.
+     * @param testCase
+     * @return
+     */
+    List<ActionTiming> consume(TestCase testCase) {
+        Recording recording = recordings.remove(new TestInvocation(testCase));
+        if (recording == null) {
+            return List.of();
+        }
+        recording.consumed = true;
+        STARTED.get().removeIf(start -> start.recording() == recording);
+
+        List<ActionTiming> timings = new ArrayList<>(recording.timings);
+        timings.sort(Comparator.comparingLong(ActionTiming::getStartMillis)
+                .thenComparingInt(ActionTiming::getDepth));
+        return timings;
+    }
+
+    /**
+     * Gets the actions with the highest accumulated duration since last reset.
+     * @param limit maximum number of actions
+     * @return
+     */
+    public List<ActionStatistics> getSlowestActions(int limit) {
+        return statistics.values().stream()
+                .map(ActionStatistics::copy)
+                .sorted(Comparator.comparingLong(ActionStatistics::getTotalMillis).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    public void reset() {
+        statistics = new ConcurrentHashMap<>();
+        recordings.clear();
+    }
+
+    private void record(Recording recording, String name, int depth, long start, long end) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(end - start);
+        recording.timings.add(new ActionTiming(name, depth,
+                TimeUnit.NANOSECONDS.toMillis(start - recording.created), durationMillis));
+        statistics.computeIfAbsent(name, ActionStatistics::new)
+                .add(durationMillis, recording.test);
+    }
+
+    /**
+     * Action timings of a single test invocation.
+     */
+    private static final class Recording {
+        private final String test;
+        private final long created = System.nanoTime();
+        private final Queue<ActionTiming> timings = new ConcurrentLinkedQueue<>();
+
+        /** Set once the timings have been consumed, so that other threads discard their unfinished actions */
+        private volatile boolean consumed;
+
+        private Recording(TestCase testCase) {
+            this.test = Optional.ofNullable(testCase.getTestClass())
+                    .map(testClass -> testClass.getName() + "#")
+                    .orElse("") + testCase.getName();
+        }
+    }
+
+    /**
+     * Action started by the current thread.
+     * @param recording
+     * @param action
+     * @param depth
+     * @param nanos
+     */
+    private record ActionStart(Recording recording, TestAction action, int depth, long nanos) {
+    }
+}
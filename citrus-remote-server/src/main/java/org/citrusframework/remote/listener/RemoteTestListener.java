@@ -18,6 +18,8 @@ package org.citrusframework.remote.listener;
 
 import org.citrusframework.TestCase;
 import org.citrusframework.TestResult;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.model.ActionTiming;
 import org.citrusframework.remote.model.RemoteResult;
 import org.citrusframework.report.OutputStreamReporter;
 import org.citrusframework.report.TestListener;
@@ -25,43 +27,208 @@ import org.citrusframework.report.TestResults;
 
 import java.io.StringWriter;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
+ * Test listener collecting test results. The listener is safe to use with test engines calling back from
+ * multiple threads in parallel. Start times are tracked per test invocation, so parallel invocations of
+ * the same test method (e.g. data providers) never share timing state. Results are appended to a lock free queue.
+ * <p>
+ * Action timings recorded by the given {@link ActionTimingListener} are attached to the results of each test along with
+ * the CPU time and allocated bytes of the test thread.
+ * <p>
+ * Tests started while a skip condition of the current thread gives a reason are aborted on start, before any of their
+ * actions run, and are reported as skipped. Test engines do not know about the skip, so their reports show these tests
+ * as failed with the reason as message.
+ *
  * @author Christoph Deppisch
  * @since 2.7.4
  */
 public class RemoteTestListener implements TestListener {
 
-    /** Latest test results */
-    private TestResults results = new TestResults();
+    /** Latest test results along with their profiles, replaced as a whole on reset */
+    private volatile LatestResults latest = new LatestResults();
+
+    /** Start time and thread resources per running test invocation */
+    private final Map<TestInvocation, TestStart> startTimes = new ConcurrentHashMap<>();
+
+    /** Consumers notified on each new test result */
+    private final List<Consumer<TestResult>> resultConsumers = new CopyOnWriteArrayList<>();
+
+    /** Consumers notified on each test passing on retry */
+    private final List<Consumer<RemoteResult>> flakyResultConsumers = new CopyOnWriteArrayList<>();
+
+    /** Listener recording action timings of running tests */
+    private final ActionTimingListener actionTimingListener;
+
+    /** Listener receiving the results of tests running in the current thread instead of this listener */
+    private final InheritableThreadLocal<RemoteTestListener> redirect = new InheritableThreadLocal<>();
+
+    /** Consumer observing the results of tests running in the current thread */
+    private final InheritableThreadLocal<Consumer<TestResult>> observer = new InheritableThreadLocal<>();
+
+    /** Condition giving the reason to skip tests starting in the current thread */
+    private final InheritableThreadLocal<Supplier<Optional<String>>> skipCondition = new InheritableThreadLocal<>();
 
-    private final Map<ClassAndName, Long> startTimes = new HashMap<>();
+    /**
+     * Default constructor.
+     */
+    public RemoteTestListener() {
+        this(new ActionTimingListener());
+    }
+
+    /**
+     * Constructor using given action timing listener.
+     * @param actionTimingListener
+     */
+    public RemoteTestListener(ActionTimingListener actionTimingListener) {
+        this.actionTimingListener = actionTimingListener;
+    }
 
     /**
-     * Generate a test report from the current {@link #results}.
+     * Generate a test report from the latest results.
      * @return
      */
     public String generateTestReport() {
         StringWriter reportWriter = new StringWriter();
         OutputStreamReporter reporter = new OutputStreamReporter(reportWriter);
-        reporter.generate(results);
+        reporter.generate(getResults());
         return reportWriter.toString();
     }
 
     /**
-     * Obtains the latestResults.
+     * Adds consumer notified on each new test result.
+     * @param consumer
+     */
+    public void addResultConsumer(Consumer<TestResult> consumer) {
+        resultConsumers.add(consumer);
+    }
+
+    /**
+     * Removes previously added result consumer.
+     * @param consumer
+     */
+    public void removeResultConsumer(Consumer<TestResult> consumer) {
+        resultConsumers.remove(consumer);
+    }
+
+    /**
+     * Adds consumer notified on each test that has failed and passed on retry.
+     * @param consumer
+     */
+    public void addFlakyResultConsumer(Consumer<RemoteResult> consumer) {
+        flakyResultConsumers.add(consumer);
+    }
+
+    /**
+     * Removes previously added flaky result consumer.
+     * @param consumer
+     */
+    public void removeFlakyResultConsumer(Consumer<RemoteResult> consumer) {
+        flakyResultConsumers.remove(consumer);
+    }
+
+    /**
+     * Runs given action and adds the results of all tests it runs to given listener instead of this listener, e.g. so
+     * that repeated tests do not pile up in the latest results. Threads started by the action inherit the redirect.
+     * @param target
+     * @param action
+     */
+    public void runRedirected(RemoteTestListener target, Runnable action) {
+        runWith(redirect, target, action);
+    }
+
+    /**
+     * Runs given action and hands the results of all tests it runs to given observer in addition to the result
+     * consumers. Other than result consumers the observer only sees results of tests running in the current thread
+     * or threads it has started, so it tells apart the results of concurrent runs. Observers of enclosing actions
+     * keep seeing the results.
+     * @param consumer
+     * @param action
+     */
+    public void runObserved(Consumer<TestResult> consumer, Runnable action) {
+        Consumer<TestResult> enclosing = observer.get();
+        runWith(observer, enclosing != null ? enclosing.andThen(consumer) : consumer, action);
+    }
+
+    /**
+     * Runs given action and skips all tests it starts while given condition gives a reason, e.g. once a run has
+     * reached its failure limit. Threads started by the action inherit the condition. Conditions of enclosing actions
+     * keep skipping tests.
+     * @param condition
+     * @param action
+     */
+    public void runSkipping(Supplier<Optional<String>> condition, Runnable action) {
+        Supplier<Optional<String>> enclosing = skipCondition.get();
+        runWith(skipCondition, enclosing != null ? () -> enclosing.get().or(condition) : condition, action);
+    }
+
+    /**
+     * Gets a reporter adding remote results to this listener with the redirect and observer of the current thread, so
+     * that results reported by other threads on behalf of the current thread, e.g. results of workers received by the
+     * coordinator, reach them as well.
+     * @return
+     */
+    public Consumer<RemoteResult> remoteResultReporter() {
+        RemoteTestListener target = redirect.get();
+        Consumer<TestResult> consumer = observer.get();
+        return remoteResult -> runWith(redirect, target,
+                () -> runWith(observer, consumer, () -> addRemoteResult(remoteResult)));
+    }
+
+    private static <T> void runWith(ThreadLocal<T> scope, T value, Runnable action) {
+        T previous = scope.get();
+        if (value != null) {
+            scope.set(value);
+        } else {
+            scope.remove();
+        }
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                scope.set(previous);
+            } else {
+                scope.remove();
+            }
+        }
+    }
+
+    /**
+     * Obtains a snapshot of the latest results.
      * @return
      */
     public TestResults getResults() {
-        return results;
+        TestResults snapshot = new TestResults();
+        latest.results().forEach(snapshot::addResult);
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of latest results.
+     * @return
+     */
+    public int getResultCount() {
+        return latest.results().size();
     }
 
     @Override
     public void onTestStart(TestCase test) {
-        startTimes.put(ClassAndName.of(test), System.currentTimeMillis());
+        Optional<String> skipReason = getSkipReason();
+        if (skipReason.isPresent()) {
+            throw new TestSkippedException(skipReason.get());
+        }
+
+        startTimes.put(new TestInvocation(test), new TestStart(System.nanoTime(), ThreadResources.Usage.current()));
     }
 
     @Override
@@ -71,57 +238,197 @@ public class RemoteTestListener implements TestListener {
 
     @Override
     public void onTestSuccess(TestCase test) {
-        Duration consumed = Duration.ofMillis(
-                System.currentTimeMillis() - startTimes.get(ClassAndName.of(test)));
-        results
-                .addResult(TestResult.success(
-                                test.getName(),
-                                test.getTestClass().getCanonicalName(),
-                                test.getVariableDefinitions())
-                .withDuration(consumed));
+        addResult(test, TestResult.success(
+                        test.getName(),
+                        test.getTestClass().getCanonicalName(),
+                        test.getVariableDefinitions()));
     }
 
     @Override
     public void onTestFailure(TestCase test, Throwable cause) {
-        Duration consumed = Duration.ofMillis(
-                System.currentTimeMillis() - startTimes.get(ClassAndName.of(test)));
-        results
-                .addResult(TestResult.failed(
-                                test.getName(),
-                                test.getTestClass().getCanonicalName(),
-                                cause,
-                                test.getVariableDefinitions())
-                .withDuration(consumed));
+        if (isSkipped(cause)) {
+            onTestSkipped(test);
+            return;
+        }
+
+        addResult(test, TestResult.failed(
+                        test.getName(),
+                        test.getTestClass().getCanonicalName(),
+                        cause,
+                        test.getVariableDefinitions()));
     }
 
     @Override
     public void onTestSkipped(TestCase test) {
-        Duration consumed = Duration.ofMillis(
-                System.currentTimeMillis() - startTimes.get(ClassAndName.of(test)));
-        results
-                .addResult(TestResult.skipped(
+        addResult(test, TestResult.skipped(
                         test.getName(),
                         test.getTestClass().getCanonicalName(),
-                        test.getVariableDefinitions())
-                .withDuration(consumed));
+                        test.getVariableDefinitions()));
+    }
+
+    /**
+     * Gets the reason to skip tests starting in the current thread, if any. Redirected tests are skipped by the
+     * conditions of the target listener.
+     * @return
+     */
+    private Optional<String> getSkipReason() {
+        RemoteTestListener target = redirect.get();
+        if (target != null) {
+            return target.getSkipReason();
+        }
+
+        return Optional.ofNullable(skipCondition.get()).flatMap(Supplier::get);
+    }
+
+    private static boolean isSkipped(Throwable cause) {
+        for (Throwable current = cause; current != null; current = current.getCause()) {
+            if (current instanceof TestSkippedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Completes given result with the time and resources consumed since start of the test invocation and adds it
+     * to the latest results. Tests skipped before being started have no start time and consume no time.
+     * @param test
+     * @param result
+     */
+    private void addResult(TestCase test, TestResult result) {
+        TestStart start = startTimes.remove(new TestInvocation(test));
+        List<ActionTiming> actions = actionTimingListener.consume(test);
+
+        long cpuTimeNanos = 0L;
+        long allocatedBytes = 0L;
+        if (start != null) {
+            result.withDuration(Duration.ofNanos(System.nanoTime() - start.nanos()));
+            ThreadResources.Usage consumed = start.usage().consumed();
+            cpuTimeNanos += consumed.cpuTimeNanos();
+            allocatedBytes += consumed.allocatedBytes();
+        } else {
+            result.withDuration(Duration.ZERO);
+        }
+
+        addResult(result, new TestProfile(actions, cpuTimeNanos, allocatedBytes, null));
+    }
+
+    /**
+     * Adds result of a test executed by another server, e.g. a worker of this coordinator. The action timings,
+     * consumed resources and label of the remote result are kept, so that the result converts back to an equal remote
+     * result.
+     * @param remoteResult
+     */
+    public void addRemoteResult(RemoteResult remoteResult) {
+        addResult(RemoteResult.toTestResult(remoteResult), new TestProfile(remoteResult.getActions(),
+                TimeUnit.MILLISECONDS.toNanos(remoteResult.getCpuTimeMillis()), remoteResult.getAllocatedBytes(),
+                remoteResult.getLabel()));
+    }
+
+    /**
+     * Adds result of a test that has failed and passed on retry. The failed result has been added before, so the
+     * flaky result is handed to the flaky result consumers only and is not kept as latest result.
+     * @param flakyResult
+     */
+    public void addFlakyResult(RemoteResult flakyResult) {
+        RemoteTestListener target = redirect.get();
+        if (target != null) {
+            target.addFlakyResult(flakyResult);
+            return;
+        }
+
+        flakyResultConsumers.forEach(consumer -> consumer.accept(flakyResult));
+    }
+
+    private void addResult(TestResult result, TestProfile profile) {
+        RemoteTestListener target = redirect.get();
+        if (target != null) {
+            target.addResult(result, profile);
+            return;
+        }
+
+        LatestResults current = latest;
+        current.profiles().put(result, profile);
+        current.results().add(result);
+        resultConsumers.forEach(consumer -> consumer.accept(result));
+        Optional.ofNullable(observer.get()).ifPresent(consumer -> consumer.accept(result));
+    }
+
+    /**
+     * Converts given test result to a remote result including the recorded action timings.
+     * @param result
+     * @return
+     */
+    public RemoteResult toRemoteResult(TestResult result) {
+        RemoteResult remoteResult = RemoteResult.fromTestResult(result);
+        Optional.ofNullable(latest.profiles().get(result)).ifPresent(profile -> {
+            remoteResult.setActions(profile.actions());
+            remoteResult.setCpuTimeMillis(TimeUnit.NANOSECONDS.toMillis(profile.cpuTimeNanos()));
+            remoteResult.setAllocatedBytes(profile.allocatedBytes());
+            remoteResult.setLabel(profile.label());
+        });
+        return remoteResult;
     }
 
     public List<RemoteResult> toRemoteResults() {
-        return getResults().asList().stream()
-                .map(RemoteResult::fromTestResult)
+        return latest.results().stream()
+                .map(this::toRemoteResult)
                 .toList();
     }
 
+    /**
+     * Gets the listener recording action timings of running tests.
+     * @return
+     */
+    public ActionTimingListener getActionTimingListener() {
+        return actionTimingListener;
+    }
+
+    /**
+     * Discards the latest results along with their profiles. Results added concurrently are either discarded or kept
+     * together with their profile.
+     */
     public void reset() {
-        results = new TestResults();
+        latest = new LatestResults();
         startTimes.clear();
+        actionTimingListener.reset();
     }
 
-    private record ClassAndName(Class<?> clazz, String name) {
-        static ClassAndName of(TestCase testCase) {
-            return new ClassAndName(
-                    testCase.getTestClass(),
-                    testCase.getName());
+    /**
+     * Start of a test invocation.
+     * @param nanos
+     * @param usage
+     */
+    /**
+     * Aborts a test on start when the test is to be skipped.
+     */
+    private static class TestSkippedException extends CitrusRuntimeException {
+        TestSkippedException(String reason) {
+            super(reason);
         }
     }
+
+    private record TestStart(long nanos, ThreadResources.Usage usage) {
+    }
+
+    /**
+     * Latest test results and the profile of each result. The profile of a result is added before the result itself.
+     * @param results
+     * @param profiles
+     */
+    private record LatestResults(Queue<TestResult> results, Map<TestResult, TestProfile> profiles) {
+        private LatestResults() {
+            this(new ConcurrentLinkedQueue<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Action timings and resources consumed by a test invocation along with the label of its matrix cell.
+     * @param actions
+     * @param cpuTimeNanos
+     * @param allocatedBytes
+     * @param label
+     */
+    private record TestProfile(List<ActionTiming> actions, long cpuTimeNanos, long allocatedBytes, String label) {
+    }
 }
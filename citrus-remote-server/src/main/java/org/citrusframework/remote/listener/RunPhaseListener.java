@@ -0,0 +1,89 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.listener;
+
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.report.TestSuiteListener;
+
+import java.util.Optional;
+
+/**
+ * Test suite listener marking the execution and reporting phases of the run active on the current thread.
+ * Test engines call the suite listeners on the thread that has started the engine, so the run statistics
+ * are bound to that thread while the engine is running.
+ *
+ * @since 4.4.0
+ */
+public class RunPhaseListener implements TestSuiteListener {
+
+    /** Statistics of the run executed by the current thread */
+    private static final ThreadLocal<RunStatistics> CURRENT_RUN = new ThreadLocal<>();
+
+    /**
+     * Binds given run statistics to the current thread while executing given action.
+     * @param statistics
+     * @param action
+     */
+    public static void runWith(RunStatistics statistics, Runnable action) {
+        RunStatistics previous = CURRENT_RUN.get();
+        CURRENT_RUN.set(statistics);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                CURRENT_RUN.set(previous);
+            } else {
+                CURRENT_RUN.remove();
+            }
+        }
+    }
+
+    @Override
+    public void onStart() {
+        enter(RunStatistics.Phase.EXECUTION);
+    }
+
+    @Override
+    public void onStartSuccess() {
+        // NOOP
+    }
+
+    @Override
+    public void onStartFailure(Throwable cause) {
+        // NOOP
+    }
+
+    @Override
+    public void onFinish() {
+        enter(RunStatistics.Phase.REPORTING);
+    }
+
+    @Override
+    public void onFinishSuccess() {
+        // NOOP
+    }
+
+    @Override
+    public void onFinishFailure(Throwable cause) {
+        // NOOP
+    }
+
+    private static void enter(RunStatistics.Phase phase) {
+        Optional.ofNullable(CURRENT_RUN.get())
+                .ifPresent(statistics -> statistics.enter(phase));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.listener;
+
+import org.citrusframework.TestCase;
+
+/**
+ * Identifies a single test invocation by the identity of its test case instance. The test class and
+ * name are not unique as the same test method may run multiple times in parallel.
+ *
+ * @since 4.4.0
+ */
+final class TestInvocation {
+
+    private final TestCase testCase;
+
+    TestInvocation(TestCase testCase) {
+        this.testCase = testCase;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TestInvocation other && other.testCase == testCase;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(testCase);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.listener;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads CPU time and allocated bytes of threads from the platform thread management bean. Allocated bytes
+ * require the HotSpot specific {@link com.sun.management.ThreadMXBean}. Unsupported measurements are reported as zero.
+ *
+ * @since 4.4.0
+ */
+final class ThreadResources {
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+    private static final boolean ALLOCATED_BYTES_SUPPORTED = enableAllocatedBytes();
+
+    /**
+     * Prevent instantiation of utility class.
+     */
+    private ThreadResources() {
+        // utility class
+    }
+
+    /**
+     * Gets the CPU time in nanos consumed by given thread so far.
+     * @param threadId
+     * @return
+     */
+    static long cpuTimeNanos(long threadId) {
+        return CPU_TIME_SUPPORTED ? Math.max(0L, THREAD_BEAN.getThreadCpuTime(threadId)) : 0L;
+    }
+
+    /**
+     * Gets the number of bytes allocated by given thread so far.
+     * @param threadId
+     * @return
+     */
+    static long allocatedBytes(long threadId) {
+        return ALLOCATED_BYTES_SUPPORTED
+                ? Math.max(0L, ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(threadId))
+                : 0L;
+    }
+
+    private static boolean enableCpuTime() {
+        if (!THREAD_BEAN.isThreadCpuTimeSupported()) {
+            return false;
+        }
+
+        if (!THREAD_BEAN.isThreadCpuTimeEnabled()) {
+            THREAD_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        return true;
+    }
+
+    private static boolean enableAllocatedBytes() {
+        if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean threadBean)
+                || !threadBean.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+
+        if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+
+    /**
+     * Snapshot of the resource counters of a single thread.
+     * @param threadId
+     * @param cpuTimeNanos
+     * @param allocatedBytes
+     */
+    record Usage(long threadId, long cpuTimeNanos, long allocatedBytes) {
+
+        /**
+         * Takes a snapshot of the current thread.
+         * @return
+         */
+        static Usage current() {
+            long threadId = Thread.currentThread().getId();
+            return new Usage(threadId, ThreadResources.cpuTimeNanos(threadId), ThreadResources.allocatedBytes(threadId));
+        }
+
+        /**
+         * Gets the resources consumed by the thread since this snapshot was taken.
+         * @return
+         */
+        Usage consumed() {
+            return new Usage(threadId,
+                    Math.max(0L, ThreadResources.cpuTimeNanos(threadId) - cpuTimeNanos),
+                    Math.max(0L, ThreadResources.allocatedBytes(threadId) - allocatedBytes));
+        }
+    }
+}
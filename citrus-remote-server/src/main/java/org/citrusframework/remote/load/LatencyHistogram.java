@@ -0,0 +1,148 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets in the style of HdrHistogram. Latencies are recorded in microseconds.
+ * Values below {@link #SUB_BUCKET_COUNT} get a bucket each, larger values share buckets of the same relative
+ * width of at most 1/128, so that reported percentiles are within 0.8% of the recorded values from microseconds up
+ * to hours.
+ * Recording does not allocate and is safe to use from concurrent threads.
+ *
+ * @since 4.4.0
+ */
+public class LatencyHistogram {
+
+    /** Number of sub buckets per power of two, defines the precision of the recorded values */
+    private static final int SUB_BUCKET_COUNT = 256;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKET_COUNT);
+
+    /** Number of buckets covering all positive long values */
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records given latency.
+     * @param nanos
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucketIndex(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        minMicros.accumulateAndGet(micros, Math::min);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Gets the latency in microseconds below which given percentage of the recorded latencies fall. The value is the
+     * highest value equivalent to the recorded values in the respective bucket, capped by the maximum latency.
+     * @param percentile between 0 and 100
+     * @return
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0L;
+        }
+
+        long target = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * Gets the index of the bucket recording given value.
+     * @param value
+     * @return
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) ((value >>> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * Gets the highest value recorded in the bucket with given index.
+     * @param index
+     * @return
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     * @return
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the mean latency in microseconds.
+     * @return
+     */
+    public double getMeanMicros() {
+        long count = getTotalCount();
+        return count > 0 ? (double) totalMicros.sum() / count : 0.0;
+    }
+
+    /**
+     * Gets the lowest recorded latency in microseconds.
+     * @return
+     */
+    public long getMinMicros() {
+        return getTotalCount() > 0 ? minMicros.get() : 0L;
+    }
+
+    /**
+     * Gets the highest recorded latency in microseconds.
+     * @return
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+}
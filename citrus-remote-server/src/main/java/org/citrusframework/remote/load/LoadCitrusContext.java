@@ -0,0 +1,268 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.load;
+
+import org.citrusframework.Citrus;
+import org.citrusframework.CitrusContext;
+import org.citrusframework.CitrusContextProvider;
+import org.citrusframework.CitrusInstanceManager;
+import org.citrusframework.container.AfterSuite;
+import org.citrusframework.container.BeforeSuite;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.context.TestContextFactory;
+import org.citrusframework.endpoint.EndpointFactory;
+import org.citrusframework.functions.FunctionRegistry;
+import org.citrusframework.log.LogModifier;
+import org.citrusframework.message.MessageProcessors;
+import org.citrusframework.report.MessageListener;
+import org.citrusframework.report.MessageListeners;
+import org.citrusframework.report.TestActionListener;
+import org.citrusframework.report.TestActionListeners;
+import org.citrusframework.report.TestListener;
+import org.citrusframework.report.TestListeners;
+import org.citrusframework.report.TestReporter;
+import org.citrusframework.report.TestResults;
+import org.citrusframework.report.TestSuiteListener;
+import org.citrusframework.report.TestSuiteListeners;
+import org.citrusframework.spi.ReferenceResolver;
+import org.citrusframework.util.TypeConverter;
+import org.citrusframework.validation.MessageValidatorRegistry;
+import org.citrusframework.validation.matcher.ValidationMatcherRegistry;
+import org.citrusframework.variable.GlobalVariables;
+import org.citrusframework.xml.namespace.NamespaceContextBuilder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Citrus context delegating to a given context, except that load iterations see neither suite actions nor suite
+ * listeners. Each load iteration runs the test engine, which would run the before and after suite actions and
+ * generate the reports of the suite listeners once per iteration, with concurrent iterations writing the same report
+ * files. Within an iteration the suite of the engine therefore is an empty shell, test listeners still receive the
+ * test results.
+ * <p>
+ * The server creates the single Citrus instance with this context, so that all runs share it.
+ *
+ * @since 4.4.0
+ */
+public class LoadCitrusContext extends CitrusContext {
+
+    /** Whether the current thread runs a load iteration */
+    private static final InheritableThreadLocal<Boolean> ITERATION = new InheritableThreadLocal<>();
+
+    /** Suite listeners of load iterations */
+    private static final TestSuiteListeners NO_SUITE_LISTENERS = new TestSuiteListeners();
+
+    private final CitrusContext delegate;
+
+    /**
+     * Constructor using given context.
+     * @param delegate
+     */
+    public LoadCitrusContext(CitrusContext delegate) {
+        super(new Builder());
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the Citrus instance. Creates the instance with a load context around the context of the provider found
+     * on classpath unless created before.
+     * @return
+     */
+    public static synchronized Citrus getOrCreateInstance() {
+        return CitrusInstanceManager.get()
+                .orElseGet(() -> CitrusInstanceManager.newInstance(
+                        () -> new LoadCitrusContext(CitrusContextProvider.lookup().create())));
+    }
+
+    /**
+     * Runs given action as load iteration without suite actions and suite listeners.
+     * @param action
+     */
+    public static void runIteration(Runnable action) {
+        Boolean previous = ITERATION.get();
+        ITERATION.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                ITERATION.set(previous);
+            } else {
+                ITERATION.remove();
+            }
+        }
+    }
+
+    @Override
+    public void parseConfiguration(Class<?> configClass) {
+        delegate.parseConfiguration(configClass);
+    }
+
+    @Override
+    public void parseConfiguration(Object configuration) {
+        delegate.parseConfiguration(configuration);
+    }
+
+    @Override
+    public TestContext createTestContext() {
+        return delegate.createTestContext();
+    }
+
+    @Override
+    public void addTestSuiteListener(TestSuiteListener testSuiteListener) {
+        delegate.addTestSuiteListener(testSuiteListener);
+    }
+
+    @Override
+    public void addTestListener(TestListener testListener) {
+        delegate.addTestListener(testListener);
+    }
+
+    @Override
+    public void addTestActionListener(TestActionListener testActionListener) {
+        delegate.addTestActionListener(testActionListener);
+    }
+
+    @Override
+    public void addTestReporter(TestReporter testReporter) {
+        delegate.addTestReporter(testReporter);
+    }
+
+    @Override
+    public void addMessageListener(MessageListener listener) {
+        delegate.addMessageListener(listener);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public List<AfterSuite> getAfterSuite() {
+        if (Boolean.TRUE.equals(ITERATION.get())) {
+            return Collections.emptyList();
+        }
+        return delegate.getAfterSuite();
+    }
+
+    @Override
+    public List<BeforeSuite> getBeforeSuite() {
+        if (Boolean.TRUE.equals(ITERATION.get())) {
+            return Collections.emptyList();
+        }
+        return delegate.getBeforeSuite();
+    }
+
+    @Override
+    public TestListeners getTestListeners() {
+        return delegate.getTestListeners();
+    }
+
+    @Override
+    public TestActionListeners getTestActionListeners() {
+        return delegate.getTestActionListeners();
+    }
+
+    @Override
+    public TestSuiteListeners getTestSuiteListeners() {
+        if (Boolean.TRUE.equals(ITERATION.get())) {
+            return NO_SUITE_LISTENERS;
+        }
+        return delegate.getTestSuiteListeners();
+    }
+
+    @Override
+    public FunctionRegistry getFunctionRegistry() {
+        return delegate.getFunctionRegistry();
+    }
+
+    @Override
+    public ValidationMatcherRegistry getValidationMatcherRegistry() {
+        return delegate.getValidationMatcherRegistry();
+    }
+
+    @Override
+    public GlobalVariables getGlobalVariables() {
+        return delegate.getGlobalVariables();
+    }
+
+    @Override
+    public MessageValidatorRegistry getMessageValidatorRegistry() {
+        return delegate.getMessageValidatorRegistry();
+    }
+
+    @Override
+    public MessageListeners getMessageListeners() {
+        return delegate.getMessageListeners();
+    }
+
+    @Override
+    public EndpointFactory getEndpointFactory() {
+        return delegate.getEndpointFactory();
+    }
+
+    @Override
+    public ReferenceResolver getReferenceResolver() {
+        return delegate.getReferenceResolver();
+    }
+
+    @Override
+    public MessageProcessors getMessageProcessors() {
+        return delegate.getMessageProcessors();
+    }
+
+    @Override
+    public NamespaceContextBuilder getNamespaceContextBuilder() {
+        return delegate.getNamespaceContextBuilder();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return delegate.getTypeConverter();
+    }
+
+    @Override
+    public LogModifier getLogModifier() {
+        return delegate.getLogModifier();
+    }
+
+    @Override
+    public TestContextFactory getTestContextFactory() {
+        return delegate.getTestContextFactory();
+    }
+
+    @Override
+    public void bind(String name, Object value) {
+        delegate.bind(name, value);
+    }
+
+    @Override
+    public TestResults getTestResults() {
+        return delegate.getTestResults();
+    }
+
+    @Override
+    public void handleTestResults(TestResults testResults) {
+        delegate.handleTestResults(testResults);
+    }
+
+    @Override
+    public void addComponent(String name, Object component) {
+        delegate.addComponent(name, component);
+    }
+}
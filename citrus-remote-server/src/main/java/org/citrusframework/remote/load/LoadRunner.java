@@ -0,0 +1,338 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.load;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestResult;
+import org.citrusframework.TestSource;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.CitrusRemoteConfiguration;
+import org.citrusframework.remote.controller.RunController;
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.model.LoadProfile;
+import org.citrusframework.remote.model.LoadStatistics;
+import org.citrusframework.remote.model.RunStatistics;
+import org.citrusframework.remote.pool.CitrusContextPool;
+import org.citrusframework.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a single test as a number of concurrent virtual users according to a {@link LoadProfile}. Each user runs on
+ * its own thread, so that the user threads inherit the property scope of the load. Users start evenly spread over
+ * the ramp-up time and run the test in a loop. With a target rate all users share one schedule of iteration start
+ * times, an iteration starting behind its schedule after the ramp-up adds the delay to its latency.
+ * <p>
+ * The latency of an iteration is the duration of the tests it runs, so that the bootstrap of the test engine is not
+ * measured. Iterations with failed tests, without any test result or with an error of the engine count as errors.
+ * Iterations run without suite actions and suite listeners, see {@link LoadCitrusContext}, so that neither suite
+ * actions nor report generation run once per iteration.
+ * Results of the iterations are redirected to a listener per iteration and never kept as latest results of the
+ * server. With a Citrus context pool each user leases a context for its whole run, so that at most as many users as
+ * contexts run concurrently.
+ *
+ * @since 4.4.0
+ */
+public class LoadRunner {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    /** Maximum time in nanos a waiting user sleeps before checking whether the load has been stopped */
+    private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    private final LoadProfile profile;
+
+    /** Test run by each iteration */
+    private final TestSource testSource;
+
+    /** Configuration version current at creation of the load */
+    private final CitrusRemoteConfiguration configuration;
+
+    /** Test listener of the server receiving the results without a context pool */
+    private final RemoteTestListener remoteTestListener;
+
+    /** Optional pool of Citrus contexts leased by the users */
+    private final Optional<CitrusContextPool> citrusContextPool;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    /** Number of iterations started so far, also the next slot of the target rate schedule */
+    private final AtomicLong startedIterations = new AtomicLong();
+
+    private volatile boolean stopped;
+
+    private long startNanos;
+    private long rampUpEndNanos;
+    private long endNanos;
+
+    /** Iterations and time of the previously reported statistics */
+    private long reportedIterations;
+    private long reportedNanos;
+
+    /**
+     * Constructor validating given load profile.
+     * @param profile
+     * @param configuration
+     * @param remoteTestListener
+     * @param citrusContextPool
+     */
+    public LoadRunner(LoadProfile profile, CitrusRemoteConfiguration configuration,
+                      RemoteTestListener remoteTestListener, Optional<CitrusContextPool> citrusContextPool) {
+        if (!StringUtils.hasText(profile.getTest())) {
+            throw new CitrusRuntimeException("Missing test to run as load test");
+        }
+
+        if (profile.getUsers() <= 0) {
+            throw new CitrusRuntimeException("Invalid number of load test users: %d".formatted(profile.getUsers()));
+        }
+
+        if (profile.getDurationMillis() <= 0 && profile.getIterations() <= 0) {
+            throw new CitrusRuntimeException("Load test requires a duration or a number of iterations");
+        }
+
+        this.profile = profile;
+        this.testSource = TestClass.fromString(profile.getTest());
+        this.configuration = configuration;
+        this.remoteTestListener = remoteTestListener;
+        this.citrusContextPool = citrusContextPool;
+    }
+
+    /**
+     * Runs the load and reports statistics to given consumer in the report interval of the profile. Blocks until
+     * all users have finished and returns the final statistics, which are reported as well.
+     * @param reporter
+     * @return
+     */
+    public LoadStatistics run(Consumer<LoadStatistics> reporter) {
+        logger.info("Running load test {} with {} users", profile.getTest(), profile.getUsers());
+        startNanos = System.nanoTime();
+        reportedNanos = startNanos;
+        rampUpEndNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(profile.getRampUpMillis());
+        endNanos = profile.getDurationMillis() > 0 ?
+                startNanos + TimeUnit.MILLISECONDS.toNanos(profile.getDurationMillis()) : Long.MAX_VALUE;
+
+        CountDownLatch finished = new CountDownLatch(profile.getUsers());
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < profile.getUsers(); i++) {
+            int user = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    runUser(user);
+                } finally {
+                    finished.countDown();
+                }
+            }, "citrus-load-user-" + i);
+            thread.setDaemon(true);
+            users.add(thread);
+            thread.start();
+        }
+
+        long interval = Math.max(1L, profile.getReportIntervalMillis());
+        try {
+            while (!finished.await(interval, TimeUnit.MILLISECONDS)) {
+                reporter.accept(getStatistics(false));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+            users.forEach(Thread::interrupt);
+        }
+
+        LoadStatistics statistics = getStatistics(true);
+        logger.info("Finished load test {} with {} iterations, {} errors", profile.getTest(),
+                statistics.getIterations(), statistics.getErrors());
+        reporter.accept(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops the load. Users finish their running iteration and start no further iterations.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void runUser(int user) {
+        if (!sleepUntil(startNanos + TimeUnit.MILLISECONDS.toNanos(profile.getRampUpMillis()) * user / profile.getUsers())) {
+            return;
+        }
+
+        if (citrusContextPool.isEmpty()) {
+            iterate(remoteTestListener);
+            return;
+        }
+
+        CitrusContextPool pool = citrusContextPool.get();
+        CitrusContextPool.PooledContext pooled;
+        try {
+            pooled = pool.lease();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            pool.runWith(pooled, () -> {
+                iterate(pooled.listener());
+                return null;
+            });
+        } finally {
+            pool.release(pooled);
+        }
+    }
+
+    private void iterate(RemoteTestListener listener) {
+        activeUsers.incrementAndGet();
+        try {
+            while (!stopped) {
+                long iteration = startedIterations.getAndIncrement();
+                if (profile.getIterations() > 0 && iteration >= profile.getIterations()) {
+                    return;
+                }
+
+                long scheduledNanos = getScheduledNanos(iteration);
+                if (!sleepUntil(scheduledNanos) || System.nanoTime() >= endNanos) {
+                    return;
+                }
+
+                long delayNanos = scheduledNanos >= rampUpEndNanos ? Math.max(0L, System.nanoTime() - scheduledNanos) : 0L;
+                runIteration(listener, delayNanos);
+            }
+        } finally {
+            activeUsers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the time the given iteration is scheduled to start. Without target rate iterations start immediately.
+     * @param iteration
+     * @return
+     */
+    private long getScheduledNanos(long iteration) {
+        if (profile.getTargetRate() <= 0) {
+            return System.nanoTime();
+        }
+        return startNanos + (long) (iteration * (TimeUnit.SECONDS.toNanos(1) / profile.getTargetRate()));
+    }
+
+    private void runIteration(RemoteTestListener listener, long delayNanos) {
+        RemoteTestListener iterationListener = new RemoteTestListener();
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            listener.runRedirected(iterationListener, () -> LoadCitrusContext.runIteration(() -> {
+                RunController runController = new RunController(configuration, new RunStatistics());
+                runController.setEngine(Optional.ofNullable(profile.getEngine()).orElse(configuration.getEngine()));
+                runController.addDefaultProperties(profile.getDefaultProperties());
+                runController.runClasses(List.of(testSource));
+            }));
+        } catch (RuntimeException e) {
+            logger.debug("Load test iteration failed", e);
+            failed = true;
+        }
+
+        List<TestResult> results = new ArrayList<>();
+        iterationListener.getResults().doWithResults(results::add);
+        failed |= results.isEmpty() || results.stream().anyMatch(TestResult::isFailed);
+
+        long durationNanos = results.isEmpty() ? System.nanoTime() - start :
+                results.stream().mapToLong(result -> result.getDuration().toNanos()).sum();
+        histogram.recordNanos(durationNanos + delayNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Waits until given time unless the load is stopped before.
+     * @param deadlineNanos
+     * @return false if the load has been stopped while waiting
+     */
+    private boolean sleepUntil(long deadlineNanos) {
+        long remaining;
+        while (!stopped && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, MAX_SLEEP_NANOS));
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !stopped;
+    }
+
+    /**
+     * Creates statistics of all iterations finished so far.
+     * @param finished
+     * @return
+     */
+    private synchronized LoadStatistics getStatistics(boolean finished) {
+        long now = System.nanoTime();
+        long iterations = histogram.getTotalCount();
+        long errorCount = errors.sum();
+
+        LoadStatistics statistics = new LoadStatistics();
+        statistics.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(now - startNanos));
+        statistics.setActiveUsers(activeUsers.get());
+        statistics.setIterations(iterations);
+        statistics.setErrors(errorCount);
+        statistics.setThroughput(perSecond(iterations, now - startNanos));
+        statistics.setIntervalThroughput(perSecond(iterations - reportedIterations, now - reportedNanos));
+        statistics.setErrorRate(iterations > 0 ? errorCount * 100.0 / iterations : 0.0);
+        statistics.setMinMillis(toMillis(histogram.getMinMicros()));
+        statistics.setMeanMillis(histogram.getMeanMicros() / 1000.0);
+        statistics.setMaxMillis(toMillis(histogram.getMaxMicros()));
+        statistics.setP50Millis(toMillis(histogram.getValueAtPercentile(50.0)));
+        statistics.setP95Millis(toMillis(histogram.getValueAtPercentile(95.0)));
+        statistics.setP99Millis(toMillis(histogram.getValueAtPercentile(99.0)));
+        statistics.setP999Millis(toMillis(histogram.getValueAtPercentile(99.9)));
+        statistics.setFinished(finished);
+
+        reportedIterations = iterations;
+        reportedNanos = now;
+        return statistics;
+    }
+
+    /**
+     * Gets the configuration version used by the load.
+     *
+     * @return
+     */
+    public CitrusRemoteConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0.0;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
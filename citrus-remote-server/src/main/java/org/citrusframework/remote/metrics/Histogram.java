@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed bucket histogram of durations. Observing a value does not allocate, so it is safe to use
+ * on hot paths such as test listener callbacks. Buckets, count and sum are updated and read under the
+ * same lock, so that a written histogram is always consistent.
+ *
+ * @since 4.4.0
+ */
+public class Histogram {
+
+    /** Bucket bounds for durations of tests and runs in seconds */
+    public static final double[] LONG_DURATION_BUCKETS =
+            { 0.01, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300, 600, 1800 };
+
+    /** Bucket bounds for latencies of requests and event loop tasks in seconds */
+    public static final double[] SHORT_DURATION_BUCKETS =
+            { 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+
+    /** Upper bucket bounds in seconds as rendered plain decimal label values */
+    private final String[] bounds;
+
+    /** Upper bucket bounds in nanos */
+    private final long[] boundsNanos;
+
+    /** Non cumulative bucket counts, last bucket is +Inf */
+    private final long[] buckets;
+
+    private long sumNanos;
+
+    public Histogram(double[] bounds) {
+        this.bounds = new String[bounds.length];
+        this.boundsNanos = new long[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            this.bounds[i] = OpenMetricsWriter.toPlainString(bounds[i]);
+            boundsNanos[i] = (long) (bounds[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+        this.buckets = new long[bounds.length + 1];
+    }
+
+    /**
+     * Records given duration.
+     * @param nanos
+     */
+    public void observeNanos(long nanos) {
+        int bucket = 0;
+        while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+            bucket++;
+        }
+
+        synchronized (this) {
+            buckets[bucket]++;
+            sumNanos += nanos;
+        }
+    }
+
+    /**
+     * Writes the histogram samples in OpenMetrics text format.
+     * @param writer
+     * @param name
+     * @param labels label names and values in alternating order
+     */
+    void writeTo(OpenMetricsWriter writer, String name, String... labels) {
+        long[] counts;
+        long sum;
+        synchronized (this) {
+            counts = buckets.clone();
+            sum = sumNanos;
+        }
+
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            writer.sample(name + "_bucket", cumulative, labels, "le", bounds[i]);
+        }
+        cumulative += counts[bounds.length];
+        writer.sample(name + "_bucket", cumulative, labels, "le", "+Inf");
+        writer.sample(name + "_count", cumulative, labels);
+        writer.sample(name + "_sum", sum / (double) TimeUnit.SECONDS.toNanos(1), labels);
+    }
+}
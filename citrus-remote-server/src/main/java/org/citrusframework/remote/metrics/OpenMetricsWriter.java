@@ -0,0 +1,105 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.metrics;
+
+import java.math.BigDecimal;
+
+/**
+ * Writes metric families and samples in OpenMetrics text exposition format.
+ *
+ * @since 4.4.0
+ */
+class OpenMetricsWriter {
+
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Starts new metric family.
+     * @param name
+     * @param type one of counter, gauge, histogram
+     * @param help
+     */
+    void family(String name, String type, String help) {
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    /**
+     * Writes single sample with given labels.
+     * @param name
+     * @param value
+     * @param labels label names and values in alternating order
+     * @param extraLabels additional label names and values in alternating order
+     */
+    void sample(String name, double value, String[] labels, String... extraLabels) {
+        builder.append(name);
+        if (labels.length > 0 || extraLabels.length > 0) {
+            builder.append('{');
+            appendLabels(labels, false);
+            appendLabels(extraLabels, labels.length > 0);
+            builder.append('}');
+        }
+        builder.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            builder.append((long) value);
+        } else {
+            builder.append(toPlainString(value));
+        }
+        builder.append('\n');
+    }
+
+    /**
+     * Formats given value as plain decimal without exponent and with at least one fraction digit, e.g. 0.0005
+     * instead of 5.0E-4 and 1.0.
+     * @param value
+     * @return
+     */
+    static String toPlainString(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+
+        BigDecimal decimal = BigDecimal.valueOf(value).stripTrailingZeros();
+        return (decimal.scale() < 1 ? decimal.setScale(1) : decimal).toPlainString();
+    }
+
+    private void appendLabels(String[] labels, boolean separate) {
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (separate || i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Terminates the exposition and returns the text.
+     * @return
+     */
+    String end() {
+        builder.append("# EOF\n");
+        return builder.toString();
+    }
+}
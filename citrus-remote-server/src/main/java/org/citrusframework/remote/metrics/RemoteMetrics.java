@@ -0,0 +1,282 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.metrics;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+import org.citrusframework.TestResult;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Metrics of the remote server exposed in OpenMetrics text format. Covers test durations, run latencies,
+ * job counts, HTTP route latencies, event loop delay and JVM memory and garbage collection.
+ *
+ * @since 4.4.0
+ */
+public class RemoteMetrics {
+
+    /** OpenMetrics content type */
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final String PREFIX = "citrus_remote_";
+
+    private static final String[] TEST_STATUSES = { "success", "failure", "skipped" };
+    private static final int SUCCESS = 0;
+    private static final int FAILURE = 1;
+    private static final int SKIPPED = 2;
+
+    /** Test duration histograms per test class, indexed by test status */
+    private final Map<String, Histogram[]> testDurations = new ConcurrentHashMap<>();
+
+    private final Histogram runDuration = new Histogram(Histogram.LONG_DURATION_BUCKETS);
+    private final Histogram runQueueWait = new Histogram(Histogram.LONG_DURATION_BUCKETS);
+    private final AtomicInteger jobsQueued = new AtomicInteger();
+    private final AtomicInteger jobsRunning = new AtomicInteger();
+
+    /** Request duration histograms per HTTP method and route path */
+    private final Map<String, Map<String, Histogram>> routeDurations = new ConcurrentHashMap<>();
+
+    private final Histogram eventLoopDelay = new Histogram(Histogram.SHORT_DURATION_BUCKETS);
+
+    /** Blocked thread checker threshold and number of event loop probes delayed beyond it */
+    private volatile long maxEventLoopExecuteTime = VertxOptions.DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME_UNIT
+            .toNanos(VertxOptions.DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME);
+    private final LongAdder eventLoopBlocked = new LongAdder();
+
+    /** Additional gauges registered by server components */
+    private final Map<String, Gauge> gauges = new LinkedHashMap<>();
+
+    /** Additional duration histograms registered by server components */
+    private final Map<String, RegisteredHistogram> histograms = new LinkedHashMap<>();
+
+    /**
+     * Records duration of given test result.
+     * @param result
+     */
+    public void recordTestResult(TestResult result) {
+        if (result.getDuration() == null) {
+            return;
+        }
+
+        Histogram[] histograms = testDurations.get(result.getClassName());
+        if (histograms == null) {
+            histograms = testDurations.computeIfAbsent(result.getClassName(), className -> {
+                Histogram[] byStatus = new Histogram[TEST_STATUSES.length];
+                for (int i = 0; i < byStatus.length; i++) {
+                    byStatus[i] = new Histogram(Histogram.LONG_DURATION_BUCKETS);
+                }
+                return byStatus;
+            });
+        }
+
+        int status = result.isSuccess() ? SUCCESS : (result.isFailed() ? FAILURE : SKIPPED);
+        histograms[status].observeNanos(result.getDuration().toNanos());
+    }
+
+    /**
+     * Wraps given run job so its queue wait time and run duration are recorded.
+     * @param job
+     * @return
+     * @param <T>
+     */
+    public <T> Supplier<T> timeRun(Supplier<T> job) {
+        long submitted = System.nanoTime();
+        jobsQueued.incrementAndGet();
+        return () -> {
+            jobsQueued.decrementAndGet();
+            jobsRunning.incrementAndGet();
+            runQueueWait.observeNanos(System.nanoTime() - submitted);
+            try {
+                return job.get();
+            } finally {
+                jobsRunning.decrementAndGet();
+                runDuration.observeNanos(System.nanoTime() - submitted);
+            }
+        };
+    }
+
+    /**
+     * Router handler recording the duration of each request per route. Must be added as first route
+     * so that all subsequent routes, including router customizations, are measured.
+     * @param ctx
+     */
+    public void handleRoute(RoutingContext ctx) {
+        long start = System.nanoTime();
+        String method = ctx.request().method().name();
+        ctx.addEndHandler(result -> {
+            String path = Optional.ofNullable(ctx.currentRoute())
+                    .map(Route::getPath)
+                    .orElse("unmatched");
+            routeDurations.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(path, key -> new Histogram(Histogram.SHORT_DURATION_BUCKETS))
+                    .observeNanos(System.nanoTime() - start);
+        });
+        ctx.next();
+    }
+
+    /**
+     * Periodically schedules a timer on the current event loop and records the delay between
+     * the scheduled and the actual execution time. Delays beyond the blocked thread checker threshold
+     * are counted as blocked event loop.
+     * @param vertx
+     * @param intervalMillis
+     */
+    public void monitorEventLoop(Vertx vertx, long intervalMillis) {
+        long expected = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        vertx.setTimer(intervalMillis, id -> {
+            long delay = Math.max(0L, System.nanoTime() - expected);
+            eventLoopDelay.observeNanos(delay);
+            if (delay > maxEventLoopExecuteTime) {
+                eventLoopBlocked.increment();
+            }
+            monitorEventLoop(vertx, intervalMillis);
+        });
+    }
+
+    /**
+     * Sets the time in nanoseconds an event loop may be blocked as configured for the blocked thread checker.
+     * @param maxEventLoopExecuteTime
+     */
+    public void setMaxEventLoopExecuteTime(long maxEventLoopExecuteTime) {
+        this.maxEventLoopExecuteTime = maxEventLoopExecuteTime;
+    }
+
+    /**
+     * Registers gauge evaluated on each scrape.
+     * @param name metric name without prefix
+     * @param help
+     * @param value
+     */
+    public synchronized void gauge(String name, String help, LongSupplier value) {
+        gauges.put(PREFIX + name, new Gauge(help, value));
+    }
+
+    /**
+     * Registers duration histogram with long duration buckets. Components record their observations
+     * on the returned histogram.
+     * @param name metric name without prefix
+     * @param help
+     * @return
+     */
+    public synchronized Histogram histogram(String name, String help) {
+        return histograms.computeIfAbsent(PREFIX + name,
+                key -> new RegisteredHistogram(help, new Histogram(Histogram.LONG_DURATION_BUCKETS))).histogram();
+    }
+
+    /**
+     * Renders all metrics in OpenMetrics text format.
+     * @return
+     */
+    public synchronized String scrape() {
+        OpenMetricsWriter writer = new OpenMetricsWriter();
+
+        writer.family(PREFIX + "test_duration_seconds", "histogram", "Duration of tests by class and status.");
+        testDurations.forEach((className, histograms) -> {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i].writeTo(writer, PREFIX + "test_duration_seconds",
+                        "class", className, "status", TEST_STATUSES[i]);
+            }
+        });
+
+        writer.family(PREFIX + "run_duration_seconds", "histogram", "Latency of test runs from submission to completion.");
+        runDuration.writeTo(writer, PREFIX + "run_duration_seconds");
+        writer.family(PREFIX + "run_queue_wait_seconds", "histogram", "Time test runs wait before execution starts.");
+        runQueueWait.writeTo(writer, PREFIX + "run_queue_wait_seconds");
+
+        writer.family(PREFIX + "jobs_queued", "gauge", "Number of submitted test runs waiting for execution.");
+        writer.sample(PREFIX + "jobs_queued", jobsQueued.get(), new String[0]);
+        writer.family(PREFIX + "jobs_running", "gauge", "Number of test runs in execution.");
+        writer.sample(PREFIX + "jobs_running", jobsRunning.get(), new String[0]);
+
+        gauges.forEach((name, gauge) -> {
+            writer.family(name, "gauge", gauge.help());
+            writer.sample(name, gauge.value().getAsLong(), new String[0]);
+        });
+
+        histograms.forEach((name, registered) -> {
+            writer.family(name, "histogram", registered.help());
+            registered.histogram().writeTo(writer, name);
+        });
+
+        writer.family(PREFIX + "http_request_duration_seconds", "histogram", "Duration of HTTP requests by method and route.");
+        routeDurations.forEach((method, routes) -> routes.forEach((route, histogram) ->
+                histogram.writeTo(writer, PREFIX + "http_request_duration_seconds", "method", method, "route", route)));
+
+        writer.family(PREFIX + "event_loop_delay_seconds", "histogram", "Delay of scheduled tasks on the event loop.");
+        eventLoopDelay.writeTo(writer, PREFIX + "event_loop_delay_seconds");
+        writer.family(PREFIX + "event_loop_max_execute_time_seconds", "gauge", "Time an event loop may be blocked before the blocked thread checker warns.");
+        writer.sample(PREFIX + "event_loop_max_execute_time_seconds", maxEventLoopExecuteTime / 1e9, new String[0]);
+        writer.family(PREFIX + "event_loop_blocked", "counter", "Number of event loop probes delayed beyond the maximum execute time.");
+        writer.sample(PREFIX + "event_loop_blocked_total", eventLoopBlocked.sum(), new String[0]);
+
+        writeJvmMetrics(writer);
+        return writer.end();
+    }
+
+    private static void writeJvmMetrics(OpenMetricsWriter writer) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+
+        writer.family("jvm_memory_used_bytes", "gauge", "Used JVM memory by area.");
+        writer.sample("jvm_memory_used_bytes", heap.getUsed(), new String[] { "area", "heap" });
+        writer.sample("jvm_memory_used_bytes", nonHeap.getUsed(), new String[] { "area", "nonheap" });
+        writer.family("jvm_memory_committed_bytes", "gauge", "Committed JVM memory by area.");
+        writer.sample("jvm_memory_committed_bytes", heap.getCommitted(), new String[] { "area", "heap" });
+        writer.sample("jvm_memory_committed_bytes", nonHeap.getCommitted(), new String[] { "area", "nonheap" });
+        writer.family("jvm_memory_max_bytes", "gauge", "Maximum JVM memory by area.");
+        writer.sample("jvm_memory_max_bytes", heap.getMax(), new String[] { "area", "heap" });
+        writer.sample("jvm_memory_max_bytes", nonHeap.getMax(), new String[] { "area", "nonheap" });
+
+        writer.family("jvm_memory_pool_used_bytes", "gauge", "Used JVM memory by pool.");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            writer.sample("jvm_memory_pool_used_bytes", pool.getUsage().getUsed(), new String[] { "pool", pool.getName() });
+        }
+
+        writer.family("jvm_gc_collections", "counter", "Number of garbage collections by collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writer.sample("jvm_gc_collections_total", Math.max(0L, gc.getCollectionCount()), new String[] { "gc", gc.getName() });
+        }
+        writer.family("jvm_gc_collection_seconds", "counter", "Accumulated garbage collection time by collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writer.sample("jvm_gc_collection_seconds_total", Math.max(0L, gc.getCollectionTime()) / 1000.0, new String[] { "gc", gc.getName() });
+        }
+
+        writer.family("jvm_threads_current", "gauge", "Number of live JVM threads.");
+        writer.sample("jvm_threads_current", ManagementFactory.getThreadMXBean().getThreadCount(), new String[0]);
+    }
+
+    private record Gauge(String help, LongSupplier value) {
+    }
+
+    private record RegisteredHistogram(String help, Histogram histogram) {
+    }
+}
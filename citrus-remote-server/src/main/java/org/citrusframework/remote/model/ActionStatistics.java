@@ -0,0 +1,124 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+/**
+ * Timings of all executions of a test action aggregated by action name over a run.
+ *
+ * @since 4.4.0
+ */
+public class ActionStatistics {
+
+    /** Name of the test action */
+    private String name;
+
+    /** Number of executions */
+    private long count;
+
+    /** Accumulated duration of all executions */
+    private long totalMillis;
+
+    /** Longest single execution */
+    private long maxMillis;
+
+    /** Test class and name of the longest execution */
+    private String slowestTest;
+
+    public ActionStatistics() {
+        super();
+    }
+
+    public ActionStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds execution of the action with given duration.
+     * @param durationMillis
+     * @param test
+     */
+    public synchronized void add(long durationMillis, String test) {
+        count++;
+        totalMillis += durationMillis;
+        if (count == 1 || durationMillis > maxMillis) {
+            maxMillis = durationMillis;
+            slowestTest = test;
+        }
+    }
+
+    /**
+     * Creates a consistent copy of this statistics.
+     * @return
+     */
+    public synchronized ActionStatistics copy() {
+        ActionStatistics copy = new ActionStatistics(name);
+        copy.setCount(count);
+        copy.setTotalMillis(totalMillis);
+        copy.setMaxMillis(maxMillis);
+        copy.setSlowestTest(slowestTest);
+        return copy;
+    }
+
+    /**
+     * Gets the average duration.
+     *
+     * @return
+     */
+    public synchronized long getAverageMillis() {
+        return count > 0 ? totalMillis / count : 0L;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized void setCount(long count) {
+        this.count = count;
+    }
+
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public synchronized void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public synchronized void setMaxMillis(long maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public synchronized String getSlowestTest() {
+        return slowestTest;
+    }
+
+    public synchronized void setSlowestTest(String slowestTest) {
+        this.slowestTest = slowestTest;
+    }
+}
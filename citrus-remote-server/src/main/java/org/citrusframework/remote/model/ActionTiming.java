@@ -0,0 +1,121 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+/**
+ * Wall clock time consumed by a single test action. Nested actions of containers are reported
+ * with their nesting depth, top level actions of the test have depth zero.
+ *
+ * @since 4.4.0
+ */
+public class ActionTiming {
+
+    /** Name of the test action */
+    private String name;
+
+    /** Nesting depth in the test action tree */
+    private int depth;
+
+    /** Start of the action relative to the first action of the test */
+    private long startMillis;
+
+    /** Duration of the action */
+    private long durationMillis;
+
+    public ActionTiming() {
+        super();
+    }
+
+    public ActionTiming(String name, int depth, long startMillis, long durationMillis) {
+        this.name = name;
+        this.depth = depth;
+        this.startMillis = startMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name.
+     *
+     * @param name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the depth.
+     *
+     * @return
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Sets the depth.
+     *
+     * @param depth
+     */
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Gets the startMillis.
+     *
+     * @return
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Sets the startMillis.
+     *
+     * @param startMillis
+     */
+    public void setStartMillis(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Gets the durationMillis.
+     *
+     * @return
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Sets the durationMillis.
+     *
+     * @param durationMillis
+     */
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
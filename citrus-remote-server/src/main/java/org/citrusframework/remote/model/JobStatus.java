@@ -0,0 +1,94 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+/**
+ * Status of a run job submitted to the server including the phase timings measured so far.
+ *
+ * @since 4.4.0
+ */
+public class JobStatus {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        FINISHED
+    }
+
+    /** Unique run identifier */
+    private String runId;
+
+    private State state;
+
+    /** Key of the phase currently active, null once the job has finished */
+    private String phase;
+
+    private RunStatistics statistics;
+
+    /**
+     * Creates status from given run statistics.
+     * @param runId
+     * @param statistics
+     * @return
+     */
+    public static JobStatus of(String runId, RunStatistics statistics) {
+        JobStatus status = new JobStatus();
+        status.setRunId(runId);
+        status.setStatistics(statistics);
+
+        RunStatistics.Phase phase = statistics.currentPhase();
+        if (phase == null) {
+            status.setState(State.FINISHED);
+        } else {
+            status.setState(phase == RunStatistics.Phase.QUEUE ? State.QUEUED : State.RUNNING);
+            status.setPhase(phase.getKey());
+        }
+        return status;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public RunStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(RunStatistics statistics) {
+        this.statistics = statistics;
+    }
+}
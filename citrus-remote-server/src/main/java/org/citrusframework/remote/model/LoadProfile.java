@@ -0,0 +1,129 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load profile running a single test as a number of concurrent virtual users. Users start evenly spread over the
+ * ramp-up time and run the test repeatedly until the duration has elapsed or the number of iterations is reached.
+ * A target rate throttles the iterations of all users to the given number per second.
+ *
+ * @since 4.4.0
+ */
+public class LoadProfile {
+
+    /** Test class name with optional test method, e.g. org.sample.GetTextIT#getText */
+    private String test;
+
+    /** Test engine to run the test, defaults to the engine of the server configuration */
+    private String engine;
+
+    /** Number of concurrent virtual users */
+    private int users = 1;
+
+    /** Time in milliseconds to start all users */
+    private long rampUpMillis;
+
+    /** Time in milliseconds to run the load, zero to run the number of iterations only */
+    private long durationMillis;
+
+    /** Total number of iterations of all users, zero to run for the duration only */
+    private long iterations;
+
+    /** Target number of iterations per second of all users, zero to run the iterations back to back */
+    private double targetRate;
+
+    /** Interval in milliseconds of the statistics reported while the load runs */
+    private long reportIntervalMillis = 1000L;
+
+    /** Default properties set as system properties for the test */
+    private Map<String, String> defaultProperties = new LinkedHashMap<>();
+
+    public String getTest() {
+        return test;
+    }
+
+    public void setTest(String test) {
+        this.test = test;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public long getRampUpMillis() {
+        return rampUpMillis;
+    }
+
+    public void setRampUpMillis(long rampUpMillis) {
+        this.rampUpMillis = rampUpMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(long iterations) {
+        this.iterations = iterations;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public void setTargetRate(double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    public long getReportIntervalMillis() {
+        return reportIntervalMillis;
+    }
+
+    public void setReportIntervalMillis(long reportIntervalMillis) {
+        this.reportIntervalMillis = reportIntervalMillis;
+    }
+
+    public Map<String, String> getDefaultProperties() {
+        return defaultProperties;
+    }
+
+    public void setDefaultProperties(Map<String, String> defaultProperties) {
+        this.defaultProperties = defaultProperties;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+/**
+ * Statistics of a running or finished load test. Latencies are the durations of the test iterations in
+ * milliseconds. With a target rate each latency includes the time the iteration started behind its schedule, so
+ * that a slow system under test does not hide its latency by lowering the load.
+ *
+ * @since 4.4.0
+ */
+public class LoadStatistics {
+
+    /** Time in milliseconds since start of the load */
+    private long elapsedMillis;
+
+    /** Number of users currently running iterations */
+    private int activeUsers;
+
+    /** Number of finished iterations */
+    private long iterations;
+
+    /** Number of failed iterations */
+    private long errors;
+
+    /** Iterations per second since start of the load */
+    private double throughput;
+
+    /** Iterations per second since the previous statistics */
+    private double intervalThroughput;
+
+    /** Failed iterations in percent */
+    private double errorRate;
+
+    private double minMillis;
+    private double meanMillis;
+    private double maxMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double p999Millis;
+
+    /** Whether the load has finished */
+    private boolean finished;
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getActiveUsers() {
+        return activeUsers;
+    }
+
+    public void setActiveUsers(int activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(long iterations) {
+        this.iterations = iterations;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public double getIntervalThroughput() {
+        return intervalThroughput;
+    }
+
+    public void setIntervalThroughput(double intervalThroughput) {
+        this.intervalThroughput = intervalThroughput;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public double getMinMillis() {
+        return minMillis;
+    }
+
+    public void setMinMillis(double minMillis) {
+        this.minMillis = minMillis;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public void setMeanMillis(double meanMillis) {
+        this.meanMillis = meanMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(double p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public void setP95Millis(double p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(double p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public double getP999Millis() {
+        return p999Millis;
+    }
+
+    public void setP999Millis(double p999Millis) {
+        this.p999Millis = p999Millis;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of the tests of a single matrix cell.
+ *
+ * @since 4.4.0
+ */
+public class MatrixCellSummary {
+
+    /** Label of the cell the results of the cell are labeled with */
+    private String label;
+
+    /** Properties of the cell */
+    private Map<String, String> properties = new LinkedHashMap<>();
+
+    private int total;
+    private int passed;
+    private int failed;
+    private int skipped;
+
+    /** Wall clock time of the cell */
+    private long durationMillis;
+
+    /** Error aborting the cell, null when all tests of the cell have run */
+    private String error;
+
+    /**
+     * Creates summary of given cell results.
+     * @param label
+     * @param properties
+     * @param results
+     * @param durationMillis
+     * @return
+     */
+    public static MatrixCellSummary of(String label, Map<String, String> properties, List<RemoteResult> results,
+                                       long durationMillis) {
+        MatrixCellSummary summary = new MatrixCellSummary();
+        summary.setLabel(label);
+        summary.setProperties(new LinkedHashMap<>(properties));
+        summary.setTotal(results.size());
+        summary.setPassed((int) results.stream().filter(RemoteResult::isSuccess).count());
+        summary.setFailed((int) results.stream().filter(RemoteResult::isFailed).count());
+        summary.setSkipped((int) results.stream().filter(RemoteResult::isSkipped).count());
+        summary.setDurationMillis(durationMillis);
+        return summary;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Map<String, String> properties) {
+        this.properties = properties;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPassed() {
+        return passed;
+    }
+
+    public void setPassed(int passed) {
+        this.passed = passed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -16,12 +16,16 @@
 
 package org.citrusframework.remote.model;
 
+import org.citrusframework.TestClass;
 import org.citrusframework.TestResult;
+import org.citrusframework.TestSource;
 import org.citrusframework.exceptions.CitrusRuntimeException;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -52,6 +56,24 @@ public class RemoteResult {
     private boolean failed;
     private boolean skipped;
 
+    /** CPU time consumed by the test thread */
+    private long cpuTimeMillis;
+
+    /** Heap bytes allocated by the test thread */
+    private long allocatedBytes;
+
+    /** Wall clock time of the test actions */
+    private List<ActionTiming> actions = new ArrayList<>();
+
+    /** Number of times the test has been re-executed after failing */
+    private int retries;
+
+    /** Whether the test has failed and passed on retry */
+    private boolean flaky;
+
+    /** Label of the matrix cell the test has run in, null outside of matrix runs */
+    private String label;
+
     /**
      * Convert traditional test result to remote result.
      * @param testResult
@@ -82,6 +104,45 @@ public class RemoteResult {
         return remoteResult;
     }
 
+    /**
+     * Creates result of given test source skipped without running it, e.g. because the run has been aborted.
+     * @param testSource
+     * @param reason
+     * @return
+     */
+    public static RemoteResult skipped(TestSource testSource, String reason) {
+        RemoteResult remoteResult = notRun(testSource, reason);
+        remoteResult.setSkipped(true);
+        return remoteResult;
+    }
+
+    /**
+     * Creates failed result of given test source that could not be run, e.g. because no worker is left to run it.
+     * @param testSource
+     * @param reason
+     * @return
+     */
+    public static RemoteResult failed(TestSource testSource, String reason) {
+        RemoteResult remoteResult = notRun(testSource, reason);
+        remoteResult.setFailed(true);
+        remoteResult.setCause(CitrusRuntimeException.class.getName());
+        return remoteResult;
+    }
+
+    private static RemoteResult notRun(TestSource testSource, String reason) {
+        String testName = testSource.getName().substring(testSource.getName().lastIndexOf('.') + 1);
+        if (testSource instanceof TestClass testClass && testClass.getMethod() != null) {
+            testName += "." + testClass.getMethod();
+        }
+
+        RemoteResult remoteResult = new RemoteResult();
+        remoteResult.setTestName(testName);
+        remoteResult.setTestClass(testSource.getName());
+        remoteResult.setDurationMillis(0L);
+        remoteResult.setErrorMessage(reason);
+        return remoteResult;
+    }
+
     /**
      * Convert remote result to traditional result.
      * @param remoteResult
@@ -269,4 +330,112 @@ public class RemoteResult {
     public void setSkipped(boolean skipped) {
         this.skipped = skipped;
     }
+
+    /**
+     * Gets the cpuTimeMillis.
+     *
+     * @return
+     */
+    public long getCpuTimeMillis() {
+        return cpuTimeMillis;
+    }
+
+    /**
+     * Sets the cpuTimeMillis.
+     *
+     * @param cpuTimeMillis
+     */
+    public void setCpuTimeMillis(long cpuTimeMillis) {
+        this.cpuTimeMillis = cpuTimeMillis;
+    }
+
+    /**
+     * Gets the allocatedBytes.
+     *
+     * @return
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Sets the allocatedBytes.
+     *
+     * @param allocatedBytes
+     */
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Gets the actions.
+     *
+     * @return
+     */
+    public List<ActionTiming> getActions() {
+        return actions;
+    }
+
+    /**
+     * Sets the actions.
+     *
+     * @param actions
+     */
+    public void setActions(List<ActionTiming> actions) {
+        this.actions = actions;
+    }
+
+    /**
+     * Gets the retries.
+     *
+     * @return
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Sets the retries.
+     *
+     * @param retries
+     */
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    /**
+     * Gets the flaky.
+     *
+     * @return
+     */
+    public boolean isFlaky() {
+        return flaky;
+    }
+
+    /**
+     * Sets the flaky.
+     *
+     * @param flaky
+     */
+    public void setFlaky(boolean flaky) {
+        this.flaky = flaky;
+    }
+
+    /**
+     * Gets the label.
+     *
+     * @return
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Sets the label.
+     *
+     * @param label
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import org.citrusframework.TestSource;
+import org.citrusframework.main.TestRunConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Run configuration with the settings specific to the remote server. Test sources are read from JSON as
+ * {@link TestSourceSpec}, as test sources themselves are not able to be read from JSON.
+ *
+ * @since 4.4.0
+ */
+public class RemoteRunConfiguration extends TestRunConfiguration {
+
+    /** Default soak window in milliseconds */
+    public static final long DEFAULT_SOAK_WINDOW = 60000L;
+
+    /** Default maximum number of soak windows kept */
+    public static final int DEFAULT_SOAK_MAX_WINDOWS = 1440;
+
+    /** Time in milliseconds to repeat the selected tests in soak mode, zero runs the tests once */
+    private long soakDuration;
+
+    /** Length in milliseconds of the windows the soak statistics are collected in */
+    private long soakWindow = DEFAULT_SOAK_WINDOW;
+
+    /** Maximum number of soak windows kept, older windows are dropped */
+    private int soakMaxWindows = DEFAULT_SOAK_MAX_WINDOWS;
+
+    /** Groups selecting the tests to run, i.e. TestNG groups, JUnit 5 tags or JUnit 4 categories */
+    private List<String> groups = new ArrayList<>();
+
+    /** Tags selecting the tests to run along with the groups, tags being the JUnit 5 name of groups */
+    private List<String> tags = new ArrayList<>();
+
+    /** Changed classes or packages selecting the test classes depending on them */
+    private List<String> changes = new ArrayList<>();
+
+    /** Wall clock time in milliseconds the selected tests are estimated to fit in, zero runs all tests */
+    private long timeBudget;
+
+    /**
+     * Estimated duration in milliseconds of tests without test history when selecting tests within the time budget,
+     * zero estimates them with the average duration of the other tests
+     */
+    private long testEstimate;
+
+    /** Groups whose tests are preferred when selecting tests within the time budget */
+    private List<String> priorityGroups = new ArrayList<>();
+
+    /** Number of times a failed test is re-executed within the run */
+    private int retries;
+
+    /** Skips the remaining tests of the run after the first failed test */
+    private boolean failFast;
+
+    /** Number of failed tests after which the remaining tests of the run are skipped, zero disables the limit */
+    private int maxFailures;
+
+    /** Probes the client endpoints before the tests run and skips all tests when an endpoint is unreachable */
+    private boolean preflight;
+
+    /** Property sets of the matrix cells, each cell runs the tests concurrently with its properties */
+    private List<Map<String, String>> matrix = new ArrayList<>();
+
+    /**
+     * Creates remote run configuration from given run configuration.
+     * @param runConfiguration
+     * @return
+     */
+    public static RemoteRunConfiguration of(TestRunConfiguration runConfiguration) {
+        if (runConfiguration instanceof RemoteRunConfiguration remoteRunConfiguration) {
+            return remoteRunConfiguration;
+        }
+
+        RemoteRunConfiguration remoteRunConfiguration = new RemoteRunConfiguration();
+        remoteRunConfiguration.setEngine(runConfiguration.getEngine());
+        remoteRunConfiguration.setIncludes(runConfiguration.getIncludes());
+        remoteRunConfiguration.setPackages(runConfiguration.getPackages());
+        remoteRunConfiguration.setTestSources(runConfiguration.getTestSources());
+        remoteRunConfiguration.addDefaultProperties(runConfiguration.getDefaultProperties());
+        remoteRunConfiguration.setTestJar(runConfiguration.getTestJar());
+        return remoteRunConfiguration;
+    }
+
+    /**
+     * Creates run configuration running given test sources with the engine, includes, test jar and default properties
+     * of this configuration.
+     * @param testSources
+     * @return
+     */
+    public RemoteRunConfiguration withTestSources(List<TestSource> testSources) {
+        RemoteRunConfiguration runConfiguration = new RemoteRunConfiguration();
+        runConfiguration.setEngine(getEngine());
+        runConfiguration.setIncludes(getIncludes());
+        runConfiguration.setTestJar(getTestJar());
+        runConfiguration.addDefaultProperties(getDefaultProperties());
+        runConfiguration.setTestSources(testSources);
+        return runConfiguration;
+    }
+
+    /**
+     * Creates run configuration of a matrix cell running the tests of this configuration with all its settings and
+     * given properties added to its default properties.
+     * @param properties
+     * @return
+     */
+    public RemoteRunConfiguration withMatrixCell(Map<String, String> properties) {
+        RemoteRunConfiguration runConfiguration = new RemoteRunConfiguration();
+        runConfiguration.setEngine(getEngine());
+        runConfiguration.setIncludes(getIncludes());
+        runConfiguration.setPackages(getPackages());
+        runConfiguration.setTestSources(getTestSources());
+        runConfiguration.setTestJar(getTestJar());
+        runConfiguration.addDefaultProperties(getDefaultProperties());
+        runConfiguration.addDefaultProperties(properties);
+        runConfiguration.setSoakDuration(soakDuration);
+        runConfiguration.setSoakWindow(soakWindow);
+        runConfiguration.setSoakMaxWindows(soakMaxWindows);
+        runConfiguration.setGroups(new ArrayList<>(getGroups()));
+        runConfiguration.setChanges(new ArrayList<>(changes));
+        runConfiguration.setTimeBudget(timeBudget);
+        runConfiguration.setTestEstimate(testEstimate);
+        runConfiguration.setPriorityGroups(new ArrayList<>(priorityGroups));
+        runConfiguration.setRetries(retries);
+        runConfiguration.setFailFast(failFast);
+        runConfiguration.setMaxFailures(maxFailures);
+        runConfiguration.setPreflight(preflight);
+        return runConfiguration;
+    }
+
+    /**
+     * Replaces the test sources and packages of this configuration with given test sources. The setters of the run
+     * configuration add to the current test sources and packages instead.
+     * @param testSources
+     */
+    public void selectTestSources(List<TestSource> testSources) {
+        getTestSources().clear();
+        getPackages().clear();
+        setTestSources(testSources);
+    }
+
+    /**
+     * Sets the test sources read from JSON.
+     * @param testSources
+     */
+    @JsonSetter("testSources")
+    public void setTestSourceSpecs(List<TestSourceSpec> testSources) {
+        setTestSources(testSources.stream()
+                .map(TestSourceSpec::toTestSource)
+                .toList());
+    }
+
+    /**
+     * Checks whether the tests run in soak mode.
+     * @return
+     */
+    @JsonIgnore
+    public boolean isSoak() {
+        return soakDuration > 0;
+    }
+
+    /**
+     * Gets the number of failed tests after which the remaining tests are skipped. Fail fast skips after the first
+     * failed test, zero disables the limit.
+     * @return
+     */
+    @JsonIgnore
+    public int getFailureLimit() {
+        return failFast ? 1 : maxFailures;
+    }
+
+    /**
+     * Gets the groups selecting the tests to run, including the tags, so that a request may give both.
+     * @return
+     */
+    public List<String> getGroups() {
+        if (tags.isEmpty()) {
+            return groups;
+        }
+        return Stream.concat(groups.stream(), tags.stream()).distinct().toList();
+    }
+
+    public void setGroups(List<String> groups) {
+        this.groups = groups;
+    }
+
+    @JsonSetter("tags")
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<String> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<String> changes) {
+        this.changes = changes;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    public long getTestEstimate() {
+        return testEstimate;
+    }
+
+    public void setTestEstimate(long testEstimate) {
+        this.testEstimate = testEstimate;
+    }
+
+    public List<String> getPriorityGroups() {
+        return priorityGroups;
+    }
+
+    public void setPriorityGroups(List<String> priorityGroups) {
+        this.priorityGroups = priorityGroups;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    public void setMaxFailures(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    public boolean isPreflight() {
+        return preflight;
+    }
+
+    public void setPreflight(boolean preflight) {
+        this.preflight = preflight;
+    }
+
+    public List<Map<String, String>> getMatrix() {
+        return matrix;
+    }
+
+    public void setMatrix(List<Map<String, String>> matrix) {
+        this.matrix = matrix;
+    }
+
+    public long getSoakDuration() {
+        return soakDuration;
+    }
+
+    public void setSoakDuration(long soakDuration) {
+        this.soakDuration = soakDuration;
+    }
+
+    public long getSoakWindow() {
+        return soakWindow;
+    }
+
+    public void setSoakWindow(long soakWindow) {
+        this.soakWindow = soakWindow;
+    }
+
+    public int getSoakMaxWindows() {
+        return soakMaxWindows;
+    }
+
+    public void setSoakMaxWindows(int soakMaxWindows) {
+        this.soakMaxWindows = soakMaxWindows;
+    }
+}
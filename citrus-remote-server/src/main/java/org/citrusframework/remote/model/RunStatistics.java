@@ -0,0 +1,206 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of a single test run that are not attributable to individual tests.
+ * <p>
+ * The run passes through a sequence of phases, starting with the queue phase on creation. Time spent in each
+ * phase is measured with the monotonic clock and accumulated, so phases entered multiple times (e.g. when a run
+ * executes packages and classes) add up.
+ * <p>
+ * Garbage collection is measured for the whole JVM, so runs executing in parallel see each other's collections.
+ *
+ * @since 4.4.0
+ */
+public class RunStatistics {
+
+    public enum Phase {
+        /** Waiting for an executor thread */
+        QUEUE("queue"),
+        /** Preparing the Citrus application configuration and test engine */
+        BOOTSTRAP("bootstrap"),
+        /** Creating the Citrus context */
+        CONTEXT_INIT("contextInit"),
+        /** Test engine scanning and selecting tests */
+        DISCOVERY("discovery"),
+        /** Before suite actions and tests */
+        EXECUTION("execution"),
+        /** After suite actions and report generation */
+        REPORTING("reporting");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /** Accumulated millis per phase key in order of first appearance */
+    private Map<String, Long> phases = new LinkedHashMap<>();
+
+    /** Phase currently active, null once the run has finished */
+    private Phase currentPhase = Phase.QUEUE;
+
+    /** Accumulated nanos per phase and start of the current phase interval */
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long phaseStart = System.nanoTime();
+
+    /** Number of garbage collections while the run was active */
+    private volatile long gcCount;
+
+    /** Accumulated garbage collection time while the run was active */
+    private volatile long gcPauseMillis;
+
+    /** Collector totals at run start */
+    private long gcCountAtStart;
+    private long gcPauseMillisAtStart;
+
+    /**
+     * Ends the queue phase and takes a snapshot of the collector totals at start of the run.
+     */
+    public void start() {
+        enter(Phase.BOOTSTRAP);
+        gcCountAtStart = totalGcCount();
+        gcPauseMillisAtStart = totalGcPauseMillis();
+    }
+
+    /**
+     * Ends the current phase and calculates garbage collections since start of the run.
+     */
+    public void finish() {
+        enter(null);
+        gcCount = Math.max(0L, totalGcCount() - gcCountAtStart);
+        gcPauseMillis = Math.max(0L, totalGcPauseMillis() - gcPauseMillisAtStart);
+    }
+
+    /**
+     * Ends the current phase and starts given phase.
+     * @param phase the next phase or null to stop timing
+     */
+    public synchronized void enter(Phase phase) {
+        long now = System.nanoTime();
+        if (currentPhase != null) {
+            phaseNanos[currentPhase.ordinal()] += now - phaseStart;
+            phases.put(currentPhase.getKey(), TimeUnit.NANOSECONDS.toMillis(phaseNanos[currentPhase.ordinal()]));
+        }
+
+        currentPhase = phase;
+        phaseStart = now;
+    }
+
+    /**
+     * Gets the phase currently active or null when the run has finished.
+     * @return
+     */
+    public synchronized Phase currentPhase() {
+        return currentPhase;
+    }
+
+    /**
+     * Renders the phase durations as Server-Timing header value.
+     * @return
+     */
+    public synchronized String toServerTiming() {
+        StringBuilder serverTiming = new StringBuilder();
+        phases.forEach((phase, millis) -> {
+            if (!serverTiming.isEmpty()) {
+                serverTiming.append(", ");
+            }
+            serverTiming.append(phase).append(";dur=").append(millis);
+        });
+        return serverTiming.toString();
+    }
+
+    private static long totalGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long totalGcPauseMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    /**
+     * Gets the gcCount.
+     *
+     * @return
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Sets the gcCount.
+     *
+     * @param gcCount
+     */
+    public void setGcCount(long gcCount) {
+        this.gcCount = gcCount;
+    }
+
+    /**
+     * Gets the gcPauseMillis.
+     *
+     * @return
+     */
+    public long getGcPauseMillis() {
+        return gcPauseMillis;
+    }
+
+    /**
+     * Sets the gcPauseMillis.
+     *
+     * @param gcPauseMillis
+     */
+    public void setGcPauseMillis(long gcPauseMillis) {
+        this.gcPauseMillis = gcPauseMillis;
+    }
+
+    /**
+     * Gets the phases.
+     *
+     * @return
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    /**
+     * Sets the phases.
+     *
+     * @param phases
+     */
+    public synchronized void setPhases(Map<String, Long> phases) {
+        this.phases = new LinkedHashMap<>(phases);
+    }
+}
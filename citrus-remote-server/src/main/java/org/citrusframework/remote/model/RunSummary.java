@@ -0,0 +1,258 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summary of a single test run as recorded in the run journal.
+ *
+ * @since 4.4.0
+ */
+public class RunSummary {
+
+    public enum State {
+        RUNNING,
+        FINISHED,
+        /** Server stopped before the run has finished */
+        INTERRUPTED
+    }
+
+    /** Unique run identifier */
+    private String runId;
+
+    /** Epoch millis of run start */
+    private long startTime;
+
+    /** Epoch millis of run end */
+    private Long endTime;
+
+    private State state = State.RUNNING;
+
+    private int total;
+    private int success;
+    private int failed;
+    private int skipped;
+
+    /** Accumulated test durations */
+    private long durationMillis;
+
+    /** Accumulated CPU time of all tests */
+    private long cpuTimeMillis;
+
+    /** Accumulated heap bytes allocated by all tests */
+    private long allocatedBytes;
+
+    /** Garbage collections and pause time while the run was active */
+    private long gcCount;
+    private long gcPauseMillis;
+
+    /** Accumulated millis per run phase */
+    private Map<String, Long> phases = new LinkedHashMap<>();
+
+    /** Records of the run have been removed from the journal with their segments */
+    private boolean truncated;
+
+    /**
+     * Updates counters with given result.
+     * @param result
+     */
+    public void addResult(RemoteResult result) {
+        total++;
+        if (result.isSuccess()) {
+            success++;
+        } else if (result.isFailed()) {
+            failed++;
+        } else if (result.isSkipped()) {
+            skipped++;
+        }
+        durationMillis += result.getDurationMillis();
+        cpuTimeMillis += result.getCpuTimeMillis();
+        allocatedBytes += result.getAllocatedBytes();
+    }
+
+    /**
+     * Gets the runId.
+     *
+     * @return
+     */
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Sets the runId.
+     *
+     * @param runId
+     */
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    /**
+     * Gets the startTime.
+     *
+     * @return
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Sets the startTime.
+     *
+     * @param startTime
+     */
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Gets the endTime.
+     *
+     * @return
+     */
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Sets the endTime.
+     *
+     * @param endTime
+     */
+    public void setEndTime(Long endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * Gets the state.
+     *
+     * @return
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Sets the state.
+     *
+     * @param state
+     */
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(int success) {
+        this.success = success;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getCpuTimeMillis() {
+        return cpuTimeMillis;
+    }
+
+    public void setCpuTimeMillis(long cpuTimeMillis) {
+        this.cpuTimeMillis = cpuTimeMillis;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public void setGcCount(long gcCount) {
+        this.gcCount = gcCount;
+    }
+
+    public long getGcPauseMillis() {
+        return gcPauseMillis;
+    }
+
+    public void setGcPauseMillis(long gcPauseMillis) {
+        this.gcPauseMillis = gcPauseMillis;
+    }
+
+    public Map<String, Long> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, Long> phases) {
+        this.phases = phases;
+    }
+
+    /**
+     * Gets the truncated.
+     *
+     * @return
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Sets the truncated.
+     *
+     * @param truncated
+     */
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
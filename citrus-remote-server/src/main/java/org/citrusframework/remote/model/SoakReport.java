@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time series of the windows of a soak run. The last window is still open while the soak run has not finished.
+ *
+ * @since 4.4.0
+ */
+public class SoakReport {
+
+    /** Unique run identifier */
+    private String runId;
+
+    /** Time in milliseconds since start of the soak run */
+    private long elapsedMillis;
+
+    /** Number of finished iterations of the selected tests */
+    private long iterations;
+
+    /** Length of the windows in milliseconds */
+    private long windowMillis;
+
+    /** Number of oldest windows dropped to keep the maximum number of windows */
+    private long droppedWindows;
+
+    private boolean finished;
+
+    private List<SoakWindow> windows = new ArrayList<>();
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(long iterations) {
+        this.iterations = iterations;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public long getDroppedWindows() {
+        return droppedWindows;
+    }
+
+    public void setDroppedWindows(long droppedWindows) {
+        this.droppedWindows = droppedWindows;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+
+    public List<SoakWindow> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(List<SoakWindow> windows) {
+        this.windows = windows;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Window of a soak run holding the statistics of all tests finished within the window. Start and end are
+ * milliseconds since start of the soak run.
+ *
+ * @since 4.4.0
+ */
+public class SoakWindow {
+
+    private long startMillis;
+    private long endMillis;
+
+    private long executions;
+    private long failures;
+
+    private List<SoakTestStatistics> tests = new ArrayList<>();
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public void setStartMillis(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    public void setEndMillis(long endMillis) {
+        this.endMillis = endMillis;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public void setExecutions(long executions) {
+        this.executions = executions;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public List<SoakTestStatistics> getTests() {
+        return tests;
+    }
+
+    public void setTests(List<SoakTestStatistics> tests) {
+        this.tests = tests;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+/**
+ * Executions of a single test aggregated over all runs known to the server.
+ *
+ * @since 4.4.0
+ */
+public class TestHistoryEntry {
+
+    /** Fully qualified test class name */
+    private String testClass;
+
+    /** Name of the test */
+    private String testName;
+
+    /** Number of executions that were not skipped */
+    private long executions;
+
+    /** Number of failed executions */
+    private long failures;
+
+    /** Accumulated duration of all executions */
+    private long totalMillis;
+
+    /** Duration of the latest execution */
+    private long lastMillis;
+
+    /** Whether the latest execution failed */
+    private boolean lastFailed;
+
+    /** Number of failed executions that passed on retry */
+    private long flakes;
+
+    public TestHistoryEntry() {
+        super();
+    }
+
+    public TestHistoryEntry(String testClass, String testName) {
+        this.testClass = testClass;
+        this.testName = testName;
+    }
+
+    /**
+     * Adds execution of the test with given duration and outcome.
+     * @param durationMillis
+     * @param failed
+     */
+    public synchronized void add(long durationMillis, boolean failed) {
+        executions++;
+        totalMillis += durationMillis;
+        lastMillis = durationMillis;
+        lastFailed = failed;
+        if (failed) {
+            failures++;
+        }
+    }
+
+    /**
+     * Adds a failed execution of the test that passed on retry.
+     */
+    public synchronized void addFlake() {
+        flakes++;
+    }
+
+    /**
+     * Creates a consistent copy of this entry.
+     * @return
+     */
+    public synchronized TestHistoryEntry copy() {
+        TestHistoryEntry copy = new TestHistoryEntry(testClass, testName);
+        copy.setExecutions(executions);
+        copy.setFailures(failures);
+        copy.setTotalMillis(totalMillis);
+        copy.setLastMillis(lastMillis);
+        copy.setLastFailed(lastFailed);
+        copy.setFlakes(flakes);
+        return copy;
+    }
+
+    /**
+     * Gets the average duration.
+     *
+     * @return
+     */
+    public synchronized long getAverageMillis() {
+        return executions > 0 ? totalMillis / executions : 0L;
+    }
+
+    /**
+     * Gets the percentage of executions that failed and passed on retry.
+     *
+     * @return
+     */
+    public synchronized double getFlakinessRate() {
+        return executions > 0 ? flakes * 100.0 / executions : 0.0;
+    }
+
+    public String getTestClass() {
+        return testClass;
+    }
+
+    public void setTestClass(String testClass) {
+        this.testClass = testClass;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public void setTestName(String testName) {
+        this.testName = testName;
+    }
+
+    public synchronized long getExecutions() {
+        return executions;
+    }
+
+    public synchronized void setExecutions(long executions) {
+        this.executions = executions;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public synchronized void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public synchronized long getLastMillis() {
+        return lastMillis;
+    }
+
+    public synchronized void setLastMillis(long lastMillis) {
+        this.lastMillis = lastMillis;
+    }
+
+    public synchronized boolean isLastFailed() {
+        return lastFailed;
+    }
+
+    public synchronized void setLastFailed(boolean lastFailed) {
+        this.lastFailed = lastFailed;
+    }
+
+    public synchronized long getFlakes() {
+        return flakes;
+    }
+
+    public synchronized void setFlakes(long flakes) {
+        this.flakes = flakes;
+    }
+}
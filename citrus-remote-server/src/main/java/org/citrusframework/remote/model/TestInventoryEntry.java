@@ -0,0 +1,161 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.model;
+
+import org.citrusframework.remote.index.IndexedTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Test method known to the server along with its groups and the outcome of its executions, so that clients are able
+ * to plan runs, e.g. shard the tests or estimate the run duration, without running the tests first.
+ *
+ * @since 4.4.0
+ */
+public class TestInventoryEntry {
+
+    public enum Status {
+        NOT_RUN,
+        SUCCESS,
+        FAILURE
+    }
+
+    /** Fully qualified test class name */
+    private String testClass;
+
+    /** Name of the test method */
+    private String methodName;
+
+    /** Package of the test class */
+    private String packageName;
+
+    /** TestNG groups, JUnit 5 tags or JUnit 4 categories of the test */
+    private List<String> groups = new ArrayList<>();
+
+    /** Outcome of the latest execution */
+    private Status lastStatus = Status.NOT_RUN;
+
+    /** Duration of the latest execution */
+    private long lastMillis;
+
+    /** Average duration of all executions */
+    private long averageMillis;
+
+    /** Number of executions that were not skipped */
+    private long executions;
+
+    /** Percentage of executions that failed and passed on retry */
+    private double flakinessRate;
+
+    /**
+     * Creates entry for given indexed test and its history entry if the test has been executed before.
+     * @param test
+     * @param history
+     * @return
+     */
+    public static TestInventoryEntry of(IndexedTest test, Optional<TestHistoryEntry> history) {
+        TestInventoryEntry entry = new TestInventoryEntry();
+        entry.setTestClass(test.className());
+        entry.setMethodName(test.methodName());
+        entry.setPackageName(test.packageName());
+        entry.setGroups(new ArrayList<>(test.groups()));
+
+        history.ifPresent(executions -> {
+            entry.setLastStatus(executions.isLastFailed() ? Status.FAILURE : Status.SUCCESS);
+            entry.setLastMillis(executions.getLastMillis());
+            entry.setAverageMillis(executions.getAverageMillis());
+            entry.setExecutions(executions.getExecutions());
+            entry.setFlakinessRate(executions.getFlakinessRate());
+        });
+        return entry;
+    }
+
+    public String getTestClass() {
+        return testClass;
+    }
+
+    public void setTestClass(String testClass) {
+        this.testClass = testClass;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<String> groups) {
+        this.groups = groups;
+    }
+
+    public Status getLastStatus() {
+        return lastStatus;
+    }
+
+    public void setLastStatus(Status lastStatus) {
+        this.lastStatus = lastStatus;
+    }
+
+    public long getLastMillis() {
+        return lastMillis;
+    }
+
+    public void setLastMillis(long lastMillis) {
+        this.lastMillis = lastMillis;
+    }
+
+    public long getAverageMillis() {
+        return averageMillis;
+    }
+
+    public void setAverageMillis(long averageMillis) {
+        this.averageMillis = averageMillis;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public void setExecutions(long executions) {
+        this.executions = executions;
+    }
+
+    public double getFlakinessRate() {
+        return flakinessRate;
+    }
+
+    public void setFlakinessRate(double flakinessRate) {
+        this.flakinessRate = flakinessRate;
+    }
+}
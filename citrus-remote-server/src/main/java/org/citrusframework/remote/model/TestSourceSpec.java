@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import org.citrusframework.TestClass;
+import org.citrusframework.TestSource;
+
+/**
+ * Serializable form of a test source, as test sources themselves are not able to be read from JSON. Used to hand
+ * test sources to workers and forked JVMs.
+ *
+ * @since 4.4.0
+ */
+public class TestSourceSpec {
+
+    /** Test source type of test classes */
+    private static final String JAVA_TYPE = "java";
+
+    /** Test source type, e.g. java, xml or yaml */
+    private String type;
+
+    /** Test name, fully qualified class name for test classes */
+    private String name;
+
+    /** Optional test file path */
+    private String filePath;
+
+    /** Optional test method of test classes */
+    private String method;
+
+    /**
+     * Creates spec of given test source.
+     * @param testSource
+     * @return
+     */
+    public static TestSourceSpec of(TestSource testSource) {
+        TestSourceSpec spec = new TestSourceSpec();
+        spec.setType(testSource.getType());
+        spec.setName(testSource.getName());
+        spec.setFilePath(testSource.getFilePath());
+        if (testSource instanceof TestClass testClass) {
+            spec.setMethod(testClass.getMethod());
+        }
+        return spec;
+    }
+
+    /**
+     * Creates the test source described by this spec.
+     * @return
+     */
+    public TestSource toTestSource() {
+        if (JAVA_TYPE.equals(type)) {
+            return TestClass.fromString(method != null ? name + "#" + method : name);
+        }
+        return new TestSource(type, name, filePath);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+}
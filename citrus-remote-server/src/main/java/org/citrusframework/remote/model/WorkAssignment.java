@@ -0,0 +1,134 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+import org.citrusframework.TestSource;
+import org.citrusframework.main.TestRunConfiguration;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single test source of a coordinator run assigned to a worker, along with the settings of the run needed to execute
+ * the test on the worker.
+ *
+ * @since 4.4.0
+ */
+public class WorkAssignment {
+
+    /** Unique assignment identifier, changes when the test is requeued */
+    private String assignmentId;
+
+    /** Id of the coordinator run */
+    private String runId;
+
+    /** Test engine to run the test */
+    private String engine;
+
+    /** Include patterns of the run */
+    private String[] includes;
+
+    /** Default properties of the run */
+    private Map<String, String> defaultProperties = new LinkedHashMap<>();
+
+    /** Assigned test source */
+    private TestSourceSpec testSource;
+
+    /**
+     * Creates assignment of given test source.
+     * @param assignmentId
+     * @param runId
+     * @param runConfiguration
+     * @param testSource
+     * @return
+     */
+    public static WorkAssignment of(String assignmentId, String runId,
+                                    TestRunConfiguration runConfiguration, TestSource testSource) {
+        WorkAssignment assignment = new WorkAssignment();
+        assignment.setAssignmentId(assignmentId);
+        assignment.setRunId(runId);
+        assignment.setEngine(runConfiguration.getEngine());
+        assignment.setIncludes(runConfiguration.getIncludes());
+        assignment.setDefaultProperties(runConfiguration.getDefaultProperties());
+        assignment.setTestSource(TestSourceSpec.of(testSource));
+        return assignment;
+    }
+
+    /**
+     * Creates run configuration executing the assigned test only.
+     * @return
+     */
+    public TestRunConfiguration toRunConfiguration() {
+        TestRunConfiguration runConfiguration = new TestRunConfiguration();
+        runConfiguration.setEngine(engine);
+        if (includes != null) {
+            runConfiguration.setIncludes(includes);
+        }
+        runConfiguration.addDefaultProperties(defaultProperties);
+        runConfiguration.setTestSources(Collections.singletonList(testSource.toTestSource()));
+        return runConfiguration;
+    }
+
+    public String getAssignmentId() {
+        return assignmentId;
+    }
+
+    public void setAssignmentId(String assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public String[] getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(String[] includes) {
+        this.includes = includes;
+    }
+
+    public Map<String, String> getDefaultProperties() {
+        return defaultProperties;
+    }
+
+    public void setDefaultProperties(Map<String, String> defaultProperties) {
+        this.defaultProperties = defaultProperties;
+    }
+
+    public TestSourceSpec getTestSource() {
+        return testSource;
+    }
+
+    public void setTestSource(TestSourceSpec testSource) {
+        this.testSource = testSource;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.model;
+
+/**
+ * Worker registered with a coordinator. Workers send their name on registration and receive the assigned id.
+ *
+ * @since 4.4.0
+ */
+public class WorkerStatus {
+
+    /** Unique worker identifier assigned by the coordinator */
+    private String id;
+
+    /** Name of the worker, e.g. host and port */
+    private String name;
+
+    /** Number of tests currently assigned to the worker */
+    private int inFlight;
+
+    /** Number of tests completed by the worker */
+    private long completed;
+
+    /** Time in milliseconds since the latest heartbeat of the worker */
+    private long heartbeatAgeMillis;
+
+    public WorkerStatus() {
+        super();
+    }
+
+    public WorkerStatus(String name) {
+        this.name = name;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getHeartbeatAgeMillis() {
+        return heartbeatAgeMillis;
+    }
+
+    public void setHeartbeatAgeMillis(long heartbeatAgeMillis) {
+        this.heartbeatAgeMillis = heartbeatAgeMillis;
+    }
+}
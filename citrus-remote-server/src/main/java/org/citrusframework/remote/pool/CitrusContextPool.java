@@ -0,0 +1,249 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.pool;
+
+import org.citrusframework.CitrusContext;
+import org.citrusframework.CitrusContextProvider;
+import org.citrusframework.CitrusInstanceStrategy;
+import org.citrusframework.DefaultCitrusContextProvider;
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.listener.RunPhaseListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of independently initialized Citrus contexts, each with its own endpoints, test context factory and
+ * listeners. Jobs lease a context for their whole run, so that concurrent jobs never share a context. Contexts are
+ * created by the Citrus context provider found on classpath, either on warm-up or on first lease until the pool
+ * reaches its size. Afterwards leases wait for a context to be released.
+ * <p>
+ * The leased context is bound to the leasing thread and inherited by threads the test engine starts during the
+ * run. The {@link LeasedCitrusContext} resolves the context of the current thread, so that the Citrus instance
+ * shared by all tests routes each test to the context of its job.
+ *
+ * @since 4.4.0
+ */
+public class CitrusContextPool implements Closeable {
+
+    /** Logger */
+    private static final Logger logger = LoggerFactory.getLogger(CitrusContextPool.class);
+
+    /** Maximum number of contexts */
+    private final int size;
+
+    /** Provider creating the pooled contexts */
+    private final CitrusContextProvider provider;
+
+    /** Contexts waiting for a lease */
+    private final BlockingQueue<PooledContext> idle = new LinkedBlockingQueue<>();
+
+    /** All created contexts */
+    private final List<PooledContext> contexts = new CopyOnWriteArrayList<>();
+
+    /** Number of created contexts including contexts in creation */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /** Id of the next created context */
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /** Context leased by the current thread or the thread that started it */
+    private final InheritableThreadLocal<PooledContext> leased = new InheritableThreadLocal<>();
+
+    /** Context used outside of leases */
+    private volatile CitrusContext fallback;
+
+    /**
+     * Constructor using given size and the Citrus context provider found on classpath. The default provider
+     * caches a single context unless it uses the new instance strategy, so it is replaced accordingly.
+     * @param size
+     */
+    public CitrusContextPool(int size) {
+        this(size, newInstanceProvider(CitrusContextProvider.lookup()));
+    }
+
+    /**
+     * Constructor using given size and context provider.
+     * @param size
+     * @param provider
+     */
+    public CitrusContextPool(int size, CitrusContextProvider provider) {
+        this.size = size;
+        this.provider = provider;
+    }
+
+    /**
+     * Creates contexts until the pool holds given number of contexts or reaches its size.
+     * @param count
+     */
+    public void warmUp(int count) {
+        while (reserved.get() < Math.min(count, size) && reserve()) {
+            idle.add(create());
+        }
+        logger.info("Warmed up {} of {} pooled Citrus contexts", contexts.size(), size);
+    }
+
+    /**
+     * Leases an idle context. Creates a new context when none is idle and the pool has not reached its size yet,
+     * otherwise waits for a context to be released.
+     * @return
+     * @throws InterruptedException
+     */
+    public PooledContext lease() throws InterruptedException {
+        PooledContext pooled = idle.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+
+        if (reserve()) {
+            return create();
+        }
+
+        return idle.take();
+    }
+
+    /**
+     * Releases given context so that the next job may lease it. Results of the previous job are dropped.
+     * @param pooled
+     */
+    public void release(PooledContext pooled) {
+        pooled.listener().reset();
+        idle.add(pooled);
+    }
+
+    /**
+     * Runs given action with given context bound to the current thread.
+     * @param pooled
+     * @param action
+     * @return
+     * @param <T>
+     */
+    public <T> T runWith(PooledContext pooled, Supplier<T> action) {
+        leased.set(pooled);
+        try {
+            return action.get();
+        } finally {
+            leased.remove();
+        }
+    }
+
+    /**
+     * Gets the context leased by the current thread. Threads without lease use a context created on first use.
+     * @return
+     */
+    public CitrusContext current() {
+        PooledContext pooled = leased.get();
+        if (pooled != null) {
+            return pooled.context();
+        }
+
+        if (fallback == null) {
+            synchronized (this) {
+                if (fallback == null) {
+                    fallback = provider.create();
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static CitrusContextProvider newInstanceProvider(CitrusContextProvider provider) {
+        if (provider instanceof DefaultCitrusContextProvider) {
+            return new DefaultCitrusContextProvider(CitrusInstanceStrategy.NEW);
+        }
+        return provider;
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = reserved.get();
+            if (current >= size) {
+                return false;
+            }
+        } while (!reserved.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private PooledContext create() {
+        try {
+            CitrusContext context = provider.create();
+            RemoteTestListener listener = new RemoteTestListener();
+            context.addTestListener(listener);
+            context.addTestActionListener(listener.getActionTimingListener());
+            context.addTestSuiteListener(new RunPhaseListener());
+
+            PooledContext pooled = new PooledContext(nextId.getAndIncrement(), context, listener);
+            contexts.add(pooled);
+            logger.debug("Created pooled Citrus context {}", pooled.id());
+            return pooled;
+        } catch (RuntimeException e) {
+            reserved.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of created contexts.
+     * @return
+     */
+    public int getCreatedCount() {
+        return contexts.size();
+    }
+
+    /**
+     * Gets the number of idle contexts.
+     * @return
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the size.
+     *
+     * @return
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        logger.info("Closing {} pooled Citrus contexts", contexts.size());
+        contexts.forEach(pooled -> pooled.context().close());
+        if (fallback != null) {
+            fallback.close();
+        }
+    }
+
+    /**
+     * Pooled context along with the test listener collecting the results of the job leasing it.
+     * @param id
+     * @param context
+     * @param listener
+     */
+    public record PooledContext(int id, CitrusContext context, RemoteTestListener listener) {
+    }
+}
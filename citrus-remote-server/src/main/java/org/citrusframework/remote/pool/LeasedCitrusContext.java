@@ -0,0 +1,217 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.pool;
+
+import org.citrusframework.CitrusContext;
+import org.citrusframework.container.AfterSuite;
+import org.citrusframework.container.BeforeSuite;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.context.TestContextFactory;
+import org.citrusframework.endpoint.EndpointFactory;
+import org.citrusframework.functions.FunctionRegistry;
+import org.citrusframework.log.LogModifier;
+import org.citrusframework.message.MessageProcessors;
+import org.citrusframework.report.MessageListener;
+import org.citrusframework.report.MessageListeners;
+import org.citrusframework.report.TestActionListener;
+import org.citrusframework.report.TestActionListeners;
+import org.citrusframework.report.TestListener;
+import org.citrusframework.report.TestListeners;
+import org.citrusframework.report.TestReporter;
+import org.citrusframework.report.TestResults;
+import org.citrusframework.report.TestSuiteListener;
+import org.citrusframework.report.TestSuiteListeners;
+import org.citrusframework.spi.ReferenceResolver;
+import org.citrusframework.util.TypeConverter;
+import org.citrusframework.validation.MessageValidatorRegistry;
+import org.citrusframework.validation.matcher.ValidationMatcherRegistry;
+import org.citrusframework.variable.GlobalVariables;
+import org.citrusframework.xml.namespace.NamespaceContextBuilder;
+
+import java.util.List;
+
+/**
+ * Citrus context delegating to the context leased by the current thread from the given pool. The Citrus instance
+ * manager keeps a single Citrus instance for all tests, so the pool installs this context as the context of that
+ * instance and each test transparently uses the context of its job.
+ *
+ * @since 4.4.0
+ */
+public class LeasedCitrusContext extends CitrusContext {
+
+    /** Pool holding the leased contexts */
+    private final CitrusContextPool pool;
+
+    /**
+     * Constructor using given pool.
+     * @param pool
+     */
+    public LeasedCitrusContext(CitrusContextPool pool) {
+        super(new Builder());
+        this.pool = pool;
+    }
+
+    @Override
+    public void parseConfiguration(Class<?> configClass) {
+        pool.current().parseConfiguration(configClass);
+    }
+
+    @Override
+    public void parseConfiguration(Object configuration) {
+        pool.current().parseConfiguration(configuration);
+    }
+
+    @Override
+    public TestContext createTestContext() {
+        return pool.current().createTestContext();
+    }
+
+    @Override
+    public void addTestSuiteListener(TestSuiteListener testSuiteListener) {
+        pool.current().addTestSuiteListener(testSuiteListener);
+    }
+
+    @Override
+    public void addTestListener(TestListener testListener) {
+        pool.current().addTestListener(testListener);
+    }
+
+    @Override
+    public void addTestActionListener(TestActionListener testActionListener) {
+        pool.current().addTestActionListener(testActionListener);
+    }
+
+    @Override
+    public void addTestReporter(TestReporter testReporter) {
+        pool.current().addTestReporter(testReporter);
+    }
+
+    @Override
+    public void addMessageListener(MessageListener listener) {
+        pool.current().addMessageListener(listener);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    @Override
+    public List<AfterSuite> getAfterSuite() {
+        return pool.current().getAfterSuite();
+    }
+
+    @Override
+    public List<BeforeSuite> getBeforeSuite() {
+        return pool.current().getBeforeSuite();
+    }
+
+    @Override
+    public TestListeners getTestListeners() {
+        return pool.current().getTestListeners();
+    }
+
+    @Override
+    public TestActionListeners getTestActionListeners() {
+        return pool.current().getTestActionListeners();
+    }
+
+    @Override
+    public TestSuiteListeners getTestSuiteListeners() {
+        return pool.current().getTestSuiteListeners();
+    }
+
+    @Override
+    public FunctionRegistry getFunctionRegistry() {
+        return pool.current().getFunctionRegistry();
+    }
+
+    @Override
+    public ValidationMatcherRegistry getValidationMatcherRegistry() {
+        return pool.current().getValidationMatcherRegistry();
+    }
+
+    @Override
+    public GlobalVariables getGlobalVariables() {
+        return pool.current().getGlobalVariables();
+    }
+
+    @Override
+    public MessageValidatorRegistry getMessageValidatorRegistry() {
+        return pool.current().getMessageValidatorRegistry();
+    }
+
+    @Override
+    public MessageListeners getMessageListeners() {
+        return pool.current().getMessageListeners();
+    }
+
+    @Override
+    public EndpointFactory getEndpointFactory() {
+        return pool.current().getEndpointFactory();
+    }
+
+    @Override
+    public ReferenceResolver getReferenceResolver() {
+        return pool.current().getReferenceResolver();
+    }
+
+    @Override
+    public MessageProcessors getMessageProcessors() {
+        return pool.current().getMessageProcessors();
+    }
+
+    @Override
+    public NamespaceContextBuilder getNamespaceContextBuilder() {
+        return pool.current().getNamespaceContextBuilder();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return pool.current().getTypeConverter();
+    }
+
+    @Override
+    public LogModifier getLogModifier() {
+        return pool.current().getLogModifier();
+    }
+
+    @Override
+    public TestContextFactory getTestContextFactory() {
+        return pool.current().getTestContextFactory();
+    }
+
+    @Override
+    public void bind(String name, Object value) {
+        pool.current().bind(name, value);
+    }
+
+    @Override
+    public TestResults getTestResults() {
+        return pool.current().getTestResults();
+    }
+
+    @Override
+    public void handleTestResults(TestResults testResults) {
+        pool.current().handleTestResults(testResults);
+    }
+
+    @Override
+    public void addComponent(String name, Object component) {
+        pool.current().addComponent(name, component);
+    }
+}
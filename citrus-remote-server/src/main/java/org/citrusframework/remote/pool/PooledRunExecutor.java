@@ -0,0 +1,87 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote.pool;
+
+import org.citrusframework.TestResult;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.job.LocalRunExecutor;
+import org.citrusframework.remote.job.RunExecutor;
+import org.citrusframework.remote.job.RunJob;
+import org.citrusframework.remote.listener.RemoteTestListener;
+import org.citrusframework.remote.metrics.Histogram;
+import org.citrusframework.remote.model.RemoteResult;
+import org.citrusframework.remote.model.RunStatistics;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executes each run job in the server JVM with a Citrus context leased from the pool. The results of a job are
+ * collected by the listener of its context, so concurrent jobs only return their own results. Each result is
+ * forwarded to the remote test listener of the server as well. The time jobs wait for a context, including the
+ * creation of contexts not created on warm-up, is recorded in the given histogram.
+ *
+ * @since 4.4.0
+ */
+public class PooledRunExecutor implements RunExecutor {
+
+    /** Pool of Citrus contexts */
+    private final CitrusContextPool pool;
+
+    /** Lease wait times */
+    private final Histogram leaseWait;
+
+    /** Executes the tests once the context is leased */
+    private final RunExecutor delegate = new LocalRunExecutor();
+
+    /**
+     * Constructor using given pool and lease wait histogram.
+     * @param pool
+     * @param leaseWait
+     */
+    public PooledRunExecutor(CitrusContextPool pool, Histogram leaseWait) {
+        this.pool = pool;
+        this.leaseWait = leaseWait;
+    }
+
+    @Override
+    public List<RemoteResult> execute(RunJob job) {
+        job.statistics().enter(RunStatistics.Phase.QUEUE);
+        long start = System.nanoTime();
+        CitrusContextPool.PooledContext pooled;
+        try {
+            pooled = pool.lease();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for a pooled Citrus context", e);
+        }
+        leaseWait.observeNanos(System.nanoTime() - start);
+
+        RemoteTestListener listener = pooled.listener();
+        Consumer<TestResult> forwarder =
+                result -> job.remoteTestListener().addRemoteResult(listener.toRemoteResult(result));
+        listener.addResultConsumer(forwarder);
+        try {
+            RunJob leasedJob = new RunJob(job.runId(), job.configuration(), job.runConfiguration(),
+                    listener, job.journal(), job.statistics(), delegate);
+            return pool.runWith(pooled, () -> delegate.execute(leasedJob));
+        } finally {
+            listener.removeResultConsumer(forwarder);
+            pool.release(pooled);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.transformer;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.http.HttpServerResponse;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+
+/**
+ * Writes chunks of a chunked response from a worker thread with backpressure. Writes wait while the write queue of
+ * the response is full until the response is drained, so that a slow client never causes the whole response to be
+ * buffered. Writes fail once the client has closed the connection, so that the producer stops. A response left
+ * incomplete by a failed producer is reset instead of leaving the client with a chunked response that never ends.
+ *
+ * @since 4.4.0
+ */
+public class ChunkedResponseWriter {
+
+    /** Maximum time in milliseconds to wait for a drain before checking the write queue again */
+    private static final long DRAIN_CHECK_INTERVAL = 1000L;
+
+    /** Response to write to */
+    private final HttpServerResponse response;
+
+    /** Monitor notified on drain and close of the response */
+    private final Object monitor = new Object();
+
+    /** Whether the client has closed the connection */
+    private volatile boolean closed;
+
+    /**
+     * Constructor using given response. Registers the drain and close handlers of the response, so it must be
+     * called on the event loop of the response before any chunk is written.
+     * @param response
+     */
+    public ChunkedResponseWriter(HttpServerResponse response) {
+        this.response = response;
+        response.setChunked(true);
+        response.drainHandler(event -> signal());
+        response.closeHandler(event -> {
+            closed = true;
+            signal();
+        });
+    }
+
+    /**
+     * Writes given chunk once the write queue of the response has room.
+     * @param chunk
+     * @throws CitrusRuntimeException when the client has closed the connection or the writing thread is interrupted
+     */
+    public void write(String chunk) {
+        awaitWritable();
+        response.write(chunk);
+    }
+
+    /**
+     * Ends the response with given last chunk once the write queue of the response has room.
+     * @param chunk
+     */
+    public void end(String chunk) {
+        awaitWritable();
+        response.end(chunk);
+    }
+
+    /**
+     * Handles the failure of the producer. Responses not written yet end with an internal server error, responses
+     * already partially written are reset.
+     * @param error
+     */
+    public void fail(Throwable error) {
+        if (closed || response.ended()) {
+            return;
+        }
+
+        if (response.headWritten()) {
+            response.reset();
+        } else {
+            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end(String.valueOf(error.getMessage()));
+        }
+    }
+
+    private void awaitWritable() {
+        synchronized (monitor) {
+            while (!closed && response.writeQueueFull()) {
+                try {
+                    monitor.wait(DRAIN_CHECK_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CitrusRuntimeException("Interrupted while waiting for the response to drain", e);
+                }
+            }
+        }
+
+        if (closed) {
+            throw new CitrusRuntimeException("Client closed the connection");
+        }
+    }
+
+    private void signal() {
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+}
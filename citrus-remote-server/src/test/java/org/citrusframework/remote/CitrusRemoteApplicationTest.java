@@ -0,0 +1,175 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.remote;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Drives the health endpoint while the report files endpoint lists a large report folder and verifies that the event
+ * loop serving both endpoints is never blocked.
+ *
+ * @since 4.4.0
+ */
+public class CitrusRemoteApplicationTest {
+
+    private static final int REPORT_FILES = 20000;
+    private static final int LISTINGS = 20;
+
+    /** Event loop probes delayed beyond this time count as blocked */
+    private static final long MAX_EVENT_LOOP_EXECUTE_TIME = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Vertx vertx;
+    private CitrusRemoteState state;
+    private Path reportsFolder;
+    private boolean createdReportsFolder;
+    private String baseUrl;
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        CitrusRemoteConfiguration configuration = new CitrusRemoteConfiguration();
+        configuration.setPort(findFreePort());
+        configuration.setInstances(1);
+        baseUrl = "http://localhost:" + configuration.getPort();
+
+        state = new CitrusRemoteState(configuration);
+        state.getMetrics().setMaxEventLoopExecuteTime(MAX_EVENT_LOOP_EXECUTE_TIME);
+
+        reportsFolder = state.getReportLocations().junitReportsFolder();
+        createdReportsFolder = !Files.exists(reportsFolder);
+        Files.createDirectories(reportsFolder);
+        for (int i = 0; i < REPORT_FILES; i++) {
+            Files.createFile(reportsFolder.resolve("TEST-load-%05d.xml".formatted(i)));
+        }
+
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(() -> new CitrusRemoteApplication(state, Collections.emptyList()),
+                        new DeploymentOptions().setInstances(1))
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(30, TimeUnit.SECONDS);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws Exception {
+        if (vertx != null) {
+            vertx.close().toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+        }
+
+        if (reportsFolder != null) {
+            try (Stream<Path> files = Files.list(reportsFolder)) {
+                for (Path file : files.filter(path -> path.getFileName().toString().startsWith("TEST-load-")).toList()) {
+                    Files.delete(file);
+                }
+            }
+            if (createdReportsFolder) {
+                try (Stream<Path> paths = Files.walk(reportsFolder.getParent())) {
+                    for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldServeHealthWhileListingReportFiles() throws Exception {
+        // warm up both endpoints, so that class loading on first use does not count as blocking
+        Assert.assertEquals(get("/results/files").statusCode(), 200);
+        Assert.assertEquals(get("/health").statusCode(), 200);
+        long blocked = getBlockedEventLoopProbes();
+
+        AtomicBoolean listing = new AtomicBoolean(true);
+        CompletableFuture<Integer> listings = CompletableFuture.supplyAsync(() -> {
+            try {
+                int listed = 0;
+                for (int i = 0; i < LISTINGS; i++) {
+                    HttpResponse<String> response = get("/results/files");
+                    Assert.assertEquals(response.statusCode(), 200);
+                    listed = response.body().split("TEST-load-", -1).length - 1;
+                }
+                return listed;
+            } finally {
+                listing.set(false);
+            }
+        });
+
+        long maxHealthNanos = 0L;
+        int healthChecks = 0;
+        while (listing.get()) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = get("/health");
+            maxHealthNanos = Math.max(maxHealthNanos, System.nanoTime() - start);
+            Assert.assertEquals(response.statusCode(), 200);
+            healthChecks++;
+        }
+
+        Assert.assertEquals(listings.get(60, TimeUnit.SECONDS).intValue(), REPORT_FILES);
+        Assert.assertTrue(healthChecks > 0);
+        Assert.assertTrue(maxHealthNanos < TimeUnit.SECONDS.toNanos(1),
+                "Health check took %d ms".formatted(TimeUnit.NANOSECONDS.toMillis(maxHealthNanos)));
+        Assert.assertEquals(getBlockedEventLoopProbes(), blocked,
+                "Event loop has been blocked while listing report files");
+    }
+
+    private long getBlockedEventLoopProbes() {
+        return get("/metrics").body().lines()
+                .filter(line -> line.startsWith("citrus_remote_event_loop_blocked_total "))
+                .map(line -> Long.parseLong(line.substring(line.indexOf(' ') + 1)))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Missing blocked event loop metric"));
+    }
+
+    private HttpResponse<String> get(String path) {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to call " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + path, e);
+        }
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
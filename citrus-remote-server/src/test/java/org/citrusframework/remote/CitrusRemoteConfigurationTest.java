@@ -0,0 +1,73 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote;
+
+import org.citrusframework.main.CitrusAppConfiguration;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @since 4.4.0
+ */
+public class CitrusRemoteConfigurationTest {
+
+    @Test
+    public void shouldApplyUpdateAsReadOnlyVersion() {
+        CitrusRemoteConfiguration configuration = new CitrusRemoteConfiguration();
+        configuration.setPort(4711);
+        configuration.setPackages(new ArrayList<>(List.of("org.sample")));
+
+        CitrusAppConfiguration update = new CitrusAppConfiguration();
+        update.setEngine("testng");
+        update.setPackages(List.of("org.update"));
+        update.addDefaultProperties(Map.of("citrus.sample", "value"));
+
+        CitrusRemoteConfiguration updated = configuration.apply(update);
+        Assert.assertEquals(updated.getVersion(), configuration.getVersion() + 1);
+        Assert.assertEquals(updated.getPort(), 4711);
+        Assert.assertEquals(updated.getEngine(), "testng");
+        Assert.assertEquals(updated.getPackages(), List.of("org.sample", "org.update"));
+        Assert.assertEquals(updated.getDefaultProperties().get("citrus.sample"), "value");
+        Assert.assertEquals(configuration.getPackages(), List.of("org.sample"));
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> updated.setPort(1234));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> updated.setEngine("junit5"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> updated.getPackages().add("org.other"));
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> updated.getDefaultProperties().put("citrus.other", "value"));
+        updated.getIncludes()[0] = "changed";
+        Assert.assertNotEquals(updated.getIncludes()[0], "changed");
+    }
+
+    @Test
+    public void shouldSnapshotWithoutSharingState() {
+        CitrusRemoteConfiguration configuration = new CitrusRemoteConfiguration();
+        configuration.setPackages(new ArrayList<>(List.of("org.sample")));
+
+        CitrusRemoteConfiguration snapshot = configuration.snapshot();
+        configuration.getPackages().add("org.other");
+        configuration.setPort(1234);
+
+        Assert.assertEquals(snapshot.getPackages(), List.of("org.sample"));
+        Assert.assertEquals(snapshot.getPort(), 4567);
+        Assert.assertSame(snapshot.snapshot(), snapshot);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> snapshot.setSkipTests(true));
+    }
+}
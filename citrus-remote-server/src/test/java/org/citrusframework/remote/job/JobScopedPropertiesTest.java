@@ -0,0 +1,115 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.job;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @since 4.4.0
+ */
+public class JobScopedPropertiesTest {
+
+    private static final String PROPERTY = "citrus.remote.test.scoped";
+
+    @BeforeClass
+    public void install() {
+        JobScopedProperties.install();
+    }
+
+    @Test
+    public void shouldIsolatePropertiesOfConcurrentJobs() throws Exception {
+        ExecutorService jobs = Executors.newFixedThreadPool(2);
+        try {
+            var jobA = jobs.submit(() -> JobScopedProperties.runWith(() -> {
+                System.setProperty(PROPERTY, "A");
+                sleep(100);
+                return System.getProperty(PROPERTY);
+            }));
+            var jobB = jobs.submit(() -> JobScopedProperties.runWith(() -> {
+                System.setProperty(PROPERTY, "B");
+                sleep(100);
+                return System.getProperty(PROPERTY);
+            }));
+
+            Assert.assertEquals(jobA.get(10, TimeUnit.SECONDS), "A");
+            Assert.assertEquals(jobB.get(10, TimeUnit.SECONDS), "B");
+            Assert.assertNull(System.getProperty(PROPERTY));
+        } finally {
+            jobs.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotExposePropertiesOfFinishedJobToThreadsStartedByIt() throws Exception {
+        ExecutorService[] pool = new ExecutorService[1];
+        try {
+            String seenDuringJob = JobScopedProperties.runWith(() -> {
+                System.setProperty(PROPERTY, "A");
+                // long-lived pool lazily starting its thread during the job, e.g. a client pool of an endpoint
+                pool[0] = Executors.newSingleThreadExecutor();
+                return getQuietly(pool[0]);
+            });
+            Assert.assertEquals(seenDuringJob, "A", "Threads started by the job see its properties");
+
+            String seenInLaterJob = JobScopedProperties.runWith(() -> {
+                System.setProperty(PROPERTY, "B");
+                return getQuietly(pool[0]);
+            });
+            Assert.assertNull(seenInLaterJob, "Thread started by a finished job sees its properties");
+            Assert.assertNull(getQuietly(pool[0]));
+        } finally {
+            if (pool[0] != null) {
+                pool[0].shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void shouldClearRemovedPropertiesForJobOnly() {
+        System.setProperty(PROPERTY + ".global", "global");
+        try {
+            Assert.assertNull(JobScopedProperties.runWith(() -> {
+                System.clearProperty(PROPERTY + ".global");
+                return System.getProperty(PROPERTY + ".global");
+            }));
+            Assert.assertEquals(System.getProperty(PROPERTY + ".global"), "global");
+        } finally {
+            System.clearProperty(PROPERTY + ".global");
+        }
+    }
+
+    private static String getQuietly(ExecutorService executor) {
+        try {
+            return executor.submit(() -> System.getProperty(PROPERTY)).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.remote.listener;
+
+import org.citrusframework.DefaultTestCase;
+import org.citrusframework.TestCase;
+import org.citrusframework.TestResult;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.remote.model.RemoteResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stress test reporting test invocations of concurrent runs on many threads to a shared listener.
+ *
+ * @since 4.4.0
+ */
+public class RemoteTestListenerTest {
+
+    private static final int RUNS = 4;
+    private static final int THREADS_PER_RUN = 8;
+    private static final int INVOCATIONS_PER_THREAD = 2500;
+
+    @Test
+    public void shouldNeitherLoseNorMisattributeConcurrentResults() throws Exception {
+        RemoteTestListener listener = new RemoteTestListener();
+        Queue<TestResult> consumed = new ConcurrentLinkedQueue<>();
+        listener.addResultConsumer(consumed::add);
+
+        List<Queue<TestResult>> observed = new ArrayList<>();
+        for (int run = 0; run < RUNS; run++) {
+            observed.add(new ConcurrentLinkedQueue<>());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS * THREADS_PER_RUN);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int run = 0; run < RUNS; run++) {
+                for (int thread = 0; thread < THREADS_PER_RUN; thread++) {
+                    int runIndex = run;
+                    int threadIndex = thread;
+                    workers.add(executor.submit(() -> {
+                        start.await();
+                        listener.runObserved(observed.get(runIndex)::add,
+                                () -> invokeTests(listener, runIndex, threadIndex));
+                        return null;
+                    }));
+                }
+            }
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = RUNS * THREADS_PER_RUN * INVOCATIONS_PER_THREAD;
+        Assert.assertEquals(listener.getResultCount(), total);
+        Assert.assertEquals(consumed.size(), total);
+        assertResults(listener.toRemoteResults().stream().map(RemoteResult::getTestName).toList(), total);
+
+        for (int run = 0; run < RUNS; run++) {
+            Queue<TestResult> runResults = observed.get(run);
+            Assert.assertEquals(runResults.size(), THREADS_PER_RUN * INVOCATIONS_PER_THREAD);
+            String prefix = "run" + run + "-";
+            for (TestResult result : runResults) {
+                Assert.assertTrue(result.getTestName().startsWith(prefix),
+                        "Result %s observed by run %d".formatted(result.getTestName(), run));
+                Assert.assertEquals(result.isSuccess(), isSuccess(result.getTestName()));
+                Assert.assertFalse(result.getDuration().isNegative());
+            }
+        }
+    }
+
+    @Test
+    public void shouldRedirectResultsOfConcurrentRuns() throws Exception {
+        RemoteTestListener listener = new RemoteTestListener();
+        List<RemoteTestListener> targets = new ArrayList<>();
+        for (int run = 0; run < RUNS; run++) {
+            targets.add(new RemoteTestListener());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int run = 0; run < RUNS; run++) {
+                int runIndex = run;
+                workers.add(executor.submit(() -> listener.runRedirected(targets.get(runIndex), () -> {
+                    Thread[] threads = new Thread[THREADS_PER_RUN];
+                    for (int thread = 0; thread < THREADS_PER_RUN; thread++) {
+                        int threadIndex = thread;
+                        threads[thread] = new Thread(() -> invokeTests(listener, runIndex, threadIndex));
+                        threads[thread].start();
+                    }
+                    for (Thread thread : threads) {
+                        try {
+                            thread.join();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new CitrusRuntimeException(e);
+                        }
+                    }
+                })));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(listener.getResultCount(), 0);
+        for (int run = 0; run < RUNS; run++) {
+            RemoteTestListener target = targets.get(run);
+            Assert.assertEquals(target.getResultCount(), THREADS_PER_RUN * INVOCATIONS_PER_THREAD);
+            String prefix = "run" + run + "-";
+            target.getResults().doWithResults(result -> Assert.assertTrue(result.getTestName().startsWith(prefix),
+                    "Result %s redirected to run".formatted(result.getTestName())));
+        }
+    }
+
+    @Test
+    public void shouldTimeConcurrentInvocationsOfSameTestIndividually() throws Exception {
+        RemoteTestListener listener = new RemoteTestListener();
+        int invocations = 200;
+        long[] minNanos = new long[invocations];
+        long[] maxNanos = new long[invocations];
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_RUN * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int invocation = 0; invocation < invocations; invocation++) {
+                int index = invocation;
+                workers.add(executor.submit(() -> {
+                    DefaultTestCase test = (DefaultTestCase) createTestCase("shared");
+                    test.setVariableDefinitions(Map.of("invocation", index));
+                    start.await();
+
+                    long before = System.nanoTime();
+                    listener.onTestStart(test);
+                    long started = System.nanoTime();
+                    Thread.sleep(index % 10);
+                    long finishing = System.nanoTime();
+                    listener.onTestSuccess(test);
+                    long after = System.nanoTime();
+
+                    minNanos[index] = finishing - started;
+                    maxNanos[index] = after - before;
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(listener.getResultCount(), invocations);
+        listener.getResults().doWithResults(result -> {
+            int index = (Integer) result.getParameters().get("invocation");
+            long durationNanos = result.getDuration().toNanos();
+            Assert.assertTrue(durationNanos >= minNanos[index] && durationNanos <= maxNanos[index],
+                    "Duration %d of invocation %d not within [%d, %d]"
+                            .formatted(durationNanos, index, minNanos[index], maxNanos[index]));
+        });
+    }
+
+    @Test
+    public void shouldKeepProfilesOfResultsAddedDuringReset() throws Exception {
+        RemoteTestListener listener = new RemoteTestListener();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_RUN + 1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS_PER_RUN; thread++) {
+                int threadIndex = thread;
+                workers.add(executor.submit(() -> addLabeledResults(listener, threadIndex)));
+            }
+            Future<?> resets = executor.submit(() -> {
+                while (running.get()) {
+                    listener.reset();
+                    Thread.yield();
+                }
+            });
+
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            resets.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        addLabeledResults(listener, THREADS_PER_RUN);
+        Assert.assertTrue(listener.getResultCount() >= INVOCATIONS_PER_THREAD);
+        for (RemoteResult result : listener.toRemoteResults()) {
+            Assert.assertEquals(result.getLabel(), "label-" + result.getTestName(),
+                    "Missing profile of " + result.getTestName());
+        }
+    }
+
+    @Test
+    public void shouldSkipTestsStartedWhileSkipConditionGivesReason() {
+        RemoteTestListener listener = new RemoteTestListener();
+        RemoteTestListener isolated = new RemoteTestListener();
+        AtomicBoolean skip = new AtomicBoolean();
+        List<TestResult> observed = new ArrayList<>();
+
+        isolated.runObserved(observed::add, () -> isolated.runSkipping(
+                () -> skip.get() ? Optional.of("limit reached") : Optional.empty(),
+                () -> listener.runRedirected(isolated, () -> {
+                    runTest(listener, createTestCase("first"), false);
+                    skip.set(true);
+                    runTest(listener, createTestCase("second"), true);
+                    runTest(listener, createTestCase("third"), true);
+                })));
+
+        Assert.assertEquals(observed.size(), 3);
+        Assert.assertTrue(observed.get(0).isFailed());
+        Assert.assertTrue(observed.get(1).isSkipped());
+        Assert.assertTrue(observed.get(2).isSkipped());
+        Assert.assertEquals(observed.get(1).getDuration(), Duration.ZERO);
+        Assert.assertEquals(listener.getResultCount(), 0);
+
+        TestCase test = createTestCase("unconditioned");
+        listener.onTestStart(test);
+        listener.onTestSuccess(test);
+        Assert.assertEquals(listener.getResultCount(), 1);
+    }
+
+    private static void runTest(RemoteTestListener listener, TestCase test, boolean skipped) {
+        try {
+            listener.onTestStart(test);
+            Assert.assertFalse(skipped, "Test " + test.getName() + " has not been skipped on start");
+            listener.onTestFailure(test, new CitrusRuntimeException("Failed " + test.getName()));
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(skipped, "Test " + test.getName() + " has been skipped unexpectedly");
+            Assert.assertEquals(e.getMessage(), "limit reached");
+            listener.onTestFailure(test, new CitrusRuntimeException("Failed to start", e));
+        }
+        listener.onTestFinish(test);
+    }
+
+    private static void addLabeledResults(RemoteTestListener listener, int thread) {
+        for (int i = 0; i < INVOCATIONS_PER_THREAD; i++) {
+            String name = "thread%d-test%d".formatted(thread, i);
+            RemoteResult result = RemoteResult.fromTestResult(
+                    TestResult.success(name, RemoteTestListenerTest.class.getName()).withDuration(Duration.ZERO));
+            result.setLabel("label-" + name);
+            listener.addRemoteResult(result);
+        }
+    }
+
+    private static void invokeTests(RemoteTestListener listener, int run, int thread) {
+        for (int i = 0; i < INVOCATIONS_PER_THREAD; i++) {
+            TestCase test = createTestCase("run%d-thread%d-test%d".formatted(run, thread, i));
+            listener.onTestStart(test);
+            if (isSuccess(test.getName())) {
+                listener.onTestSuccess(test);
+            } else {
+                listener.onTestFailure(test, new CitrusRuntimeException("Failed " + test.getName()));
+            }
+            listener.onTestFinish(test);
+        }
+    }
+
+    private static TestCase createTestCase(String name) {
+        DefaultTestCase test = new DefaultTestCase();
+        test.setName(name);
+        test.setTestClass(RemoteTestListenerTest.class);
+        return test;
+    }
+
+    private static boolean isSuccess(String testName) {
+        return testName.hashCode() % 3 != 0;
+    }
+
+    private static void assertResults(List<String> names, int total) {
+        Map<String, Integer> counts = new HashMap<>();
+        names.forEach(name -> counts.merge(name, 1, Integer::sum));
+        Assert.assertEquals(counts.size(), total, "Duplicate or lost results");
+        for (int run = 0; run < RUNS; run++) {
+            for (int thread = 0; thread < THREADS_PER_RUN; thread++) {
+                for (int i = 0; i < INVOCATIONS_PER_THREAD; i++) {
+                    Assert.assertTrue(counts.containsKey("run%d-thread%d-test%d".formatted(run, thread, i)));
+                }
+            }
+        }
+    }
+}
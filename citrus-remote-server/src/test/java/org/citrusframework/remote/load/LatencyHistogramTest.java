@@ -0,0 +1,96 @@
+/*
+ * Copyright 2006-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citrusframework.remote.load;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @since 4.4.0
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        for (long value = 0; value < 256; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertEquals(index, value);
+            Assert.assertEquals(LatencyHistogram.highestEquivalentValue(index), value);
+        }
+    }
+
+    @Test
+    public void shouldCoverAdjacentValueRanges() {
+        int last = LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+        Assert.assertEquals(LatencyHistogram.highestEquivalentValue(last), Long.MAX_VALUE);
+
+        for (int index = 0; index < last; index++) {
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            Assert.assertEquals(LatencyHistogram.bucketIndex(highest), index);
+            Assert.assertEquals(LatencyHistogram.bucketIndex(highest + 1), index + 1);
+        }
+    }
+
+    @Test
+    public void shouldKeepRelativeErrorBelowOnePercent() {
+        Random random = new Random(4711L);
+        for (int i = 0; i < 100_000; i++) {
+            long value = 1L + (random.nextLong() >>> (1 + random.nextInt(62)));
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(value));
+            Assert.assertTrue(highest >= value);
+            Assert.assertTrue((highest - value) <= value / 128, "Relative error too high for " + value);
+        }
+    }
+
+    @Test
+    public void shouldReportPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.getValueAtPercentile(99.0), 0L);
+
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        Assert.assertEquals(histogram.getTotalCount(), 10_000L);
+        Assert.assertEquals(histogram.getMinMicros(), 1L);
+        Assert.assertEquals(histogram.getMaxMicros(), 10_000L);
+        Assert.assertEquals(histogram.getMeanMicros(), 5000.5, 0.001);
+
+        assertWithinPrecision(histogram.getValueAtPercentile(50.0), 5_000L);
+        assertWithinPrecision(histogram.getValueAtPercentile(90.0), 9_000L);
+        assertWithinPrecision(histogram.getValueAtPercentile(99.0), 9_900L);
+        assertWithinPrecision(histogram.getValueAtPercentile(99.9), 9_990L);
+        Assert.assertEquals(histogram.getValueAtPercentile(0.0), 1L);
+        Assert.assertEquals(histogram.getValueAtPercentile(100.0), 10_000L);
+    }
+
+    @Test
+    public void shouldCapPercentileByMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(1_001L));
+
+        Assert.assertEquals(histogram.getValueAtPercentile(50.0), 1_001_000L);
+        Assert.assertEquals(histogram.getValueAtPercentile(100.0), 1_001_000L);
+    }
+
+    private static void assertWithinPrecision(long actual, long expected) {
+        Assert.assertTrue(actual >= expected && actual - expected <= expected / 128,
+                "Expected " + expected + " within precision but was " + actual);
+    }
+}